@@ -83,7 +83,27 @@ public enum AssetLineageAuditCode implements AuditLogMessageSet {
             OMRSAuditLogRecordSeverity.ERROR,
             "The Asset Lineage OMAS cannot be configured with property name {0}",
             "The access service was passed invalid value in access service's options.",
-            "Verify that the value provided is correct.");
+            "Verify that the value provided is correct."),
+
+    PUBLISH_PROCESS_PROGRESS("OMAS-ASSET-LINEAGE-0013",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Processed {0} items of entity type {1} ({2} published) at {3} items per second; last entity guid {4} updated at {5}",
+            "The Asset Lineage OMAS records the progress of the processing sequence after each page of entities.",
+            Constants.NO_ACTION_IS_REQUIRED),
+
+    PUBLISH_PROCESS_RESUMED("OMAS-ASSET-LINEAGE-0014",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Resuming processing sequence entity type {0} after {1} items; last entity guid {2} updated at {3}",
+            "The Asset Lineage OMAS found a checkpoint from an earlier processing sequence that did not complete and " +
+                    "continues from where it stopped.",
+            Constants.NO_ACTION_IS_REQUIRED),
+
+    PUBLISH_PROCESS_INTERRUPTED("OMAS-ASSET-LINEAGE-0015",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "Processing sequence entity type {0} stopped after {1} items due to {2} exception with message {3}",
+            "The Asset Lineage OMAS keeps a checkpoint of the processing sequence so that it resumes from this point " +
+                    "the next time lineage is published for this entity type.",
+            "Review the exception to determine the source of the error and correct it before publishing lineage again.");
 
     private AuditLogMessageDefinition messageDefinition;
 
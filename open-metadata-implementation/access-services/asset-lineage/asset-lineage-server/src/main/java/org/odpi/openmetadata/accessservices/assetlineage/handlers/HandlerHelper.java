@@ -17,6 +17,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
@@ -219,27 +220,44 @@ public class HandlerHelper {
 
 
     /**
-     * Retrieves a list of entities based on the search criteria passed
+     * Return the maximum number of elements the server returns on a single request.
+     *
+     * @return page size or 0 if there is no limit
+     */
+    public int getMaxPagingSize() {
+        return invalidParameterHandler.getMaxPagingSize();
+    }
+
+    /**
+     * Retrieves a page of entities based on the search criteria passed.  If no sequencing order is requested, the entities
+     * are returned oldest first so that the paging is stable while new entities are being created.
      *
      * @param userId                 the user id
      * @param entityTypeName         the name of the entity type
      * @param searchProperties       searchProperties used in the filtering
      * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param startFrom              index of the first entity to return
+     * @param pageSize               maximum number of entities to return
      *
      * @return Optional container for collection of EntityDetails (if any) matching the supplied parameters.
      *
      * @throws UserNotAuthorizedException the user is not authorized to make this request.
      * @throws PropertyServerException    something went wrong with the REST call stack.
+     * @throws InvalidParameterException  one of the parameters is null or invalid.
      */
     public Optional<List<EntityDetail>> findEntitiesByType(String userId, String entityTypeName, SearchProperties searchProperties,
-                                                           FindEntitiesParameters findEntitiesParameters)
+                                                           FindEntitiesParameters findEntitiesParameters, int startFrom, int pageSize)
             throws UserNotAuthorizedException, PropertyServerException, InvalidParameterException {
         final String methodName = "findEntitiesByType";
         String typeDefGUID = getTypeGUID(userId, entityTypeName);
+        SequencingOrder sequencingOrder = findEntitiesParameters.getSequencingOrder();
+        if (sequencingOrder == null) {
+            sequencingOrder = SequencingOrder.CREATION_DATE_OLDEST;
+        }
         return Optional.ofNullable(genericHandler.findEntities(userId, typeDefGUID, findEntitiesParameters.getEntitySubtypeGUIDs(),
                 searchProperties, findEntitiesParameters.getLimitResultsByStatus(), findEntitiesParameters.getSearchClassifications(), null,
-                findEntitiesParameters.getSequencingProperty(), findEntitiesParameters.getSequencingOrder(),
-                true, false, 0, 0, methodName));
+                findEntitiesParameters.getSequencingProperty(), sequencingOrder,
+                true, false, startFrom, pageSize, methodName));
     }
 
     /**
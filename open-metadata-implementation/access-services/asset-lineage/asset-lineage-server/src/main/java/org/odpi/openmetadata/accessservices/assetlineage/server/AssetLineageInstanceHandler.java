@@ -135,6 +135,27 @@ public class AssetLineageInstanceHandler extends OMASServiceInstanceHandler
         return null;
     }
 
+    /**
+     * Retrieve the threads and checkpoints of the publishLineage processing sequences for the server.
+     *
+     * @param userId               the user id
+     * @param serverName           the server name
+     * @param serviceOperationName the service operation name
+     * @return the publish workers
+     * @throws InvalidParameterException  the invalid parameter exception
+     * @throws UserNotAuthorizedException the user not authorized exception
+     * @throws PropertyServerException    the property server exception
+     */
+    LineagePublishWorkers getLineagePublishWorkers(String userId, String serverName, String serviceOperationName)
+            throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        AssetLineageServicesInstance instance = (AssetLineageServicesInstance) super.getServerServiceInstance(userId, serverName, serviceOperationName);
+        if (instance != null) {
+            return instance.getLineagePublishWorkers();
+        }
+
+        return null;
+    }
+
     /**
      * Retrieve the Asset Lineage Publisher available for the existing Asset Lineage OMAS OMRS Topic registred
      *
@@ -6,8 +6,6 @@ package org.odpi.openmetadata.accessservices.assetlineage.server;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.PredicateUtils;
 import org.odpi.openmetadata.accessservices.assetlineage.auditlog.AssetLineageAuditCode;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.AssetContextHandler;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
@@ -25,7 +23,6 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,9 +33,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Supplier;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.GLOSSARY_TERM;
@@ -55,9 +52,11 @@ public class AssetLineageRestServices {
     private static AssetLineageInstanceHandler instanceHandler = new AssetLineageInstanceHandler();
     private final RESTExceptionHandler restExceptionHandler = new RESTExceptionHandler();
 
-    private AtomicBoolean publishLineageTaskActive = new AtomicBoolean(false);
+    /*
+     * Page size used to retrieve the entities when the server does not limit the size of a page.
+     */
+    private static final int DEFAULT_PUBLISH_PAGE_SIZE = 500;
 
-    private static final String PROCESS_STARTED = "PROCESS_STARTED";
     private static final String PROCESS_COMPLETED = "PROCESS_COMPLETED";
     private static final String ENTITY_CONTEXT_PUBLISHED = "ENTITY_CONTEXT_PUBLISHED";
     private static final String ENTITY_CONTEXT_ERROR = "ENTITY_CONTEXT_ERROR";
@@ -76,14 +75,19 @@ public class AssetLineageRestServices {
      *
      * publishLineage interface is used to request lineage related metadata to be sent out on-demand for scenarios such as initial load of metadata or pull based changes.
      * The method provides non-blocking like, async interface for executing time/resource intensive tasks in background thread (i.e. building lineage context for collection of entities).
-     * It is implemented using concurrent processing APIs based on {@link java.util.concurrent.CompletableFuture}
      *
      * How it works:
-     * Based on the findEntitiesParameters provided, scans the cohort for the given type and finds list of matching entities.
+     * Based on the findEntitiesParameters provided, scans the cohort for the given type page by page and returns the guids of the matching entities.
+     * The page size is the server's maximum paging size (or 500 if the server does not set one), and only the guids of the entities are kept
+     * between pages.
      * Providing updatedAfter filed in findEntitiesParameters will retrieve only the entities that were changed from that point in time.
-     * Once entities are found, it spins up *asynchronous* background task that will build the lineage context and publish respective output as events on the asset-lineage output topic.
-     * Note that only single background task can be active at given time (per server instance controlled by `publishLineageTaskActive`). All subsequent requests will result in empty response until the task if finished.
-     * At the end lineage sync event is published to notify the external systems sending summary of the work completed.
+     * Once entities are found, it spins up *asynchronous* background task that retrieves the entities again page by page and builds the lineage
+     * context of the entities in each page on a bounded pool of worker threads, publishing respective output as events on the asset-lineage
+     * output topic. Progress is logged to the audit log after each page.
+     * A checkpoint is kept in memory after each page so that, if the background task fails, the next request for the same entity type and
+     * updatedAfter time resumes publishing from the last completed page. The checkpoints are discarded when the server stops.
+     * Note that only single background task can be active at given time (per server instance). All subsequent requests will result in empty response until the task if finished.
+     * At the end lineage sync event is published to notify the external systems sending summary of the work completed by the background task.
      *
      * @param serverName             name of server instance to call
      * @param userId                 the name of the calling user
@@ -105,25 +109,32 @@ public class AssetLineageRestServices {
             AuditLog auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
             SearchProperties searchProperties = handlerHelper.getSearchPropertiesAfterUpdateTime(findEntitiesParameters.getUpdatedAfter());
             AssetLineagePublisher publisher = instanceHandler.getAssetLineagePublisher(userId, serverName, methodName);
+            LineagePublishWorkers publishWorkers = instanceHandler.getLineagePublishWorkers(userId, serverName, methodName);
 
-            if (!publishLineageTaskActive.get()) {
+            if (publishWorkers.reserveProcessingSequence()) {
 
-                Long cutOffTime = System.currentTimeMillis();
-                Optional<List<EntityDetail>> entitiesByTypeName = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters);
+                boolean taskStarted = false;
 
-                if (entitiesByTypeName.isEmpty()) {
-                    return response;
-                }
+                try {
+                    int pageSize = handlerHelper.getMaxPagingSize() > 0 ? handlerHelper.getMaxPagingSize() : DEFAULT_PUBLISH_PAGE_SIZE;
+                    List<String> guids = findEntityGUIDs(userId, handlerHelper, entityType, searchProperties, findEntitiesParameters, pageSize);
+                    LineagePublishCheckpoint checkpoint = getPublishCheckpoint(publishWorkers, entityType, findEntitiesParameters, auditLog);
 
-                response.setGUIDs(entitiesByTypeName.get().stream().map(InstanceHeader::getGUID).collect(Collectors.toList()));
+                    if (guids.isEmpty()) {
+                        publishWorkers.removeCheckpoint(checkpoint);
+                        return response;
+                    }
 
-                CompletableFuture.supplyAsync(buildAndPublishLineageContext(auditLog,publisher,entitiesByTypeName, entityType))
-                        .thenAccept(result ->
-                            result.ifPresent(publishedItems -> {
-                                sendLineagePublishSummary(publishedItems, cutOffTime, publisher, auditLog);
-                                publishLineageTaskActive.set(false);
-                            })
-                        );
+                    response.setGUIDs(guids);
+
+                    publishWorkers.startProcessingSequence(() -> publishEntityPages(userId, handlerHelper, publisher, publishWorkers, auditLog,
+                            searchProperties, findEntitiesParameters, pageSize, checkpoint));
+                    taskStarted = true;
+                } finally {
+                    if (!taskStarted) {
+                        publishWorkers.releaseProcessingSequence();
+                    }
+                }
             }
         } catch (InvalidParameterException e) {
             restExceptionHandler.captureInvalidParameterException(response, e);
@@ -136,26 +147,164 @@ public class AssetLineageRestServices {
     }
 
     /**
-     * Supplier of lineage processing result for input entities
+     * Return the guids of all the entities of the type that match the search, retrieving them page by page.
      *
-     * @param auditLog instance of auditLog logging interface
-     * @param publisher instance of the asset-lineage topic publisher
-     * @param entities entity detail collection to be processed
-     * @return Supplier object to be used for async processing
+     * @param userId                 the name of the calling user
+     * @param handlerHelper          helper used to retrieve the pages of entities
+     * @param entityType             the type of the entities to search for
+     * @param searchProperties       searchProperties used in the filtering
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param pageSize               the number of entities requested for each page
+     *
+     * @return list of guids
+     *
+     * @throws UserNotAuthorizedException the user is not authorized to make this request
+     * @throws PropertyServerException    problem accessing the property server
+     * @throws InvalidParameterException  one of the parameters is null or invalid
+     */
+    private List<String> findEntityGUIDs(String userId, HandlerHelper handlerHelper, String entityType, SearchProperties searchProperties,
+                                         FindEntitiesParameters findEntitiesParameters, int pageSize) throws UserNotAuthorizedException,
+                                                                                                           PropertyServerException,
+                                                                                                           InvalidParameterException {
+        List<String> guids = new ArrayList<>();
+        Optional<List<EntityDetail>> page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters, 0, pageSize);
+
+        while (page.isPresent() && !page.get().isEmpty()) {
+            page.get().forEach(entityDetail -> guids.add(entityDetail.getGUID()));
+
+            if (page.get().size() < pageSize) {
+                break;
+            }
+
+            page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters, guids.size(), pageSize);
+        }
+        return guids;
+    }
+
+    /**
+     * Return the checkpoint of an earlier processing sequence for the entity type if it was requested with the same
+     * updatedAfter time, otherwise start a new one.
+     *
+     * @param publishWorkers         threads and checkpoints of the processing sequences for the server
+     * @param entityType             the type of the entities to publish
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param auditLog               instance of auditLog logging interface
+     *
+     * @return checkpoint to use for the processing sequence
+     */
+    private LineagePublishCheckpoint getPublishCheckpoint(LineagePublishWorkers publishWorkers, String entityType,
+                                                          FindEntitiesParameters findEntitiesParameters, AuditLog auditLog) {
+        String methodName = "getPublishCheckpoint";
+        LineagePublishCheckpoint checkpoint = publishWorkers.getCheckpoint(entityType);
+
+        if (checkpoint != null && checkpoint.isResumableFor(findEntitiesParameters.getUpdatedAfter())) {
+            auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_RESUMED.getMessageDefinition(entityType,
+                    String.valueOf(checkpoint.getProcessedCount()), checkpoint.getLastGUID(), String.valueOf(checkpoint.getLastUpdateTime())));
+            return checkpoint;
+        }
+
+        checkpoint = new LineagePublishCheckpoint(entityType, findEntitiesParameters.getUpdatedAfter(), System.currentTimeMillis());
+        publishWorkers.putCheckpoint(checkpoint);
+        return checkpoint;
+    }
+
+    /**
+     * Build and publish the lineage context of the entities page by page, starting from the checkpoint.
+     * The checkpoint is updated after each page.  Once all the pages are processed the lineage publish summary is sent and
+     * the checkpoint is removed.  If the processing fails, the checkpoint is kept so that the next request resumes from it.
+     * The summary lists the entities published by this run of the processing sequence.
+     *
+     * @param userId                 the name of the calling user
+     * @param handlerHelper          helper used to retrieve the pages of entities
+     * @param publisher              instance of the asset-lineage topic publisher
+     * @param publishWorkers         threads and checkpoints of the processing sequences for the server
+     * @param auditLog               instance of auditLog logging interface
+     * @param searchProperties       searchProperties used in the filtering
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param pageSize               the number of entities requested for each page
+     * @param checkpoint             progress of the processing sequence
+     */
+    private void publishEntityPages(String userId, HandlerHelper handlerHelper, AssetLineagePublisher publisher,
+                                    LineagePublishWorkers publishWorkers, AuditLog auditLog, SearchProperties searchProperties,
+                                    FindEntitiesParameters findEntitiesParameters, int pageSize, LineagePublishCheckpoint checkpoint) {
+        String methodName = "publishEntityPages";
+        String entityType = checkpoint.getEntityType();
+        long startTime = System.currentTimeMillis();
+        List<String> publishedGUIDs = new ArrayList<>();
+        int processedInThisRun = 0;
+
+        try {
+            Optional<List<EntityDetail>> page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters,
+                    checkpoint.getProcessedCount(), pageSize);
+
+            while (page.isPresent() && !page.get().isEmpty()) {
+                List<EntityDetail> entities = page.get();
+                List<String> publishedInPage = publishPage(publisher, publishWorkers, entities, auditLog);
+
+                publishedGUIDs.addAll(publishedInPage);
+                checkpoint.pageCompleted(entities, publishedInPage);
+                processedInThisRun += entities.size();
+
+                long elapsedTime = Math.max(System.currentTimeMillis() - startTime, 1L);
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_PROGRESS.getMessageDefinition(
+                        String.valueOf(checkpoint.getProcessedCount()), entityType, String.valueOf(checkpoint.getPublishedCount()),
+                        String.valueOf(processedInThisRun * 1000L / elapsedTime), checkpoint.getLastGUID(),
+                        String.valueOf(checkpoint.getLastUpdateTime())));
+
+                if (entities.size() < pageSize) {
+                    break;
+                }
+
+                page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters,
+                        checkpoint.getProcessedCount(), pageSize);
+            }
+
+            auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition(PROCESS_COMPLETED, entityType,
+                    String.valueOf(checkpoint.getPublishedCount())));
+            sendLineagePublishSummary(publishedGUIDs, checkpoint.getCutOffTime(), publisher, auditLog);
+            publishWorkers.removeCheckpoint(checkpoint);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logPublishInterrupted(auditLog, checkpoint, e);
+        } catch (Exception e) {
+            logPublishInterrupted(auditLog, checkpoint, e);
+        }
+    }
+
+    /**
+     * Build and publish the lineage context of a page of entities on the publishing worker threads.
+     *
+     * @param publisher      instance of the asset-lineage topic publisher
+     * @param publishWorkers threads and checkpoints of the processing sequences for the server
+     * @param entities       the page of entities to be processed
+     * @param auditLog       instance of auditLog logging interface
+     *
+     * @return the guids of the entities whose context was published
+     *
+     * @throws InterruptedException   the processing sequence was interrupted while waiting for the page to be published
+     * @throws ExecutionException     a worker thread failed unexpectedly
      */
-    private Supplier<Optional<List<String>>> buildAndPublishLineageContext(AuditLog auditLog, AssetLineagePublisher publisher, Optional<List<EntityDetail>> entities, String entityType) {
-      return () -> {
-          String methodName = "buildAndPublishLineageContext";
-          Optional<List<String>> result = Optional.empty();
-          publishLineageTaskActive.set(true);
-          if(entities.isPresent()) {
-              auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition(PROCESS_STARTED, entityType, String.valueOf(entities.get().size())));
-              result = Optional.of(entities.get().parallelStream().map(entityDetail -> publishEntityContext(publisher, entityDetail, auditLog)).collect(Collectors.toList()));
-              CollectionUtils.filter(result.get(), PredicateUtils.notNullPredicate());
-              auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition(PROCESS_COMPLETED, entityType, String.valueOf(result.get().size())));
-          }
-          return result;
-      };
+    private List<String> publishPage(AssetLineagePublisher publisher, LineagePublishWorkers publishWorkers, List<EntityDetail> entities,
+                                     AuditLog auditLog) throws InterruptedException, ExecutionException {
+        List<Callable<String>> tasks = entities.stream()
+                .map(entityDetail -> (Callable<String>) () -> publishEntityContext(publisher, entityDetail, auditLog))
+                .collect(Collectors.toList());
+
+        List<String> publishedGUIDs = new ArrayList<>();
+        for (Future<String> result : publishWorkers.invokeAll(tasks)) {
+            String guid = result.get();
+            if (guid != null) {
+                publishedGUIDs.add(guid);
+            }
+        }
+        return publishedGUIDs;
+    }
+
+    private void logPublishInterrupted(AuditLog auditLog, LineagePublishCheckpoint checkpoint, Exception error) {
+        String methodName = "publishEntityPages";
+        auditLog.logException(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INTERRUPTED.getMessageDefinition(checkpoint.getEntityType(),
+                String.valueOf(checkpoint.getProcessedCount()), error.getClass().getName(), error.getMessage()), error);
     }
 
     /**
@@ -36,6 +36,7 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
     private final ProcessContextHandler processContextHandler;
     private final ClassificationHandler classificationHandler;
     private final HandlerHelper handlerHelper;
+    private final LineagePublishWorkers lineagePublishWorkers;
 
     private AssetLineagePublisher assetLineagePublisher;
 
@@ -77,6 +78,7 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
         processContextHandler = new ProcessContextHandler(assetContextHandler, handlerHelper, supportedZones);
         glossaryContextHandler = new GlossaryContextHandler(invalidParameterHandler, assetContextHandler, handlerHelper);
         classificationHandler = new ClassificationHandler(invalidParameterHandler, handlerHelper);
+        lineagePublishWorkers = new LineagePublishWorkers(serverName);
     }
 
     /**
@@ -124,6 +126,15 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
         return handlerHelper;
     }
 
+    /**
+     * Return the threads and checkpoints of the publishLineage processing sequences for this server.
+     *
+     * @return publish workers
+     */
+    LineagePublishWorkers getLineagePublishWorkers() {
+        return lineagePublishWorkers;
+    }
+
     public AssetLineagePublisher getAssetLineagePublisher() {
         return assetLineagePublisher;
     }
@@ -136,6 +147,15 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
     public AuditLog getAuditLog() {
         return super.getAuditLog();
     }
+
+    /**
+     * Stop the publishLineage processing sequences and unregister from the instance map.
+     */
+    @Override
+    public void shutdown() {
+        lineagePublishWorkers.shutdown();
+        super.shutdown();
+    }
 }
 
 
@@ -0,0 +1,130 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.server;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * LineagePublishCheckpoint records how far a publishLineage processing sequence has got through the entities of a type.
+ * It is updated after each page of entities has been published so that a sequence that is interrupted can resume
+ * from the last completed page rather than starting again.  A checkpoint only applies to a sequence requested with
+ * the same updatedAfter time.  Only the position in the sequence is kept, not the guids of the entities, and the
+ * checkpoint is held in memory so it does not survive a restart of the server.
+ */
+class LineagePublishCheckpoint {
+
+    private final String entityType;
+    private final Long updatedAfter;
+    private final long cutOffTime;
+    private int processedCount = 0;
+    private int publishedCount = 0;
+    private String lastGUID = null;
+    private Date lastUpdateTime = null;
+
+
+    /**
+     * Constructor for a new processing sequence.
+     *
+     * @param entityType   the type of the entities being published
+     * @param updatedAfter the updatedAfter time requested for the processing sequence (may be null)
+     * @param cutOffTime   the point in time for which the processing sequence is executed
+     */
+    LineagePublishCheckpoint(String entityType, Long updatedAfter, long cutOffTime) {
+        this.entityType = entityType;
+        this.updatedAfter = updatedAfter;
+        this.cutOffTime = cutOffTime;
+    }
+
+
+    /**
+     * Return whether this checkpoint can be used to resume a processing sequence requested with the supplied updatedAfter time.
+     *
+     * @param requestedUpdatedAfter the updatedAfter time of the new request
+     *
+     * @return true if the processing sequence can resume from this checkpoint
+     */
+    boolean isResumableFor(Long requestedUpdatedAfter) {
+        return Objects.equals(updatedAfter, requestedUpdatedAfter);
+    }
+
+
+    /**
+     * Record that a page of entities has been processed.
+     *
+     * @param entities       the entities in the page
+     * @param publishedGUIDs the guids of the entities in the page whose context was published
+     */
+    synchronized void pageCompleted(List<EntityDetail> entities, List<String> publishedGUIDs) {
+        publishedCount += publishedGUIDs.size();
+        processedCount += entities.size();
+
+        EntityDetail lastEntity = entities.get(entities.size() - 1);
+        lastGUID = lastEntity.getGUID();
+        lastUpdateTime = lastEntity.getUpdateTime() != null ? lastEntity.getUpdateTime() : lastEntity.getCreateTime();
+    }
+
+
+    /**
+     * Return the type of the entities being published.
+     *
+     * @return type name
+     */
+    String getEntityType() {
+        return entityType;
+    }
+
+
+    /**
+     * Return the point in time for which the processing sequence is executed.  This is kept from the first run so
+     * that a resumed sequence does not miss changes made while it was interrupted.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getCutOffTime() {
+        return cutOffTime;
+    }
+
+
+    /**
+     * Return the number of entities processed so far.  This is also the index of the first entity in the next page.
+     *
+     * @return count
+     */
+    synchronized int getProcessedCount() {
+        return processedCount;
+    }
+
+
+    /**
+     * Return the number of entities whose context has been published so far.
+     *
+     * @return count
+     */
+    synchronized int getPublishedCount() {
+        return publishedCount;
+    }
+
+
+    /**
+     * Return the guid of the last entity processed.
+     *
+     * @return guid or null if no entities have been processed
+     */
+    synchronized String getLastGUID() {
+        return lastGUID;
+    }
+
+
+    /**
+     * Return the update time of the last entity processed.
+     *
+     * @return date or null if no entities have been processed
+     */
+    synchronized Date getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+}
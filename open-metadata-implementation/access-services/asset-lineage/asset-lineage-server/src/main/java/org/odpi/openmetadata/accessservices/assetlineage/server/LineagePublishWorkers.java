@@ -0,0 +1,164 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.server;
+
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LineagePublishWorkers holds the threads and checkpoints of the publishLineage processing sequences for one server.
+ * Only one processing sequence is active at a time.  A single coordinator thread retrieves the pages of entities and
+ * a bounded pool of worker threads builds and publishes the lineage context of the entities in each page.  Work that
+ * does not fit in the worker queue is run by the coordinator thread, which slows down the retrieval of the next page.
+ * The checkpoints are held in memory, so they allow a processing sequence that failed to resume while the server is
+ * running, but are lost when the server stops.
+ */
+class LineagePublishWorkers {
+
+    private static final int PUBLISH_WORKER_COUNT = 4;
+    private static final int PUBLISH_WORKER_QUEUE_SIZE = 500;
+
+    private final AtomicBoolean processingSequenceActive = new AtomicBoolean(false);
+    private final Map<String, LineagePublishCheckpoint> publishCheckpoints = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor publishCoordinator;
+    private final ThreadPoolExecutor publishWorkers;
+
+
+    /**
+     * Create the threads for a server.
+     *
+     * @param serverName name of the server, used in the thread names
+     */
+    LineagePublishWorkers(String serverName) {
+        publishCoordinator = newPublishExecutor(1, new LinkedBlockingQueue<>(), "AssetLineagePublishCoordinator-" + serverName + "-",
+                new ThreadPoolExecutor.AbortPolicy());
+        publishWorkers = newPublishExecutor(PUBLISH_WORKER_COUNT, new ArrayBlockingQueue<>(PUBLISH_WORKER_QUEUE_SIZE),
+                "AssetLineagePublishWorker-" + serverName + "-", new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+
+    /**
+     * Reserve the coordinator for a new processing sequence.
+     *
+     * @return false if a processing sequence is already active
+     */
+    boolean reserveProcessingSequence() {
+        return processingSequenceActive.compareAndSet(false, true);
+    }
+
+
+    /**
+     * Release the coordinator so that a new processing sequence can start.
+     */
+    void releaseProcessingSequence() {
+        processingSequenceActive.set(false);
+    }
+
+
+    /**
+     * Run a reserved processing sequence on the coordinator thread.  The coordinator is released when the processing
+     * sequence ends.
+     *
+     * @param processingSequence the processing sequence
+     *
+     * @throws RejectedExecutionException the server is shutting down
+     */
+    void startProcessingSequence(Runnable processingSequence) {
+        publishCoordinator.execute(() -> {
+            try {
+                processingSequence.run();
+            } finally {
+                releaseProcessingSequence();
+            }
+        });
+    }
+
+
+    /**
+     * Run the tasks for a page of entities on the worker threads and wait for them to complete.
+     *
+     * @param tasks the tasks to run
+     * @param <T>   type of the result of the tasks
+     *
+     * @return the results of the tasks in the same order as the tasks
+     *
+     * @throws InterruptedException interrupted while waiting for the tasks to complete
+     */
+    <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) throws InterruptedException {
+        return publishWorkers.invokeAll(tasks);
+    }
+
+
+    /**
+     * Return the checkpoint for an entity type.
+     *
+     * @param entityType type of the entities being published
+     *
+     * @return checkpoint or null if there is no processing sequence to resume
+     */
+    LineagePublishCheckpoint getCheckpoint(String entityType) {
+        return publishCheckpoints.get(entityType);
+    }
+
+
+    /**
+     * Save the checkpoint of a new processing sequence for an entity type.
+     *
+     * @param checkpoint checkpoint of the processing sequence
+     */
+    void putCheckpoint(LineagePublishCheckpoint checkpoint) {
+        publishCheckpoints.put(checkpoint.getEntityType(), checkpoint);
+    }
+
+
+    /**
+     * Remove the checkpoint of a processing sequence, unless it has been replaced by a later one.
+     *
+     * @param checkpoint checkpoint of the processing sequence
+     */
+    void removeCheckpoint(LineagePublishCheckpoint checkpoint) {
+        publishCheckpoints.remove(checkpoint.getEntityType(), checkpoint);
+    }
+
+
+    /**
+     * Stop the threads and discard the checkpoints.  An active processing sequence is interrupted.
+     */
+    void shutdown() {
+        publishCoordinator.shutdownNow();
+        publishWorkers.shutdownNow();
+        publishCheckpoints.clear();
+    }
+
+
+    /**
+     * Create a pool of named daemon threads for the lineage processing sequence.
+     *
+     * @param threadCount      number of threads in the pool
+     * @param queue            queue for the work waiting for a thread
+     * @param threadNamePrefix prefix for the thread names
+     * @param rejectedHandler  what to do with work that does not fit in the queue
+     *
+     * @return thread pool
+     */
+    private static ThreadPoolExecutor newPublishExecutor(int threadCount, BlockingQueue<Runnable> queue, String threadNamePrefix,
+                                                         RejectedExecutionHandler rejectedHandler) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 60L, TimeUnit.SECONDS, queue,
+                new WorkerThreadFactory(threadNamePrefix), rejectedHandler);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
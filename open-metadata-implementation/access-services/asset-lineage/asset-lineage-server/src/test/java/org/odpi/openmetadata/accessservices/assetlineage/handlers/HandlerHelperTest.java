@@ -207,10 +207,10 @@ class HandlerHelperTest {
         EntityDetail entityDetail = mock(EntityDetail.class);
         entities.add(entityDetail);
         when(genericHandler.findEntities(USER, ENTITY_TYPE_GUID, guids, searchProperties, Collections.emptyList(),
-                null, null, null, null, true, false, 0, 0,
+                null, null, null, SequencingOrder.CREATION_DATE_OLDEST, true, false, 0, 500,
                 "findEntitiesByType")).thenReturn(entities);
 
-        Optional<List<EntityDetail>> response = handlerHelper.findEntitiesByType(USER, ENTITY_TYPE_NAME, searchProperties, findEntitiesParameters);
+        Optional<List<EntityDetail>> response = handlerHelper.findEntitiesByType(USER, ENTITY_TYPE_NAME, searchProperties, findEntitiesParameters, 0, 500);
         assertTrue(response.isPresent());
         assertEquals(entities, response.get());
     }
@@ -224,10 +224,10 @@ class HandlerHelperTest {
 
         mockTypeDef(ENTITY_TYPE_NAME, ENTITY_TYPE_GUID);
         when(genericHandler.findEntities(USER, ENTITY_TYPE_GUID, guids, searchProperties, Collections.emptyList(),
-                null, null, null, null, true,
-                false, 0, 0, "findEntitiesByType")).thenReturn(null);
+                null, null, null, SequencingOrder.CREATION_DATE_OLDEST, true,
+                false, 500, 500, "findEntitiesByType")).thenReturn(null);
 
-        Optional<List<EntityDetail>> response = handlerHelper.findEntitiesByType(USER, ENTITY_TYPE_NAME, searchProperties, findEntitiesParameters);
+        Optional<List<EntityDetail>> response = handlerHelper.findEntitiesByType(USER, ENTITY_TYPE_NAME, searchProperties, findEntitiesParameters, 500, 500);
         assertTrue(response.isEmpty());
     }
 
@@ -5,9 +5,11 @@ package org.odpi.openmetadata.accessservices.assetlineage.server;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Multimap;
 import org.apache.commons.collections4.CollectionUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,6 +21,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
 import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
 import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineagePublishSummary;
 import org.odpi.openmetadata.accessservices.assetlineage.model.RelationshipsContext;
 import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
@@ -39,16 +42,23 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,6 +74,8 @@ class AssetLineageRestServicesTest {
     private static final String GUID = "GUID";
     private static final String FIRST_GUID = "firstGUID";
     private static final String SECOND_GUID = "secondGUID";
+    private static final int PAGE_SIZE = 2;
+    private static final long TIMEOUT = 5000L;
     @Mock
     private RESTExceptionHandler restExceptionHandler;
     @Mock
@@ -79,6 +91,8 @@ class AssetLineageRestServicesTest {
     @InjectMocks
     private AssetLineageRestServices assetLineageRestServices;
 
+    private final LineagePublishWorkers publishWorkers = new LineagePublishWorkers(SERVER_NAME);
+
 
     @BeforeEach
     void before() {
@@ -94,12 +108,18 @@ class AssetLineageRestServicesTest {
         restExceptionHandlerField.setAccessible(false);
     }
 
+    @AfterEach
+    void after() {
+        publishWorkers.shutdown();
+    }
+
     @Test
     void publishEntities() throws OCFCheckedExceptionBase {
         String methodName = "publishEntities";
         mockHandlerHelper(methodName);
         mockAuditLog(methodName);
         mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
         FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
 
         Long time = 1629123802L;
@@ -110,7 +130,8 @@ class AssetLineageRestServicesTest {
         EntityDetail entityDetail = mockEntityDetail(PROCESS);
         entities.add(entityDetail);
         Optional<List<EntityDetail>> entitiesByTypeName = Optional.of(entities);
-        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters)).thenReturn(entitiesByTypeName);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(500);
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 0, 500)).thenReturn(entitiesByTypeName);
         GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
 
         assertEquals(1, response.getGUIDs().size());
@@ -123,15 +144,177 @@ class AssetLineageRestServicesTest {
         mockHandlerHelper(methodName);
         mockAuditLog(methodName);
         mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
         FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
 
         Long time = 1629123802L;
         SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, time);
 
-        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters)).thenReturn(Optional.empty());
+        when(handlerHelper.getMaxPagingSize()).thenReturn(500);
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 0, 500)).thenReturn(Optional.empty());
+        GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+
+        assertTrue(CollectionUtils.isEmpty(response.getGUIDs()));
+        assertNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+    }
+
+    @Test
+    void publishEntities_multiplePages() throws OCFCheckedExceptionBase, JsonProcessingException, InterruptedException {
+        String methodName = "publishEntities";
+        mockHandlerHelper(methodName);
+        mockAuditLog(methodName);
+        mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
+        FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
+        SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, 1629123802L);
+
+        List<EntityDetail> entities = mockProcesses(5);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(PAGE_SIZE);
+        mockPage(searchProperties, findEntitiesParameters, entities, 0);
+        mockPage(searchProperties, findEntitiesParameters, entities, 2);
+        mockPage(searchProperties, findEntitiesParameters, entities, 4);
+
+        GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        assertEquals(Arrays.asList("guid0", "guid1", "guid2", "guid3", "guid4"), response.getGUIDs());
+
+        ArgumentCaptor<LineagePublishSummary> summary = ArgumentCaptor.forClass(LineagePublishSummary.class);
+        verify(publisher, timeout(TIMEOUT)).publishLineageSummaryEvent(summary.capture());
+        awaitPublishTaskCompletion();
+
+        assertEquals(new HashSet<>(Arrays.asList("guid0", "guid1", "guid2", "guid3", "guid4")), new HashSet<>(summary.getValue().getItems()));
+        verify(handlerHelper, never()).findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 6, PAGE_SIZE);
+        assertNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+    }
+
+    @Test
+    void publishEntities_defaultPageSizeWithoutServerLimit() throws OCFCheckedExceptionBase, JsonProcessingException, InterruptedException {
+        String methodName = "publishEntities";
+        mockHandlerHelper(methodName);
+        mockAuditLog(methodName);
+        mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
+        FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
+        SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, 1629123802L);
+
+        List<EntityDetail> entities = mockProcesses(3);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(0);
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 0, 500))
+                .thenReturn(Optional.of(entities));
+
+        GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        assertEquals(Arrays.asList("guid0", "guid1", "guid2"), response.getGUIDs());
+
+        verify(publisher, timeout(TIMEOUT)).publishLineageSummaryEvent(any());
+        awaitPublishTaskCompletion();
+
+        verify(handlerHelper, never()).findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 0, 0);
+    }
+
+    @Test
+    void publishEntities_resumeFromCheckpoint() throws OCFCheckedExceptionBase, JsonProcessingException, InterruptedException {
+        String methodName = "publishEntities";
+        mockHandlerHelper(methodName);
+        mockAuditLog(methodName);
+        mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
+        FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
+        SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, 1629123802L);
+
+        List<EntityDetail> entities = mockProcesses(3);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(PAGE_SIZE);
+        mockPage(searchProperties, findEntitiesParameters, entities, 0);
+        PropertyServerException mockedException = new PropertyServerException(AssetLineageErrorCode.OMRS_NOT_INITIALIZED.getMessageDefinition(),
+                HandlerHelper.class.getName(), "findEntitiesByType");
+        // the second page is found by the request, fails in the background task and is then found again by both
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 2, PAGE_SIZE))
+                .thenReturn(Optional.of(entities.subList(2, 3)))
+                .thenThrow(mockedException)
+                .thenReturn(Optional.of(entities.subList(2, 3)));
+
+        assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        verify(auditLog, timeout(TIMEOUT)).logException(eq("publishEntityPages"), any(), eq(mockedException));
+        awaitPublishTaskCompletion();
+
+        LineagePublishCheckpoint checkpoint = publishWorkers.getCheckpoint(ENTITY_TYPE);
+        assertNotNull(checkpoint);
+        assertEquals(2, checkpoint.getProcessedCount());
+        assertEquals("guid1", checkpoint.getLastGUID());
+        verify(publisher, never()).publishLineageSummaryEvent(any());
+
         GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        assertEquals(Arrays.asList("guid0", "guid1", "guid2"), response.getGUIDs());
+
+        ArgumentCaptor<LineagePublishSummary> summary = ArgumentCaptor.forClass(LineagePublishSummary.class);
+        verify(publisher, timeout(TIMEOUT)).publishLineageSummaryEvent(summary.capture());
+        awaitPublishTaskCompletion();
+
+        assertEquals(Collections.singletonList("guid2"), summary.getValue().getItems());
+        verify(publisher, times(1)).publishProcessContext(entities.get(0));
+        assertNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+    }
+
+    @Test
+    void publishEntities_newUpdatedAfterStartsAgain() throws OCFCheckedExceptionBase, JsonProcessingException, InterruptedException {
+        String methodName = "publishEntities";
+        mockHandlerHelper(methodName);
+        mockAuditLog(methodName);
+        mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
+        FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
+        SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, 1629123802L);
+
+        List<EntityDetail> entities = mockProcesses(3);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(PAGE_SIZE);
+        mockPage(searchProperties, findEntitiesParameters, entities, 0);
+        PropertyServerException mockedException = new PropertyServerException(AssetLineageErrorCode.OMRS_NOT_INITIALIZED.getMessageDefinition(),
+                HandlerHelper.class.getName(), "findEntitiesByType");
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 2, PAGE_SIZE))
+                .thenReturn(Optional.of(entities.subList(2, 3)))
+                .thenThrow(mockedException);
+
+        assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        verify(auditLog, timeout(TIMEOUT)).logException(eq("publishEntityPages"), any(), eq(mockedException));
+        awaitPublishTaskCompletion();
+
+        FindEntitiesParameters laterParameters = mock(FindEntitiesParameters.class);
+        SearchProperties laterSearchProperties = mockSearchProperties(laterParameters, 1629123999L);
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, laterSearchProperties, laterParameters, 0, PAGE_SIZE))
+                .thenReturn(Optional.empty());
+
+        GUIDListResponse response = assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, laterParameters);
 
         assertTrue(CollectionUtils.isEmpty(response.getGUIDs()));
+        assertNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+    }
+
+    @Test
+    void publishEntities_shutdownDiscardsCheckpoint() throws OCFCheckedExceptionBase, JsonProcessingException, InterruptedException {
+        String methodName = "publishEntities";
+        mockHandlerHelper(methodName);
+        mockAuditLog(methodName);
+        mockAssetLineagePublisher(methodName);
+        mockLineagePublishWorkers(methodName);
+        FindEntitiesParameters findEntitiesParameters = mock(FindEntitiesParameters.class);
+        SearchProperties searchProperties = mockSearchProperties(findEntitiesParameters, 1629123802L);
+
+        List<EntityDetail> entities = mockProcesses(3);
+        when(handlerHelper.getMaxPagingSize()).thenReturn(PAGE_SIZE);
+        mockPage(searchProperties, findEntitiesParameters, entities, 0);
+        PropertyServerException mockedException = new PropertyServerException(AssetLineageErrorCode.OMRS_NOT_INITIALIZED.getMessageDefinition(),
+                HandlerHelper.class.getName(), "findEntitiesByType");
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, 2, PAGE_SIZE))
+                .thenReturn(Optional.of(entities.subList(2, 3)))
+                .thenThrow(mockedException);
+
+        assetLineageRestServices.publishEntities(SERVER_NAME, USER, ENTITY_TYPE, findEntitiesParameters);
+        verify(auditLog, timeout(TIMEOUT)).logException(eq("publishEntityPages"), any(), eq(mockedException));
+        awaitPublishTaskCompletion();
+        assertNotNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+
+        publishWorkers.shutdown();
+
+        assertNull(publishWorkers.getCheckpoint(ENTITY_TYPE));
+        assertThrows(RejectedExecutionException.class, () -> publishWorkers.startProcessingSequence(() -> { }));
     }
 
     @Test
@@ -270,6 +453,43 @@ class AssetLineageRestServicesTest {
         verify(restExceptionHandler, times(1)).captureInvalidParameterException(any(GUIDListResponse.class), eq(mockedException));
     }
 
+    private List<EntityDetail> mockProcesses(int count) throws OCFCheckedExceptionBase, JsonProcessingException {
+        Multimap<String, RelationshipsContext> context = mock(Multimap.class);
+        when(context.isEmpty()).thenReturn(false);
+
+        List<EntityDetail> entities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EntityDetail entityDetail = mockEntityDetail(PROCESS);
+            when(entityDetail.getGUID()).thenReturn("guid" + i);
+            when(publisher.publishProcessContext(entityDetail)).thenReturn(context);
+            entities.add(entityDetail);
+        }
+        return entities;
+    }
+
+    private void mockPage(SearchProperties searchProperties, FindEntitiesParameters findEntitiesParameters, List<EntityDetail> entities,
+                          int startFrom) throws OCFCheckedExceptionBase {
+        List<EntityDetail> page = entities.subList(startFrom, Math.min(startFrom + PAGE_SIZE, entities.size()));
+        when(handlerHelper.findEntitiesByType(USER, ENTITY_TYPE, searchProperties, findEntitiesParameters, startFrom, PAGE_SIZE))
+                .thenReturn(Optional.of(page));
+    }
+
+    private void awaitPublishTaskCompletion() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        boolean reserved = publishWorkers.reserveProcessingSequence();
+        while (!reserved && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            reserved = publishWorkers.reserveProcessingSequence();
+        }
+        assertTrue(reserved);
+        publishWorkers.releaseProcessingSequence();
+    }
+
+    private void mockLineagePublishWorkers(String methodName) throws InvalidParameterException, PropertyServerException,
+                                                                     UserNotAuthorizedException {
+        when(instanceHandler.getLineagePublishWorkers(USER, SERVER_NAME, methodName)).thenReturn(publishWorkers);
+    }
+
     private SearchProperties mockSearchProperties(FindEntitiesParameters findEntitiesParameters, Long time) {
         when(findEntitiesParameters.getUpdatedAfter()).thenReturn(time);
         SearchProperties searchProperties = mock(SearchProperties.class);
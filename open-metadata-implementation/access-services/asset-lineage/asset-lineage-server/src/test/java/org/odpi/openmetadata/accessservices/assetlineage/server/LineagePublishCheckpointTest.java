@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.server;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineagePublishCheckpointTest {
+    private static final String ENTITY_TYPE = "Process";
+    private static final Long UPDATED_AFTER = 1629123802L;
+    private static final long CUT_OFF_TIME = 1629124000L;
+
+    @Test
+    void newCheckpoint() {
+        LineagePublishCheckpoint checkpoint = new LineagePublishCheckpoint(ENTITY_TYPE, UPDATED_AFTER, CUT_OFF_TIME);
+
+        assertEquals(ENTITY_TYPE, checkpoint.getEntityType());
+        assertEquals(CUT_OFF_TIME, checkpoint.getCutOffTime());
+        assertEquals(0, checkpoint.getProcessedCount());
+        assertEquals(0, checkpoint.getPublishedCount());
+        assertNull(checkpoint.getLastGUID());
+        assertNull(checkpoint.getLastUpdateTime());
+    }
+
+    @Test
+    void isResumableFor() {
+        assertTrue(new LineagePublishCheckpoint(ENTITY_TYPE, UPDATED_AFTER, CUT_OFF_TIME).isResumableFor(UPDATED_AFTER));
+        assertFalse(new LineagePublishCheckpoint(ENTITY_TYPE, UPDATED_AFTER, CUT_OFF_TIME).isResumableFor(UPDATED_AFTER + 1));
+        assertFalse(new LineagePublishCheckpoint(ENTITY_TYPE, UPDATED_AFTER, CUT_OFF_TIME).isResumableFor(null));
+        assertTrue(new LineagePublishCheckpoint(ENTITY_TYPE, null, CUT_OFF_TIME).isResumableFor(null));
+    }
+
+    @Test
+    void pageCompleted() {
+        LineagePublishCheckpoint checkpoint = new LineagePublishCheckpoint(ENTITY_TYPE, UPDATED_AFTER, CUT_OFF_TIME);
+        Date createTime = new Date(1000L);
+        Date updateTime = new Date(2000L);
+
+        checkpoint.pageCompleted(Arrays.asList(entityDetail("guid0", createTime, updateTime), entityDetail("guid1", createTime, null)),
+                Collections.singletonList("guid0"));
+
+        assertEquals(2, checkpoint.getProcessedCount());
+        assertEquals(1, checkpoint.getPublishedCount());
+        assertEquals("guid1", checkpoint.getLastGUID());
+        assertEquals(createTime, checkpoint.getLastUpdateTime());
+
+        checkpoint.pageCompleted(Collections.singletonList(entityDetail("guid2", createTime, updateTime)), Collections.singletonList("guid2"));
+
+        assertEquals(3, checkpoint.getProcessedCount());
+        assertEquals(2, checkpoint.getPublishedCount());
+        assertEquals("guid2", checkpoint.getLastGUID());
+        assertEquals(updateTime, checkpoint.getLastUpdateTime());
+    }
+
+    private EntityDetail entityDetail(String guid, Date createTime, Date updateTime) {
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(guid);
+        entityDetail.setCreateTime(createTime);
+        entityDetail.setUpdateTime(updateTime);
+        return entityDetail;
+    }
+}
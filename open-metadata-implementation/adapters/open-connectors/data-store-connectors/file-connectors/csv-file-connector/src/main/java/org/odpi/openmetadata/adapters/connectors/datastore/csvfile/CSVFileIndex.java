@@ -0,0 +1,345 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+
+/**
+ * CSVFileIndex records the position of each line in a version of a CSV file so that any line can be read
+ * without scanning the lines before it.  The file is memory-mapped in segments and the index is built with
+ * a single pass over the mapped bytes.  The index is only valid for the version of the file it was built from;
+ * isCurrent() detects that the file has been changed since.
+ * <p>
+ * The lines are counted in the same way as the original scanner-based implementation: a line ends with a line
+ * feed, a carriage return or both, and any lines at the end of the file that only contain white space are ignored.
+ * <p>
+ * A mapped buffer holds on to its part of the file until it is garbage collected, which on some platforms stops the
+ * file from being replaced or deleted.  The index is therefore closed when it is no longer needed and the buffers
+ * are unmapped as soon as the last reader has released the index.
+ */
+class CSVFileIndex
+{
+    /*
+     * Files are mapped in segments because a single mapped buffer is limited to 2GB.
+     */
+    private static final long segmentSize = 1L << 30;
+
+    /*
+     * The JDK does not have a public method to unmap a buffer so the one used by the JDK itself is located
+     * (if it is available).
+     */
+    private static final Object unsafe;
+    private static final Method invokeCleaner;
+
+    static
+    {
+        Object unsafeInstance = null;
+        Method cleanerMethod  = null;
+
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field    theUnsafe   = unsafeClass.getDeclaredField("theUnsafe");
+
+            theUnsafe.setAccessible(true);
+
+            cleanerMethod  = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            unsafeInstance = theUnsafe.get(null);
+        }
+        catch (Exception error)
+        {
+            /*
+             * The buffers are released by the garbage collector instead.
+             */
+            cleanerMethod = null;
+        }
+
+        unsafe = unsafeInstance;
+        invokeCleaner = cleanerMethod;
+    }
+
+    private final File               file;
+    private final long               lastModified;
+    private final long               fileLength;
+    private final Charset            charset;
+    private final MappedByteBuffer[] segments;
+    private       long[]             lineOffsets  = new long[1024];
+    private       int                indexedLines = 0;
+    private       int                lineCount    = 0;
+    private       int                readerCount  = 0;
+    private       boolean            closed       = false;
+
+
+    /**
+     * Build the index for the current version of the file.
+     *
+     * @param file file to index
+     * @param charset character set used to decode the lines
+     * @throws IOException the file can not be read
+     */
+    CSVFileIndex(File    file,
+                 Charset charset) throws IOException
+    {
+        this.file         = file;
+        this.lastModified = file.lastModified();
+        this.fileLength   = file.length();
+        this.charset      = charset;
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"))
+        {
+            FileChannel fileChannel = randomAccessFile.getChannel();
+
+            segments = new MappedByteBuffer[(int)((fileLength + segmentSize - 1) / segmentSize)];
+
+            for (int segment = 0; segment < segments.length; segment++)
+            {
+                long segmentStart = segment * segmentSize;
+
+                segments[segment] = fileChannel.map(FileChannel.MapMode.READ_ONLY,
+                                                    segmentStart,
+                                                    Math.min(segmentSize, fileLength - segmentStart));
+            }
+        }
+
+        this.buildIndex();
+    }
+
+
+    /**
+     * Return whether the file has changed since the index was built.
+     *
+     * @return boolean flag
+     */
+    boolean isCurrent()
+    {
+        return (file.lastModified() == lastModified) && (file.length() == fileLength);
+    }
+
+
+    /**
+     * Register a reader of the index.  The buffers are not released until the reader calls release().
+     */
+    synchronized void acquire()
+    {
+        readerCount ++;
+    }
+
+
+    /**
+     * A reader has finished with the index.  If the index has been closed and this is the last reader,
+     * the buffers are unmapped.
+     */
+    synchronized void release()
+    {
+        readerCount --;
+
+        if ((closed) && (readerCount == 0))
+        {
+            this.unmapSegments();
+        }
+    }
+
+
+    /**
+     * The index is no longer needed, for example because the file has changed.  The buffers are unmapped
+     * now, or when the last reader releases the index.
+     */
+    synchronized void close()
+    {
+        if (! closed)
+        {
+            closed = true;
+
+            if (readerCount == 0)
+            {
+                this.unmapSegments();
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of lines in the file.
+     *
+     * @return count
+     */
+    int getLineCount()
+    {
+        return lineCount;
+    }
+
+
+    /**
+     * Return the requested line without its line terminator.
+     *
+     * @param lineNumber index of the line - the first line is 0
+     * @return line
+     */
+    String readLine(int lineNumber)
+    {
+        long start = lineOffsets[lineNumber];
+        long end   = (lineNumber + 1 < indexedLines) ? lineOffsets[lineNumber + 1] : fileLength;
+
+        /*
+         * Remove the line terminator.
+         */
+        while ((end > start) && ((this.getByte(end - 1) == '\n') || (this.getByte(end - 1) == '\r')))
+        {
+            end --;
+        }
+
+        byte[] lineBytes = new byte[(int)(end - start)];
+        long   position  = start;
+        int    copied    = 0;
+
+        while (copied < lineBytes.length)
+        {
+            MappedByteBuffer segment       = segments[(int)(position / segmentSize)];
+            int              segmentOffset = (int)(position % segmentSize);
+            int              length        = Math.min(lineBytes.length - copied, segment.limit() - segmentOffset);
+
+            segment.duplicate().position(segmentOffset).get(lineBytes, copied, length);
+
+            copied   += length;
+            position += length;
+        }
+
+        return new String(lineBytes, charset);
+    }
+
+
+    /**
+     * Step through the bytes of the file recording the start of each line.  Lines at the end of the file
+     * that only contain white space are not counted.
+     */
+    private void buildIndex()
+    {
+        long    position          = 0;
+        boolean previousWasCR     = false;
+        int     linesWithContent  = 0;
+
+        if (fileLength > 0)
+        {
+            this.addLine(0);
+        }
+
+        for (MappedByteBuffer segment : segments)
+        {
+            int limit = segment.limit();
+
+            for (int offset = 0; offset < limit; offset++, position++)
+            {
+                byte character = segment.get(offset);
+
+                if (character == '\n')
+                {
+                    if (! previousWasCR)
+                    {
+                        this.addLine(position + 1);
+                    }
+                    else
+                    {
+                        lineOffsets[indexedLines - 1] = position + 1;
+                    }
+
+                    previousWasCR = false;
+                }
+                else if (character == '\r')
+                {
+                    this.addLine(position + 1);
+                    previousWasCR = true;
+                }
+                else
+                {
+                    previousWasCR = false;
+
+                    if (! isWhiteSpace(character))
+                    {
+                        linesWithContent = indexedLines;
+                    }
+                }
+            }
+        }
+
+        lineCount = linesWithContent;
+    }
+
+
+    /**
+     * Record the start of a new line.
+     *
+     * @param offset position in the file of the first byte of the line
+     */
+    private void addLine(long offset)
+    {
+        if (indexedLines == lineOffsets.length)
+        {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length * 2);
+        }
+
+        lineOffsets[indexedLines] = offset;
+        indexedLines ++;
+    }
+
+
+    /**
+     * Return the byte at the requested position in the file.
+     *
+     * @param position position in the file
+     * @return byte
+     */
+    private byte getByte(long position)
+    {
+        return segments[(int)(position / segmentSize)].get((int)(position % segmentSize));
+    }
+
+
+    /**
+     * Unmap each of the buffers.  They must not be used after this call.
+     */
+    private void unmapSegments()
+    {
+        for (int segment = 0; segment < segments.length; segment++)
+        {
+            if (invokeCleaner != null)
+            {
+                try
+                {
+                    invokeCleaner.invoke(unsafe, segments[segment]);
+                }
+                catch (Exception error)
+                {
+                    /*
+                     * The buffer is released by the garbage collector instead.
+                     */
+                }
+            }
+
+            segments[segment] = null;
+        }
+    }
+
+
+    /**
+     * Return whether the byte is one of the white space characters.
+     *
+     * @param character byte from the file
+     * @return boolean flag
+     */
+    private static boolean isWhiteSpace(byte character)
+    {
+        return (character == ' ') || (character == '\t') || (character == '\f') || (character == 0x0B) ||
+               ((character >= 0x1C) && (character <= 0x1F));
+    }
+}
@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The first call scans the file to locate the start of each record.
+     * The result is reused until the file changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +74,20 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records than requested are returned
+     * when the end of the file is reached, and an empty list is returned if the first requested record is beyond
+     * the end of the file.  This is the efficient way to step through a large file.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each record is a list of strings, one for each column.
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    List<List<String>> readRecords(int startRecordNumber,
+                                   int maximumRecords) throws FileException, FileReadException;
 }
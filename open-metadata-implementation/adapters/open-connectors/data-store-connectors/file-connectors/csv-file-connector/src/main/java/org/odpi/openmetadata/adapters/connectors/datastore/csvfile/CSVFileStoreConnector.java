@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.*;
 
 
@@ -28,6 +29,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>   columnNames       = null;
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
+    private CSVFileIndex   fileIndex         = null;
 
     /*
      * Variables used for logging and debug.
@@ -127,8 +129,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The first call scans the file to locate the start of each record.
+     * The result is reused until the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,31 +140,21 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
+        CSVFileIndex index = getFileIndex(methodName);
+        long         rowCount;
 
-        File fileStore = getFile(methodName);
-
-        try (Scanner scanner  = new Scanner(fileStore))
+        try
         {
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
+            rowCount = index.getLineCount();
         }
-        catch (IOException  error)
+        finally
         {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            index.release();
+        }
+
+        if ((rowCount > 0) && (columnNames == null))
+        {
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -220,6 +212,55 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records than requested are returned
+     * when the end of the file is reached, and an empty list is returned if the first requested record is beyond
+     * the end of the file.  This is the efficient way to step through a large file.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each record is a list of strings, one for each column.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the start record number is negative.
+     */
+    public List<List<String>> readRecords(int startRecordNumber,
+                                          int maximumRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        long firstRow = (columnNames == null) ? startRecordNumber + 1L : startRecordNumber;
+
+        if (startRecordNumber < 0)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                      Long.toString(firstRow)),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        CSVFileIndex       index   = getFileIndex(methodName);
+        List<List<String>> records = new ArrayList<>();
+
+        try
+        {
+            long endRow = Math.min(firstRow + maximumRecords, index.getLineCount());
+
+            for (long row = firstRow; row < endRow; row++)
+            {
+                records.add(parseRecord(index.readLine((int)row)));
+            }
+        }
+        finally
+        {
+            index.release();
+        }
+
+        return records;
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -232,42 +273,72 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        CSVFileIndex index = getFileIndex(methodName);
 
+        try
+        {
+            if ((recordLocation < 0) || (recordLocation >= index.getLineCount()))
+            {
+                throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                          Integer.toString(recordLocation)),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            fileStoreName);
+            }
+
+            return parseRecord(index.readLine(recordLocation));
+        }
+        finally
+        {
+            index.release();
+        }
+    }
+
+
+    /**
+     * Return the index of the lines in the file.  The index is built the first time the file is read and
+     * rebuilt whenever the file changes.  This means that reading records one after another does not
+     * rescan the file each time.  The index is returned acquired so that it is not unmapped while it is in use
+     * (even if another thread replaces it).  The caller must release it.
+     *
+     * @param methodName name of calling method
+     * @return index for the current version of the file
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open or read the file.
+     */
+    private synchronized CSVFileIndex getFileIndex(String  methodName) throws FileException, FileReadException
+    {
         File fileStore = super.getFile(methodName);
 
-        try (Scanner scanner = new Scanner(fileStore))
+        if ((fileIndex == null) || (! fileIndex.isCurrent()))
         {
+            if (fileIndex != null)
+            {
+                fileIndex.close();
+                fileIndex = null;
+            }
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            try
             {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
+                /*
+                 * The default character set matches the scanner used by earlier versions of this connector.
+                 */
+                fileIndex = new CSVFileIndex(fileStore, Charset.defaultCharset());
             }
+            catch (IOException  error)
+            {
+                throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                                   error.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            error,
+                                            fileStoreName);
+            }
+        }
 
-            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
-                                                                                                      Integer.toString(recordLocation)),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        fileStoreName);
+        fileIndex.acquire();
 
-        }
-        catch (IOException  error)
-        {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
-        }
+        return fileIndex;
     }
 
 
@@ -378,6 +449,15 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
             log.debug("Ignoring unexpected exception " + exec.getClass().getSimpleName() + " with message " + exec.getMessage());
         }
 
+        synchronized (this)
+        {
+            if (fileIndex != null)
+            {
+                fileIndex.close();
+                fileIndex = null;
+            }
+        }
+
         log.debug("Closing Structured File Store");
     }
 }
@@ -0,0 +1,80 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the line index of a CSV file and the release of its mapped buffers.
+ */
+public class CSVFileIndexTest
+{
+    @Test public void testLineEndings() throws Exception
+    {
+        File testFile = createFile("a\nb\r\nc\rd\n  \n\t\n");
+
+        try
+        {
+            CSVFileIndex index = new CSVFileIndex(testFile, StandardCharsets.UTF_8);
+
+            assertEquals(index.getLineCount(), 4);
+            assertEquals(index.readLine(0), "a");
+            assertEquals(index.readLine(1), "b");
+            assertEquals(index.readLine(2), "c");
+            assertEquals(index.readLine(3), "d");
+            assertTrue(index.isCurrent());
+
+            index.close();
+        }
+        finally
+        {
+            assertTrue(testFile.delete());
+        }
+    }
+
+
+    @Test public void testClosedIndexIsReadableUntilReleased() throws Exception
+    {
+        File testFile = createFile("first\nsecond\n");
+
+        try
+        {
+            CSVFileIndex index = new CSVFileIndex(testFile, StandardCharsets.UTF_8);
+
+            index.acquire();
+            index.close();
+
+            /*
+             * The buffers are still mapped because there is a reader.
+             */
+            assertEquals(index.readLine(1), "second");
+
+            index.release();
+
+            Files.write(testFile.toPath(), "first\nsecond\nthird\n".getBytes(StandardCharsets.UTF_8));
+            assertFalse(index.isCurrent());
+        }
+        finally
+        {
+            assertTrue(testFile.delete());
+        }
+    }
+
+
+    private File createFile(String contents) throws Exception
+    {
+        File testFile = File.createTempFile("CSVFileIndex", ".csv");
+
+        Files.write(testFile.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+
+        return testFile;
+    }
+}
@@ -10,8 +10,12 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -101,6 +105,30 @@ public class CSVFileStoreConnectorTest
             assertTrue(columnNames.size() == columns.size());
         }
 
+        List<List<String>> records = connector.readRecords(0, 10000);
+
+        assertTrue(records.size() == connector.getRecordCount());
+        for (int i=0; i<records.size(); i++)
+        {
+            assertTrue(records.get(i).equals(connector.readRecord(i)));
+        }
+
+        assertTrue(connector.readRecords(10000, 10).isEmpty());
+
+        try
+        {
+            connector.readRecords(-1, 10);
+            assertTrue(false);
+        }
+        catch (FileReadException error)
+        {
+            assertTrue("The connector is unable to retrieve the requested record because the file is too short.".equals(error.getReportedSystemAction()));
+        }
+        catch (Throwable exception)
+        {
+            assertTrue(false);
+        }
+
         try
         {
             connector.readRecord(10000);
@@ -338,6 +366,38 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    @Test public void testChangedFile() throws Exception
+    {
+        File                  testFile  = File.createTempFile("ChangedFile", ".csv");
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        try
+        {
+            Files.write(testFile.toPath(), "Name,Value\nA,1\n".getBytes(StandardCharsets.UTF_8));
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(testFile.getPath()));
+            connector.start();
+
+            assertEquals(connector.getRecordCount(), 1L);
+            assertEquals(connector.readRecord(0), Arrays.asList("A", "1"));
+
+            /*
+             * The index of the old version of the file is replaced.
+             */
+            Files.write(testFile.toPath(), "Name,Value\nA,1\nB,2\nC,3\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(connector.getRecordCount(), 3L);
+            assertEquals(connector.readRecords(1, 10), Arrays.asList(Arrays.asList("B", "2"), Arrays.asList("C", "3")));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            assertTrue(testFile.delete());
+        }
+    }
+
+
     @Test public void testLifecycle()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -12,9 +13,14 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -23,10 +29,21 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * The events are sent without waiting for Kafka to acknowledge the previous event.  Kafka reports the outcome
+ * of each send through a callback.  The number of events waiting for their callback is limited by the
+ * max_in_flight_events property.
+ *
+ * Cohort members rely on receiving events in the order they were sent.  When an event fails with an error that
+ * Kafka may recover from, no new events are passed to Kafka and the producer is closed without waiting so that
+ * the events queued behind the failed event are abandoned rather than delivered ahead of it.  Once every event in
+ * flight has completed, the failed and abandoned events are put back at the front of the send buffer in their
+ * original order and sent again through a new producer.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
+    private final LinkedBlockingDeque<String> sendBuffer   = new LinkedBlockingDeque<>();
+    private final Queue<String>               failedEvents = new ConcurrentLinkedQueue<>();
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -40,13 +57,20 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private final int sleepTime = 1000;
     private static final long recoverySleepTimeSec = 10L;
 
-    private final String                          localServerId;
-    private final Properties                      producerProperties;
-    private Producer<String, String>        producer = null;
+    private final String                             localServerId;
+    private final Properties                         producerProperties;
+    private final Supplier<Producer<String, String>> producerFactory;
+    private Producer<String, String>                 producer = null;
 
     private KafkaOpenMetadataTopicConnector connector;
 
-    private long    messageSendCount = 0;
+    private final int        maxInFlightEvents;
+    private final Semaphore  inFlightEvents;
+    private final AtomicLong messageSendCount   = new AtomicLong(0);
+    private final AtomicLong failedEventCount   = new AtomicLong(0);
+    private volatile boolean inErrorLoop        = false;
+    private volatile boolean resendRequired     = false;
+    private volatile String  latestErrorMessage = null;
 
 
     /**
@@ -56,21 +80,51 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
      * @param producerProperties properties for the consumer.
+     * @param producerEgeriaProperties properties that control the behaviour of this class.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
     KafkaOpenMetadataEventProducer(String                          topicName,
                                    String                          localServerId,
                                    Properties                      producerProperties,
+                                   Properties                      producerEgeriaProperties,
                                    KafkaOpenMetadataTopicConnector connector,
                                    AuditLog                        auditLog)
+    {
+        this(topicName, localServerId, producerProperties, producerEgeriaProperties, connector, auditLog, null);
+    }
+
+
+    /**
+     *
+     * Constructor for the event consumer that creates its Kafka producers through the supplied factory.
+     *
+     * @param topicName name of the topic to listen on.
+     * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param producerProperties properties for the consumer.
+     * @param producerEgeriaProperties properties that control the behaviour of this class.
+     * @param connector connector holding the inbound listeners.
+     * @param auditLog  audit log for this component.
+     * @param producerFactory creates a Kafka producer each time one is needed - null means a KafkaProducer
+     *                        is created from the producer properties.
+     */
+    KafkaOpenMetadataEventProducer(String                             topicName,
+                                   String                             localServerId,
+                                   Properties                         producerProperties,
+                                   Properties                         producerEgeriaProperties,
+                                   KafkaOpenMetadataTopicConnector    connector,
+                                   AuditLog                           auditLog,
+                                   Supplier<Producer<String, String>> producerFactory)
     {
         this.auditLog = auditLog;
         this.topicName = topicName;
         this.localServerId = localServerId;
         this.connector = connector;
         this.producerProperties = producerProperties;
+        this.producerFactory = (producerFactory != null) ? producerFactory : () -> new KafkaProducer<>(producerProperties);
         this.listenerThreadName = defaultThreadName + topicName;
+        this.maxInFlightEvents = getMaxInFlightEvents(producerEgeriaProperties);
+        this.inFlightEvents = new Semaphore(maxInFlightEvents);
 
         final String           actionDescription = "new producer";
 
@@ -86,23 +140,60 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Return the maximum number of events that can be waiting for Kafka to acknowledge them.
+     *
+     * @param producerEgeriaProperties properties that control the behaviour of this class
+     * @return number of events
+     */
+    private int getMaxInFlightEvents(Properties producerEgeriaProperties)
+    {
+        final String actionDescription = "getMaxInFlightEvents";
+
+        KafkaOpenMetadataEventProducerProperty property = KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_EVENTS;
+
+        String value = property.getDefaultValue();
+        if (producerEgeriaProperties != null)
+        {
+            value = producerEgeriaProperties.getProperty(property.getPropertyName(), value);
+        }
+
+        try
+        {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException error)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    KafkaOpenMetadataTopicConnectorAuditCode.UNABLE_TO_PARSE_CONFIG_PROPERTIES.getMessageDefinition(topicName,
+                                                                                                                                   error.getClass().getName(),
+                                                                                                                                   error.getMessage()));
+            }
+
+            return Integer.parseInt(property.getDefaultValue());
+        }
+    }
+
+
+    /**
+     * Passes the supplied event to the Kafka producer.  The call returns once the event is handed to the
+     * producer, which sends it with the other events waiting for the same broker.  The outcome of the send is
+     * handled by eventSendComplete().  The call waits if too many events are waiting to be acknowledged.
      *
      * @param event object containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted while waiting for earlier events to complete
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    private void publishEvent(String event) throws ConnectorCheckedException, InterruptedException
     {
         final String methodName = "publishEvent";
 
-        boolean                  eventSent = false;
-        long                     eventRetryCount = 0;
-
         if (producer == null)
         {
             try
             {
-                producer = new KafkaProducer<>(producerProperties);
+                producer = producerFactory.get();
             }
             catch ( Exception error )
             {
@@ -117,83 +208,187 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                                                     error);
             }
         }
-        while (!eventSent)
+
+        try
         {
-            try
-            {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
-                producer.send(record).get();
-                eventSent = true;
-                messageSendCount++;
-            }
-            catch (ExecutionException error)
+            inFlightEvents.acquire();
+        }
+        catch (InterruptedException error)
+        {
+            sendBuffer.offerFirst(event);
+            throw error;
+        }
+
+        if (resendRequired)
+        {
+            /*
+             * An earlier event failed while this thread was waiting.  This event must follow it.
+             */
+            inFlightEvents.release();
+            sendBuffer.offerFirst(event);
+            return;
+        }
+
+        Producer<String, String> sendingProducer = producer;
+
+        try
+        {
+            log.debug("Sending message {}", event);
+            ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
+            sendingProducer.send(record, (RecordMetadata metadata, Exception error) -> this.eventSendComplete(sendingProducer, event, error));
+        }
+        catch (WakeupException error)
+        {
+            inFlightEvents.release();
+            sendBuffer.offerFirst(event);
+            log.error("Wake up for shut down " + error.toString());
+        }
+        catch (Exception error)
+        {
+            inFlightEvents.release();
+
+            if (resendRequired)
             {
                 /*
-                 * This may be a simple timeout or something else more
+                 * The producer was closed by the callback for an earlier failed event.  This event is sent
+                 * again after that one.
                  */
+                failedEvents.add(event);
+                return;
+            }
+
+            producer.close();
+            producer = null;
+            log.debug("Send Events Throwable catch block closed producer");
+            log.error("Exception in sendEvent " + error.toString());
+
+            throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                  topicName,
+                                                                                                                                  error.getMessage()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error);
+        }
+    }
+
+
+    /**
+     * Called by the Kafka producer when an event has been acknowledged or has failed.  The first event that
+     * fails with an error that Kafka may recover from stops the sending of new events and closes the producer
+     * without waiting, which abandons the events queued behind it.  The failed event and every event that fails
+     * after it are kept, in order, to be sent again.  Other failures are logged and the event is discarded.
+     *
+     * @param sendingProducer the producer that sent the event
+     * @param event the event that was sent
+     * @param error null if the event was sent, otherwise the reason it failed
+     */
+    private void eventSendComplete(Producer<String, String> sendingProducer,
+                                   String                   event,
+                                   Exception                error)
+    {
+        final String methodName = "eventSendComplete";
+
+        try
+        {
+            if (error == null)
+            {
+                messageSendCount.incrementAndGet();
+                inErrorLoop = false;
+            }
+            else if ((error instanceof RetriableException) || (resendRequired))
+            {
                 log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
 
-                if (!isExceptionRetryable(error))
-                {
-                    /* kafka thinks this isn't a retryable problem */
-                    /* so let the caller try */
-
-                    producer.close();
-                    producer = null;
-
-                    throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                          topicName,
-                                                                                                                                          error.getMessage()),
-                                                                                                                                          this.getClass().getName(),
-                                                                                                                                          methodName,
-                                                                                                                                          error);
-                }
-                if (eventRetryCount == 10)
-                {
-                    /* we've retried now let the caller retry */
-                    producer.close();
-                    producer = null;
-                    log.error("Retryable Exception closed producer ");
-                    break;
-                }
-                else
+                failedEvents.add(event);
+
+                if (! resendRequired)
                 {
-                    if (eventRetryCount == 0)
-                    {
-                        if (auditLog != null)
-                        {
-                            auditLog.logMessage(methodName,
-                                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
-                                                                                                                                       Long.toString(messageSendCount),
-                                                                                                                                       Long.toString(this.getSendBufferSize()),
-                                                                                                                                       error.getMessage()));
-                        }
-                    }
+                    latestErrorMessage = error.getMessage();
+                    resendRequired = true;
 
-                    eventRetryCount++;
+                    /*
+                     * Called from the producer's callback, close returns without waiting and fails the events
+                     * that have not been sent.  They are kept (in order) because resendRequired is now set.
+                     */
+                    sendingProducer.close(Duration.ZERO);
                 }
             }
-            catch (WakeupException error)
+            else
             {
-                log.error("Wake up for shut down " + error.toString());
+                log.error("Unable to send event to topic " + topicName, error);
+
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_FAILED.getMessageDefinition(topicName,
+                                                                                                                          error.getClass().getName(),
+                                                                                                                          error.getMessage(),
+                                                                                                                          Long.toString(failedEventCount.incrementAndGet())),
+                                          error);
+                }
             }
-            catch (Exception error)
+        }
+        finally
+        {
+            inFlightEvents.release();
+        }
+    }
+
+
+    /**
+     * Wait for the events that are in flight to complete and then put the events that failed back at the front of
+     * the send buffer in their original order.  The closed producer is discarded so a new one is created, and
+     * Kafka is given time to recover before the events are sent again.
+     *
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private void resendFailedEvents() throws InterruptedException
+    {
+        final String methodName = "resendFailedEvents";
+
+        inFlightEvents.acquire(maxInFlightEvents);
+
+        try
+        {
+            if (producer != null)
             {
-                producer.close();
+                producer.close(Duration.ZERO);
                 producer = null;
-                log.debug("Send Events Throwable catch block closed producer");
-                log.error("Exception in sendEvent " + error.toString());
+            }
 
-                throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                      topicName,
-                                                                                                                                      error.getMessage()),
-                                                    this.getClass().getName(),
-                                                    methodName,
-                                                    error);
+            List<String> eventsToResend = new ArrayList<>();
+            String       failedEvent    = failedEvents.poll();
+
+            while (failedEvent != null)
+            {
+                eventsToResend.add(failedEvent);
+                failedEvent = failedEvents.poll();
             }
+
+            for (int i = eventsToResend.size() - 1; i >= 0; i--)
+            {
+                sendBuffer.offerFirst(eventsToResend.get(i));
+            }
+
+            resendRequired = false;
+        }
+        finally
+        {
+            inFlightEvents.release(maxInFlightEvents);
         }
 
+        if ((! inErrorLoop) && (auditLog != null))
+        {
+            auditLog.logMessage(methodName,
+                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
+                                                                                                                       Long.toString(messageSendCount.get()),
+                                                                                                                       Long.toString(this.getSendBufferSize()),
+                                                                                                                       latestErrorMessage));
+        }
+
+        inErrorLoop = true;
+
+        this.recoverAfterError();
     }
 
 
@@ -218,24 +413,20 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
-                /*
-                 * If there are no events waiting then sleep
-                 */
-                if (bufferedEvent == null)
+                if (resendRequired)
                 {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
+                    this.resendFailedEvents();
                 }
                 else
                 {
                     /*
-                     * Send all waiting events
+                     * Wait for the next event.  The wait ends as soon as an event is added to the buffer.
                      */
-                    while (bufferedEvent != null)
+                    String bufferedEvent = sendBuffer.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                    if (bufferedEvent != null)
                     {
                         publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
                     }
                 }
             }
@@ -270,9 +461,49 @@ public class KafkaOpenMetadataEventProducer implements Runnable
             auditLog.logMessage(actionDescription,
                                 KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_SHUTDOWN.getMessageDefinition(topicName,
                                                                                                                       Integer.toString(getSendBufferSize()),
-                                                                                                                      Long.toString(messageSendCount)),
+                                                                                                                      Long.toString(messageSendCount.get())),
                                 this.producerProperties.toString());
         }
+
+        this.logUnsentEvents(actionDescription);
+    }
+
+
+    /**
+     * Report the events that are not going to be sent because the producer is shutting down.  Closing the producer
+     * waits for the events in flight to complete, so the events that failed are ahead of the buffered events.
+     * The content of each event is logged so that it is not lost.
+     *
+     * @param actionDescription calling activity
+     */
+    private void logUnsentEvents(String actionDescription)
+    {
+        List<String> unsentEvents = new ArrayList<>();
+        String       unsentEvent  = failedEvents.poll();
+
+        while (unsentEvent != null)
+        {
+            unsentEvents.add(unsentEvent);
+            unsentEvent = failedEvents.poll();
+        }
+
+        sendBuffer.drainTo(unsentEvents);
+
+        if (! unsentEvents.isEmpty())
+        {
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    KafkaOpenMetadataTopicConnectorAuditCode.UNSENT_EVENTS_DISCARDED.getMessageDefinition(topicName,
+                                                                                                                          Integer.toString(unsentEvents.size()),
+                                                                                                                          latestErrorMessage));
+            }
+
+            for (String event : unsentEvents)
+            {
+                log.error("Unsent event for topic {}: {}", topicName, event);
+            }
+        }
     }
 
 
@@ -298,22 +529,6 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
-    /**
-     * Returns all of the events found on the in memory OMRS Topic.
-     *
-     * @return list of received events.
-     */
-    private String getEvent()
-    {
-        if (sendBuffer.isEmpty())
-        {
-            return null;
-        }
-
-        return sendBuffer.remove(0);
-    }
-
-
     /**
      * Sends the supplied event to the topic.
      *
@@ -0,0 +1,35 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer.  These are passed in the
+ * egeria_kafka_producer map of the connection's configuration properties.  The batching of the events
+ * by Kafka itself is controlled by the linger.ms and batch.size properties in the producer map.
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * Controls the number of events that can be sent to Kafka without waiting for them to be acknowledged.
+	 * Each event is acknowledged through a callback so events are sent in a pipeline rather than one at a
+	 * time.  Setting this property to 1 means each event waits for the previous one to be acknowledged.
+	 */
+	MAX_IN_FLIGHT_EVENTS("max_in_flight_events", "1000");
+
+	private final String propertyName;
+	private final String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+}
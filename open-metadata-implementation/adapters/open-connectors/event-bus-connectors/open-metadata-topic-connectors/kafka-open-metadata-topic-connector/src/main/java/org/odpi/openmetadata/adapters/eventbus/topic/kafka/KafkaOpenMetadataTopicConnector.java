@@ -15,10 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -37,6 +34,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private final Properties producerProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
@@ -47,9 +45,6 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     private String       topicName          = null;
     private String       serverId           = null;
 
-    /* this buffer is for consumed events */
-    private final List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
-
     private KafkaConsumerExecutor consumerExecutor = null;
     private KafkaProducerExecutor producerExecutor = null;
 
@@ -117,6 +112,11 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("retries", 1);
         producerProperties.put("batch.size", 16384);
         producerProperties.put("linger.ms", 0);
+        /*
+         * Events are sent without waiting for the previous event to be acknowledged.  Only one request
+         * per broker is outstanding so that a retried request can not overtake a later one.
+         */
+        producerProperties.put("max.in.flight.requests.per.connection", 1);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
         producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
@@ -208,6 +208,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.producerPropertyName);
             copyProperties(propertiesObject, producerProperties);
 
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
+
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.consumerPropertyName);
             copyProperties(propertiesObject, consumerProperties);
             
@@ -312,7 +315,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private void initializeProducerAndProducerThread() {
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, producerEgeriaProperties, this, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
     }
 
@@ -334,39 +337,15 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
 
     /**
-     * Look to see if there is one of more new events to process.
-     *
-     * @return a list of received events or null
-     */
-    @Override
-    protected List<IncomingEvent> checkForIncomingEvents()
-    {
-        List<IncomingEvent> newEvents = null;
-
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
-
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
-        {
-            log.debug("Checking for events.  Number of found events: {}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
-        }
-
-        return newEvents;
-    }
-
-    /**
-     * Distribute events to other listeners.
+     * Distribute events to other listeners.  The event is queued and the listener thread managed by
+     * OpenMetadataTopicConnector (superclass) is woken up to pass it to the listeners.
      *
      * @param event object containing the event properties.
      */
     void distributeToListeners(IncomingEvent event)
     {
         log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+        super.addIncomingEvent(event);
     }
 
 
@@ -442,7 +421,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
      * @return int
      */
     int getNumberOfUnprocessedEvents() {
-    	return incomingEventsList.size();
+    	return super.getIncomingEventQueueDepth();
     }
 
     private class KafkaStatusChecker {
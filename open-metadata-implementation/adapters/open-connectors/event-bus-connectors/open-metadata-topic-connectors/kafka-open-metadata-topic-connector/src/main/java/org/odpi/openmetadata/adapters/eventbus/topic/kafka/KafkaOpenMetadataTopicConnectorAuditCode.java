@@ -141,6 +141,21 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Check the  Kafka error logs for related messages that could " +
                     "indicate the cause of this error.  Work to clear the underlying error.  " +
                     "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    EVENT_SEND_FAILED("OCF-KAFKA-TOPIC-CONNECTOR-0020",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "An event could not be sent to topic {0} because of error {1} with message {2}.  {3} events have failed in this way",
+            "The error is not one that Kafka can recover from by resending the event so the event is discarded.  " +
+                    "The producer continues to send the other events.",
+            "Check the Kafka error logs and the producer properties for the cause of this error.  For example, the event " +
+                    "may be larger than the maximum message size configured for the topic or the producer."),
+
+    UNSENT_EVENTS_DISCARDED("OCF-KAFKA-TOPIC-CONNECTOR-0021",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The Apache Kafka producer for topic {0} is shutting down with {1} events that have not been sent.  The latest error message is {2}",
+            "The producer stops without sending the events.  The content of each event is written to the server's log.",
+            "Review the operational status of Apache Kafka and the earlier messages for this topic.  " +
+                    "The events need to be recreated once the server is restarted, or republished from the server's log."),
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the KafkaOpenMetadataEventProducer sends the events in order, that the events behind an event that
+ * fails with an error Kafka may recover from are sent again in their original order through a new producer, and
+ * that the events that are not sent when the producer shuts down are reported.  The Kafka producers are mocks.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final long   waitSeconds     = 10;
+    private static final String topicName       = "testTopic";
+    private static final String unsentMessageId = "OCF-KAFKA-TOPIC-CONNECTOR-0021";
+
+
+    @Test
+    void testEventsAreSentInOrder() throws Exception
+    {
+        List<MockProducer<String, String>> producers = Collections.synchronizedList(new ArrayList<>());
+        TestEventProducer                  producer  = new TestEventProducer(producers, true, new RecordingAuditLogDestination());
+        Thread                             thread    = new Thread(producer);
+
+        for (int i = 1; i <= 5; i++)
+        {
+            producer.sendEvent("event" + i);
+        }
+
+        thread.start();
+
+        try
+        {
+            awaitCondition(() -> (producers.size() == 1) && (producers.get(0).history().size() == 5));
+
+            assertEquals(getSentEvents(producers.get(0)), Arrays.asList("event1", "event2", "event3", "event4", "event5"));
+        }
+        finally
+        {
+            stop(producer, thread);
+        }
+
+        assertTrue(producers.get(0).closed());
+    }
+
+
+    @Test
+    void testRetriableFailureResendsEventsInOrder() throws Exception
+    {
+        List<MockProducer<String, String>> producers = Collections.synchronizedList(new ArrayList<>());
+        TestEventProducer                  producer  = new TestEventProducer(producers, false, new RecordingAuditLogDestination());
+        Thread                             thread    = new Thread(producer);
+
+        for (int i = 1; i <= 3; i++)
+        {
+            producer.sendEvent("event" + i);
+        }
+
+        thread.start();
+
+        try
+        {
+            awaitCondition(() -> (producers.size() == 1) && (producers.get(0).history().size() == 3));
+
+            MockProducer<String, String> firstProducer = producers.get(0);
+
+            /*
+             * The first event fails with an error Kafka may recover from.  The producer is closed without waiting,
+             * which fails the events queued behind it.
+             */
+            assertTrue(firstProducer.errorNext(new TimeoutException("Test failure")));
+            assertTrue(firstProducer.closed());
+            assertTrue(firstProducer.errorNext(new IllegalStateException("Producer closed")));
+            assertTrue(firstProducer.errorNext(new IllegalStateException("Producer closed")));
+
+            /*
+             * New events wait behind the failed ones.
+             */
+            producer.sendEvent("event4");
+
+            awaitCondition(() -> (producers.size() == 2) && (producers.get(1).history().size() == 4));
+
+            MockProducer<String, String> secondProducer = producers.get(1);
+
+            assertEquals(getSentEvents(secondProducer), Arrays.asList("event1", "event2", "event3", "event4"));
+
+            while (secondProducer.completeNext())
+            {
+                /* acknowledge every event */
+            }
+        }
+        finally
+        {
+            stop(producer, thread);
+        }
+    }
+
+
+    @Test
+    void testUnsentEventsAreReportedAtShutdown() throws Exception
+    {
+        List<MockProducer<String, String>> producers   = Collections.synchronizedList(new ArrayList<>());
+        RecordingAuditLogDestination       destination = new RecordingAuditLogDestination();
+        TestEventProducer                  producer    = new TestEventProducer(producers, false, destination);
+        Thread                             thread      = new Thread(producer);
+
+        producer.blockRecovery = new CountDownLatch(1);
+
+        producer.sendEvent("event1");
+        producer.sendEvent("event2");
+        thread.start();
+
+        try
+        {
+            awaitCondition(() -> (producers.size() == 1) && (producers.get(0).history().size() == 2));
+
+            producers.get(0).errorNext(new TimeoutException("Test failure"));
+            producers.get(0).errorNext(new IllegalStateException("Producer closed"));
+
+            /*
+             * The failed events are back in the send buffer while the producer waits for Kafka to recover.
+             */
+            assertTrue(producer.recovering.await(waitSeconds, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            stop(producer, thread);
+        }
+
+        assertEquals(producers.size(), 1);
+        assertTrue(destination.messageIds.contains(unsentMessageId), destination.messageIds.toString());
+    }
+
+
+    private List<String> getSentEvents(MockProducer<String, String> producer)
+    {
+        List<String> events = new ArrayList<>();
+
+        for (ProducerRecord<String, String> record : producer.history())
+        {
+            assertEquals(record.topic(), topicName);
+            events.add(record.value());
+        }
+
+        return events;
+    }
+
+
+    private void stop(TestEventProducer producer,
+                      Thread            thread) throws InterruptedException
+    {
+        producer.safeCloseProducer();
+
+        if (producer.blockRecovery != null)
+        {
+            producer.blockRecovery.countDown();
+        }
+
+        thread.join(TimeUnit.SECONDS.toMillis(waitSeconds));
+        assertFalse(thread.isAlive());
+    }
+
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        while ((! condition.getAsBoolean()) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+
+
+    /**
+     * RecordingAuditLogDestination saves the message ids of the audit log records.
+     */
+    private static class RecordingAuditLogDestination extends AuditLogDestination
+    {
+        final List<String> messageIds = Collections.synchronizedList(new ArrayList<>());
+
+
+        RecordingAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+            messageIds.add(logRecord.getMessageId());
+        }
+    }
+
+
+    /**
+     * TestEventProducer creates a new mock producer each time the event producer needs one.  It does not wait
+     * for Kafka to recover after an error unless the test blocks it.
+     */
+    private static class TestEventProducer extends KafkaOpenMetadataEventProducer
+    {
+        final CountDownLatch recovering    = new CountDownLatch(1);
+        CountDownLatch       blockRecovery = null;
+
+
+        TestEventProducer(List<MockProducer<String, String>> producers,
+                          boolean                            autoComplete,
+                          AuditLogDestination                destination)
+        {
+            super(topicName,
+                  "testServer",
+                  new Properties(),
+                  new Properties(),
+                  null,
+                  new AuditLog(destination, 0, "KafkaOpenMetadataEventProducerTest", "Test audit log", null),
+                  () ->
+                  {
+                      MockProducer<String, String> mockProducer = new MockProducer<>(autoComplete, new StringSerializer(), new StringSerializer());
+
+                      producers.add(mockProducer);
+                      return mockProducer;
+                  });
+        }
+
+
+        @Override
+        protected void recoverAfterError()
+        {
+            recovering.countDown();
+
+            if (blockRecovery != null)
+            {
+                try
+                {
+                    blockRecovery.await(waitSeconds, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageRelationship;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
@@ -31,12 +32,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -134,21 +145,36 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS = "Something went wrong when trying to map a process.";
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS = SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS + " The error is: ";
     public static final String FAILED_TO_UPDATE_CLASSIFICATION_WITH_GUID = "failed to update classification with guid";
+    public static final String PROCESS_MAPPING_THREAD_NAME = "LineageGraphProcessMapper-";
+    public static final String UNABLE_TO_FIND_CHANGED_PROCESSES = "Unable to find the processes affected by the changed entities.";
+    public static final String UNABLE_TO_GROUP_PROCESSES = "Unable to group the processes by asset, mapping them in a single batch.";
+    private static final int PROCESS_MAPPING_THREADS = 4;
+    private static final int PROCESS_MAPPING_BATCH_SIZE = 50;
     private LineageGraphConnectorHelper helper;
 
     private GraphFactory graphFactory;
     private AuditLog auditLog;
 
+    /*
+     * Entities changed since the last lineage graph job.  The job only maps the processes that are linked to them.
+     * The first job after start up maps all processes because changes made before the restart are not recorded.
+     */
+    @EqualsAndHashCode.Exclude
+    private final Set<String> changedEntityGUIDs = ConcurrentHashMap.newKeySet();
+    @EqualsAndHashCode.Exclude
+    private final AtomicBoolean mapAllProcesses = new AtomicBoolean(true);
+    @EqualsAndHashCode.Exclude
+    private ExecutorService processMappingPool;
+
     /**
      * Instantiates the graph based on the configuration passed.
      */
     public void initializeGraphDB(AuditLog auditLog) throws OpenLineageException {
-        this.auditLog = auditLog;
         try {
-            graphFactory = new GraphFactory();
-            graphFactory.openGraph(connectionProperties.getConnectorType().getConnectorProviderClassName(),
+            GraphFactory openedGraphFactory = new GraphFactory();
+            openedGraphFactory.openGraph(connectionProperties.getConnectorType().getConnectorProviderClassName(),
                     connectionProperties.getConfigurationProperties(), auditLog);
-            this.helper = new LineageGraphConnectorHelper(graphFactory, graphFactory.isSupportingTransactions());
+            initializeGraphDB(openedGraphFactory, auditLog);
 
         } catch (JanusConnectorException error) {
             log.error(THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR, error);
@@ -157,9 +183,25 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         }
     }
 
+    /**
+     * Sets up the connector to use a graph that is already open.
+     *
+     * @param graphFactory - the factory holding the open graph
+     * @param auditLog     - the audit log
+     */
+    void initializeGraphDB(GraphFactory graphFactory, AuditLog auditLog) {
+        this.auditLog = auditLog;
+        this.graphFactory = graphFactory;
+        this.helper = new LineageGraphConnectorHelper(graphFactory, graphFactory.isSupportingTransactions());
+        this.processMappingPool = createProcessMappingPool();
+    }
+
     @Override
     public synchronized void disconnect() throws ConnectorCheckedException {
         try {
+            if (processMappingPool != null) {
+                processMappingPool.shutdownNow();
+            }
             graphFactory.closeGraph();
             super.disconnect();
         } catch (ConnectorCheckedException e) {
@@ -169,21 +211,213 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         }
     }
 
+    /**
+     * Maps the column level lineage of the processes that are linked to the entities changed since the last run.
+     * The processes are mapped in batches by a pool of worker threads.  Each batch is committed on its own, and the
+     * processes of a batch that fails are mapped again by the next run.
+     */
     @Override
     public void performLineageGraphJob() {
+        List<String> processGUIDs = getProcessesToMap();
+        List<Future<?>> batches = new ArrayList<>();
+
+        for (List<String> batch : createProcessBatches(processGUIDs, PROCESS_MAPPING_BATCH_SIZE)) {
+            batches.add(processMappingPool.submit(() -> mapProcesses(batch)));
+        }
+
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns the processes that need to be mapped by this run: all of the processes in the graph on the first run,
+     * and afterwards only the processes linked to the entities changed since the previous run.
+     *
+     * @return the unique identifiers of the processes
+     */
+    private List<String> getProcessesToMap() {
         GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        if (mapAllProcesses.getAndSet(false)) {
+            changedEntityGUIDs.clear();
+            try {
+                //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
+                List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
+                List<String> guidList = new ArrayList<>();
+                for (Vertex v : vertices) {
+                    String s = g.V(v.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString();
+                    guidList.add(s);
+                }
+                commitTransaction(g);
+                return guidList;
+            } catch (Exception e) {
+                log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e);
+                auditLog.logException(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS, PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+                rollbackTransaction(g);
+                mapAllProcesses.set(true);
+                return new ArrayList<>();
+            }
+        }
+
+        Set<String> changedGUIDs = new HashSet<>();
+        Iterator<String> changedIterator = changedEntityGUIDs.iterator();
+        while (changedIterator.hasNext()) {
+            changedGUIDs.add(changedIterator.next());
+            changedIterator.remove();
+        }
+
+        Set<String> processGUIDs = new HashSet<>();
         try {
-            //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
-            List<String> guidList = new ArrayList<>();
-            for (Vertex v : vertices) {
-                String s = g.V(v.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString();
-                guidList.add(s);
+            for (String guid : changedGUIDs) {
+                processGUIDs.addAll(findLinkedProcesses(g, guid));
             }
             commitTransaction(g);
+        } catch (Exception e) {
+            log.error(UNABLE_TO_FIND_CHANGED_PROCESSES, e);
+            auditLog.logException(UNABLE_TO_FIND_CHANGED_PROCESSES, PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+            rollbackTransaction(g);
+            changedEntityGUIDs.addAll(changedGUIDs);
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(processGUIDs);
+    }
+
+    /**
+     * Splits the processes into the batches that are mapped in parallel.  Processes that map columns of the same asset
+     * are put in the same batch.  Each batch only sees its own changes until it commits, so two batches that both
+     * map columns of the same asset could both find that the same sub-process or edge is missing and both add it.
+     * A batch holds at least one group of processes, so it may be larger than the batch size.  If the assets can not
+     * be retrieved, all of the processes are mapped in a single batch.
+     *
+     * @param processGUIDs - The unique identifiers of the processes
+     * @param batchSize    - The number of processes in a batch
+     * @return the batches of process identifiers
+     */
+    List<List<String>> createProcessBatches(List<String> processGUIDs, int batchSize) {
+        if (processGUIDs.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        Map<String, String> groupOfProcess = new HashMap<>();
+        try {
+            Map<Object, String> processOfVertex = new HashMap<>();
+            for (String processGUID : processGUIDs) {
+                groupOfProcess.put(processGUID, processGUID);
+                for (Object vertexId : findMappedVertices(g, processGUID)) {
+                    String otherProcessGUID = processOfVertex.putIfAbsent(vertexId, processGUID);
+                    if (otherProcessGUID != null) {
+                        groupOfProcess.put(findGroup(groupOfProcess, otherProcessGUID), findGroup(groupOfProcess, processGUID));
+                    }
+                }
+            }
+            commitTransaction(g);
+        } catch (Exception e) {
+            log.error(UNABLE_TO_GROUP_PROCESSES, e);
+            rollbackTransaction(g);
+            return Collections.singletonList(processGUIDs);
+        }
+
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String processGUID : processGUIDs) {
+            groups.computeIfAbsent(findGroup(groupOfProcess, processGUID), group -> new ArrayList<>()).add(processGUID);
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        for (List<String> group : groups.values()) {
+            if (!batch.isEmpty() && batch.size() + group.size() > batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+            batch.addAll(group);
+        }
+        batches.add(batch);
+        return batches;
+    }
+
+    /**
+     * Returns the group of a process: the process that represents all of the processes linked to it by shared assets.
+     *
+     * @param groupOfProcess - The link from each process towards the process that represents its group
+     * @param processGUID    - The unique identifier of the process
+     * @return the unique identifier of the process representing the group
+     */
+    private String findGroup(Map<String, String> groupOfProcess, String processGUID) {
+        String group = processGUID;
+        while (!group.equals(groupOfProcess.get(group))) {
+            group = groupOfProcess.get(group);
+        }
+        groupOfProcess.put(processGUID, group);
+        return group;
+    }
+
+    /**
+     * Returns the vertices that mapping a process may change: the columns mapped to the schemas of its ports and
+     * the assets of those columns.
+     *
+     * @param g           - Graph traversal object
+     * @param processGUID - The unique identifier of the process
+     * @return the identifiers of the vertices
+     */
+    private Set<Object> findMappedVertices(GraphTraversalSource g, String processGUID) {
+        List<Vertex> columns = g.V().has(PROPERTY_KEY_ENTITY_GUID, processGUID)
+                .out(PROCESS_PORT).out(PORT_DELEGATION).out(PORT_SCHEMA).out(ATTRIBUTE_FOR_SCHEMA)
+                .both(LINEAGE_MAPPING)
+                .dedup()
+                .toList();
+
+        Set<Object> vertexIds = new HashSet<>();
+        for (Vertex column : columns) {
+            vertexIds.add(column.id());
+            getAsset(g, column).ifPresent(asset -> vertexIds.add(asset.id()));
+        }
+        return vertexIds;
+    }
+
+    /**
+     * Finds the processes whose column lineage may be affected by a change to an entity.  These are the processes
+     * that reach the entity through their ports and port schemas, either directly or through a lineage mapping.
+     * Changes to an asset or a schema type are followed to the attributes of the schema.
+     *
+     * @param g    - Graph traversal object
+     * @param guid - The unique identifier of the changed entity
+     * @return the unique identifiers of the processes
+     */
+    List<String> findLinkedProcesses(GraphTraversalSource g, String guid) {
+        return g.V().has(PROPERTY_KEY_ENTITY_GUID, guid)
+                .union(__.identity(),
+                        __.both(ATTRIBUTE_FOR_SCHEMA, NESTED_SCHEMA_ATTRIBUTE),
+                        __.both(ASSET_SCHEMA_TYPE).both(ATTRIBUTE_FOR_SCHEMA),
+                        __.both(ASSET_SCHEMA_TYPE).both(SCHEMA_TYPE_OPTION).both(ATTRIBUTE_FOR_SCHEMA))
+                .union(__.identity(), __.both(LINEAGE_MAPPING))
+                .emit()
+                .repeat(__.both(ATTRIBUTE_FOR_SCHEMA, PORT_SCHEMA, PORT_DELEGATION, PROCESS_PORT).simplePath())
+                .times(4)
+                .has(PROPERTY_KEY_LABEL, PROCESS)
+                .dedup()
+                .<String>values(PROPERTY_KEY_ENTITY_GUID)
+                .toList();
+    }
 
-            g = graphFactory.getGraphTraversalSource();
-            for (String guid : guidList) {
+    /**
+     * Maps a batch of processes and commits the changes to the graph.  The methods that map a process do not commit,
+     * so the batch is a single transaction.  If the batch fails, the changes are rolled back and the processes are
+     * mapped again by the next run of the lineage graph job.
+     *
+     * @param processGUIDs - The unique identifiers of the processes
+     */
+    private void mapProcesses(List<String> processGUIDs) {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        try {
+            for (String guid : processGUIDs) {
                 findInputColumns(g, guid);
             }
             commitTransaction(g);
@@ -191,9 +425,19 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e);
             auditLog.logException(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS, PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
             rollbackTransaction(g);
+            changedEntityGUIDs.addAll(processGUIDs);
         }
     }
 
+    /**
+     * Creates the pool of daemon threads that map the processes for the lineage graph job.
+     *
+     * @return the thread pool
+     */
+    private ExecutorService createProcessMappingPool() {
+        return Executors.newFixedThreadPool(PROCESS_MAPPING_THREADS, new WorkerThreadFactory(PROCESS_MAPPING_THREAD_NAME));
+    }
+
     @Override
     public void saveAssetLineageUpdateTime(Long lastUpdateTime) {
         GraphTraversalSource g = graphFactory.getGraphTraversalSource();
@@ -232,7 +476,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
     }
 
     /**
-     * Finds the paths to the input columns from all the processes in the graph.
+     * Finds the paths to the input columns from all the processes in the graph.  The changes are committed by the
+     * caller.
      *
      * @param g    - Graph traversal object
      * @param guid - The unique identifier of a Process
@@ -245,7 +490,6 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                         __.in(NESTED_SCHEMA_ATTRIBUTE).has(PROPERTY_KEY_LABEL, RELATIONAL_TABLE),
                         __.in(ATTRIBUTE_FOR_SCHEMA).in(SCHEMA_TYPE_OPTION).in(ASSET_SCHEMA_TYPE).has(PROPERTY_KEY_LABEL, TOPIC)).toList();
 
-        commitTransaction(g);
         Vertex process = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
         inputPathsForColumns.forEach(columnIn -> findOutputColumns(g, columnIn, process));
     }
@@ -272,7 +516,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                     columnOutList.addAll(findPathForOutputAsset(vertexToStart, g, columnIn));
                 }
                 for (Vertex columnOut : columnOutList) {
-                    addNodesAndEdgesForQuerying(columnIn, columnOut, process);
+                    addNodesAndEdgesForQuerying(g, columnIn, columnOut, process);
                 }
             }
         }
@@ -295,8 +539,6 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 .has(PROPERTY_KEY_ENTITY_GUID,
                         g.V(process.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID)).toList();
 
-        commitTransaction(g);
-
         if (!initialProcess.isEmpty()) {
             return schemaElementVertex;
         }
@@ -306,27 +548,28 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
     /**
      * Returns true if the vertex is null or doesn't have a valid guid
      *
+     * @param g      - Graph traversal object
      * @param column - The vertex to of the schema element
      */
-    private boolean isColumnEmpty(Vertex column) {
-        return (column == null || !StringUtils.isNotEmpty(getGuid(column)));
+    private boolean isColumnEmpty(GraphTraversalSource g, Vertex column) {
+        return (column == null || !StringUtils.isNotEmpty(getGuid(g, column)));
     }
 
     /**
-     * Add nodes and edges that are going to be used for lineage UI
+     * Add nodes and edges that are going to be used for lineage UI.  The changes are committed by the caller.
      *
+     * @param g         - Graph traversal object
      * @param columnIn  - The vertex of the input schema element
      * @param columnOut - THe vertex of the output schema element
      * @param process   - The vertex of the process.
      */
-    private void addNodesAndEdgesForQuerying(Vertex columnIn, Vertex columnOut, Vertex process) {
-        if (isColumnEmpty(columnIn) || isColumnEmpty(columnOut)) {
+    private void addNodesAndEdgesForQuerying(GraphTraversalSource g, Vertex columnIn, Vertex columnOut, Vertex process) {
+        if (isColumnEmpty(g, columnIn) || isColumnEmpty(g, columnOut)) {
             return;
         }
-        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
-        final String processGuid = getGuid(process);
-        final String columnInGuid = getGuid(columnIn);
-        final String columnOutGuid = getGuid(columnOut);
+        final String processGuid = getGuid(g, process);
+        final String columnInGuid = getGuid(g, columnIn);
+        final String columnOutGuid = getGuid(g, columnOut);
         final String processName =
                 g.V(process.id()).elementMap(PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME).toList().get(0).get(PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME).toString();
 
@@ -343,29 +586,26 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                     .property(PROPERTY_KEY_COLUMN_OUT_GUID, columnOutGuid)
                     .next();
 
-            commitTransaction(g);
-            g = graphFactory.getGraphTraversalSource();
             g.V(columnIn.id()).addE(EDGE_LABEL_COLUMN_DATA_FLOW).to(__.V(subProcess.id())).next();
             g.V(subProcess.id()).addE(EDGE_LABEL_COLUMN_DATA_FLOW).to(__.V(columnOut.id())).next();
             g.V(subProcess.id()).addE(EDGE_LABEL_INCLUDED_IN).to(__.V(process.id())).next();
-            commitTransaction(g);
 
-            addAssetToProcessEdges(columnIn, process, columnOut);
+            addAssetToProcessEdges(g, columnIn, process, columnOut);
 
             log.info(OLS_HAS_CORRESPONDING_ELEMENTS, columnInGuid, columnOutGuid, processGuid);
         }
     }
 
     /**
-     * Connects the tables and the processes with edges
+     * Connects the tables and the processes with edges.  The changes are committed by the caller.
      *
+     * @param localG    - Graph traversal object
      * @param columnIn  - The vertex of the input schema element
      * @param process   - The vertex of the process.
      * @param columnOut - The vertex of the output schema element
      */
-    private void addAssetToProcessEdges(Vertex columnIn, Vertex process, Vertex columnOut) {
-        GraphTraversalSource localG = graphFactory.getGraphTraversalSource();
-        Optional<Vertex> assetIn = getAsset(columnIn);
+    private void addAssetToProcessEdges(GraphTraversalSource localG, Vertex columnIn, Vertex process, Vertex columnOut) {
+        Optional<Vertex> assetIn = getAsset(localG, columnIn);
         if (assetIn.isPresent()) {
             Iterator<Vertex> tableVertex = localG.V(assetIn.get().id()).outE(EDGE_LABEL_TABLE_DATA_FLOW).inV().hasId(process.id());
             if (!tableVertex.hasNext()) {
@@ -373,14 +613,13 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             }
         }
 
-        Optional<Vertex> assetOut = getAsset(columnOut);
+        Optional<Vertex> assetOut = getAsset(localG, columnOut);
         if (assetOut.isPresent()) {
             Iterator<Vertex> tableVertex = localG.V(assetOut.get().id()).inE(EDGE_LABEL_TABLE_DATA_FLOW).outV().hasId(process.id());
             if (!tableVertex.hasNext()) {
                 localG.V(process.id()).addE(EDGE_LABEL_TABLE_DATA_FLOW).to(__.V(assetOut.get().id())).next();
             }
         }
-        commitTransaction(localG);
     }
 
     /**
@@ -390,18 +629,28 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     private String getGuid(Vertex vertex) {
         GraphTraversalSource g = graphFactory.getGraphTraversalSource();
-        String guid = g.V(vertex.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString();
+        String guid = getGuid(g, vertex);
         commitTransaction(g);
         return guid;
     }
 
     /**
-     * Retrieves the table or the data file node for a schemaElement
+     * Retrieves vertex--guid property from a vertex within the caller's transaction
      *
+     * @param g      - Graph traversal object
+     * @param vertex - the queried vertex
+     */
+    private String getGuid(GraphTraversalSource g, Vertex vertex) {
+        return g.V(vertex.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString();
+    }
+
+    /**
+     * Retrieves the table or the data file node for a schemaElement within the caller's transaction
+     *
+     * @param g     - Graph traversal object
      * @param asset - The vertex of the input schema element
      */
-    private Optional<Vertex> getAsset(Vertex asset) {
-        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+    private Optional<Vertex> getAsset(GraphTraversalSource g, Vertex asset) {
         Object vertexGuid = g.V(asset.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID);
         Vertex graphVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, vertexGuid).next();
         Object vertexId = graphVertex.id();
@@ -416,8 +665,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         if (EVENT_SCHEMA_ATTRIBUTE.equalsIgnoreCase(asset.label())) {
             result = g.V(vertexId).emit().repeat(bothE().otherV().simplePath()).times(3).or(hasLabel(TOPIC));
         }
-        commitTransaction(g);
-        if (result == null) {
+        if (result == null || !result.hasNext()) {
             return Optional.empty();
         } else {
             return Optional.of(result.next());
@@ -439,6 +687,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 LineageEntity toEntity = entry.getToVertex();
 
                 upsertToGraph(fromEntity, toEntity, entry.getRelationshipType(), entry.getRelationshipGuid());
+                changedEntityGUIDs.add(fromEntity.getGuid());
+                changedEntityGUIDs.add(toEntity.getGuid());
             } catch (Exception e) {
                 log.error(VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION, e);
             }
@@ -486,6 +736,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         if (obsoleteNeighbours.isEmpty()) {
             return;
         }
+        recordChangedEntity(g, entityGUID);
+        obsoleteNeighbours.forEach(guid -> recordChangedEntity(g, guid));
         Iterator<Edge> existingEdges = g.V().has(PROPERTY_KEY_ENTITY_GUID, entityGUID).bothE();
         while (existingEdges.hasNext()) {
             Edge edge = existingEdges.next();
@@ -588,6 +840,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
         commit(graphFactory, g, this::addOrUpdatePropertiesVertex, g, vertex.next(), lineageEntity, PROPERTIES_UPDATE_EXCEPTION);
+        changedEntityGUIDs.add(lineageEntity.getGuid());
     }
 
     /**
@@ -603,6 +856,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         LineageEntity secondEnd = lineageRelationship.getTargetEntity();
 
         upsertToGraph(firstEnd, secondEnd, lineageRelationship.getTypeDefName(), lineageRelationship.getGuid());
+        changedEntityGUIDs.add(firstEnd.getGuid());
+        changedEntityGUIDs.add(secondEnd.getGuid());
 
         BiConsumer<GraphTraversalSource, LineageRelationship> addOrUpdatePropertiesEdge = this::addOrUpdatePropertiesEdge;
         commit(graphFactory, g, addOrUpdatePropertiesEdge, g, lineageRelationship,
@@ -701,6 +956,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
 
+        recordChangedEntity(g, guid);
         g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).drop().iterate();
         commitTransaction(g);
         log.debug(VERTEX_WITH_GUID_DELETED, guid);
@@ -716,11 +972,26 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
 
-        g.E(edge.next().id()).drop().iterate();
+        Edge edgeToDelete = edge.next();
+        g.V(edgeToDelete.outVertex().id(), edgeToDelete.inVertex().id()).<String>values(PROPERTY_KEY_ENTITY_GUID).toList()
+                .forEach(endGUID -> recordChangedEntity(g, endGUID));
+        g.E(edgeToDelete.id()).drop().iterate();
         commitTransaction(g);
         log.debug(EDGE_WITH_GUID_DELETED, guid);
     }
 
+    /**
+     * Records an entity that is about to be deleted or unlinked as changed, together with the processes linked to it.
+     * The processes are found before the change because the change breaks the paths from the entity to them.
+     *
+     * @param g    - Graph traversal object
+     * @param guid - The unique identifier of the entity
+     */
+    private void recordChangedEntity(GraphTraversalSource g, String guid) {
+        changedEntityGUIDs.add(guid);
+        changedEntityGUIDs.addAll(findLinkedProcesses(g, guid));
+    }
+
     /**
      * Adds or updates properties of an edge.
      *
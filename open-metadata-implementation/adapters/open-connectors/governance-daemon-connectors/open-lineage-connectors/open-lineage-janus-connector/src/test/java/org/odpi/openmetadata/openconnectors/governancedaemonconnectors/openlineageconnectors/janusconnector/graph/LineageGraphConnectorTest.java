@@ -0,0 +1,210 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.factory.GraphFactory;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector.INPUT_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.DATA_FILE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.LINEAGE_MAPPING;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_DELEGATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_IMPLEMENTATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.NODE_LABEL_SUB_PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_LABEL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_NAME_PORT_TYPE;
+
+public class LineageGraphConnectorTest {
+
+    private static final String CONNECTOR_PROVIDER_NAME = "org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider";
+
+    private GraphFactory graphFactory;
+    private LineageGraphConnector lineageGraphConnector;
+
+    @BeforeEach
+    void setUp() throws JanusConnectorException {
+        graphFactory = new GraphFactory();
+        graphFactory.openGraph(CONNECTOR_PROVIDER_NAME, Collections.singletonMap("storage.backend", "inmemory"), null);
+        lineageGraphConnector = new LineageGraphConnector();
+        lineageGraphConnector.initializeGraphDB(graphFactory, null);
+
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        addProcessLineageData(g, "p1");
+        addProcessLineageData(g, "p2");
+        g.tx().commit();
+    }
+
+    @AfterEach
+    void tearDown() throws ConnectorCheckedException {
+        lineageGraphConnector.disconnect();
+    }
+
+    @Test
+    void firstRunMapsAllProcesses() {
+        lineageGraphConnector.performLineageGraphJob();
+
+        assertEquals(1, countSubProcesses("p1"));
+        assertEquals(1, countSubProcesses("p2"));
+    }
+
+    @Test
+    void laterRunsMapOnlyProcessesLinkedToChangedEntities() {
+        lineageGraphConnector.performLineageGraphJob();
+        removeSubProcesses();
+
+        lineageGraphConnector.updateEntity(createLineageEntity("p1-in-column", TABULAR_COLUMN));
+        lineageGraphConnector.performLineageGraphJob();
+
+        assertEquals(1, countSubProcesses("p1"));
+        assertEquals(0, countSubProcesses("p2"));
+    }
+
+    @Test
+    void runWithoutChangesMapsNoProcesses() {
+        lineageGraphConnector.performLineageGraphJob();
+        removeSubProcesses();
+
+        lineageGraphConnector.performLineageGraphJob();
+
+        assertEquals(0, countSubProcesses("p1"));
+        assertEquals(0, countSubProcesses("p2"));
+    }
+
+    @Test
+    void findLinkedProcessesFollowsChangedEntitiesToTheirProcesses() {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+
+        assertEquals(Collections.singletonList("p1"), lineageGraphConnector.findLinkedProcesses(g, "p1"));
+        assertEquals(Collections.singletonList("p1"), lineageGraphConnector.findLinkedProcesses(g, "p1-in-column"));
+        assertEquals(Collections.singletonList("p1"), lineageGraphConnector.findLinkedProcesses(g, "p1-in-process-column"));
+        assertEquals(Collections.singletonList("p2"), lineageGraphConnector.findLinkedProcesses(g, "p2-out-file"));
+        assertEquals(Collections.emptyList(), lineageGraphConnector.findLinkedProcesses(g, "unknown"));
+        g.tx().rollback();
+    }
+
+    @Test
+    void findLinkedProcessesFindsEveryProcessUsingAnAsset() {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        addProcessLineageData(g, "p3", g.V().has(PROPERTY_KEY_ENTITY_GUID, "p1-out-column").next());
+        g.tx().commit();
+
+        List<String> processGUIDs = lineageGraphConnector.findLinkedProcesses(g, "p1-out-file");
+        g.tx().rollback();
+
+        assertEquals(new HashSet<>(Arrays.asList("p1", "p3")), new HashSet<>(processGUIDs));
+    }
+
+    @Test
+    void processesSharingAnAssetAreMappedInTheSameBatch() {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        addProcessLineageData(g, "p3", g.V().has(PROPERTY_KEY_ENTITY_GUID, "p1-out-column").next());
+        g.tx().commit();
+
+        List<List<String>> batches = lineageGraphConnector.createProcessBatches(Arrays.asList("p1", "p2", "p3"), 1);
+
+        assertEquals(Arrays.asList(Arrays.asList("p1", "p3"), Collections.singletonList("p2")), batches);
+
+        lineageGraphConnector.performLineageGraphJob();
+
+        assertEquals(1, countSubProcesses("p1"));
+        assertEquals(1, countSubProcesses("p2"));
+        assertEquals(1, countSubProcesses("p3"));
+    }
+
+    private long countSubProcesses(String processGUID) {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        g.tx().rollback();
+        long count = g.V().hasLabel(NODE_LABEL_SUB_PROCESS).has(PROPERTY_KEY_PROCESS_GUID, processGUID).count().next();
+        g.tx().rollback();
+        return count;
+    }
+
+    private void removeSubProcesses() {
+        GraphTraversalSource g = graphFactory.getGraphTraversalSource();
+        g.V().hasLabel(NODE_LABEL_SUB_PROCESS).drop().iterate();
+        g.tx().commit();
+    }
+
+    private LineageEntity createLineageEntity(String guid, String typeDefName) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(typeDefName);
+        lineageEntity.setProperties(Collections.singletonMap("displayName", guid + "-renamed"));
+        return lineageEntity;
+    }
+
+    /**
+     * Adds a process that reads a column of one data file and writes a column of another.  The guids of the
+     * vertices start with the guid of the process.
+     */
+    private static void addProcessLineageData(GraphTraversalSource g, String processGUID) {
+        addProcessLineageData(g, processGUID, addDataFileColumn(g, processGUID + "-in"));
+    }
+
+    /**
+     * Adds a process that reads an existing column and writes a column of a new data file.
+     */
+    private static void addProcessLineageData(GraphTraversalSource g, String processGUID, Vertex columnIn) {
+        Vertex process = addVertex(g, PROCESS, processGUID);
+        process.property(PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME, processGUID + "-name");
+
+        Vertex processColumnIn = addProcessPort(g, process, processGUID + "-in", INPUT_PORT);
+        Vertex processColumnOut = addProcessPort(g, process, processGUID + "-out", "OUTPUT_PORT");
+
+        Vertex columnOut = addDataFileColumn(g, processGUID + "-out");
+
+        columnIn.addEdge(LINEAGE_MAPPING, processColumnIn);
+        processColumnIn.addEdge(LINEAGE_MAPPING, processColumnOut);
+        processColumnOut.addEdge(LINEAGE_MAPPING, columnOut);
+    }
+
+    private static Vertex addProcessPort(GraphTraversalSource g, Vertex process, String guidPrefix, String portType) {
+        Vertex portAlias = addVertex(g, "PortAlias", guidPrefix + "-port-alias");
+        Vertex portImplementation = addVertex(g, PORT_IMPLEMENTATION, guidPrefix + "-port-implementation");
+        portImplementation.property(PROPERTY_NAME_PORT_TYPE, portType);
+        Vertex schemaType = addVertex(g, "TabularSchemaType", guidPrefix + "-port-schema");
+        Vertex processColumn = addVertex(g, TABULAR_COLUMN, guidPrefix + "-process-column");
+
+        process.addEdge(PROCESS_PORT, portAlias);
+        portAlias.addEdge(PORT_DELEGATION, portImplementation);
+        portImplementation.addEdge(PORT_SCHEMA, schemaType);
+        schemaType.addEdge(ATTRIBUTE_FOR_SCHEMA, processColumn);
+        return processColumn;
+    }
+
+    private static Vertex addDataFileColumn(GraphTraversalSource g, String guidPrefix) {
+        Vertex dataFile = addVertex(g, DATA_FILE, guidPrefix + "-file");
+        Vertex schemaType = addVertex(g, "TabularSchemaType", guidPrefix + "-file-schema");
+        Vertex column = addVertex(g, TABULAR_COLUMN, guidPrefix + "-column");
+
+        dataFile.addEdge(ASSET_SCHEMA_TYPE, schemaType);
+        schemaType.addEdge(ATTRIBUTE_FOR_SCHEMA, column);
+        return column;
+    }
+
+    private static Vertex addVertex(GraphTraversalSource g, String label, String guid) {
+        return g.addV(label).property(PROPERTY_KEY_LABEL, label).property(PROPERTY_KEY_ENTITY_GUID, guid).next();
+    }
+}
@@ -0,0 +1,325 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * FileBasedAuditLogSegment describes one segment file of the file based audit log store along with its index file.
+ * The index file has a line for each log record in the segment giving its time stamp, position in the segment file,
+ * severity, component name and unique identifier.  The segment keeps a summary of its index in memory (time range,
+ * the severities and components it contains and a filter of the unique identifiers) so that queries only read the
+ * index files of the segments that could hold matching records.
+ * <p>
+ * FileBasedAuditLogSegment is not thread-safe.  The connector serializes access to it.
+ */
+class FileBasedAuditLogSegment
+{
+    static final String indexFileNameSuffix = ".idx";
+
+    private static final int guidFilterSize   = 1 << 18;
+    private static final int guidFilterHashes = 3;
+
+    private final File        segmentFile;
+    private final File        indexFile;
+    private final Set<String> severities     = new HashSet<>();
+    private final Set<String> components     = new HashSet<>();
+    private final BitSet      guidFilter     = new BitSet(guidFilterSize);
+    private       long        recordCount    = 0;
+    private       long        firstTimeStamp = Long.MAX_VALUE;
+    private       long        lastTimeStamp  = Long.MIN_VALUE;
+
+
+    /**
+     * Create the description of an empty segment.
+     *
+     * @param segmentFile file holding the log records
+     */
+    FileBasedAuditLogSegment(File segmentFile)
+    {
+        this.segmentFile = segmentFile;
+        this.indexFile   = new File(segmentFile.getPath() + indexFileNameSuffix);
+    }
+
+
+    /**
+     * Return the file holding the log records.
+     *
+     * @return file
+     */
+    File getSegmentFile()
+    {
+        return segmentFile;
+    }
+
+
+    /**
+     * Return the index file for the segment.
+     *
+     * @return file
+     */
+    File getIndexFile()
+    {
+        return indexFile;
+    }
+
+
+    /**
+     * Return the number of log records in the segment.
+     *
+     * @return count
+     */
+    long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Add a log record to the summary of the segment.
+     *
+     * @param entry index entry for the log record
+     */
+    void addEntry(IndexEntry entry)
+    {
+        recordCount++;
+
+        firstTimeStamp = Math.min(firstTimeStamp, entry.timeStamp);
+        lastTimeStamp  = Math.max(lastTimeStamp, entry.timeStamp);
+
+        severities.add(entry.severity);
+        components.add(entry.component);
+
+        int[] guidHashes = getGUIDHashes(entry.guid);
+
+        for (int i = 0; i < guidFilterHashes; i++)
+        {
+            guidFilter.set(getGUIDFilterBit(guidHashes, i));
+        }
+    }
+
+
+    /**
+     * Return whether the segment could hold records that match the query.
+     *
+     * @param startTime earliest time stamp
+     * @param endTime latest time stamp
+     * @param severity severity of the records or null for any
+     * @param component component name of the records or null for any
+     * @return boolean flag
+     */
+    boolean mayContain(long   startTime,
+                       long   endTime,
+                       String severity,
+                       String component)
+    {
+        return (recordCount > 0) &&
+               (firstTimeStamp <= endTime) && (lastTimeStamp >= startTime) &&
+               ((severity == null) || (severities.contains(severity))) &&
+               ((component == null) || (components.contains(component)));
+    }
+
+
+    /**
+     * Return whether the segment could hold the record with the unique identifier.
+     *
+     * @param guid unique identifier of the log record
+     * @return boolean flag
+     */
+    boolean mayContainGUID(String guid)
+    {
+        int[] guidHashes = getGUIDHashes(guid);
+
+        for (int i = 0; i < guidFilterHashes; i++)
+        {
+            if (! guidFilter.get(getGUIDFilterBit(guidHashes, i)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the two independent hashes of a unique identifier that the bits of the filter are derived from.  The
+     * first is taken from the first half of the identifier and the second from the rest, so identifiers that differ
+     * in only one half still spread over the filter.  The second hash is made odd so that it never repeats a bit.
+     *
+     * @param guid unique identifier of the log record
+     * @return the two hashes
+     */
+    private static int[] getGUIDHashes(String guid)
+    {
+        int split = guid.length() / 2;
+
+        return new int[] { mix(guid.substring(0, split).hashCode()),
+                           mix(guid.substring(split).hashCode() ^ guid.length()) | 1 };
+    }
+
+
+    /**
+     * Return the bit of the filter for one of the hash functions using double hashing (h1 + i * h2).
+     *
+     * @param guidHashes the two hashes of the unique identifier
+     * @param hashNumber number of the hash function
+     * @return index of the bit in the filter
+     */
+    private static int getGUIDFilterBit(int[] guidHashes,
+                                        int   hashNumber)
+    {
+        return Math.floorMod(guidHashes[0] + hashNumber * guidHashes[1], guidFilterSize);
+    }
+
+
+    /**
+     * Spread the bits of a string hash code so that the low bits used by the filter depend on every character.
+     *
+     * @param hash string hash code
+     * @return mixed hash
+     */
+    private static int mix(int hash)
+    {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+
+        return hash;
+    }
+
+
+    /**
+     * Build the summary from the segment's index file.
+     *
+     * @throws IOException the index file could not be read
+     */
+    void loadIndex() throws IOException
+    {
+        try (BufferedReader indexReader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8)))
+        {
+            String line = indexReader.readLine();
+
+            while (line != null)
+            {
+                IndexEntry entry = IndexEntry.parse(line);
+
+                if (entry != null)
+                {
+                    this.addEntry(entry);
+                }
+
+                line = indexReader.readLine();
+            }
+        }
+    }
+
+
+    /**
+     * IndexEntry is a line of the index file.
+     */
+    static class IndexEntry
+    {
+        final long   timeStamp;
+        final long   offset;
+        final int    length;
+        final String severity;
+        final String component;
+        final String guid;
+
+
+        /**
+         * Create an index entry.
+         *
+         * @param timeStamp time the log record was created
+         * @param offset position of the log record in the segment file
+         * @param length number of bytes in the log record
+         * @param severity severity of the log record
+         * @param component name of the component that created the log record
+         * @param guid unique identifier of the log record
+         */
+        IndexEntry(long   timeStamp,
+                   long   offset,
+                   int    length,
+                   String severity,
+                   String component,
+                   String guid)
+        {
+            this.timeStamp = timeStamp;
+            this.offset    = offset;
+            this.length    = length;
+            this.severity  = clean(severity);
+            this.component = clean(component);
+            this.guid      = clean(guid);
+        }
+
+
+        /**
+         * Return the line for the index file, including the line terminator.
+         *
+         * @return line
+         */
+        String format()
+        {
+            return timeStamp + "\t" + offset + "\t" + length + "\t" + severity + "\t" + component + "\t" + guid + "\n";
+        }
+
+
+        /**
+         * Parse a line of the index file.
+         *
+         * @param line line without its terminator
+         * @return index entry or null if the line is incomplete
+         */
+        static IndexEntry parse(String line)
+        {
+            String[] fields = line.split("\t", 6);
+
+            if (fields.length < 6)
+            {
+                return null;
+            }
+
+            try
+            {
+                return new IndexEntry(Long.parseLong(fields[0]),
+                                      Long.parseLong(fields[1]),
+                                      Integer.parseInt(fields[2]),
+                                      fields[3],
+                                      fields[4],
+                                      fields[5]);
+            }
+            catch (NumberFormatException error)
+            {
+                return null;
+            }
+        }
+
+
+        /**
+         * Remove the characters used to separate the fields and lines of the index file.
+         *
+         * @param value value of a field
+         * @return value that is safe to store in the index
+         */
+        private static String clean(String value)
+        {
+            if (value == null)
+            {
+                return "";
+            }
+
+            return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+    }
+}
@@ -3,8 +3,12 @@
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
@@ -14,23 +18,74 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory of append-only segment files.  Each line of a segment file is
+ * an audit log record formatted in JSON.  A new segment file is started each time the connector starts,
+ * and whenever the current segment reaches its maximum size (maxSegmentSize in bytes, default 10MB) or
+ * age (maxSegmentAge in milliseconds, default one day).  The segment file names sort in the order they were
+ * written.
+ * <p>
+ * Each segment file has an index file alongside it (see FileBasedAuditLogSegment).  The connector keeps a small
+ * summary of each index in memory so the queries only read the index files of the segments that could hold
+ * matching records, and then read just the matching records from the segment files.  The queries return the
+ * records in the order they were written.
+ * <p>
+ * Earlier releases stored each audit log record in its own log-record-{guid} file.  These files are moved into
+ * a segment when the connector starts so that their records can be queried along with the newer ones.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
+    private static final String segmentFileNamePrefix    = "log-segment-";
+    private static final String segmentFileNameSuffix    = ".jsonl";
+    private static final String legacyFileNamePrefix     = "log-record-";
+    private static final long   defaultMaxSegmentSize    = 10L * 1024 * 1024;
+    private static final long   defaultMaxSegmentAge     = 24L * 60 * 60 * 1000;
+
+    private static final ObjectMapper objectMapper    = new ObjectMapper();
+    private static final ObjectWriter logRecordWriter = objectMapper.writer();
+    private static final ObjectReader logRecordReader = objectMapper.readerFor(AuditLogRecord.class);
 
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private String logStoreTemplateName = null;
+    private String       logStoreTemplateName = null;
+    private long         maxSegmentSize       = defaultMaxSegmentSize;
+    private long         maxSegmentAge        = defaultMaxSegmentAge;
+
+    private final List<FileBasedAuditLogSegment> segments = new ArrayList<>();
+
+    private FileBasedAuditLogSegment currentSegment = null;
+    private OutputStream indexStream          = null;
+    private OutputStream segmentStream        = null;
+    private long         segmentSize          = 0;
+    private long         segmentStartTime     = 0;
+    private int          segmentSequence      = 0;
 
 
     /**
@@ -63,11 +118,22 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             logStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            maxSegmentSize = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, defaultMaxSegmentSize);
+            maxSegmentAge  = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxSegmentAgeProperty, defaultMaxSegmentAge);
+        }
+
         try
         {
             File         auditLogStoreDirectory = new File(logStoreTemplateName);
 
             FileUtils.forceMkdir(auditLogStoreDirectory);
+
+            this.migrateLegacyLogRecords(auditLogStoreDirectory);
+            this.loadSegments(auditLogStoreDirectory);
         }
         catch (IOException ioException)
         {
@@ -76,6 +142,216 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     }
 
 
+    /**
+     * Move the log records that earlier releases stored in individual log-record-{guid} files into a segment.
+     * The segment is named after the oldest of these records so it sorts ahead of the segments written since.
+     * The segment is written under a temporary name and renamed once it is complete, and only then are the
+     * individual files removed, so a failure partway through leaves the individual files to be moved on the
+     * next start.  A file that can not be read is logged and left in place.
+     *
+     * @param auditLogStoreDirectory directory holding the log record files
+     * @throws IOException the segment could not be written
+     */
+    private void migrateLegacyLogRecords(File auditLogStoreDirectory) throws IOException
+    {
+        File[] legacyFiles = auditLogStoreDirectory.listFiles((directory, fileName) -> fileName.startsWith(legacyFileNamePrefix));
+
+        if ((legacyFiles == null) || (legacyFiles.length == 0))
+        {
+            return;
+        }
+
+        List<OMRSAuditLogRecord> legacyRecords = new ArrayList<>();
+        List<File>               migratedFiles = new ArrayList<>();
+        long                     oldestRecord  = Long.MAX_VALUE;
+
+        for (File legacyFile : legacyFiles)
+        {
+            try
+            {
+                OMRSAuditLogRecord logRecord = this.readLogRecord(Files.readAllBytes(legacyFile.toPath()));
+
+                legacyRecords.add(logRecord);
+                migratedFiles.add(legacyFile);
+
+                if (logRecord.getTimeStamp() != null)
+                {
+                    oldestRecord = Math.min(oldestRecord, logRecord.getTimeStamp().getTime());
+                }
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to move Server Audit Log Store record " + legacyFile.getName() + " into a segment", error);
+            }
+        }
+
+        if (legacyRecords.isEmpty())
+        {
+            return;
+        }
+
+        legacyRecords.sort(Comparator.comparing(OMRSAuditLogRecord::getTimeStamp, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        String segmentFileName = String.format("%s%013d-%06d%s",
+                                               segmentFileNamePrefix,
+                                               (oldestRecord == Long.MAX_VALUE) ? 0L : oldestRecord,
+                                               0,
+                                               segmentFileNameSuffix);
+        File   segmentFile     = new File(auditLogStoreDirectory, segmentFileName);
+        File   temporaryFile   = new File(auditLogStoreDirectory, segmentFileName + ".tmp");
+
+        try (OutputStream segmentOutput = new BufferedOutputStream(new FileOutputStream(temporaryFile)))
+        {
+            for (OMRSAuditLogRecord logRecord : legacyRecords)
+            {
+                segmentOutput.write(logRecordWriter.writeValueAsBytes(logRecord));
+                segmentOutput.write('\n');
+            }
+        }
+
+        Files.move(temporaryFile.toPath(), segmentFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        for (File migratedFile : migratedFiles)
+        {
+            Files.delete(migratedFile.toPath());
+        }
+
+        log.info("Moved " + legacyRecords.size() + " Server Audit Log Store records into segment " + segmentFileName);
+    }
+
+
+    /**
+     * Build the summaries of the segments that are already in the directory.  A segment's index is rebuilt
+     * from the segment file if it is missing.
+     *
+     * @param auditLogStoreDirectory directory holding the segment files
+     */
+    private synchronized void loadSegments(File auditLogStoreDirectory)
+    {
+        File[] segmentFiles = auditLogStoreDirectory.listFiles((directory, fileName) -> fileName.startsWith(segmentFileNamePrefix) &&
+                                                                                        fileName.endsWith(segmentFileNameSuffix));
+
+        if (segmentFiles != null)
+        {
+            Arrays.sort(segmentFiles);
+
+            for (File segmentFile : segmentFiles)
+            {
+                FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(segmentFile);
+
+                try
+                {
+                    if (! segment.getIndexFile().exists())
+                    {
+                        this.rebuildIndex(segment);
+                    }
+
+                    segment.loadIndex();
+                    segments.add(segment);
+                }
+                catch (IOException ioException)
+                {
+                    log.error("Unable to index Server Audit Log Store segment " + segmentFile.getName(), ioException);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Write the index file for a segment by reading each of its log records.
+     *
+     * @param segment segment to index
+     * @throws IOException the segment could not be read or the index could not be written
+     */
+    private void rebuildIndex(FileBasedAuditLogSegment segment) throws IOException
+    {
+        try (InputStream  segmentInput = new BufferedInputStream(new FileInputStream(segment.getSegmentFile()));
+             OutputStream indexOutput  = new BufferedOutputStream(new FileOutputStream(segment.getIndexFile())))
+        {
+            ByteArrayOutputStream line   = new ByteArrayOutputStream();
+            long                  offset = 0;
+            int                   nextByte;
+
+            while ((nextByte = segmentInput.read()) != -1)
+            {
+                if (nextByte == '\n')
+                {
+                    byte[] logRecordBytes = line.toByteArray();
+
+                    try
+                    {
+                        OMRSAuditLogRecord logRecord = this.readLogRecord(logRecordBytes);
+
+                        indexOutput.write(this.getIndexEntry(logRecord, offset, logRecordBytes.length).format().getBytes(StandardCharsets.UTF_8));
+                    }
+                    catch (IOException error)
+                    {
+                        log.debug("Skipping unreadable audit log record in " + segment.getSegmentFile().getName());
+                    }
+
+                    offset = offset + logRecordBytes.length + 1;
+                    line.reset();
+                }
+                else
+                {
+                    line.write(nextByte);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Convert a line of a segment file into a log record.  The record is read through the Audit Log Framework's
+     * bean since the deprecated OMRS properties are derived from it.
+     *
+     * @param logRecordBytes JSON log record
+     * @return log record
+     * @throws IOException the log record could not be parsed
+     */
+    private OMRSAuditLogRecord readLogRecord(byte[] logRecordBytes) throws IOException
+    {
+        AuditLogRecord logRecord = logRecordReader.readValue(logRecordBytes);
+
+        return new OMRSAuditLogRecord(logRecord);
+    }
+
+
+    /**
+     * Create the index entry for a log record.
+     *
+     * @param logRecord log record
+     * @param offset position of the log record in the segment file
+     * @param length number of bytes in the log record
+     * @return index entry
+     */
+    private FileBasedAuditLogSegment.IndexEntry getIndexEntry(OMRSAuditLogRecord logRecord,
+                                                              long               offset,
+                                                              int                length)
+    {
+        long   timeStamp = 0;
+        String component = null;
+
+        if (logRecord.getTimeStamp() != null)
+        {
+            timeStamp = logRecord.getTimeStamp().getTime();
+        }
+
+        if (logRecord.getOriginatorComponent() != null)
+        {
+            component = logRecord.getOriginatorComponent().getComponentName();
+        }
+
+        return new FileBasedAuditLogSegment.IndexEntry(timeStamp,
+                                                       offset,
+                                                       length,
+                                                       logRecord.getSeverity(),
+                                                       component,
+                                                       logRecord.getGUID());
+    }
+
+
     /**
      * Store the audit log record in the audit log store.
      *
@@ -90,24 +366,181 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
         super.validateLogRecord(logRecord, methodName);
 
-        if (isSupportedSeverity(logRecord))
+        this.storeLogRecords(Collections.singletonList(logRecord));
+
+        return logRecord.getGUID();
+    }
+
+
+    /**
+     * Store a batch of audit log records in the audit log store.  The records are appended to the current
+     * segment file and written to disk together.
+     *
+     * @param logRecords log records to store
+     * @throws InvalidParameterException indicates that one of the log records is invalid.
+     */
+    @Override
+    public synchronized void storeLogRecords(List<OMRSAuditLogRecord> logRecords) throws InvalidParameterException
+    {
+        final String   methodName = "storeLogRecords";
+
+        InvalidParameterException invalidParameterException = null;
+
+        if (logRecords == null)
         {
-            try
+            return;
+        }
+
+        try
+        {
+            for (OMRSAuditLogRecord logRecord : logRecords)
             {
-                File configStoreFile =
-                        new File(logStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
+                try
+                {
+                    super.validateLogRecord(logRecord, methodName);
+                }
+                catch (InvalidParameterException error)
+                {
+                    if (invalidParameterException == null)
+                    {
+                        invalidParameterException = error;
+                    }
+
+                    continue;
+                }
+
+                if (isSupportedSeverity(logRecord))
+                {
+                    byte[] logRecordBytes = logRecordWriter.writeValueAsBytes(logRecord);
+
+                    OutputStream outputStream = this.getSegmentStream();
+
+                    FileBasedAuditLogSegment.IndexEntry indexEntry = this.getIndexEntry(logRecord, segmentSize, logRecordBytes.length);
+
+                    outputStream.write(logRecordBytes);
+                    outputStream.write('\n');
+                    indexStream.write(indexEntry.format().getBytes(StandardCharsets.UTF_8));
+
+                    segmentSize = segmentSize + logRecordBytes.length + 1;
+                    currentSegment.addEntry(indexEntry);
+                }
+            }
 
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+            /*
+             * The records are written before their index entries so a query never finds an entry for a record
+             * that is not on disk.
+             */
+            if (segmentStream != null)
+            {
+                segmentStream.flush();
+                indexStream.flush();
+            }
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unusable Server Audit Log Store :(", ioException);
+
+            this.closeSegment();
+        }
+
+        if (invalidParameterException != null)
+        {
+            throw invalidParameterException;
+        }
+    }
+
+
+    /**
+     * Return the stream for the current segment file, starting a new segment if there is no current segment or
+     * it has reached its maximum size or age.
+     *
+     * @return output stream
+     * @throws IOException the segment file could not be created
+     */
+    private OutputStream getSegmentStream() throws IOException
+    {
+        long now = System.currentTimeMillis();
+
+        if ((segmentStream != null) && ((segmentSize >= maxSegmentSize) || (now - segmentStartTime >= maxSegmentAge)))
+        {
+            this.closeSegment();
+        }
+
+        if (segmentStream == null)
+        {
+            /*
+             * The sequence number keeps the names unique if more than one segment is started in a millisecond.
+             */
+            String segmentFileName = String.format("%s%013d-%06d%s", segmentFileNamePrefix, now, segmentSequence++, segmentFileNameSuffix);
+
+            currentSegment   = new FileBasedAuditLogSegment(new File(logStoreTemplateName, segmentFileName));
+            segmentStream    = new BufferedOutputStream(new FileOutputStream(currentSegment.getSegmentFile(), true));
+            indexStream      = new BufferedOutputStream(new FileOutputStream(currentSegment.getIndexFile(), true));
+            segmentSize      = 0;
+            segmentStartTime = now;
+
+            segments.add(currentSegment);
+        }
+
+        return segmentStream;
+    }
+
+
+    /**
+     * Close the current segment file and its index.
+     */
+    private void closeSegment()
+    {
+        if (segmentStream != null)
+        {
+            try
+            {
+                segmentStream.close();
+                indexStream.close();
             }
             catch (IOException ioException)
             {
-                log.error("Unusable Server Audit Log Store :(", ioException);
+                log.error("Unable to close Server Audit Log Store segment", ioException);
             }
+
+            segmentStream  = null;
+            indexStream    = null;
+            currentSegment = null;
         }
+    }
 
-        return logRecord.getGUID();
+
+    /**
+     * Return a numeric configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a valid number
+     * @return property value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                log.error("Invalid value " + propertyValue + " for audit log store property " + propertyName);
+            }
+        }
+
+        return defaultValue;
     }
 
 
@@ -123,7 +556,56 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     public OMRSAuditLogRecord getAuditLogRecord(String logRecordId) throws InvalidParameterException,
                                                                            RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecord";
+        final String methodName    = "getAuditLogRecord";
+        final String parameterName = "logRecordId";
+
+        this.validateQueryParameter(logRecordId, parameterName, methodName);
+
+        Map<FileBasedAuditLogSegment, Long> candidateSegments = new LinkedHashMap<>();
+
+        synchronized (this)
+        {
+            /*
+             * The newest segments are searched first.
+             */
+            for (int i = segments.size() - 1; i >= 0; i--)
+            {
+                FileBasedAuditLogSegment segment = segments.get(i);
+
+                if (segment.mayContainGUID(logRecordId))
+                {
+                    candidateSegments.put(segment, segment.getRecordCount());
+                }
+            }
+        }
+
+        try
+        {
+            for (FileBasedAuditLogSegment segment : candidateSegments.keySet())
+            {
+                List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+
+                this.readLogRecords(segment,
+                                    candidateSegments.get(segment),
+                                    indexEntry -> logRecordId.equals(indexEntry.guid),
+                                    0,
+                                    1,
+                                    logRecords);
+
+                if (! logRecords.isEmpty())
+                {
+                    return logRecords.get(0);
+                }
+            }
+        }
+        catch (IOException ioException)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(getDestinationName(),
+                                                                                                                ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
 
         return null;
     }
@@ -152,7 +634,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return this.queryLogRecords(startDate, endDate, null, null, offset, maximumRecords, methodName);
     }
 
 
@@ -179,9 +661,12 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                             PagingErrorException,
                                                                                             RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsBySeverity";
+        final String methodName    = "getAuditLogRecordsBySeverity";
+        final String parameterName = "severity";
 
-        return null;
+        this.validateQueryParameter(severity, parameterName, methodName);
+
+        return this.queryLogRecords(startDate, endDate, severity, null, offset, maximumRecords, methodName);
     }
 
 
@@ -208,9 +693,219 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                                 PagingErrorException,
                                                                                                 RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsByComponent";
+        final String methodName    = "getAuditLogRecordsByComponent";
+        final String parameterName = "component";
 
-        return null;
+        this.validateQueryParameter(component, parameterName, methodName);
+
+        return this.queryLogRecords(startDate, endDate, null, component, offset, maximumRecords, methodName);
+    }
+
+
+    /**
+     * Return a page of the log records that match the query, in the order they were written.
+     *
+     * @param startDate      start of time period (null means no start)
+     * @param endDate        end of time period (null means no end)
+     * @param severity       severity of the records (null means any)
+     * @param component      name of the component that created the records (null means any)
+     * @param offset         offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return (zero means no maximum)
+     * @param methodName     calling method
+     * @return list of log records or null if there are none
+     * @throws PagingErrorException     indicates that the offset or the maximumRecords parameters are invalid.
+     * @throws RepositoryErrorException indicates that the audit log store is not available or has an error.
+     */
+    private List<OMRSAuditLogRecord> queryLogRecords(Date   startDate,
+                                                     Date   endDate,
+                                                     String severity,
+                                                     String component,
+                                                     int    offset,
+                                                     int    maximumRecords,
+                                                     String methodName) throws PagingErrorException,
+                                                                               RepositoryErrorException
+    {
+        this.validatePagingParameter(offset, "offset", OMRSErrorCode.NEGATIVE_AUDIT_LOG_QUERY_OFFSET, methodName);
+        this.validatePagingParameter(maximumRecords, "maximumRecords", OMRSErrorCode.NEGATIVE_AUDIT_LOG_QUERY_PAGE_SIZE, methodName);
+
+        long startTime = (startDate == null) ? Long.MIN_VALUE : startDate.getTime();
+        long endTime   = (endDate == null) ? Long.MAX_VALUE : endDate.getTime();
+        int  limit     = (maximumRecords == 0) ? Integer.MAX_VALUE : maximumRecords;
+
+        Map<FileBasedAuditLogSegment, Long> candidateSegments = new LinkedHashMap<>();
+
+        synchronized (this)
+        {
+            for (FileBasedAuditLogSegment segment : segments)
+            {
+                if (segment.mayContain(startTime, endTime, severity, component))
+                {
+                    candidateSegments.put(segment, segment.getRecordCount());
+                }
+            }
+        }
+
+        List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+        int                      skipCount  = offset;
+
+        try
+        {
+            for (FileBasedAuditLogSegment segment : candidateSegments.keySet())
+            {
+                skipCount = this.readLogRecords(segment,
+                                                candidateSegments.get(segment),
+                                                indexEntry -> (indexEntry.timeStamp >= startTime) &&
+                                                              (indexEntry.timeStamp <= endTime) &&
+                                                              ((severity == null) || (severity.equals(indexEntry.severity))) &&
+                                                              ((component == null) || (component.equals(indexEntry.component))),
+                                                skipCount,
+                                                limit,
+                                                logRecords);
+
+                if (logRecords.size() >= limit)
+                {
+                    break;
+                }
+            }
+        }
+        catch (IOException ioException)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(getDestinationName(),
+                                                                                                                ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
+
+        if (logRecords.isEmpty())
+        {
+            return null;
+        }
+
+        return logRecords;
+    }
+
+
+    /**
+     * Read the log records from a segment that match the filter.  The segment's index is read a line at a time
+     * and only the matching records are read from the segment file.
+     *
+     * @param segment        segment to read
+     * @param recordCount    number of records in the segment when the query started
+     * @param filter         test for the index entries of the records to return
+     * @param skipCount      number of matching records still to skip
+     * @param limit          maximum number of records in the results
+     * @param logRecords     results to add the records to
+     * @return number of matching records still to skip
+     * @throws IOException the segment could not be read
+     */
+    private int readLogRecords(FileBasedAuditLogSegment                       segment,
+                               long                                           recordCount,
+                               Predicate<FileBasedAuditLogSegment.IndexEntry> filter,
+                               int                                            skipCount,
+                               int                                            limit,
+                               List<OMRSAuditLogRecord>                       logRecords) throws IOException
+    {
+        RandomAccessFile segmentReader = null;
+
+        try (BufferedReader indexReader = new BufferedReader(new InputStreamReader(new FileInputStream(segment.getIndexFile()), StandardCharsets.UTF_8)))
+        {
+            long   entryCount = 0;
+            String line       = indexReader.readLine();
+
+            while ((line != null) && (entryCount < recordCount) && (logRecords.size() < limit))
+            {
+                FileBasedAuditLogSegment.IndexEntry indexEntry = FileBasedAuditLogSegment.IndexEntry.parse(line);
+
+                if (indexEntry != null)
+                {
+                    entryCount++;
+
+                    if (filter.test(indexEntry))
+                    {
+                        if (skipCount > 0)
+                        {
+                            skipCount--;
+                        }
+                        else
+                        {
+                            if (segmentReader == null)
+                            {
+                                segmentReader = new RandomAccessFile(segment.getSegmentFile(), "r");
+                            }
+
+                            byte[] logRecordBytes = new byte[indexEntry.length];
+
+                            segmentReader.seek(indexEntry.offset);
+                            segmentReader.readFully(logRecordBytes);
+
+                            logRecords.add(this.readLogRecord(logRecordBytes));
+                        }
+                    }
+                }
+
+                line = indexReader.readLine();
+            }
+        }
+        finally
+        {
+            if (segmentReader != null)
+            {
+                segmentReader.close();
+            }
+        }
+
+        return skipCount;
+    }
+
+
+    /**
+     * Validate that a query parameter is not null.
+     *
+     * @param parameterValue value supplied by the caller
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the value is null
+     */
+    private void validateQueryParameter(String parameterValue,
+                                        String parameterName,
+                                        String methodName) throws InvalidParameterException
+    {
+        if (parameterValue == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NULL_AUDIT_LOG_QUERY_PARAMETER.getMessageDefinition(parameterName,
+                                                                                                                  methodName,
+                                                                                                                  getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+    }
+
+
+    /**
+     * Validate that a paging parameter is not negative.
+     *
+     * @param parameterValue value supplied by the caller
+     * @param parameterName name of the parameter
+     * @param errorCode error to report if the value is negative
+     * @param methodName calling method
+     * @throws PagingErrorException the value is negative
+     */
+    private void validatePagingParameter(int           parameterValue,
+                                         String        parameterName,
+                                         OMRSErrorCode errorCode,
+                                         String        methodName) throws PagingErrorException
+    {
+        if (parameterValue < 0)
+        {
+            throw new PagingErrorException(errorCode.getMessageDefinition(Integer.toString(parameterValue),
+                                                                          parameterName,
+                                                                          methodName,
+                                                                          getDestinationName()),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
     }
 
 
@@ -222,6 +917,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        synchronized (this)
+        {
+            this.closeSegment();
+        }
+
         super.disconnect();
     }
 }
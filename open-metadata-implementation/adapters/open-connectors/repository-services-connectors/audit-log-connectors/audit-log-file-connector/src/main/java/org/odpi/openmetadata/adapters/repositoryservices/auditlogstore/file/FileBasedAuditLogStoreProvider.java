@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
  */
@@ -20,7 +22,13 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
      */
     private static final String connectorQualifiedName = "Egeria:AuditLogDestinationConnector:Files";
     private static final String connectorDisplayName   = "File-based Audit Log Destination Connector";
-    private static final String connectorDescription   = "Connector supports the distribution of audit log record to a directory where each file is a JSON formatted log record.";
+    private static final String connectorDescription   = "Connector supports the distribution of audit log records to a directory of rolling segment files where each line is a JSON formatted log record.";
+
+    /*
+     * Configuration properties that control when a new segment file is started.
+     */
+    public static final String maxSegmentSizeProperty = "maxSegmentSize";
+    public static final String maxSegmentAgeProperty  = "maxSegmentAge";
 
     /*
      * Class of the connector.
@@ -51,7 +59,10 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDisplayName(connectorDisplayName);
         connectorType.setDescription(connectorDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
-        connectorType.setRecognizedConfigurationProperties(super.getRecognizedConfigurationProperties());
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+        recognizedConfigurationProperties.add(maxSegmentSizeProperty);
+        recognizedConfigurationProperties.add(maxSegmentAgeProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
         super.connectorTypeBean = connectorType;
     }
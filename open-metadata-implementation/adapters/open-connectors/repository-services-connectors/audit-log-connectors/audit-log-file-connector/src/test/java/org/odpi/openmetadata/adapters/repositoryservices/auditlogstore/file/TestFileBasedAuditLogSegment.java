@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the in-memory summary that the file based audit log store keeps for each segment.
+ */
+public class TestFileBasedAuditLogSegment
+{
+    private FileBasedAuditLogSegment.IndexEntry getIndexEntry(long   timeStamp,
+                                                              String severity,
+                                                              String component,
+                                                              String guid)
+    {
+        return new FileBasedAuditLogSegment.IndexEntry(timeStamp, 0, 10, severity, component, guid);
+    }
+
+
+    @Test
+    public void testEmptySegment()
+    {
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(new File("log-segment-test.jsonl"));
+
+        assertEquals(segment.getRecordCount(), 0);
+        assertEquals(segment.getIndexFile().getName(), "log-segment-test.jsonl" + FileBasedAuditLogSegment.indexFileNameSuffix);
+        assertFalse(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, null, null));
+        assertFalse(segment.mayContainGUID(UUID.randomUUID().toString()));
+    }
+
+
+    @Test
+    public void testTimeRangeSeverityAndComponent()
+    {
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(new File("log-segment-test.jsonl"));
+
+        segment.addEntry(getIndexEntry(100, "Information", "OMRS", UUID.randomUUID().toString()));
+        segment.addEntry(getIndexEntry(200, "Error", "OMAS", UUID.randomUUID().toString()));
+
+        assertEquals(segment.getRecordCount(), 2);
+
+        assertTrue(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, null, null));
+        assertTrue(segment.mayContain(150, 150, null, null));
+        assertTrue(segment.mayContain(200, 300, null, null));
+        assertFalse(segment.mayContain(0, 99, null, null));
+        assertFalse(segment.mayContain(201, 300, null, null));
+
+        assertTrue(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, "Error", null));
+        assertFalse(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, "Exception", null));
+        assertTrue(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, null, "OMAS"));
+        assertFalse(segment.mayContain(Long.MIN_VALUE, Long.MAX_VALUE, null, "OCF"));
+    }
+
+
+    @Test
+    public void testGUIDFilter()
+    {
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(new File("log-segment-test.jsonl"));
+        List<String>             guids   = new ArrayList<>();
+
+        for (int i = 0; i < 10000; i++)
+        {
+            String guid = UUID.randomUUID().toString();
+
+            guids.add(guid);
+            segment.addEntry(getIndexEntry(i, "Information", "OMRS", guid));
+        }
+
+        for (String guid : guids)
+        {
+            assertTrue(segment.mayContainGUID(guid));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 10000; i++)
+        {
+            if (segment.mayContainGUID(UUID.randomUUID().toString()))
+            {
+                falsePositives++;
+            }
+        }
+
+        /*
+         * With 10000 entries in the filter the expected false positive rate is about 0.1%.
+         */
+        assertTrue(falsePositives < 100, "False positives: " + falsePositives);
+    }
+
+
+    @Test
+    public void testGUIDFilterWithSimilarGUIDs()
+    {
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(new File("log-segment-test.jsonl"));
+        String                   prefix  = UUID.randomUUID().toString().substring(0, 30);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            segment.addEntry(getIndexEntry(i, "Information", "OMRS", prefix + String.format("%06d", i * 2)));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(segment.mayContainGUID(prefix + String.format("%06d", i * 2)));
+
+            if (segment.mayContainGUID(prefix + String.format("%06d", i * 2 + 1)))
+            {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 10, "False positives: " + falsePositives);
+    }
+
+
+    @Test
+    public void testIndexEntryFormatAndParse()
+    {
+        FileBasedAuditLogSegment.IndexEntry entry = new FileBasedAuditLogSegment.IndexEntry(1234, 56, 78, "Error", "Component\tName", "guid\n1");
+
+        String line = entry.format();
+
+        assertTrue(line.endsWith("\n"));
+
+        FileBasedAuditLogSegment.IndexEntry parsedEntry = FileBasedAuditLogSegment.IndexEntry.parse(line.substring(0, line.length() - 1));
+
+        assertEquals(parsedEntry.timeStamp, 1234);
+        assertEquals(parsedEntry.offset, 56);
+        assertEquals(parsedEntry.length, 78);
+        assertEquals(parsedEntry.severity, "Error");
+        assertEquals(parsedEntry.component, "Component Name");
+        assertEquals(parsedEntry.guid, "guid 1");
+
+        assertNull(FileBasedAuditLogSegment.IndexEntry.parse("1234\t56\t78"));
+        assertNull(FileBasedAuditLogSegment.IndexEntry.parse("time\t56\t78\tError\tOMRS\tguid"));
+    }
+}
@@ -0,0 +1,339 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that the FileBasedAuditLogStoreConnector spreads log records over several segments and can still find them
+ * through the segment indexes, including after the indexes have been removed.  The log record files written by
+ * earlier releases are moved into a segment when the connector starts.
+ */
+public class TestFileBasedAuditLogStoreConnector
+{
+    private static final int recordCount = 50;
+
+    private File                     auditLogStoreDirectory;
+    private List<OMRSAuditLogRecord> storedRecords;
+
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        auditLogStoreDirectory = Files.createTempDirectory("audit-log-file-connector").toFile();
+
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        storedRecords = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            String severity = (i % 5 == 0) ? "Error" : "Information";
+
+            OMRSAuditLogRecord logRecord = getLogRecord(i, severity, (i % 2 == 0) ? "EvenComponent" : "OddComponent");
+
+            connector.storeLogRecord(logRecord);
+            storedRecords.add(logRecord);
+        }
+
+        connector.disconnect();
+    }
+
+
+    @AfterMethod
+    public void tearDown() throws Exception
+    {
+        FileUtils.deleteDirectory(auditLogStoreDirectory);
+    }
+
+
+    private FileBasedAuditLogStoreConnector getConnector() throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(auditLogStoreDirectory.getPath());
+
+        ConnectorType connectorType = new ConnectorType();
+
+        connectorType.setConnectorProviderClassName(FileBasedAuditLogStoreProvider.class.getName());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        /*
+         * Small segments so that the records are spread over many segment files.
+         */
+        configurationProperties.put(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, 2000L);
+
+        Connection connection = new Connection();
+
+        connection.setEndpoint(endpoint);
+        connection.setConnectorType(connectorType);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    private OMRSAuditLogRecord getLogRecord(int    recordNumber,
+                                            String severity,
+                                            String component)
+    {
+        AuditLogReportingComponent reportingComponent = new AuditLogReportingComponent();
+
+        reportingComponent.setComponentId(recordNumber);
+        reportingComponent.setComponentName(component);
+
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(UUID.randomUUID().toString());
+        logRecord.setTimeStamp(new Date(1000000L + recordNumber * 1000L));
+        logRecord.setSeverity(severity);
+        logRecord.setOriginatorProperties(Collections.singletonMap("serverName", "TestServer"));
+        logRecord.setOriginatorComponent(reportingComponent);
+        logRecord.setMessageId("TEST-" + recordNumber);
+        logRecord.setMessageText("Test log record " + recordNumber);
+
+        return logRecord;
+    }
+
+
+    private int countFiles(String suffix)
+    {
+        File[] files = auditLogStoreDirectory.listFiles((directory, fileName) -> fileName.endsWith(suffix));
+
+        return (files == null) ? 0 : files.length;
+    }
+
+
+    private void validateRecords(List<OMRSAuditLogRecord> retrievedRecords,
+                                 List<OMRSAuditLogRecord> expectedRecords)
+    {
+        assertNotNull(retrievedRecords);
+        assertEquals(retrievedRecords.size(), expectedRecords.size());
+
+        for (int i = 0; i < expectedRecords.size(); i++)
+        {
+            assertEquals(retrievedRecords.get(i).getGUID(), expectedRecords.get(i).getGUID());
+            assertEquals(retrievedRecords.get(i).getMessageId(), expectedRecords.get(i).getMessageId());
+        }
+    }
+
+
+    @Test
+    public void testRecordsAreSpreadOverSegments()
+    {
+        int segmentCount = countFiles(".jsonl");
+
+        assertTrue(segmentCount > 1, "Segments: " + segmentCount);
+        assertEquals(countFiles(".jsonl" + FileBasedAuditLogSegment.indexFileNameSuffix), segmentCount);
+    }
+
+
+    @Test
+    public void testGetRecordByGUID() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        for (OMRSAuditLogRecord storedRecord : storedRecords)
+        {
+            OMRSAuditLogRecord retrievedRecord = connector.getAuditLogRecord(storedRecord.getGUID());
+
+            assertNotNull(retrievedRecord);
+            assertEquals(retrievedRecord.getMessageId(), storedRecord.getMessageId());
+        }
+
+        assertNull(connector.getAuditLogRecord(UUID.randomUUID().toString()));
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testPagingAcrossSegments() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), storedRecords);
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 10), storedRecords.subList(0, 10));
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 17, 10), storedRecords.subList(17, 27));
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 45, 10), storedRecords.subList(45, recordCount));
+        assertNull(connector.getAuditLogRecordsByTimeStamp(null, null, recordCount, 10));
+
+        Date startDate = storedRecords.get(10).getTimeStamp();
+        Date endDate   = storedRecords.get(29).getTimeStamp();
+
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(startDate, endDate, 5, 0), storedRecords.subList(15, 30));
+
+        List<OMRSAuditLogRecord> errorRecords = new ArrayList<>();
+        List<OMRSAuditLogRecord> oddRecords   = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            if (i % 5 == 0)
+            {
+                errorRecords.add(storedRecords.get(i));
+            }
+
+            if (i % 2 == 1)
+            {
+                oddRecords.add(storedRecords.get(i));
+            }
+        }
+
+        validateRecords(connector.getAuditLogRecordsBySeverity("Error", null, null, 2, 5),
+                        errorRecords.subList(2, 7));
+        validateRecords(connector.getAuditLogRecordsByComponent("OddComponent", null, null, 20, 0),
+                        oddRecords.subList(20, oddRecords.size()));
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testNegativePagingParameters() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(null, null, -1, 10);
+            fail("Negative offset accepted");
+        }
+        catch (PagingErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), "OMRS-AUDIT-LOG-400-010");
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(null, null, 0, -1);
+            fail("Negative maximumRecords accepted");
+        }
+        catch (PagingErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), "OMRS-AUDIT-LOG-400-011");
+        }
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testIndexesAreRebuilt() throws Exception
+    {
+        File[] indexFiles = auditLogStoreDirectory.listFiles((directory, fileName) -> fileName.endsWith(FileBasedAuditLogSegment.indexFileNameSuffix));
+
+        assertNotNull(indexFiles);
+
+        for (File indexFile : indexFiles)
+        {
+            assertTrue(indexFile.delete());
+        }
+
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        assertEquals(countFiles(FileBasedAuditLogSegment.indexFileNameSuffix), indexFiles.length);
+
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), storedRecords);
+
+        for (OMRSAuditLogRecord storedRecord : storedRecords)
+        {
+            assertNotNull(connector.getAuditLogRecord(storedRecord.getGUID()));
+        }
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testNewRecordsAfterRestart() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        OMRSAuditLogRecord logRecord = getLogRecord(recordCount, "Information", "EvenComponent");
+
+        connector.storeLogRecord(logRecord);
+
+        List<OMRSAuditLogRecord> expectedRecords = new ArrayList<>(storedRecords);
+
+        expectedRecords.add(logRecord);
+
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), expectedRecords);
+        assertNotNull(connector.getAuditLogRecord(logRecord.getGUID()));
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testLegacyRecordsAreMoved() throws Exception
+    {
+        ObjectMapper             objectMapper  = new ObjectMapper();
+        List<OMRSAuditLogRecord> legacyRecords = new ArrayList<>();
+
+        /*
+         * Earlier releases wrote each record to its own file.  These records are older than the ones in the segments.
+         */
+        for (int i = 0; i < 3; i++)
+        {
+            OMRSAuditLogRecord logRecord = getLogRecord(i, "Information", "LegacyComponent");
+
+            logRecord.setTimeStamp(new Date(1000L + (2 - i) * 1000L));
+            FileUtils.writeStringToFile(new File(auditLogStoreDirectory, "log-record-" + logRecord.getGUID()),
+                                        objectMapper.writeValueAsString(logRecord),
+                                        (String)null,
+                                        false);
+            legacyRecords.add(0, logRecord);
+        }
+
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        validateRecords(connector.getAuditLogRecordsByComponent("LegacyComponent", null, null, 0, 0), legacyRecords);
+
+        List<OMRSAuditLogRecord> expectedRecords = new ArrayList<>(legacyRecords);
+
+        expectedRecords.addAll(storedRecords);
+
+        validateRecords(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), expectedRecords);
+        assertNotNull(connector.getAuditLogRecord(legacyRecords.get(1).getGUID()));
+
+        connector.disconnect();
+
+        File[] legacyFiles = auditLogStoreDirectory.listFiles((directory, fileName) -> fileName.startsWith("log-record-"));
+
+        assertNotNull(legacyFiles);
+        assertEquals(legacyFiles.length, 0);
+    }
+}
@@ -8,13 +8,18 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
@@ -23,6 +28,17 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    /*
+     * The first two bytes of a file compressed with gzip.
+     */
+    private static final int gzipMagicByte1 = 0x1f;
+    private static final int gzipMagicByte2 = 0x8b;
+
+    /*
+     * The object mapper is thread-safe and is shared by all instances of the connector.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
@@ -75,50 +91,120 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     @Override
     public OpenMetadataArchive getArchiveContents()
     {
-        File                archiveStoreFile     = new File(archiveStoreName);
         OpenMetadataArchive newOpenMetadataArchive;
 
-        try
+        log.debug("Retrieving open metadata archive from file");
+
+        try (InputStream archiveStoreInputStream = this.openArchiveStoreFile())
+        {
+            newOpenMetadataArchive = objectMapper.readValue(archiveStoreInputStream, OpenMetadataArchive.class);
+        }
+        catch (IOException ioException)
         {
-            log.debug("Retrieving open metadata archive from file");
+            /*
+             * The archive file is not found, create an empty one ...
+             */
+            this.logBadFile(ioException);
 
-            if (auditLog != null)
-            {
-                final String actionDescription = "Opening open metadata archive";
+            log.debug("Create empty archive", ioException);
 
-                auditLog.logMessage(actionDescription,
-                                    FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
-            }
+            newOpenMetadataArchive = new OpenMetadataArchive();
+        }
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
+        return newOpenMetadataArchive;
+    }
 
-            ObjectMapper objectMapper = new ObjectMapper();
 
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+    /**
+     * Pass the contents of the archive to the processor as they are read from the file.  This means that the
+     * processing of a large archive starts straight away and the whole archive is never held in memory.
+     * If the file can not be read, the elements that have already been passed to the processor are kept.
+     *
+     * @param processor receiver of the archive's elements
+     * @return boolean flag - false if the archive is empty
+     */
+    @Override
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor processor)
+    {
+        OpenMetadataArchiveStreamReader archiveReader = new OpenMetadataArchiveStreamReader(objectMapper, processor);
+
+        log.debug("Streaming open metadata archive from file");
+
+        try (InputStream archiveStoreInputStream = this.openArchiveStoreFile())
+        {
+            return archiveReader.readArchive(archiveStoreInputStream);
         }
         catch (IOException ioException)
         {
-            /*
-             * The archive file is not found, create an empty one ...
-             */
-            if (auditLog != null)
-            {
-                final String actionDescription = "Unable to open file";
+            this.logBadFile(ioException);
 
-                auditLog.logException(actionDescription,
-                                      FileBasedOpenMetadataArchiveStoreConnectorAuditCode.BAD_FILE.getMessageDefinition(archiveStoreName,
-                                                                                                                        ioException.getClass().getName(),
-                                                                                                                        ioException.getMessage()),
-                                      ioException);
-            }
+            log.debug("Unable to read archive", ioException);
+        }
 
+        return true;
+    }
 
-            log.debug("Create empty archive", ioException);
 
-            newOpenMetadataArchive = new OpenMetadataArchive();
+    /**
+     * Open the archive file for reading.  Files that are compressed with gzip are decompressed as they are read.
+     *
+     * @return input stream for the contents of the archive
+     * @throws IOException the file can not be opened
+     */
+    private InputStream openArchiveStoreFile() throws IOException
+    {
+        if (auditLog != null)
+        {
+            final String actionDescription = "Opening open metadata archive";
+
+            auditLog.logMessage(actionDescription,
+                                FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
         }
 
-        return newOpenMetadataArchive;
+        InputStream archiveStoreInputStream = new BufferedInputStream(new FileInputStream(new File(archiveStoreName)));
+
+        try
+        {
+            archiveStoreInputStream.mark(2);
+
+            boolean isCompressed = (archiveStoreInputStream.read() == gzipMagicByte1) &&
+                                   (archiveStoreInputStream.read() == gzipMagicByte2);
+
+            archiveStoreInputStream.reset();
+
+            if (isCompressed)
+            {
+                archiveStoreInputStream = new GZIPInputStream(archiveStoreInputStream);
+            }
+        }
+        catch (IOException ioException)
+        {
+            archiveStoreInputStream.close();
+
+            throw ioException;
+        }
+
+        return archiveStoreInputStream;
+    }
+
+
+    /**
+     * Log that the archive file could not be read.
+     *
+     * @param ioException exception from reading the file
+     */
+    private void logBadFile(IOException ioException)
+    {
+        if (auditLog != null)
+        {
+            final String actionDescription = "Unable to open file";
+
+            auditLog.logException(actionDescription,
+                                  FileBasedOpenMetadataArchiveStoreConnectorAuditCode.BAD_FILE.getMessageDefinition(archiveStoreName,
+                                                                                                                    ioException.getClass().getName(),
+                                                                                                                    ioException.getMessage()),
+                                  ioException);
+        }
     }
 
 
@@ -142,8 +228,6 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
                 String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
 
                 FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
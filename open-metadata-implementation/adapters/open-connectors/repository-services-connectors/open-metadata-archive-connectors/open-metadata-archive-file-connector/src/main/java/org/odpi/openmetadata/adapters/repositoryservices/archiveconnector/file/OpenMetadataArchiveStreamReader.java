@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * OpenMetadataArchiveStreamReader reads the JSON form of an open metadata archive with a streaming parser and passes
+ * each of its elements to an OpenMetadataArchiveContentProcessor as soon as it is parsed.  When the sections of the
+ * archive are in the expected order, only one element of the archive is held in memory at a time.
+ * <p>
+ * The processor expects the archive properties first, then the type store and then the instance store.  Within the
+ * stores, the sections are also passed in a fixed order (for example, attribute type definitions before new type
+ * definitions).  This is the order that the sections are written to the archive file.  If a section appears in the
+ * file before a section that must be processed ahead of it, the section is buffered until the end of its enclosing
+ * object and passed to the processor once the earlier sections are complete.
+ */
+class OpenMetadataArchiveStreamReader
+{
+    private static final List<String> archiveSections         = Arrays.asList("archiveProperties",
+                                                                               "archiveTypeStore",
+                                                                               "archiveInstanceStore");
+    private static final List<String> archiveTypeSections     = Arrays.asList("attributeTypeDefs",
+                                                                               "newTypeDefs",
+                                                                               "typeDefPatches");
+    private static final List<String> archiveInstanceSections = Arrays.asList("entities",
+                                                                               "relationships",
+                                                                               "classifications");
+
+    private final ObjectMapper                        objectMapper;
+    private final OpenMetadataArchiveContentProcessor processor;
+
+
+    /**
+     * Constructor takes the mapper used to parse the elements and the receiver of the elements.
+     *
+     * @param objectMapper mapper for the archive's elements
+     * @param processor receiver of the archive's elements
+     */
+    OpenMetadataArchiveStreamReader(ObjectMapper                        objectMapper,
+                                    OpenMetadataArchiveContentProcessor processor)
+    {
+        this.objectMapper = objectMapper;
+        this.processor    = processor;
+    }
+
+
+    /**
+     * Read the archive from the input stream, passing its elements to the processor.
+     *
+     * @param inputStream JSON form of the archive
+     * @return boolean flag - false if the input stream was empty
+     * @throws IOException the archive could not be read or parsed
+     */
+    boolean readArchive(InputStream inputStream) throws IOException
+    {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream))
+        {
+            if (parser.nextToken() == null)
+            {
+                return false;
+            }
+
+            this.readSections(parser,
+                              archiveSections,
+                              this::readArchiveProperties,
+                              this::readTypeStore,
+                              this::readInstanceStore);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Pass the header properties of the archive to the processor.
+     *
+     * @param parser parser positioned at the start of the properties
+     * @throws IOException the properties could not be parsed
+     */
+    private void readArchiveProperties(JsonParser parser) throws IOException
+    {
+        processor.processArchiveProperties(objectMapper.readValue(parser, OpenMetadataArchiveProperties.class));
+    }
+
+
+    /**
+     * Pass the type definitions of the archive's type store to the processor.
+     *
+     * @param parser parser positioned at the start of the type store
+     * @throws IOException the type store could not be parsed
+     */
+    private void readTypeStore(JsonParser parser) throws IOException
+    {
+        this.readSections(parser,
+                          archiveTypeSections,
+                          sectionParser -> this.readElements(sectionParser, AttributeTypeDef.class, processor::processAttributeTypeDef),
+                          sectionParser -> this.readElements(sectionParser, TypeDef.class, processor::processNewTypeDef),
+                          sectionParser -> this.readElements(sectionParser, TypeDefPatch.class, processor::processTypeDefPatch));
+    }
+
+
+    /**
+     * Pass the instances of the archive's instance store to the processor.
+     *
+     * @param parser parser positioned at the start of the instance store
+     * @throws IOException the instance store could not be parsed
+     */
+    private void readInstanceStore(JsonParser parser) throws IOException
+    {
+        this.readSections(parser,
+                          archiveInstanceSections,
+                          sectionParser -> this.readElements(sectionParser, EntityDetail.class, processor::processEntity),
+                          sectionParser -> this.readElements(sectionParser, Relationship.class, processor::processRelationship),
+                          sectionParser -> this.readElements(sectionParser, ClassificationEntityExtension.class, processor::processClassification));
+    }
+
+
+    /**
+     * Read the fields of a JSON object, passing each of the named sections to its reader in the order of the
+     * section names.  Sections that arrive ahead of their turn are buffered.  Unknown fields are skipped.
+     *
+     * @param parser parser positioned at the start of the object
+     * @param sectionNames names of the sections in the order they are to be processed
+     * @param sectionReaders reader for each section
+     * @throws IOException the object could not be parsed
+     */
+    private void readSections(JsonParser       parser,
+                              List<String>     sectionNames,
+                              SectionReader... sectionReaders) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        JsonNode[] bufferedSections = new JsonNode[sectionNames.size()];
+        int        nextSection      = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            int section = sectionNames.indexOf(parser.getCurrentName());
+
+            parser.nextToken();
+
+            if (section < 0)
+            {
+                parser.skipChildren();
+            }
+            else if (section <= nextSection)
+            {
+                sectionReaders[section].read(parser);
+                nextSection = this.readBufferedSections(bufferedSections, Math.max(nextSection, section + 1), false, sectionReaders);
+            }
+            else
+            {
+                bufferedSections[section] = objectMapper.readTree(parser);
+            }
+        }
+
+        this.readBufferedSections(bufferedSections, nextSection, true, sectionReaders);
+    }
+
+
+    /**
+     * Pass the buffered sections to their readers, starting with the named section and continuing until a section
+     * has not been received.  At the end of the enclosing object, all of the remaining buffered sections are passed.
+     *
+     * @param bufferedSections sections received ahead of their turn
+     * @param firstSection first section to pass
+     * @param endOfObject the whole of the enclosing object has been read
+     * @param sectionReaders reader for each section
+     * @return index of the next section to be received
+     * @throws IOException a section could not be parsed
+     */
+    private int readBufferedSections(JsonNode[]      bufferedSections,
+                                     int             firstSection,
+                                     boolean         endOfObject,
+                                     SectionReader[] sectionReaders) throws IOException
+    {
+        int section = firstSection;
+
+        while (section < bufferedSections.length)
+        {
+            JsonNode bufferedSection = bufferedSections[section];
+
+            if (bufferedSection != null)
+            {
+                bufferedSections[section] = null;
+
+                try (JsonParser sectionParser = objectMapper.treeAsTokens(bufferedSection))
+                {
+                    sectionParser.nextToken();
+                    sectionReaders[section].read(sectionParser);
+                }
+            }
+            else if (! endOfObject)
+            {
+                break;
+            }
+
+            section ++;
+        }
+
+        return section;
+    }
+
+
+    /**
+     * Parse the elements of a JSON array one at a time, passing each to the consumer.
+     *
+     * @param parser parser positioned at the start of the array
+     * @param elementClass class of the elements
+     * @param consumer receiver of the elements
+     * @param <T> type of the elements
+     * @throws IOException an element could not be parsed
+     */
+    private <T> void readElements(JsonParser  parser,
+                                  Class<T>    elementClass,
+                                  Consumer<T> consumer) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            consumer.accept(objectMapper.readValue(parser, elementClass));
+        }
+    }
+
+
+    /**
+     * SectionReader reads one section of the archive.
+     */
+    private interface SectionReader
+    {
+        /**
+         * Read the section.
+         *
+         * @param parser parser positioned at the start of the section's value
+         * @throws IOException the section could not be parsed
+         */
+        void read(JsonParser parser) throws IOException;
+    }
+}
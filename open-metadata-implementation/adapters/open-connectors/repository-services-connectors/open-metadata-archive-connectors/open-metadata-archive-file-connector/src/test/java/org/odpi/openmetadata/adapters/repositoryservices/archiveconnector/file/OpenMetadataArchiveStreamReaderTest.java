@@ -0,0 +1,272 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the elements of an archive are passed to the processor in the expected order, even when the sections
+ * of the file are out of order, and that archive files compressed with gzip are read.
+ */
+public class OpenMetadataArchiveStreamReaderTest
+{
+    private static final List<String> expectedOrder = Arrays.asList("properties:testArchive",
+                                                                    "attributeTypeDef:string",
+                                                                    "typeDef:TestEntity",
+                                                                    "entity:entity1",
+                                                                    "entity:entity2",
+                                                                    "relationship:relationship1");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    @Test
+    void testSectionsInOrder() throws Exception
+    {
+        String archive = "{" + field("archiveProperties", archiveProperties()) + ","
+                             + field("archiveTypeStore", "{" + attributeTypeDefs() + "," + newTypeDefs() + "}") + ","
+                             + field("archiveInstanceStore", "{" + entities() + "," + relationships() + "}")
+                       + "}";
+
+        assertEquals(readArchive(archive), expectedOrder);
+    }
+
+
+    @Test
+    void testSectionsOutOfOrder() throws Exception
+    {
+        /*
+         * The instances come before the types, the relationships before the entities and the new type definitions
+         * before the attribute type definitions.  There is also a section that is not recognized.
+         */
+        String archive = "{" + field("archiveInstanceStore", "{" + relationships() + "," + entities() + "}") + ","
+                             + field("unknownSection", "{\"ignored\":[1,2,3]}") + ","
+                             + field("archiveTypeStore", "{" + newTypeDefs() + "," + attributeTypeDefs() + "}") + ","
+                             + field("archiveProperties", archiveProperties())
+                       + "}";
+
+        assertEquals(readArchive(archive), expectedOrder);
+    }
+
+
+    @Test
+    void testEmptyArchive() throws Exception
+    {
+        RecordingProcessor              processor = new RecordingProcessor();
+        OpenMetadataArchiveStreamReader reader    = new OpenMetadataArchiveStreamReader(objectMapper, processor);
+
+        assertFalse(reader.readArchive(new ByteArrayInputStream(new byte[0])));
+        assertTrue(processor.processed.isEmpty());
+    }
+
+
+    @Test
+    void testCompressedArchiveFile() throws Exception
+    {
+        String archive = "{" + field("archiveProperties", archiveProperties()) + ","
+                             + field("archiveInstanceStore", "{" + entities() + "," + relationships() + "}") + ","
+                             + field("archiveTypeStore", "{" + attributeTypeDefs() + "," + newTypeDefs() + "}")
+                       + "}";
+
+        File archiveFile = File.createTempFile("OpenMetadataArchive", ".json.gz");
+
+        try
+        {
+            try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(archiveFile)))
+            {
+                outputStream.write(archive.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Endpoint   endpoint   = new Endpoint();
+            Connection connection = new Connection();
+
+            endpoint.setAddress(archiveFile.getAbsolutePath());
+            connection.setEndpoint(endpoint);
+
+            FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+            RecordingProcessor                         processor = new RecordingProcessor();
+
+            connector.initialize("testConnector", new ConnectionProperties(connection));
+
+            assertTrue(connector.processArchiveContents(processor));
+            assertEquals(processor.processed, expectedOrder);
+        }
+        finally
+        {
+            assertTrue(archiveFile.delete());
+        }
+    }
+
+
+    private List<String> readArchive(String archive) throws Exception
+    {
+        RecordingProcessor              processor = new RecordingProcessor();
+        OpenMetadataArchiveStreamReader reader    = new OpenMetadataArchiveStreamReader(objectMapper, processor);
+
+        assertTrue(reader.readArchive(new ByteArrayInputStream(archive.getBytes(StandardCharsets.UTF_8))));
+
+        return processor.processed;
+    }
+
+
+    private String field(String name,
+                         String value)
+    {
+        return "\"" + name + "\":" + value;
+    }
+
+
+    /**
+     * The elements are written as their declared type so that the type identifiers needed to read them back are
+     * included.
+     *
+     * @param elementType declared type of the elements
+     * @param elements elements of the array
+     * @return JSON array
+     * @throws Exception problem formatting the elements
+     */
+    private String array(Class<?>  elementType,
+                         Object... elements) throws Exception
+    {
+        return objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, elementType))
+                           .writeValueAsString(Arrays.asList(elements));
+    }
+
+
+    private String archiveProperties() throws Exception
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("testArchiveGUID");
+        archiveProperties.setArchiveName("testArchive");
+
+        return objectMapper.writeValueAsString(archiveProperties);
+    }
+
+
+    private String attributeTypeDefs() throws Exception
+    {
+        PrimitiveDef primitiveDef = new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+
+        primitiveDef.setName("string");
+
+        return field("attributeTypeDefs", array(AttributeTypeDef.class, primitiveDef));
+    }
+
+
+    private String newTypeDefs() throws Exception
+    {
+        EntityDef entityDef = new EntityDef();
+
+        entityDef.setName("TestEntity");
+
+        return field("newTypeDefs", array(TypeDef.class, entityDef));
+    }
+
+
+    private String entities() throws Exception
+    {
+        EntityDetail entity1 = new EntityDetail();
+        EntityDetail entity2 = new EntityDetail();
+
+        entity1.setGUID("entity1");
+        entity2.setGUID("entity2");
+
+        return field("entities", array(EntityDetail.class, entity1, entity2));
+    }
+
+
+    private String relationships() throws Exception
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID("relationship1");
+
+        return field("relationships", array(Relationship.class, relationship));
+    }
+
+
+    /**
+     * RecordingProcessor records the order that the elements of the archive are received.
+     */
+    private static class RecordingProcessor implements OpenMetadataArchiveContentProcessor
+    {
+        final List<String> processed = new ArrayList<>();
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            processed.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            processed.add("attributeTypeDef:" + attributeTypeDef.getName());
+        }
+
+
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            processed.add("typeDef:" + typeDef.getName());
+        }
+
+
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            processed.add("typeDefPatch:" + typeDefPatch.getTypeDefGUID());
+        }
+
+
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            processed.add("entity:" + entity.getGUID());
+        }
+
+
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            processed.add("relationship:" + relationship.getGUID());
+        }
+
+
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            processed.add("classification");
+        }
+    }
+}
@@ -146,6 +146,10 @@ public enum GraphOMRSErrorCode implements ExceptionMessageSet
             "The search properties contains a values that do not match the type of property {0} - reported by the {1} method of class {2} to open metadata repository {3}",
             "The system is unable to perform the request because the provided values do not match the type of the property.",
             "Correct the caller's code and retry the request."),
+    TRANSACTION_NOT_COMMITTED(503, "OMRS-GRAPH-REPOSITORY-503-001",
+            "The graph transaction for the {0} method could not be committed after {1} attempts for open metadata repository {2}",
+            "The system was unable to store the change because it conflicted with concurrent updates to the same instances.",
+            "Retry the request.  If the problem persists, check the load on the graph database and its storage backend."),
 
     ;
 
@@ -0,0 +1,54 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * GraphOMRSJsonMapper holds the Jackson readers and writer used by the graph mappers to serialize the
+ * properties, maintainedBy and mappingProperties of instances into JSON strings stored on the vertices and edges,
+ * and to deserialize them again.  ObjectReader and ObjectWriter are immutable and thread-safe, so they are built
+ * once and shared by all of the mappers rather than creating an ObjectMapper for each value.
+ */
+final class GraphOMRSJsonMapper
+{
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Writer for any of the serialized values.
+     */
+    static final ObjectWriter VALUE_WRITER = objectMapper.writer();
+
+    /**
+     * Reader for instance properties.
+     */
+    static final ObjectReader INSTANCE_PROPERTIES_READER = objectMapper.readerFor(InstanceProperties.class);
+
+    /**
+     * Reader for the maintainedBy list of user ids.
+     */
+    static final ObjectReader MAINTAINED_BY_READER = objectMapper.readerFor(new TypeReference<List<String>>() {});
+
+    /**
+     * Reader for the mappingProperties map.
+     */
+    static final ObjectReader MAPPING_PROPERTIES_READER = objectMapper.readerFor(new TypeReference<Map<String, Serializable>>() {});
+
+
+    /**
+     * Private constructor as the class only holds the shared readers and writer.
+     */
+    private GraphOMRSJsonMapper()
+    {
+    }
+}
@@ -1268,7 +1268,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
 
 
-        List<EntityDetail> foundEntities = null;
+        List<EntityDetail>   foundEntities = null;
+        GraphOMRSPageRequest pageRequest   = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
@@ -1280,13 +1281,19 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
         else
         {
-            // If there are no dups in property maps perform a delegated query.
+            // If there are no dups in property maps perform a delegated query - which can also do the paging if there is no classification filtering.
+            if (limitResultsByClassification == null)
+            {
+                pageRequest = this.getPageRequest(limitResultsByStatus, fromEntityElement, sequencingOrder, pageSize);
+            }
+
             foundEntities = graphStore.findEntitiesByPropertyForTypes(validTypeNames,
                                                                       filterTypeName,
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
                                                                       matchProperties,
-                                                                      matchCriteria);
+                                                                      matchCriteria,
+                                                                      pageRequest);
         }
         // Process list of returned entities from sub-methods
         if (foundEntities != null)
@@ -1306,9 +1313,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     }
                 }
             }
-            // Perform sequencing and paging
-            // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            // Perform sequencing and paging (unless the graph traversal has already selected the page)
+            entities = repositoryHelper.formatEntityResults(retainedEntities, this.getFormatFromElement(pageRequest, fromEntityElement), sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -1319,6 +1325,50 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
 
 
+    /**
+     * Return a page request for a delegated graph query if the graph traversal is able to select the requested
+     * page, so that only the instances on the page are retrieved and mapped.
+     *
+     * @param limitResultsByStatus statuses to return; null means all statuses except DELETED
+     * @param fromElement starting element of the page
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of elements on the page
+     * @return page request or null if the metadata collection must sequence and page the results
+     */
+    private GraphOMRSPageRequest getPageRequest(List<InstanceStatus> limitResultsByStatus,
+                                                int                  fromElement,
+                                                SequencingOrder      sequencingOrder,
+                                                int                  pageSize)
+    {
+        if (GraphOMRSPageRequest.isSupported(sequencingOrder, pageSize))
+        {
+            return new GraphOMRSPageRequest(limitResultsByStatus, fromElement, sequencingOrder, pageSize);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the starting element to pass to the repository helper when formatting the results.  If the graph
+     * traversal has selected the page, the results already start at the requested element.
+     *
+     * @param pageRequest page request passed to the graph store (or null)
+     * @param fromElement requested starting element
+     * @return starting element within the results
+     */
+    private int getFormatFromElement(GraphOMRSPageRequest pageRequest,
+                                     int                  fromElement)
+    {
+        if (pageRequest == null)
+        {
+            return fromElement;
+        }
+
+        return 0;
+    }
+
+
     // findEntitiesByPropertyIteratively
     public List<EntityDetail> findEntitiesByPropertyIteratively(List<String>                  validTypeNames,
                                                                 InstanceProperties            matchProperties,
@@ -1563,7 +1613,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
-        List<Relationship> foundRelationships = null;
+        List<Relationship>   foundRelationships = null;
+        GraphOMRSPageRequest pageRequest        = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
@@ -1575,13 +1626,16 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
         else
         {
-            // If there are no dups in property maps perform a delegated query.
+            // If there are no dups in property maps perform a delegated query - which also does the paging.
+            pageRequest = this.getPageRequest(limitResultsByStatus, fromRelationshipElement, sequencingOrder, pageSize);
+
             foundRelationships = graphStore.findRelationshipsByPropertyForTypes(validTypeNames,
                                                                                 filterTypeName,
                                                                                 qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                 shortPropertyNameToQualifiedPropertyNames,
                                                                                 matchProperties,
-                                                                                matchCriteria);
+                                                                                matchCriteria,
+                                                                                pageRequest);
         }
 
         List<Relationship> relationships = null;
@@ -1601,9 +1655,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     }
                 }
             }
-            // Perform sequencing and paging
-
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            // Perform sequencing and paging (unless the graph traversal has already selected the page)
+            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, this.getFormatFromElement(pageRequest, fromRelationshipElement), sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -2023,7 +2076,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
-        List<EntityDetail> foundEntities = null;
+        List<EntityDetail>   foundEntities = null;
+        GraphOMRSPageRequest pageRequest   = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
@@ -2035,12 +2089,18 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
         else
         {
-            // If there are no dups in property maps perform a delegated query.
+            // If there are no dups in property maps perform a delegated query - which can also do the paging if there is no classification matching.
+            if ((matchClassifications == null) || (matchClassifications.getConditions() == null))
+            {
+                pageRequest = this.getPageRequest(limitResultsByStatus, fromEntityElement, sequencingOrder, pageSize);
+            }
+
             foundEntities = graphStore.findEntitiesForTypes(validTypeNames,
                                                             filterTypeName,
                                                             qualifiedPropertyNameToTypeDefinedAttribute,
                                                             shortPropertyNameToQualifiedPropertyNames,
-                                                            matchProperties);
+                                                            matchProperties,
+                                                            pageRequest);
         }
 
 
@@ -2062,8 +2122,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     }
                 }
             }
-            // Perform sequencing and paging
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            // Perform sequencing and paging (unless the graph traversal has already selected the page)
+            entities = repositoryHelper.formatEntityResults(retainedEntities, this.getFormatFromElement(pageRequest, fromEntityElement), sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -2185,7 +2245,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
-        List<Relationship> foundRelationships = null;
+        List<Relationship>   foundRelationships = null;
+        GraphOMRSPageRequest pageRequest        = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
@@ -2197,12 +2258,15 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
         else
         {
-            // If there are no dups in property maps perform a delegated query.
+            // If there are no dups in property maps perform a delegated query - which also does the paging.
+            pageRequest = this.getPageRequest(limitResultsByStatus, fromRelationshipElement, sequencingOrder, pageSize);
+
             foundRelationships = graphStore.findRelationshipsForTypes(validTypeNames,
                                                                       filterTypeName,
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
-                                                                      matchProperties);
+                                                                      matchProperties,
+                                                                      pageRequest);
         }
 
 
@@ -2225,8 +2289,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     }
                 }
             }
-            // Perform sequencing and paging
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            // Perform sequencing and paging (unless the graph traversal has already selected the page)
+            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, this.getFormatFromElement(pageRequest, fromRelationshipElement), sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -4301,6 +4365,91 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    /**
+     * Save the entities and relationships supplied in the instance graph as reference copies.  Any instances from
+     * the local metadata collection are ignored.  The instances are validated up front and then saved by the graph
+     * store in chunks, each chunk in a single transaction, rather than one transaction per instance.  If an instance
+     * is rejected, the chunks saved before it remain in the repository.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances instances to save.
+     * @throws InvalidParameterException one of the instances is invalid or already exists.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws EntityNotKnownException one of the entities identified by the relationship is not found in the
+     *                                   metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for this relationship's type.
+     * @throws EntityConflictException the new entity conflicts with an existing entity.
+     * @throws RelationshipConflictException the new relationship conflicts with an existing relationship.
+     * @throws InvalidEntityException the new entity has invalid contents.
+     * @throws InvalidRelationshipException the new relationship has invalid contents.
+     * @throws FunctionNotSupportedException the repository does not support reference copies of instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public void saveInstanceReferenceCopies(String         userId,
+                                            InstanceGraph  instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            EntityConflictException,
+            RelationshipConflictException,
+            InvalidEntityException,
+            InvalidRelationshipException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName                = "saveInstanceReferenceCopies";
+        final String  entityParameterName       = "instances.entities";
+        final String  relationshipParameterName = "instances.relationships";
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Validate parameters, skipping any instance that has the local home metadata collection id.
+         */
+        List<EntityDetail> entities = new ArrayList<>();
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, entity, entityParameterName, methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, relationship, relationshipParameterName, methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        /*
+         * Save instances
+         */
+        graphStore.saveInstanceReferenceCopiesToStore(entities, relationships);
+    }
+
+
     @Override
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
@@ -12,7 +12,10 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphException;
 import org.janusgraph.core.attribute.Text;
+import org.janusgraph.diskstorage.TemporaryBackendException;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
@@ -59,6 +62,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
@@ -75,12 +79,16 @@ import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_CLASSIFICATION;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_ENTITY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_RELATIONSHIP;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_NAME_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.corePropertiesClassification;
@@ -100,11 +108,21 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * The store is not synchronized.  Each request runs in the JanusGraph transaction that is bound to the calling
+ * thread, so concurrent requests only interact when they change the same vertices or edges.  JanusGraph detects
+ * these conflicts when the transaction commits; the update methods then roll back and re-run the whole transaction
+ * (optimistic retry) up to MAX_TRANSACTION_ATTEMPTS times.  Batches of reference copies are saved in chunks of
+ * BULK_TRANSACTION_SIZE instances so that each transaction (and any retry) stays a manageable size.
  */
 class GraphOMRSMetadataStore {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSMetadataStore.class);
 
+    private static final int  MAX_TRANSACTION_ATTEMPTS = 5;
+    private static final long RETRY_BACKOFF_MILLIS     = 10;
+    private static final int  BULK_TRANSACTION_SIZE    = 100;
+
     private String repositoryName;
     private String metadataCollectionId;
 
@@ -167,13 +185,108 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /**
+     * Handle the failure of a graph transaction.  Conflicts with concurrent transactions are retried after a short
+     * randomized backoff (that grows with each attempt) so that the competing requests do not collide again.
+     * Other failures, and conflicts that persist after MAX_TRANSACTION_ATTEMPTS, are returned to the caller.
+     *
+     * @param methodName calling method
+     * @param attempt number of attempts made so far
+     * @param error exception from the graph
+     * @throws RepositoryErrorException the transaction is not to be retried
+     */
+    private void handleTransactionFailure(String               methodName,
+                                          int                  attempt,
+                                          JanusGraphException  error)
+
+    throws RepositoryErrorException
+    {
+        try
+        {
+            instanceGraph.tx().rollback();
+        }
+        catch (Exception e)
+        {
+            log.debug("{} could not roll back failed transaction: {}", methodName, e.getMessage());
+        }
+
+        boolean isConflict = error.isCausedBy(TemporaryBackendException.class) || error.isCausedBy(PermanentLockingException.class);
+
+        if ((! isConflict) || (attempt >= MAX_TRANSACTION_ATTEMPTS))
+        {
+            log.error("{} transaction failed after {} attempts: {}", methodName, attempt, error.getMessage());
+
+            throw new RepositoryErrorException(GraphOMRSErrorCode.TRANSACTION_NOT_COMMITTED.getMessageDefinition(methodName,
+                                                                                                                  Integer.toString(attempt),
+                                                                                                                  repositoryName),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+
+        log.debug("{} transaction conflict on attempt {}, retrying: {}", methodName, attempt, error.getMessage());
+
+        try
+        {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, RETRY_BACKOFF_MILLIS * attempt + 1));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * TransactionBody is the work carried out in a single graph transaction.  It must be safe to run again
+     * because the transaction is re-run if it conflicts with a concurrent transaction.
+     *
+     * @param <E> checked exception (other than RepositoryErrorException) that the work may throw
+     */
+    @FunctionalInterface
+    interface TransactionBody<E extends Exception>
+    {
+        void run() throws RepositoryErrorException, E;
+    }
+
+
+    /**
+     * Run the supplied work in a graph transaction.  If the transaction fails with a conflict it is rolled back and
+     * the work is run again (see handleTransactionFailure).
+     *
+     * @param methodName calling method
+     * @param transactionBody work to run in the transaction
+     * @param <E> checked exception (other than RepositoryErrorException) that the work may throw
+     * @throws RepositoryErrorException problem with the graph database, or the transaction could not be committed
+     * @throws E exception from the work itself
+     */
+    <E extends Exception> void runInTransaction(String             methodName,
+                                                TransactionBody<E> transactionBody)
+
+    throws RepositoryErrorException, E
+    {
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                transactionBody.run();
+                return;
+            }
+            catch (JanusGraphException e)
+            {
+                handleTransactionFailure(methodName, attempt, e);
+            }
+        }
+    }
+
+
     // A note on existence checking:
     // The MDC will NOT have already checked that there is not already an entity or entity proxy wth the same GUID.
     // Although we KNOW that this is an attempt to create a new entity and that the GUID has just been generated,
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    private EntityDetail createEntityInGraph(EntityDetail entity)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -286,13 +399,34 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
+
+    /**
+     * Create an entity in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entity entity to create
+     * @return the entity that was stored
+     * @throws RepositoryErrorException problem with the graph database
+     * @throws InvalidParameterException the instance is not valid or already exists
+     */
+    EntityDetail createEntityInStore(EntityDetail entity)
+
+    throws RepositoryErrorException, InvalidParameterException
+    {
+        final String methodName = "createEntityInStore";
+
+        runInTransaction(methodName, () -> createEntityInGraph(entity));
+
+        return entity;
+    }
+
+
     // A note on existence checking:
     // The MDC has already checked that there is not already an entity or entity proxy wth the same GUID.
     // So create an entity and note that it is a proxy (flag)
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    private void createEntityProxyInGraph(EntityProxy entityProxy)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -317,6 +451,24 @@ class GraphOMRSMetadataStore {
                     "entityProxy");
         }
 
+        addEntityProxyToGraph(g, entityProxy, methodName);
+
+        g.tx().commit();
+
+    }
+
+
+    /*
+     * Add a vertex for the entity proxy (and its classifications) to the current transaction.  The caller has
+     * already checked that there is no vertex for the entity and is responsible for committing the transaction.
+     * The transaction is rolled back if the proxy can not be mapped.
+     */
+    private Vertex addEntityProxyToGraph(GraphTraversalSource g,
+                                         EntityProxy          entityProxy,
+                                         String               methodName)
+
+    throws RepositoryErrorException
+    {
         Vertex vertex = g.addV("Entity").next();
 
         try
@@ -351,8 +503,24 @@ class GraphOMRSMetadataStore {
                     methodName, e);
         }
 
-        g.tx().commit();
+        return vertex;
+    }
+
+
+    /**
+     * Create an entity proxy in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entityProxy entity proxy to create
+     * @throws RepositoryErrorException problem with the graph database
+     * @throws InvalidParameterException the instance is not valid or already exists
+     */
+    void createEntityProxyInStore(EntityProxy entityProxy)
+
+    throws RepositoryErrorException, InvalidParameterException
+    {
+        final String methodName = "createEntityProxyInStore";
 
+        runInTransaction(methodName, () -> createEntityProxyInGraph(entityProxy));
     }
 
 
@@ -392,7 +560,7 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    private void saveEntityReferenceCopyToGraph(EntityDetail entity)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -401,15 +569,33 @@ class GraphOMRSMetadataStore {
 
         final String methodName = "saveEntityReferenceCopyToStore";
 
-        Vertex vertex;
-
         GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
-        if (vertexIt.hasNext())
+        saveEntityReferenceCopyInGraph(g, entity, vertexIt.hasNext() ? vertexIt.next() : null, methodName);
+
+        g.tx().commit();
+    }
+
+
+    /*
+     * Create or update the vertex for an entity reference copy within the current transaction, following the rules
+     * described above.  The caller supplies the existing vertex for the entity's GUID (or null if there is none) and
+     * is responsible for committing the transaction.  The transaction is rolled back if the reference copy is rejected.
+     */
+    private Vertex saveEntityReferenceCopyInGraph(GraphTraversalSource g,
+                                                  EntityDetail         entity,
+                                                  Vertex               existingVertex,
+                                                  String               methodName)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+    {
+        Vertex vertex = existingVertex;
+
+        if (vertex != null)
         {
 
-            vertex = vertexIt.next();
             log.debug("{} found existing vertex {}", methodName, vertex);
 
             /*
@@ -490,8 +676,24 @@ class GraphOMRSMetadataStore {
                     methodName, e);
         }
 
+        return vertex;
+    }
 
-        g.tx().commit();
+
+    /**
+     * Save a reference copy of an entity in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entity entity to save
+     * @throws InvalidParameterException the instance is not valid or already exists
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
+
+    throws InvalidParameterException, RepositoryErrorException
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
+
+        runInTransaction(methodName, () -> saveEntityReferenceCopyToGraph(entity));
     }
 
 
@@ -531,7 +733,7 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityProxy entity)
+    private void saveEntityReferenceCopyToGraph(EntityProxy entity)
 
             throws InvalidParameterException,
                    RepositoryErrorException
@@ -634,7 +836,24 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    /**
+     * Save a reference copy of an entity proxy in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entity entity proxy to save
+     * @throws InvalidParameterException the instance is not valid or already exists
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void saveEntityReferenceCopyToStore(EntityProxy entity)
+
+    throws InvalidParameterException, RepositoryErrorException
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
+
+        runInTransaction(methodName, () -> saveEntityReferenceCopyToGraph(entity));
+    }
+
+
+    EntityDetail getEntityDetailFromStore(String guid)
 
     throws EntityNotKnownException,
            EntityProxyOnlyException,
@@ -731,7 +950,7 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    EntitySummary getEntitySummaryFromStore(String guid)
 
     throws EntityNotKnownException,
            RepositoryErrorException
@@ -801,7 +1020,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
 
     throws RepositoryErrorException
 
@@ -860,7 +1079,7 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    private void createRelationshipInGraph(Relationship relationship)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -953,6 +1172,23 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /**
+     * Create a relationship in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param relationship relationship to create
+     * @throws RepositoryErrorException problem with the graph database
+     * @throws InvalidParameterException the instance is not valid or already exists
+     */
+    void createRelationshipInStore(Relationship relationship)
+
+    throws RepositoryErrorException, InvalidParameterException
+    {
+        final String methodName = "createRelationshipInStore";
+
+        runInTransaction(methodName, () -> createRelationshipInGraph(relationship));
+    }
+
+
     /*
      *  This method will save a copy of the relationship to the graph.
      *
@@ -1001,7 +1237,7 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    private void saveRelationshipReferenceCopyToGraph(Relationship relationship)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -1104,14 +1340,35 @@ class GraphOMRSMetadataStore {
 
 
         // Process relationship
-        Edge edge;
-
         Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
 
-        if (edgeIt.hasNext())
+        saveRelationshipReferenceCopyInGraph(g, relationship, vertexOne, vertexTwo, edgeIt.hasNext() ? edgeIt.next() : null, methodName);
+
+        log.debug("{} Commit tx containing creation or update of edge", methodName);
+        g.tx().commit();
+    }
+
+
+    /*
+     * Create or update the edge for a relationship reference copy between the two entity vertices within the current
+     * transaction.  The caller supplies the existing edge for the relationship's GUID (or null if there is none) and
+     * is responsible for committing the transaction.  The transaction is rolled back if the reference copy is rejected.
+     */
+    private Edge saveRelationshipReferenceCopyInGraph(GraphTraversalSource g,
+                                                      Relationship         relationship,
+                                                      Vertex               vertexOne,
+                                                      Vertex               vertexTwo,
+                                                      Edge                 existingEdge,
+                                                      String               methodName)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+    {
+        Edge edge = existingEdge;
+
+        if (edge != null)
         {
 
-            edge = edgeIt.next();
             log.debug("{} found existing edge {}", methodName, edge);
 
             /*
@@ -1177,12 +1434,223 @@ class GraphOMRSMetadataStore {
                     methodName, e);
         }
 
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
+        return edge;
+    }
+
+
+    /**
+     * Save a reference copy of a relationship in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param relationship relationship to save
+     * @throws InvalidParameterException the instance is not valid or already exists
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
+
+    throws InvalidParameterException, RepositoryErrorException
+    {
+        final String methodName = "saveRelationshipReferenceCopyToStore";
+
+        runInTransaction(methodName, () -> saveRelationshipReferenceCopyToGraph(relationship));
+    }
+
+
+    /**
+     * Save reference copies of a batch of entities and relationships.  Rather than using a transaction per instance,
+     * the instances are saved in chunks of BULK_TRANSACTION_SIZE instances, with each chunk in a single transaction.
+     * The existing vertices and edges for a chunk are retrieved with one query each, and the entities are saved
+     * before the relationships so that the relationships' ends are normally already present.  Each chunk is retried
+     * if it conflicts with a concurrent transaction.  If a chunk fails, the chunks before it remain saved and the
+     * chunks after it are not attempted.
+     *
+     * @param entities entities to save
+     * @param relationships relationships to save
+     * @throws InvalidParameterException one of the instances is not valid or already exists
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void saveInstanceReferenceCopiesToStore(List<EntityDetail> entities,
+                                            List<Relationship> relationships)
+
+    throws InvalidParameterException, RepositoryErrorException
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        saveInChunks(methodName, entities, this::saveEntityReferenceCopiesToGraph);
+        saveInChunks(methodName, relationships, this::saveRelationshipReferenceCopiesToGraph);
+    }
+
+
+    /**
+     * ChunkBody saves one chunk of a batch of instances in the current graph transaction and commits it.
+     *
+     * @param <T> type of instance
+     */
+    @FunctionalInterface
+    interface ChunkBody<T>
+    {
+        void save(List<T> chunk) throws InvalidParameterException, RepositoryErrorException;
+    }
+
+
+    /**
+     * Save a batch of instances in chunks of BULK_TRANSACTION_SIZE instances, in order, with each chunk in its own
+     * transaction (see runInTransaction).  The first chunk that fails stops the batch.
+     *
+     * @param methodName calling method
+     * @param instances instances to save - may be null
+     * @param chunkBody saves a single chunk
+     * @param <T> type of instance
+     * @throws InvalidParameterException one of the instances is not valid or already exists
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    <T> void saveInChunks(String       methodName,
+                          List<T>      instances,
+                          ChunkBody<T> chunkBody)
+
+    throws InvalidParameterException, RepositoryErrorException
+    {
+        if (instances != null)
+        {
+            for (int start = 0; start < instances.size(); start = start + BULK_TRANSACTION_SIZE)
+            {
+                List<T> chunk = instances.subList(start, Math.min(start + BULK_TRANSACTION_SIZE, instances.size()));
+
+                runInTransaction(methodName, () -> chunkBody.save(chunk));
+            }
+        }
+    }
+
+
+    /*
+     * Save a chunk of entity reference copies in a single transaction.
+     */
+    private void saveEntityReferenceCopiesToGraph(List<EntityDetail> entities)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Set<String> entityGUIDs = new HashSet<>();
+        for (EntityDetail entity : entities)
+        {
+            entityGUIDs.add(entity.getGUID());
+        }
+
+        Map<String, Vertex> entityVertices = getEntityVertices(g, entityGUIDs);
+
+        for (EntityDetail entity : entities)
+        {
+            /*
+             * The map is updated with each saved vertex so a later copy of the same entity in the chunk
+             * updates the vertex rather than creating a second one.
+             */
+            entityVertices.put(entity.getGUID(), saveEntityReferenceCopyInGraph(g, entity, entityVertices.get(entity.getGUID()), methodName));
+        }
+
+        log.debug("{} Commit tx containing {} entity reference copies", methodName, entities.size());
+        g.tx().commit();
+    }
+
+
+    /*
+     * Save a chunk of relationship reference copies in a single transaction.  Proxies are created (in the same
+     * transaction) for any entity at the end of a relationship that is not already stored.
+     */
+    private void saveRelationshipReferenceCopiesToGraph(List<Relationship> relationships)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Set<String> entityGUIDs       = new HashSet<>();
+        Set<String> relationshipGUIDs = new HashSet<>();
+        for (Relationship relationship : relationships)
+        {
+            entityGUIDs.add(relationship.getEntityOneProxy().getGUID());
+            entityGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+            relationshipGUIDs.add(relationship.getGUID());
+        }
+
+        Map<String, Vertex> entityVertices = getEntityVertices(g, entityGUIDs);
+
+        Map<String, Edge> relationshipEdges = new HashMap<>();
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(relationshipGUIDs));
+        while (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+            relationshipEdges.put(relationshipMapper.getRelationshipGUID(edge), edge);
+        }
+
+        for (Relationship relationship : relationships)
+        {
+            Vertex vertexOne = getOrAddEntityProxyVertex(g, relationship.getEntityOneProxy(), entityVertices, methodName);
+            Vertex vertexTwo = getOrAddEntityProxyVertex(g, relationship.getEntityTwoProxy(), entityVertices, methodName);
+
+            relationshipEdges.put(relationship.getGUID(),
+                                  saveRelationshipReferenceCopyInGraph(g,
+                                                                       relationship,
+                                                                       vertexOne,
+                                                                       vertexTwo,
+                                                                       relationshipEdges.get(relationship.getGUID()),
+                                                                       methodName));
+        }
+
+        log.debug("{} Commit tx containing {} relationship reference copies", methodName, relationships.size());
         g.tx().commit();
     }
 
 
-    synchronized Relationship getRelationshipFromStore(String guid)
+    /*
+     * Retrieve the vertices for the requested entity GUIDs with a single query.  The result is keyed by GUID and
+     * has no entry for the GUIDs that are not stored.
+     */
+    private Map<String, Vertex> getEntityVertices(GraphTraversalSource g,
+                                                  Set<String>          entityGUIDs)
+    {
+        Map<String, Vertex> entityVertices = new HashMap<>();
+
+        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, within(entityGUIDs));
+        while (vertexIt.hasNext())
+        {
+            Vertex vertex = vertexIt.next();
+            entityVertices.put(entityMapper.getEntityGUID(vertex), vertex);
+        }
+
+        return entityVertices;
+    }
+
+
+    /*
+     * Return the vertex for the entity at one end of a relationship, adding a proxy to the current transaction if the
+     * entity is not stored.  As with a single relationship, an existing vertex is reused whatever its home.
+     */
+    private Vertex getOrAddEntityProxyVertex(GraphTraversalSource g,
+                                             EntityProxy          entityProxy,
+                                             Map<String, Vertex>  entityVertices,
+                                             String               methodName)
+
+    throws RepositoryErrorException
+    {
+        Vertex vertex = entityVertices.get(entityProxy.getGUID());
+
+        if (vertex == null)
+        {
+            log.debug("{} create proxy vertex for entity {}", methodName, entityProxy.getGUID());
+            vertex = addEntityProxyToGraph(g, entityProxy, methodName);
+            entityVertices.put(entityProxy.getGUID(), vertex);
+        }
+
+        return vertex;
+    }
+
+
+    Relationship getRelationshipFromStore(String guid)
 
     throws RepositoryErrorException
 
@@ -1257,7 +1725,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    private void updateEntityInGraph(EntityDetail entity)
 
     throws RepositoryErrorException
 
@@ -1315,7 +1783,23 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityProxy entity)
+    /**
+     * Update an entity in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entity entity to update
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void updateEntityInStore(EntityDetail entity)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "updateEntityInStore";
+
+        runInTransaction(methodName, () -> updateEntityInGraph(entity));
+    }
+
+
+    private void updateEntityInGraph(EntityProxy entity)
 
             throws RepositoryErrorException
 
@@ -1373,6 +1857,22 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /**
+     * Update an entity proxy in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entity entity proxy to update
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void updateEntityInStore(EntityProxy entity)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "updateEntityInStore";
+
+        runInTransaction(methodName, () -> updateEntityInGraph(entity));
+    }
+
+
     // updateEntityClassifications
     private void updateEntityClassifications(EntitySummary         entity,
                                              Vertex                vertex,
@@ -1468,7 +1968,7 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    private void updateRelationshipInGraph(Relationship relationship)
 
     throws RepositoryErrorException
 
@@ -1510,11 +2010,28 @@ class GraphOMRSMetadataStore {
         g.tx().commit();
     }
 
+
+    /**
+     * Update a relationship in the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param relationship relationship to update
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void updateRelationshipInStore(Relationship relationship)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "updateRelationshipInStore";
+
+        runInTransaction(methodName, () -> updateRelationshipInGraph(relationship));
+    }
+
+
     // removeEntityFromStore
     //
     // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    private void removeEntityFromGraph(String entityGUID)
     {
         final String methodName = "removeEntityFromStore";
 
@@ -1569,8 +2086,24 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /**
+     * Remove an entity and its classifications from the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void removeEntityFromStore(String entityGUID)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "removeEntityFromStore";
+
+        runInTransaction(methodName, () -> removeEntityFromGraph(entityGUID));
+    }
+
+
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    private void removeRelationshipFromGraph(String relationshipGUID)
     {
         final String methodName = "removeRelationshipFromStore";
 
@@ -1589,8 +2122,25 @@ class GraphOMRSMetadataStore {
 
     }
 
+
+    /**
+     * Remove a relationship from the graph, retrying the transaction if it conflicts with a concurrent transaction.
+     *
+     * @param relationshipGUID unique identifier of the relationship
+     * @throws RepositoryErrorException problem with the graph database
+     */
+    void removeRelationshipFromStore(String relationshipGUID)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "removeRelationshipFromStore";
+
+        runInTransaction(methodName, () -> removeRelationshipFromGraph(relationshipGUID));
+    }
+
+
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
     throws RepositoryErrorException
 
@@ -2115,7 +2665,8 @@ class GraphOMRSMetadataStore {
                                                       Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                       Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                       InstanceProperties             matchProperties,
-                                                      MatchCriteria                  matchCriteria)
+                                                      MatchCriteria                  matchCriteria,
+                                                      GraphOMRSPageRequest           pageRequest)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -2521,6 +3072,20 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally restrict the traversal to the requested page
+         */
+
+        if (pageRequest != null)
+        {
+            gt = pageRequest.applyToTraversal(gt,
+                                              PROPERTY_KEY_ENTITY_CURRENT_STATUS,
+                                              PROPERTY_KEY_ENTITY_GUID,
+                                              PROPERTY_KEY_ENTITY_CREATE_TIME,
+                                              PROPERTY_KEY_ENTITY_UPDATE_TIME);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -3461,7 +4026,8 @@ class GraphOMRSMetadataStore {
                                                            Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                            Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                            InstanceProperties             matchProperties,
-                                                           MatchCriteria                  matchCriteria)
+                                                           MatchCriteria                  matchCriteria,
+                                                           GraphOMRSPageRequest           pageRequest)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -3862,6 +4428,20 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally restrict the traversal to the requested page
+         */
+
+        if (pageRequest != null)
+        {
+            gt = pageRequest.applyToTraversal(gt,
+                                              PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS,
+                                              PROPERTY_KEY_RELATIONSHIP_GUID,
+                                              PROPERTY_KEY_RELATIONSHIP_CREATE_TIME,
+                                              PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -6250,7 +6830,8 @@ class GraphOMRSMetadataStore {
                                             String                         filterTypeName,
                                             Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                             Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                            SearchProperties               searchProperties)
+                                            SearchProperties               searchProperties,
+                                            GraphOMRSPageRequest           pageRequest)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6421,6 +7002,20 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally restrict the traversal to the requested page
+         */
+
+        if (pageRequest != null)
+        {
+            gt = pageRequest.applyToTraversal(gt,
+                                              PROPERTY_KEY_ENTITY_CURRENT_STATUS,
+                                              PROPERTY_KEY_ENTITY_GUID,
+                                              PROPERTY_KEY_ENTITY_CREATE_TIME,
+                                              PROPERTY_KEY_ENTITY_UPDATE_TIME);
+        }
+
+
         List<EntityDetail> entities = new ArrayList<>();
 
         /*
@@ -6473,7 +7068,8 @@ class GraphOMRSMetadataStore {
                                                  String                         filterTypeName,
                                                  Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                  Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                                 SearchProperties               searchProperties)
+                                                 SearchProperties               searchProperties,
+                                                 GraphOMRSPageRequest           pageRequest)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6605,6 +7201,20 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally restrict the traversal to the requested page
+         */
+
+        if (pageRequest != null)
+        {
+            gt = pageRequest.applyToTraversal(gt,
+                                              PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS,
+                                              PROPERTY_KEY_RELATIONSHIP_GUID,
+                                              PROPERTY_KEY_RELATIONSHIP_CREATE_TIME,
+                                              PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME);
+        }
+
+
         List<Relationship> relationships = new ArrayList<>();
 
         /*
@@ -0,0 +1,173 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
+
+
+/**
+ * GraphOMRSPageRequest carries the status filter and the paging and sequencing parameters of a find request
+ * down to the graph store so that the graph traversal returns (and the mappers convert) only the requested page
+ * of instances.  The traversal can only do the paging when the sequencing order is based on a core property of
+ * the instance - the GUID, create time or update time - or there is no sequencing.  The metadata collection uses
+ * isSupported() to decide whether to create a page request, or to retrieve all of the matching instances and
+ * sequence and page them itself.
+ */
+class GraphOMRSPageRequest
+{
+    /*
+     * Instances without a create or update time sort before those with one, as they do in the repository helper.
+     */
+    private static final Date NO_TIME = new Date(Long.MIN_VALUE);
+
+    private List<InstanceStatus> limitResultsByStatus;
+    private int                  fromElement;
+    private SequencingOrder      sequencingOrder;
+    private int                  pageSize;
+
+
+    /**
+     * Typical constructor
+     *
+     * @param limitResultsByStatus statuses to return; null means all statuses except DELETED
+     * @param fromElement starting element of the page
+     * @param sequencingOrder order of the results (must be supported)
+     * @param pageSize maximum number of elements on the page (must be greater than zero)
+     */
+    GraphOMRSPageRequest(List<InstanceStatus> limitResultsByStatus,
+                         int                  fromElement,
+                         SequencingOrder      sequencingOrder,
+                         int                  pageSize)
+    {
+        this.limitResultsByStatus = limitResultsByStatus;
+        this.fromElement = fromElement;
+        this.sequencingOrder = sequencingOrder;
+        this.pageSize = pageSize;
+    }
+
+
+    /**
+     * Return whether a graph traversal can produce the requested page directly.
+     *
+     * @param sequencingOrder requested order of the results
+     * @param pageSize maximum number of elements on the page; zero means all of the results are returned
+     * @return boolean flag
+     */
+    static boolean isSupported(SequencingOrder sequencingOrder,
+                               int             pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            return false;
+        }
+
+        if (sequencingOrder == null)
+        {
+            return true;
+        }
+
+        switch (sequencingOrder)
+        {
+            case ANY:
+            case GUID:
+            case CREATION_DATE_RECENT:
+            case CREATION_DATE_OLDEST:
+            case LAST_UPDATE_RECENT:
+            case LAST_UPDATE_OLDEST:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+
+    /**
+     * Add the status filter, ordering and range steps to a traversal.  The property keys are those used for
+     * the core properties of the kind of element (entity vertex or relationship edge) being traversed.
+     *
+     * @param gt traversal that selects the matching elements
+     * @param statusKey property key of the current status
+     * @param guidKey property key of the GUID
+     * @param createTimeKey property key of the create time
+     * @param updateTimeKey property key of the update time
+     * @param <S> vertex or edge
+     * @return traversal that selects the requested page
+     */
+    <S extends Element> GraphTraversal<S, S> applyToTraversal(GraphTraversal<S, S> gt,
+                                                              String               statusKey,
+                                                              String               guidKey,
+                                                              String               createTimeKey,
+                                                              String               updateTimeKey)
+    {
+        /*
+         * The status filter must be applied before the range step so that every page is full.
+         */
+        if (limitResultsByStatus == null)
+        {
+            gt = gt.not(__.has(statusKey, InstanceStatus.DELETED.getOrdinal()));
+        }
+        else
+        {
+            List<Integer> statusOrdinals = new ArrayList<>();
+
+            for (InstanceStatus status : limitResultsByStatus)
+            {
+                if (status != null)
+                {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+
+            gt = gt.has(statusKey, within(statusOrdinals));
+        }
+
+        /*
+         * The GUID is always the last sort key so that elements with the same sort value (or all of the elements
+         * when there is no sequencing) are returned in the same order for every page.  Otherwise the graph
+         * database is free to return them in a different order for each query and the pages could overlap.
+         */
+        gt = gt.order();
+
+        if (sequencingOrder != null)
+        {
+            switch (sequencingOrder)
+            {
+                case CREATION_DATE_OLDEST:
+                    gt = gt.by(__.coalesce(__.values(createTimeKey), __.constant(NO_TIME)), Order.asc);
+                    break;
+
+                case CREATION_DATE_RECENT:
+                    gt = gt.by(__.coalesce(__.values(createTimeKey), __.constant(NO_TIME)), Order.desc);
+                    break;
+
+                case LAST_UPDATE_OLDEST:
+                    gt = gt.by(__.coalesce(__.values(updateTimeKey), __.constant(NO_TIME)), Order.asc);
+                    break;
+
+                case LAST_UPDATE_RECENT:
+                    gt = gt.by(__.coalesce(__.values(updateTimeKey), __.constant(NO_TIME)), Order.desc);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        gt = gt.by(guidKey, Order.asc);
+
+        return gt.range(fromElement, (long) fromElement + pageSize);
+    }
+}
@@ -4,8 +4,6 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 
@@ -248,10 +246,9 @@ class GraphOMRSRelationshipMapper {
 
         List<String> maintainedByList = relationship.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = GraphOMRSJsonMapper.VALUE_WRITER.writeValueAsString(maintainedByList);
                 edge.property(PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -284,10 +281,9 @@ class GraphOMRSRelationshipMapper {
 
         Map<String, Serializable> mappingProperties = relationship.getMappingProperties();
         if (mappingProperties != null && !mappingProperties.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = GraphOMRSJsonMapper.VALUE_WRITER.writeValueAsString(mappingProperties);
                 edge.property(PROPERTY_KEY_RELATIONSHIP_MAPPING_PROPERTIES, jsonString);
 
             } catch (Throwable exc) {
@@ -315,11 +311,10 @@ class GraphOMRSRelationshipMapper {
         InstanceProperties instanceProperties = relationship.getProperties();
         if (instanceProperties != null) {
             // First approach is to write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
 
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
+                jsonString = GraphOMRSJsonMapper.VALUE_WRITER.writeValueAsString(instanceProperties);
                 edge.property("relationshipProperties", jsonString);
 
             } catch (Throwable exc) {
@@ -429,9 +424,8 @@ class GraphOMRSRelationshipMapper {
         // maintainedBy
         String maintainedByString = (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = GraphOMRSJsonMapper.MAINTAINED_BY_READER.readValue(maintainedByString);
                 log.debug("{} edge has deserialized maintainedBy list {}", methodName, maintainedByList);
                 relationship.setMaintainedBy(maintainedByList);
 
@@ -452,10 +446,8 @@ class GraphOMRSRelationshipMapper {
         // mappingProperties
         String mappingPropertiesString = (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = GraphOMRSJsonMapper.MAPPING_PROPERTIES_READER.readValue(mappingPropertiesString);
                 log.debug("{} edge has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 relationship.setMappingProperties(mappingPropertiesMap);
 
@@ -474,9 +466,8 @@ class GraphOMRSRelationshipMapper {
         // relationshipProperties
         String stringProps = (String) (getEdgeProperty(edge, "relationshipProperties"));
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = GraphOMRSJsonMapper.INSTANCE_PROPERTIES_READER.readValue(stringProps);
                 log.debug("{} relationship has deserialized properties {}", methodName, instanceProperties);
                 relationship.setProperties(instanceProperties);
 
@@ -495,6 +486,10 @@ class GraphOMRSRelationshipMapper {
     }
 
 
+    String getRelationshipGUID(Edge edge) {
+        return (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_GUID);
+    }
+
     String getRelationshipMetadataCollectionId(Edge edge) {
         return (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_METADATACOLLECTION_ID);
     }
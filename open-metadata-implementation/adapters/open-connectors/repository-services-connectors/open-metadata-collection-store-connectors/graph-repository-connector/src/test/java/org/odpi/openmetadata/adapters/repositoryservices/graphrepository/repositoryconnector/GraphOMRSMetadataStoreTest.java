@@ -0,0 +1,273 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.diskstorage.TemporaryBackendException;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that GraphOMRSMetadataStore re-runs a graph transaction that fails with a locking conflict, gives up
+ * after five attempts, and does not re-run a transaction that fails for any other reason.  Batches of reference
+ * copies are saved in chunks of 100 instances, and a failing chunk stops the batch without undoing the chunks
+ * before it.  The store uses an in-memory JanusGraph.
+ */
+public class GraphOMRSMetadataStoreTest
+{
+    private static final int    maxTransactionAttempts = 5;
+    private static final int    bulkTransactionSize    = 100;
+    private static final String notCommittedMessageId  = "OMRS-GRAPH-REPOSITORY-503-001";
+
+    private File                   indexDirectory;
+    private GraphOMRSMetadataStore metadataStore;
+
+
+    @BeforeMethod
+    void createStore() throws Exception
+    {
+        indexDirectory = Files.createTempDirectory("graph-repository-connector").toFile();
+
+        Map<String, Object> storageProperties = new HashMap<>();
+
+        storageProperties.put("storage.backend", "inmemory");
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", indexDirectory.getPath());
+
+        String   metadataCollectionId = UUID.randomUUID().toString();
+        AuditLog auditLog             = new AuditLog(new TestAuditLogDestination(), 0, "GraphOMRSMetadataStoreTest", "Test audit log", null);
+
+        metadataStore = new GraphOMRSMetadataStore(metadataCollectionId, "testRepository", null, auditLog, storageProperties);
+    }
+
+
+    @AfterMethod
+    void removeIndex() throws Exception
+    {
+        try (Stream<Path> indexFiles = Files.walk(indexDirectory.toPath()))
+        {
+            indexFiles.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+
+    @Test
+    void testLockingConflictIsRetried() throws Exception
+    {
+        AtomicInteger attempts = new AtomicInteger(0);
+
+        metadataStore.runInTransaction("testLockingConflictIsRetried", () ->
+        {
+            if (attempts.incrementAndGet() < 3)
+            {
+                throw new JanusGraphException("Test conflict", new PermanentLockingException("Test lock"));
+            }
+        });
+
+        assertEquals(attempts.get(), 3);
+    }
+
+
+    @Test
+    void testPersistentConflictFailsAfterMaxAttempts()
+    {
+        AtomicInteger attempts = new AtomicInteger(0);
+
+        try
+        {
+            metadataStore.runInTransaction("testPersistentConflictFailsAfterMaxAttempts", () ->
+            {
+                attempts.incrementAndGet();
+
+                throw new JanusGraphException("Test conflict", new TemporaryBackendException("Test backend"));
+            });
+
+            fail("Transaction did not fail");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), notCommittedMessageId);
+            assertTrue(error.getCause() instanceof JanusGraphException);
+        }
+
+        assertEquals(attempts.get(), maxTransactionAttempts);
+    }
+
+
+    @Test
+    void testOtherFailureIsNotRetried()
+    {
+        AtomicInteger attempts = new AtomicInteger(0);
+
+        try
+        {
+            metadataStore.runInTransaction("testOtherFailureIsNotRetried", () ->
+            {
+                attempts.incrementAndGet();
+
+                throw new JanusGraphException("Test failure");
+            });
+
+            fail("Transaction did not fail");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), notCommittedMessageId);
+        }
+
+        assertEquals(attempts.get(), 1);
+    }
+
+
+    @Test
+    void testBatchesAreSplitAtChunkBoundary() throws Exception
+    {
+        assertEquals(saveBatch(0), Collections.emptyList());
+        assertEquals(saveBatch(bulkTransactionSize), Collections.singletonList(bulkTransactionSize));
+        assertEquals(saveBatch(bulkTransactionSize + 1), Arrays.asList(bulkTransactionSize, 1));
+        assertEquals(saveBatch(2 * bulkTransactionSize + 50), Arrays.asList(bulkTransactionSize, bulkTransactionSize, 50));
+
+        metadataStore.saveInChunks("testBatchesAreSplitAtChunkBoundary", null, chunk -> fail("Chunk saved for null batch"));
+    }
+
+
+    @Test
+    void testFailedChunkStopsBatch() throws Exception
+    {
+        List<Integer> instances   = createInstances(3 * bulkTransactionSize);
+        List<Integer> savedChunks = new ArrayList<>();
+
+        try
+        {
+            metadataStore.saveInChunks("testFailedChunkStopsBatch", instances, chunk ->
+            {
+                if (chunk.contains(bulkTransactionSize + 10))
+                {
+                    throw new InvalidParameterException(GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition("testGUID",
+                                                                                                                      "testFailedChunkStopsBatch",
+                                                                                                                      this.getClass().getName(),
+                                                                                                                      "testRepository"),
+                                                        this.getClass().getName(),
+                                                        "testFailedChunkStopsBatch",
+                                                        "entity");
+                }
+
+                savedChunks.add(chunk.get(0));
+            });
+
+            fail("Batch did not fail");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition().getMessageId());
+        }
+
+        /*
+         * The first chunk stays saved and the third chunk is not attempted.
+         */
+        assertEquals(savedChunks, Collections.singletonList(0));
+    }
+
+
+    @Test
+    void testConflictingChunkIsRetriedAlone() throws Exception
+    {
+        List<Integer> instances      = createInstances(3 * bulkTransactionSize);
+        List<Integer> chunkAttempts  = new ArrayList<>();
+        List<Integer> savedInstances = new ArrayList<>();
+
+        metadataStore.saveInChunks("testConflictingChunkIsRetriedAlone", instances, chunk ->
+        {
+            chunkAttempts.add(chunk.get(0));
+
+            if ((chunk.get(0) == bulkTransactionSize) && (Collections.frequency(chunkAttempts, bulkTransactionSize) == 1))
+            {
+                throw new JanusGraphException("Test conflict", new PermanentLockingException("Test lock"));
+            }
+
+            savedInstances.addAll(chunk);
+        });
+
+        assertEquals(chunkAttempts, Arrays.asList(0, bulkTransactionSize, bulkTransactionSize, 2 * bulkTransactionSize));
+        assertEquals(savedInstances, instances);
+    }
+
+
+    /**
+     * Save a batch of instances and return the size of each chunk.
+     *
+     * @param instanceCount number of instances in the batch
+     * @return chunk sizes in the order they were saved
+     * @throws Exception the batch failed
+     */
+    private List<Integer> saveBatch(int instanceCount) throws Exception
+    {
+        List<Integer> instances      = createInstances(instanceCount);
+        List<Integer> chunkSizes     = new ArrayList<>();
+        List<Integer> savedInstances = new ArrayList<>();
+
+        metadataStore.saveInChunks("saveBatch", instances, chunk ->
+        {
+            chunkSizes.add(chunk.size());
+            savedInstances.addAll(chunk);
+        });
+
+        assertEquals(savedInstances, instances);
+
+        return chunkSizes;
+    }
+
+
+    private List<Integer> createInstances(int instanceCount)
+    {
+        List<Integer> instances = new ArrayList<>();
+
+        for (int i = 0; i < instanceCount; i++)
+        {
+            instances.add(i);
+        }
+
+        return instances;
+    }
+
+
+    /**
+     * TestAuditLogDestination discards the audit log records from the graph factory.
+     */
+    private static class TestAuditLogDestination extends AuditLogDestination
+    {
+        TestAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.*;
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the steps added by GraphOMRSPageRequest select the requested page of the matching entities in the
+ * requested order.  The entities are held in an in-memory TinkerGraph.
+ */
+public class GraphOMRSPageRequestTest
+{
+    private TinkerGraph          graph;
+    private GraphTraversalSource g;
+
+
+    @BeforeMethod
+    void createGraph()
+    {
+        graph = TinkerGraph.open();
+        g     = graph.traversal();
+
+        /*
+         * The entities are added out of GUID order.  Entity g3 has been deleted and g5 has no create or update time.
+         */
+        addEntity("g4", InstanceStatus.ACTIVE,   4000L, 7000L);
+        addEntity("g1", InstanceStatus.ACTIVE,   1000L, 9000L);
+        addEntity("g6", InstanceStatus.PROPOSED, 6000L, 6000L);
+        addEntity("g3", InstanceStatus.DELETED,  3000L, 3000L);
+        addEntity("g2", InstanceStatus.PROPOSED, 2000L, 8000L);
+        addEntity("g5", InstanceStatus.ACTIVE,   null,  null);
+        addEntity("g7", InstanceStatus.ACTIVE,   7000L, 5000L);
+    }
+
+
+    @AfterMethod
+    void closeGraph() throws Exception
+    {
+        graph.close();
+    }
+
+
+    @Test
+    void testSupportedRequests()
+    {
+        assertTrue(GraphOMRSPageRequest.isSupported(null, 10));
+        assertTrue(GraphOMRSPageRequest.isSupported(SequencingOrder.ANY, 10));
+        assertTrue(GraphOMRSPageRequest.isSupported(SequencingOrder.GUID, 10));
+        assertTrue(GraphOMRSPageRequest.isSupported(SequencingOrder.CREATION_DATE_RECENT, 10));
+        assertTrue(GraphOMRSPageRequest.isSupported(SequencingOrder.LAST_UPDATE_OLDEST, 10));
+
+        /*
+         * Sequencing by an instance property and requests for all of the results are handled by the metadata collection.
+         */
+        assertFalse(GraphOMRSPageRequest.isSupported(SequencingOrder.PROPERTY_ASCENDING, 10));
+        assertFalse(GraphOMRSPageRequest.isSupported(SequencingOrder.GUID, 0));
+    }
+
+
+    @Test
+    void testPagesSkipDeletedEntities()
+    {
+        /*
+         * The status filter is applied before the range so the deleted entity does not leave a gap in a page.
+         */
+        assertEquals(getPage(null, 0, SequencingOrder.GUID, 3), Arrays.asList("g1", "g2", "g4"));
+        assertEquals(getPage(null, 3, SequencingOrder.GUID, 3), Arrays.asList("g5", "g6", "g7"));
+        assertEquals(getPage(null, 6, SequencingOrder.GUID, 3), new ArrayList<>());
+    }
+
+
+    @Test
+    void testLastPageIsPartlyFilled()
+    {
+        assertEquals(getPage(null, 4, SequencingOrder.GUID, 4), Arrays.asList("g6", "g7"));
+    }
+
+
+    @Test
+    void testPagesLimitedByStatus()
+    {
+        List<InstanceStatus> limitResultsByStatus = Collections.singletonList(InstanceStatus.PROPOSED);
+
+        assertEquals(getPage(limitResultsByStatus, 0, SequencingOrder.GUID, 1), Collections.singletonList("g2"));
+        assertEquals(getPage(limitResultsByStatus, 1, SequencingOrder.GUID, 1), Collections.singletonList("g6"));
+        assertEquals(getPage(limitResultsByStatus, 2, SequencingOrder.GUID, 1), new ArrayList<>());
+
+        assertEquals(getPage(Collections.singletonList(InstanceStatus.DELETED), 0, SequencingOrder.GUID, 10),
+                     Collections.singletonList("g3"));
+    }
+
+
+    @Test
+    void testSequencingByTime()
+    {
+        /*
+         * The entity without a time is treated as the oldest.
+         */
+        assertEquals(getPage(null, 0, SequencingOrder.CREATION_DATE_OLDEST, 3), Arrays.asList("g5", "g1", "g2"));
+        assertEquals(getPage(null, 3, SequencingOrder.CREATION_DATE_OLDEST, 3), Arrays.asList("g4", "g6", "g7"));
+        assertEquals(getPage(null, 0, SequencingOrder.CREATION_DATE_RECENT, 3), Arrays.asList("g7", "g6", "g4"));
+        assertEquals(getPage(null, 3, SequencingOrder.CREATION_DATE_RECENT, 3), Arrays.asList("g2", "g1", "g5"));
+
+        assertEquals(getPage(null, 0, SequencingOrder.LAST_UPDATE_OLDEST, 6), Arrays.asList("g5", "g7", "g6", "g4", "g2", "g1"));
+        assertEquals(getPage(null, 0, SequencingOrder.LAST_UPDATE_RECENT, 6), Arrays.asList("g1", "g2", "g4", "g6", "g7", "g5"));
+    }
+
+
+    @Test
+    void testTiesAreBrokenByGUID()
+    {
+        /*
+         * Three entities have the same create and update time.  They are returned in GUID order whatever
+         * the direction of the sequencing.
+         */
+        addEntity("g9", InstanceStatus.ACTIVE, 4000L, 7000L);
+        addEntity("g0", InstanceStatus.ACTIVE, 4000L, 7000L);
+
+        assertEquals(getPage(null, 3, SequencingOrder.CREATION_DATE_OLDEST, 3), Arrays.asList("g0", "g4", "g9"));
+        assertEquals(getPage(null, 2, SequencingOrder.CREATION_DATE_RECENT, 3), Arrays.asList("g0", "g4", "g9"));
+        assertEquals(getPage(null, 3, SequencingOrder.LAST_UPDATE_OLDEST, 3), Arrays.asList("g0", "g4", "g9"));
+        assertEquals(getPage(null, 2, SequencingOrder.LAST_UPDATE_RECENT, 3), Arrays.asList("g0", "g4", "g9"));
+    }
+
+
+    @Test
+    void testUnsequencedPagesAreInGUIDOrder()
+    {
+        /*
+         * Without sequencing, the GUID still fixes the order so that successive pages do not overlap.
+         */
+        assertEquals(getPage(null, 0, SequencingOrder.ANY, 3), Arrays.asList("g1", "g2", "g4"));
+        assertEquals(getPage(null, 3, SequencingOrder.ANY, 3), Arrays.asList("g5", "g6", "g7"));
+        assertEquals(getPage(null, 0, null, 3), Arrays.asList("g1", "g2", "g4"));
+        assertEquals(getPage(null, 3, null, 3), Arrays.asList("g5", "g6", "g7"));
+    }
+
+
+    /**
+     * Run the traversal for a page of entities in the same way as the graph store.
+     *
+     * @param limitResultsByStatus statuses to return
+     * @param fromElement starting element of the page
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of elements on the page
+     * @return guids of the entities on the page
+     */
+    private List<String> getPage(List<InstanceStatus> limitResultsByStatus,
+                                 int                  fromElement,
+                                 SequencingOrder      sequencingOrder,
+                                 int                  pageSize)
+    {
+        GraphOMRSPageRequest pageRequest = new GraphOMRSPageRequest(limitResultsByStatus, fromElement, sequencingOrder, pageSize);
+        List<String>         guids       = new ArrayList<>();
+
+        pageRequest.applyToTraversal(g.V().hasLabel("Entity"),
+                                     PROPERTY_KEY_ENTITY_CURRENT_STATUS,
+                                     PROPERTY_KEY_ENTITY_GUID,
+                                     PROPERTY_KEY_ENTITY_CREATE_TIME,
+                                     PROPERTY_KEY_ENTITY_UPDATE_TIME)
+                   .forEachRemaining(vertex -> guids.add(vertex.value(PROPERTY_KEY_ENTITY_GUID)));
+
+        return guids;
+    }
+
+
+    private void addEntity(String         guid,
+                           InstanceStatus status,
+                           Long           createTime,
+                           Long           updateTime)
+    {
+        Vertex vertex = graph.addVertex("Entity");
+
+        vertex.property(PROPERTY_KEY_ENTITY_GUID, guid);
+        vertex.property(PROPERTY_KEY_ENTITY_CURRENT_STATUS, status.getOrdinal());
+
+        if (createTime != null)
+        {
+            vertex.property(PROPERTY_KEY_ENTITY_CREATE_TIME, new Date(createTime));
+        }
+
+        if (updateTime != null)
+        {
+            vertex.property(PROPERTY_KEY_ENTITY_UPDATE_TIME, new Date(updateTime));
+        }
+    }
+}
@@ -0,0 +1,413 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.*;
+
+/**
+ * InMemoryOMRSInstanceIndexes maintains the secondary indexes over the current versions of the instances
+ * in the InMemoryOMRSMetadataStore.  The indexes map from a search key to the unique identifiers (GUIDs) of the
+ * matching instances:
+ * <ul>
+ *     <li>entity type - the GUID of the entity's type and each of its super types</li>
+ *     <li>classification name - the names of the classifications attached to the entity</li>
+ *     <li>name property - the value of the qualifiedName and name properties of the entity</li>
+ *     <li>relationship type - the GUID of the relationship's type and each of its super types</li>
+ *     <li>relationship end - the GUID of the entity at each end of the relationship</li>
+ * </ul>
+ * The indexes are not synchronized.  The store guards them with its read/write lock: the update methods are only
+ * called while the store's write lock is held, and the query methods while its read lock (or write lock) is held.
+ * Many queries may therefore run at once, but never at the same time as an update.  The query methods return
+ * copies of the GUID sets so the results can be used after the lock is released.
+ */
+class InMemoryOMRSInstanceIndexes
+{
+    /**
+     * The string properties whose values are indexed.
+     */
+    static final List<String> INDEXED_NAME_PROPERTIES = Collections.unmodifiableList(Arrays.asList("qualifiedName", "name"));
+
+    private final Map<String, Set<String>>                  entityTypeIndex        = new HashMap<>();
+    private final Map<String, Set<String>>                  classificationIndex    = new HashMap<>();
+    private final Map<String, TreeMap<String, Set<String>>> namePropertyIndexes    = new HashMap<>();
+    private final Map<String, Set<String>>                  relationshipTypeIndex  = new HashMap<>();
+    private final Map<String, Set<String>>                  entityOneIndex         = new HashMap<>();
+    private final Map<String, Set<String>>                  entityTwoIndex         = new HashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryOMRSInstanceIndexes()
+    {
+        for (String propertyName : INDEXED_NAME_PROPERTIES)
+        {
+            namePropertyIndexes.put(propertyName, new TreeMap<>());
+        }
+    }
+
+
+    /**
+     * Replace the index entries for an entity.
+     *
+     * @param oldEntity version of the entity that is being replaced (may be null)
+     * @param newEntity version of the entity that is now in the store (may be null)
+     */
+    void updateEntity(EntityDetail   oldEntity,
+                      EntityDetail   newEntity)
+    {
+        if (oldEntity != null)
+        {
+            String guid = oldEntity.getGUID();
+
+            for (String typeGUID : this.getTypeGUIDs(oldEntity.getType()))
+            {
+                removeFromIndex(entityTypeIndex, typeGUID, guid);
+            }
+
+            for (String classificationName : this.getClassificationNames(oldEntity))
+            {
+                removeFromIndex(classificationIndex, classificationName, guid);
+            }
+
+            for (String propertyName : INDEXED_NAME_PROPERTIES)
+            {
+                removeFromIndex(namePropertyIndexes.get(propertyName), this.getStringProperty(oldEntity, propertyName), guid);
+            }
+        }
+
+        if (newEntity != null)
+        {
+            String guid = newEntity.getGUID();
+
+            for (String typeGUID : this.getTypeGUIDs(newEntity.getType()))
+            {
+                addToIndex(entityTypeIndex, typeGUID, guid);
+            }
+
+            for (String classificationName : this.getClassificationNames(newEntity))
+            {
+                addToIndex(classificationIndex, classificationName, guid);
+            }
+
+            for (String propertyName : INDEXED_NAME_PROPERTIES)
+            {
+                addToIndex(namePropertyIndexes.get(propertyName), this.getStringProperty(newEntity, propertyName), guid);
+            }
+        }
+    }
+
+
+    /**
+     * Replace the index entries for a relationship.
+     *
+     * @param oldRelationship version of the relationship that is being replaced (may be null)
+     * @param newRelationship version of the relationship that is now in the store (may be null)
+     */
+    void updateRelationship(Relationship   oldRelationship,
+                            Relationship   newRelationship)
+    {
+        if (oldRelationship != null)
+        {
+            String guid = oldRelationship.getGUID();
+
+            for (String typeGUID : this.getTypeGUIDs(oldRelationship.getType()))
+            {
+                removeFromIndex(relationshipTypeIndex, typeGUID, guid);
+            }
+
+            removeFromIndex(entityOneIndex, this.getProxyGUID(oldRelationship.getEntityOneProxy()), guid);
+            removeFromIndex(entityTwoIndex, this.getProxyGUID(oldRelationship.getEntityTwoProxy()), guid);
+        }
+
+        if (newRelationship != null)
+        {
+            String guid = newRelationship.getGUID();
+
+            for (String typeGUID : this.getTypeGUIDs(newRelationship.getType()))
+            {
+                addToIndex(relationshipTypeIndex, typeGUID, guid);
+            }
+
+            addToIndex(entityOneIndex, this.getProxyGUID(newRelationship.getEntityOneProxy()), guid);
+            addToIndex(entityTwoIndex, this.getProxyGUID(newRelationship.getEntityTwoProxy()), guid);
+        }
+    }
+
+
+    /**
+     * Return the GUIDs of the entities of the requested type, or one of its subtypes.
+     *
+     * @param typeGUID unique identifier of the type
+     * @return set of entity GUIDs
+     */
+    Set<String> getEntitiesOfType(String   typeGUID)
+    {
+        return getFromIndex(entityTypeIndex, typeGUID);
+    }
+
+
+    /**
+     * Return the GUIDs of the entities that have the named classification attached.
+     *
+     * @param classificationName name of the classification
+     * @return set of entity GUIDs
+     */
+    Set<String> getClassifiedEntities(String   classificationName)
+    {
+        return getFromIndex(classificationIndex, classificationName);
+    }
+
+
+    /**
+     * Return the GUIDs of the entities whose indexed name property has the requested value, or
+     * starts with the requested value.
+     *
+     * @param propertyName one of the INDEXED_NAME_PROPERTIES
+     * @param value literal value to match
+     * @param startsWith true if the value is a prefix; false for an exact match
+     * @return set of entity GUIDs
+     */
+    Set<String> getEntitiesWithNameProperty(String    propertyName,
+                                            String    value,
+                                            boolean   startsWith)
+    {
+        TreeMap<String, Set<String>> propertyIndex = namePropertyIndexes.get(propertyName);
+
+        if ((propertyIndex == null) || (value == null))
+        {
+            return new HashSet<>();
+        }
+
+        if (! startsWith)
+        {
+            return getFromIndex(propertyIndex, value);
+        }
+
+        Set<String> guids = new HashSet<>();
+
+        for (Map.Entry<String, Set<String>> indexEntry : propertyIndex.tailMap(value, true).entrySet())
+        {
+            if (! indexEntry.getKey().startsWith(value))
+            {
+                break;
+            }
+
+            guids.addAll(indexEntry.getValue());
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Return the GUIDs of the relationships of the requested type, or one of its subtypes.
+     *
+     * @param typeGUID unique identifier of the type
+     * @return set of relationship GUIDs
+     */
+    Set<String> getRelationshipsOfType(String   typeGUID)
+    {
+        return getFromIndex(relationshipTypeIndex, typeGUID);
+    }
+
+
+    /**
+     * Return the GUIDs of the relationships that have the requested entity at either end.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return set of relationship GUIDs
+     */
+    Set<String> getRelationshipsForEntity(String   entityGUID)
+    {
+        Set<String> guids = getFromIndex(entityOneIndex, entityGUID);
+
+        guids.addAll(getFromIndex(entityTwoIndex, entityGUID));
+
+        return guids;
+    }
+
+
+    /**
+     * Return the GUIDs of the instance's type and all of its super types.
+     *
+     * @param instanceType type of the instance
+     * @return list of type GUIDs
+     */
+    private List<String> getTypeGUIDs(InstanceType   instanceType)
+    {
+        List<String> typeGUIDs = new ArrayList<>();
+
+        if (instanceType != null)
+        {
+            if (instanceType.getTypeDefGUID() != null)
+            {
+                typeGUIDs.add(instanceType.getTypeDefGUID());
+            }
+
+            List<TypeDefLink> superTypes = instanceType.getTypeDefSuperTypes();
+
+            if (superTypes != null)
+            {
+                for (TypeDefLink superType : superTypes)
+                {
+                    if ((superType != null) && (superType.getGUID() != null))
+                    {
+                        typeGUIDs.add(superType.getGUID());
+                    }
+                }
+            }
+        }
+
+        return typeGUIDs;
+    }
+
+
+    /**
+     * Return the names of the classifications attached to the entity.
+     *
+     * @param entity entity to examine
+     * @return list of classification names
+     */
+    private List<String> getClassificationNames(EntityDetail   entity)
+    {
+        List<String>         classificationNames = new ArrayList<>();
+        List<Classification> classifications     = entity.getClassifications();
+
+        if (classifications != null)
+        {
+            for (Classification classification : classifications)
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    classificationNames.add(classification.getName());
+                }
+            }
+        }
+
+        return classificationNames;
+    }
+
+
+    /**
+     * Return the value of a string property from the entity.
+     *
+     * @param entity entity to examine
+     * @param propertyName name of the property
+     * @return string value or null if not set or not a string
+     */
+    private String getStringProperty(EntityDetail   entity,
+                                     String         propertyName)
+    {
+        InstanceProperties properties = entity.getProperties();
+
+        if (properties != null)
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+            if (propertyValue instanceof PrimitivePropertyValue)
+            {
+                Object primitiveValue = ((PrimitivePropertyValue) propertyValue).getPrimitiveValue();
+
+                if (primitiveValue instanceof String)
+                {
+                    return (String) primitiveValue;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the GUID of the entity at one end of a relationship.
+     *
+     * @param entityProxy proxy from the relationship
+     * @return entity GUID or null
+     */
+    private String getProxyGUID(EntityProxy   entityProxy)
+    {
+        if (entityProxy != null)
+        {
+            return entityProxy.getGUID();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Add a GUID to an index.
+     *
+     * @param index index to update
+     * @param key search key
+     * @param guid unique identifier of the instance
+     */
+    private static void addToIndex(Map<String, Set<String>> index,
+                                   String                   key,
+                                   String                   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            index.computeIfAbsent(key, newKey -> new HashSet<>()).add(guid);
+        }
+    }
+
+
+    /**
+     * Remove a GUID from an index.  Empty entries are removed so the index does not grow with
+     * keys that are no longer used.
+     *
+     * @param index index to update
+     * @param key search key
+     * @param guid unique identifier of the instance
+     */
+    private static void removeFromIndex(Map<String, Set<String>> index,
+                                        String                   key,
+                                        String                   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return a copy of the GUIDs stored under a key.
+     *
+     * @param index index to query
+     * @param key search key
+     * @return set of GUIDs (may be empty)
+     */
+    private static Set<String> getFromIndex(Map<String, Set<String>> index,
+                                            String                   key)
+    {
+        if (key != null)
+        {
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                return new HashSet<>(guids);
+            }
+        }
+
+        return new HashSet<>();
+    }
+}
@@ -216,7 +216,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -305,9 +305,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : repositoryStore.getRelationshipsForEntity(entityGUID, asOfTime))
         {
             if (storedRelationship != null)
             {
@@ -416,13 +414,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are selected using the store's indexes and then each candidate is checked
+         * against the full set of criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, matchProperties, matchCriteria, asOfTime))
         {
             if (entity != null)
             {
@@ -444,6 +441,54 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the entities that are candidates for a property match.  If one of the indexed name properties
+     * must match an exact or starts-with search string, the name index is used.  Otherwise the entities are
+     * selected using the type index.
+     *
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match.
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(String              entityTypeGUID,
+                                                          InstanceProperties  matchProperties,
+                                                          MatchCriteria       matchCriteria,
+                                                          Date                asOfTime)
+    {
+        if ((asOfTime == null) && (matchProperties != null) &&
+            ((matchCriteria == MatchCriteria.ALL) || ((matchCriteria == MatchCriteria.ANY) && (matchProperties.getPropertyCount() == 1))))
+        {
+            for (String propertyName : InMemoryOMRSInstanceIndexes.INDEXED_NAME_PROPERTIES)
+            {
+                InstancePropertyValue propertyValue = matchProperties.getPropertyValue(propertyName);
+
+                if ((propertyValue instanceof PrimitivePropertyValue) &&
+                    (((PrimitivePropertyValue) propertyValue).getPrimitiveValue() instanceof String))
+                {
+                    String searchString = (String) ((PrimitivePropertyValue) propertyValue).getPrimitiveValue();
+
+                    if (repositoryHelper.isExactMatchRegex(searchString, false))
+                    {
+                        return repositoryStore.getEntitiesWithNameProperty(propertyName,
+                                                                           repositoryHelper.getUnqualifiedLiteralString(searchString),
+                                                                           false);
+                    }
+                    else if (repositoryHelper.isStartsWithRegex(searchString, false))
+                    {
+                        return repositoryStore.getEntitiesWithNameProperty(propertyName,
+                                                                           repositoryHelper.getUnqualifiedLiteralString(searchString),
+                                                                           true);
+                    }
+                }
+            }
+        }
+
+        return repositoryStore.getEntitiesOfType(entityTypeGUID, asOfTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -513,13 +558,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are selected using the type index and then each candidate is checked
+         * against the full set of criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesOfType(entityTypeGUID, asOfTime))
         {
             if (entity != null)
             {
@@ -611,16 +655,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are selected using the classification index and then each candidate is checked
+         * against the full set of criteria.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : repositoryStore.getClassifiedEntities(classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -736,12 +779,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are selected using the type index and then each candidate is checked
+         * against the full set of criteria.  The search criteria may match any string property so every
+         * entity of the requested type needs to be checked.
          */
         List<EntityDetail>   foundEntities = new ArrayList<>();
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesOfType(entityTypeGUID, asOfTime))
         {
             if (entity != null)
             {
@@ -865,7 +909,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -946,13 +990,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The candidate relationships are selected using the type index and then each candidate is checked
+         * against the full set of criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsOfType(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
@@ -1048,13 +1091,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The candidate relationships are selected using the type index and then each candidate is checked
+         * against the full set of criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsOfType(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
@@ -1147,12 +1189,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The candidate relationships are selected using the type index and then each candidate is checked
+         * against the full set of criteria.
          */
         List<Relationship>  foundRelationships = new ArrayList<>();
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsOfType(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
@@ -5,21 +5,42 @@ package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositorycon
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * The current version of each instance is held in the entity and relationship stores.  The previous versions
+ * are held in a version chain for each instance, ordered by the time that each version was last updated.
+ * This means the version of an instance that was current at a particular time is located with a binary search
+ * of its version chain.
+ * <p>
+ * The current stores are concurrent maps so the current version of an instance can be read without locking.
+ * The version chains and indexes are guarded by a read/write lock so that queries run concurrently with one another
+ * and only the updates to the store are serialized.
+ * </p>
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    /*
+     * Version time used for an instance version with neither a create time nor an update time.
+     */
+    private static final long NO_VERSION_TIME = Long.MIN_VALUE;
+
+    private String                                       repositoryName           = null;
+    private final Map<String, EntityDetail>              entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>               entityProxyStore         = new ConcurrentHashMap<>();
+    private final Map<String, List<EntityDetail>>        entityHistoryStore       = new HashMap<>();
+    private final Map<String, Relationship>              relationshipStore        = new ConcurrentHashMap<>();
+    private final Map<String, List<Relationship>>        relationshipHistoryStore = new HashMap<>();
+    private final InMemoryOMRSInstanceIndexes            instanceIndexes          = new InMemoryOMRSInstanceIndexes();
+    private final ReadWriteLock                          storeLock                = new ReentrantReadWriteLock();
 
 
     /**
@@ -46,7 +67,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    List<EntityDetail>   getEntities()
     {
         return new ArrayList<>(entityStore.values());
     }
@@ -58,19 +79,47 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
 
 
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            if (asOfTime == null)
+            {
+                return entityStore.get(guid);
+            }
+
+            return getVersionAsOf(entityStore.get(guid), entityHistoryStore.get(guid), asOfTime);
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
     /**
      * Return the entity proxy identified by the guid.
      *
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
@@ -78,85 +127,63 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * parameter.  If the asOfTime is null, a read only view of the current store is returned.
      *
      * @param asOfTime - time for the store (or null means now)
      * @return entity store for the requested time
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
     {
-        if (asOfTime == null)
+        storeLock.readLock().lock();
+
+        try
         {
-            return new HashMap<>(entityStore);
-        }
+            if (asOfTime == null)
+            {
+                return Collections.unmodifiableMap(entityStore);
+            }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+            Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
-        {
-            if (entity != null)
+            /*
+             * First step through the current entity store picking up the version of each entity that was
+             * active at the asOfTime.
+             */
+            for (EntityDetail  entity : entityStore.values())
             {
-                if (entity.getUpdateTime() != null)
+                if ((entity != null) && (entity.getGUID() != null))
                 {
-                    String entityGUID = entity.getGUID();
+                    EntityDetail warpedEntity = getVersionAsOf(entity, entityHistoryStore.get(entity.getGUID()), asOfTime);
 
-                    if (entityGUID != null)
+                    if (warpedEntity != null)
                     {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
+                        timeWarpedEntityStore.put(entity.getGUID(), warpedEntity);
                     }
                 }
             }
-        }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
-        {
-            if (oldEntity != null)
+            /*
+             * Now step through the history store picking up entities that are no longer in the current store.
+             */
+            for (Map.Entry<String, List<EntityDetail>> versionChain : entityHistoryStore.entrySet())
             {
-                String entityGUID = oldEntity.getGUID();
-
-                if (oldEntity.getUpdateTime() != null)
+                if (! entityStore.containsKey(versionChain.getKey()))
                 {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
+                    EntityDetail oldEntity = getVersionAsOf(null, versionChain.getValue(), asOfTime);
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
+                    if (oldEntity != null)
                     {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
+                        timeWarpedEntityStore.put(versionChain.getKey(), oldEntity);
                     }
                 }
             }
-        }
 
-        return timeWarpedEntityStore;
+            return timeWarpedEntityStore;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -165,7 +192,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    List<Relationship>   getRelationships()
     {
         return new ArrayList<>(relationshipStore.values());
     }
@@ -177,117 +204,353 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
      *
+     * @param guid - unique identifier for the relationship
      * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @return relationship object or null if the relationship did not exist at that time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
     {
-        if (asOfTime == null)
+        storeLock.readLock().lock();
+
+        try
         {
-            return new HashMap<>(relationshipStore);
+            if (asOfTime == null)
+            {
+                return relationshipStore.get(guid);
+            }
+
+            return getVersionAsOf(relationshipStore.get(guid), relationshipHistoryStore.get(guid), asOfTime);
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
         }
+    }
 
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
+    /**
+     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
+     * parameter.  If the asOfTime is null, a read only view of the current store is returned.
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return relationship store for the requested time
+     */
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    {
+        storeLock.readLock().lock();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
+        try
         {
-            if (relationship != null)
+            if (asOfTime == null)
+            {
+                return Collections.unmodifiableMap(relationshipStore);
+            }
+
+            Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+
+            /*
+             * First step through the current relationship store picking up the version of each relationship that was
+             * active at the asOfTime.
+             */
+            for (Relationship  relationship : relationshipStore.values())
             {
-                if (relationship.getUpdateTime() != null)
+                if ((relationship != null) && (relationship.getGUID() != null))
                 {
-                    String relationshipGUID = relationship.getGUID();
+                    Relationship warpedRelationship = getVersionAsOf(relationship,
+                                                                     relationshipHistoryStore.get(relationship.getGUID()),
+                                                                     asOfTime);
 
-                    if (relationshipGUID != null)
+                    if (warpedRelationship != null)
                     {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
+                        timeWarpedRelationshipStore.put(relationship.getGUID(), warpedRelationship);
                     }
                 }
-                else if (relationship.getCreateTime() != null)
+            }
+
+            /*
+             * Now step through the history store picking up relationships that are no longer in the current store.
+             */
+            for (Map.Entry<String, List<Relationship>> versionChain : relationshipHistoryStore.entrySet())
+            {
+                if (! relationshipStore.containsKey(versionChain.getKey()))
                 {
-                    if (! relationship.getCreateTime().after(asOfTime))
+                    Relationship oldRelationship = getVersionAsOf(null, versionChain.getValue(), asOfTime);
+
+                    if (oldRelationship != null)
                     {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
+                        timeWarpedRelationshipStore.put(versionChain.getKey(), oldRelationship);
                     }
                 }
             }
+
+            return timeWarpedRelationshipStore;
         }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
+
+    /**
+     * Return the entities of the requested type (or one of its subtypes) as they were at the time supplied
+     * in the asOfTime parameter.  The type index only covers the current versions of the entities so
+     * historical queries fall back to a scan of the time warped store.
+     *
+     * @param typeGUID - unique identifier of the type (or null means all types)
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of entities
+     */
+    Collection<EntityDetail>  getEntitiesOfType(String   typeGUID,
+                                                Date     asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
         {
-            if (oldRelationship != null)
+            if ((typeGUID == null) || (asOfTime != null))
             {
-                String relationshipGUID = oldRelationship.getGUID();
+                return timeWarpEntityStore(asOfTime).values();
+            }
 
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
+            return getEntitiesFromStore(instanceIndexes.getEntitiesOfType(typeGUID));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
+
+    /**
+     * Return the entities with the named classification attached as they were at the time supplied
+     * in the asOfTime parameter.
+     *
+     * @param classificationName - name of the classification
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of entities
+     */
+    Collection<EntityDetail>  getClassifiedEntities(String   classificationName,
+                                                    Date     asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            if ((classificationName == null) || (asOfTime != null))
+            {
+                return timeWarpEntityStore(asOfTime).values();
+            }
+
+            return getEntitiesFromStore(instanceIndexes.getClassifiedEntities(classificationName));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the current versions of the entities whose indexed name property matches, or starts with,
+     * the supplied value.
+     *
+     * @param propertyName - one of the indexed name properties (qualifiedName or name)
+     * @param value - literal value to match
+     * @param startsWith - true if the value is a prefix; false for an exact match
+     * @return collection of entities
+     */
+    Collection<EntityDetail>  getEntitiesWithNameProperty(String    propertyName,
+                                                          String    value,
+                                                          boolean   startsWith)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            return getEntitiesFromStore(instanceIndexes.getEntitiesWithNameProperty(propertyName, value, startsWith));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the relationships of the requested type (or one of its subtypes) as they were at the time supplied
+     * in the asOfTime parameter.
+     *
+     * @param typeGUID - unique identifier of the type (or null means all types)
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of relationships
+     */
+    Collection<Relationship>  getRelationshipsOfType(String   typeGUID,
+                                                     Date     asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            if ((typeGUID == null) || (asOfTime != null))
+            {
+                return timeWarpRelationshipStore(asOfTime).values();
+            }
+
+            return getRelationshipsFromStore(instanceIndexes.getRelationshipsOfType(typeGUID));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the relationships that have the requested entity at either end as they were at the time supplied
+     * in the asOfTime parameter.
+     *
+     * @param entityGUID - unique identifier of the entity
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of relationships
+     */
+    Collection<Relationship>  getRelationshipsForEntity(String   entityGUID,
+                                                        Date     asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            if (asOfTime != null)
+            {
+                List<Relationship> entityRelationships = new ArrayList<>();
+
+                for (Relationship relationship : timeWarpRelationshipStore(asOfTime).values())
                 {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
+                    if ((isEntityProxyFor(relationship.getEntityOneProxy(), entityGUID)) ||
+                        (isEntityProxyFor(relationship.getEntityTwoProxy(), entityGUID)))
                     {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
+                        entityRelationships.add(relationship);
                     }
                 }
+
+                return entityRelationships;
+            }
+
+            return getRelationshipsFromStore(instanceIndexes.getRelationshipsForEntity(entityGUID));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return whether an entity proxy from a relationship identifies the requested entity.
+     *
+     * @param entityProxy - proxy from one end of a relationship
+     * @param entityGUID - unique identifier of the entity
+     * @return boolean flag
+     */
+    private boolean isEntityProxyFor(EntityProxy   entityProxy,
+                                     String        entityGUID)
+    {
+        return (entityProxy != null) && (entityGUID != null) && (entityGUID.equals(entityProxy.getGUID()));
+    }
+
+
+    /**
+     * Look up the current versions of the entities identified by an index.
+     *
+     * @param guids - unique identifiers of the entities
+     * @return list of entities
+     */
+    private List<EntityDetail>  getEntitiesFromStore(Set<String>   guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = entityStore.get(guid);
+
+            if (entity != null)
+            {
+                entities.add(entity);
             }
         }
 
-        return timeWarpedRelationshipStore;
+        return entities;
     }
 
+
+    /**
+     * Look up the current versions of the relationships identified by an index.
+     *
+     * @param guids - unique identifiers of the relationships
+     * @return list of relationships
+     */
+    private List<Relationship>  getRelationshipsFromStore(Set<String>   guids)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            Relationship relationship = relationshipStore.get(guid);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
+    }
+
+
     /**
      * Create a new entity in the entity store.
      *
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+        storeLock.writeLock().lock();
 
-        while (existingEntity != null)
+        try
         {
-            entityStore.put(entity.getGUID(), existingEntity);
-            entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
-        }
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing relationship.
+             * If this happens a new GUID is generated for the relationship and the process repeats.
+             */
+            EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+
+            while (existingEntity != null)
+            {
+                entityStore.put(entity.getGUID(), existingEntity);
+                entity.setGUID(UUID.randomUUID().toString());
+                existingEntity = entityStore.put(entity.getGUID(), entity);
+            }
+
+            instanceIndexes.updateEntity(null, entity);
 
-        return entity;
+            return entity;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
@@ -297,22 +560,33 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        storeLock.writeLock().lock();
 
-        while (existingRelationship != null)
+        try
         {
-            relationshipStore.put(relationship.getGUID(), existingRelationship);
-            relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-        }
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing relationship.
+             * If this happens a new GUID is generated for the relationship and the process repeats.
+             */
+            Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
-        return relationship;
+            while (existingRelationship != null)
+            {
+                relationshipStore.put(relationship.getGUID(), existingRelationship);
+                relationship.setGUID(UUID.randomUUID().toString());
+                existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            }
+
+            instanceIndexes.updateRelationship(null, relationship);
+
+            return relationship;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
@@ -321,7 +595,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -329,17 +603,28 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The previous version is added to the entity's version chain.
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity)
+    void updateEntityInStore(EntityDetail entity)
     {
-        EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+        storeLock.writeLock().lock();
+
+        try
+        {
+            EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+
+            instanceIndexes.updateEntity(oldEntity, entity);
 
-        if (oldEntity != null)
+            if (oldEntity != null)
+            {
+                addToVersionChain(entityHistoryStore, oldEntity);
+            }
+        }
+        finally
         {
-            entityHistoryStore.add(0, oldEntity);
+            storeLock.writeLock().unlock();
         }
     }
 
@@ -349,7 +634,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -357,17 +642,28 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The previous version is added to the relationship's version chain.
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship)
     {
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        storeLock.writeLock().lock();
+
+        try
+        {
+            Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+            instanceIndexes.updateRelationship(oldRelationship, relationship);
 
-        if (oldRelationship != null)
+            if (oldRelationship != null)
+            {
+                addToVersionChain(relationshipHistoryStore, oldRelationship);
+            }
+        }
+        finally
         {
-            relationshipHistoryStore.add(0, oldRelationship);
+            storeLock.writeLock().unlock();
         }
     }
 
@@ -378,9 +674,20 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - object to save
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        storeLock.writeLock().lock();
+
+        try
+        {
+            EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+
+            instanceIndexes.updateEntity(oldEntity, entity);
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
@@ -390,221 +697,365 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - object to save
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        storeLock.writeLock().lock();
+
+        try
+        {
+            Relationship oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+            instanceIndexes.updateRelationship(oldRelationship, relationship);
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship.  This is the most recent version in the relationship's
+     * version chain.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
-        if (guid != null)
-        {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+        storeLock.writeLock().lock();
 
-            long versionNumber = 0;
-
-            if (currentVersionOfRelationship != null)
+        try
+        {
+            if (guid != null)
             {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
-
+                List<Relationship> versionChain = relationshipHistoryStore.get(guid);
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
-                if (relationship != null)
+                if ((versionChain != null) && (! versionChain.isEmpty()))
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+                    Relationship  previousVersionOfRelationship = versionChain.get(versionChain.size() - 1);
+
+                    long versionNumber = previousVersionOfRelationship.getVersion() + 1;
+
+                    if (currentVersionOfRelationship != null)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
+                        versionNumber = currentVersionOfRelationship.getVersion() + 1;
+                    }
 
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     */
+                    Relationship newRelationship = new Relationship(previousVersionOfRelationship);
+                    newRelationship.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newRelationship.setUpdateTime(restoreTime);
+                    relationshipStore.put(guid, newRelationship);
+                    instanceIndexes.updateRelationship(currentVersionOfRelationship, newRelationship);
+
+                    if (currentVersionOfRelationship != null)
+                    {
+                        addToVersionChain(relationshipHistoryStore, currentVersionOfRelationship);
                     }
+
+                    return newRelationship;
                 }
             }
-        }
 
-        return null;
+            return null;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the most recent version in the entity's version chain.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
-        if (guid != null)
-        {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+        storeLock.writeLock().lock();
 
-            long versionNumber = 0;
-
-            if (currentVersionOfEntity != null)
+        try
+        {
+            if (guid != null)
             {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                List<EntityDetail> versionChain = entityHistoryStore.get(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
-                if (entity != null)
+                if ((versionChain != null) && (! versionChain.isEmpty()))
                 {
-                    if (guid.equals(entity.getGUID()))
+                    EntityDetail  currentVersionOfEntity  = entityStore.get(guid);
+                    EntityDetail  previousVersionOfEntity = versionChain.get(versionChain.size() - 1);
+
+                    long versionNumber = previousVersionOfEntity.getVersion() + 1;
+
+                    if (currentVersionOfEntity != null)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
+                        versionNumber = currentVersionOfEntity.getVersion() + 1;
+                    }
 
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     */
+                    EntityDetail newEntity = new EntityDetail(previousVersionOfEntity);
+                    newEntity.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newEntity.setUpdateTime(restoreTime);
+                    entityStore.put(guid, newEntity);
+                    instanceIndexes.updateEntity(currentVersionOfEntity, newEntity);
+
+                    if (currentVersionOfEntity != null)
+                    {
+                        addToVersionChain(entityHistoryStore, currentVersionOfEntity);
                     }
+
+                    return newEntity;
                 }
             }
-        }
 
-        return null;
+            return null;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity from the active store along with its history.
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
-        String entityGUID = entity.getGUID();
-        entityStore.remove(entityGUID);
-        List<EntityDetail> purgedHistory = new ArrayList<>();
-        for (EntityDetail history : entityHistoryStore)
+        storeLock.writeLock().lock();
+
+        try
         {
-            if (history != null && !entityGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            String entityGUID = entity.getGUID();
+            instanceIndexes.updateEntity(entityStore.remove(entityGUID), null);
+            entityHistoryStore.remove(entityGUID);
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
         }
-        entityHistoryStore = purgedHistory;
     }
 
 
     /**
-     * Remove a reference entity from the active store and add it to the history store.
+     * Remove a reference entity from the active store along with its history.
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
+        storeLock.writeLock().lock();
 
-        if (entity != null)
+        try
         {
-            List<EntityDetail> purgedHistory = new ArrayList<>();
-            for (EntityDetail history : entityHistoryStore)
+            EntityDetail entity = entityStore.remove(guid);
+
+            if (entity != null)
             {
-                if (history != null && !guid.equals(history.getGUID()))
-                {
-                    purgedHistory.add(history);
-                }
+                instanceIndexes.updateEntity(entity, null);
+                entityHistoryStore.remove(guid);
             }
-            entityHistoryStore = purgedHistory;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
         }
     }
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity proxy from the proxy store.
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
         entityProxyStore.remove(guid);
     }
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
+     * Remove a relationship from the active store along with its history.
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            String relationshipGUID = relationship.getGUID();
+            instanceIndexes.updateRelationship(relationshipStore.remove(relationshipGUID), null);
+            relationshipHistoryStore.remove(relationshipGUID);
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove a reference relationship from the active store along with its history.
+     *
+     * @param guid - relationship to remove
+     */
+    void removeReferenceRelationshipFromStore(String     guid)
     {
-        String relationshipGUID = relationship.getGUID();
-        relationshipStore.remove(relationshipGUID);
-        List<Relationship> purgedHistory = new ArrayList<>();
-        for (Relationship history : relationshipHistoryStore)
+        storeLock.writeLock().lock();
+
+        try
         {
-            if (history != null && !relationshipGUID.equals(history.getGUID()))
+            Relationship  relationship = relationshipStore.remove(guid);
+
+            if (relationship != null)
             {
-                purgedHistory.add(history);
+                instanceIndexes.updateRelationship(relationship, null);
+                relationshipHistoryStore.remove(guid);
             }
         }
-        relationshipHistoryStore = purgedHistory;
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Return the time that an instance version became active.  This is the time it was last updated, or if
+     * it has never been updated, the time it was created.  Versions with no time are placed at the start of
+     * their version chain, but are never returned for an asOfTime query.
      *
-     * @param guid - relationship to remove
+     * @param instance - instance version
+     * @return time in milliseconds or NO_VERSION_TIME
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    private static long getVersionTime(InstanceAuditHeader   instance)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime().getTime();
+        }
+        else if (instance.getCreateTime() != null)
+        {
+            return instance.getCreateTime().getTime();
+        }
 
-        if (relationship != null)
+        return NO_VERSION_TIME;
+    }
+
+
+    /**
+     * Add an old version of an instance to its version chain.  The chain is kept in the order of the time
+     * each version became active.  Normally the old version is the most recent so it is added to the end.
+     *
+     * @param historyStore - map of instance GUID to version chain
+     * @param oldVersion - version to add
+     * @param <T> type of instance
+     */
+    private static <T extends InstanceHeader> void addToVersionChain(Map<String, List<T>> historyStore,
+                                                                     T                    oldVersion)
+    {
+        List<T> versionChain = historyStore.computeIfAbsent(oldVersion.getGUID(), guid -> new ArrayList<>());
+
+        versionChain.add(findVersionIndex(versionChain, getVersionTime(oldVersion)) + 1, oldVersion);
+    }
+
+
+    /**
+     * Return the version of an instance that was active at the asOfTime.
+     *
+     * @param currentVersion - current version of the instance (may be null)
+     * @param versionChain - previous versions of the instance (may be null)
+     * @param asOfTime - time of interest
+     * @param <T> type of instance
+     * @return instance version or null if the instance did not exist at that time (or has no create or update time)
+     */
+    private static <T extends InstanceHeader> T getVersionAsOf(T         currentVersion,
+                                                               List<T>   versionChain,
+                                                               Date      asOfTime)
+    {
+        long asOfMillis = asOfTime.getTime();
+
+        if (currentVersion != null)
         {
-            List<Relationship> purgedHistory = new ArrayList<>();
-            for (Relationship history : relationshipHistoryStore)
+            long versionTime = getVersionTime(currentVersion);
+
+            if ((versionTime != NO_VERSION_TIME) && (versionTime <= asOfMillis))
             {
-                if (history != null && !guid.equals(history.getGUID()))
-                {
-                    purgedHistory.add(history);
-                }
+                return currentVersion;
             }
-            relationshipHistoryStore = purgedHistory;
         }
+
+        if (versionChain != null)
+        {
+            int versionIndex = findVersionIndex(versionChain, asOfMillis);
+
+            /*
+             * The versions with no time are at the start of the chain so if one is found, none of the
+             * versions with a time were active at the asOfTime.
+             */
+            if ((versionIndex >= 0) && (getVersionTime(versionChain.get(versionIndex)) != NO_VERSION_TIME))
+            {
+                return versionChain.get(versionIndex);
+            }
+        }
+
+        return null;
     }
 
+
+    /**
+     * Binary search of a version chain for the last version that became active at or before the requested time.
+     *
+     * @param versionChain - versions of an instance in time order
+     * @param time - time in milliseconds
+     * @param <T> type of instance
+     * @return index of the version or -1 if all versions are later than the time
+     */
+    private static <T extends InstanceHeader> int findVersionIndex(List<T>   versionChain,
+                                                                   long      time)
+    {
+        int low   = 0;
+        int high  = versionChain.size() - 1;
+        int found = -1;
+
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (getVersionTime(versionChain.get(middle)) <= time)
+            {
+                found = middle;
+                low   = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
 }
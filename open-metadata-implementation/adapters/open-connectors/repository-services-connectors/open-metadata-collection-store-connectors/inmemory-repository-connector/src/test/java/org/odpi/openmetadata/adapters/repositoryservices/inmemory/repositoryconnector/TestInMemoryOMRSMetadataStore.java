@@ -0,0 +1,208 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String TYPE_GUID  = "type-guid";
+    private static final int    THREADS    = 8;
+    private static final int    ENTITIES   = 200;
+    private static final int    OPERATIONS = 2000;
+
+
+    @Test
+    void testVersionChains()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1111", 1, 1000L);
+        EntityDetail version2 = getEntity("1111", 2, 2000L);
+        EntityDetail version3 = getEntity("1111", 3, 3000L);
+
+        store.createEntityInStore(version1);
+        store.updateEntityInStore(version2);
+        store.updateEntityInStore(version3);
+
+        assertNull(store.getEntity("1111", new Date(500L)));
+        assertEquals(store.getEntity("1111", new Date(1500L)).getVersion(), 1L);
+        assertEquals(store.getEntity("1111", new Date(2000L)).getVersion(), 2L);
+        assertEquals(store.getEntity("1111", new Date(5000L)).getVersion(), 3L);
+        assertEquals(store.timeWarpEntityStore(new Date(1500L)).get("1111").getVersion(), 1L);
+
+        EntityDetail restored = store.retrievePreviousVersionOfEntity("1111");
+
+        assertEquals(restored.getVersion(), 4L);
+        assertEquals(store.getEntity("1111").getVersion(), 4L);
+        assertEquals(store.getEntity("1111", new Date(2500L)).getVersion(), 2L);
+
+        store.removeEntityFromStore(restored);
+
+        assertNull(store.getEntity("1111"));
+        assertNull(store.getEntity("1111", new Date(2500L)));
+    }
+
+
+    @Test
+    void testVersionsWithNoTimeAreNotHistorical()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail untimed = getEntity("2222", 1, 1000L);
+
+        untimed.setCreateTime(null);
+        untimed.setUpdateTime(null);
+
+        store.createEntityInStore(untimed);
+
+        assertNull(store.getEntity("2222", new Date(5000L)));
+        assertNull(store.timeWarpEntityStore(new Date(5000L)).get("2222"));
+
+        /*
+         * Once there is a version with a time, it is returned and the untimed version is still excluded.
+         */
+        store.updateEntityInStore(getEntity("2222", 2, 2000L));
+
+        assertNull(store.getEntity("2222", new Date(1500L)));
+        assertEquals(store.getEntity("2222", new Date(2500L)).getVersion(), 2L);
+        assertEquals(store.timeWarpEntityStore(new Date(2500L)).get("2222").getVersion(), 2L);
+    }
+
+
+    @Test
+    void testHistoricalRelationshipsForEntity()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("r1", "1111", "2222", 1000L));
+        store.createRelationshipInStore(getRelationship("r2", "2222", "1111", 1000L));
+        store.createRelationshipInStore(getRelationship("r3", "2222", "3333", 1000L));
+        store.createRelationshipInStore(getRelationship("r4", "1111", "3333", 3000L));
+
+        Set<String> relationshipGUIDs = new HashSet<>();
+        for (Relationship relationship : store.getRelationshipsForEntity("1111", new Date(2000L)))
+        {
+            relationshipGUIDs.add(relationship.getGUID());
+        }
+
+        assertEquals(relationshipGUIDs, new HashSet<>(Arrays.asList("r1", "r2")));
+        assertEquals(store.getRelationshipsForEntity("3333", new Date(2000L)).size(), 1);
+        assertEquals(store.getRelationshipsForEntity("3333", new Date(5000L)).size(), 2);
+        assertTrue(store.getRelationshipsForEntity("4444", new Date(5000L)).isEmpty());
+    }
+
+
+    @Test
+    void testConcurrentReadsAndWrites() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        for (int i = 0; i < ENTITIES; i++)
+        {
+            store.createEntityInStore(getEntity(Integer.toString(i), 1, 1000L));
+        }
+
+        ExecutorService     executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>>  results         = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            final int seed = thread;
+
+            results.add(executorService.submit(() ->
+            {
+                Random random = new Random(seed);
+
+                for (int operation = 0; operation < OPERATIONS; operation++)
+                {
+                    String guid = Integer.toString(random.nextInt(ENTITIES));
+
+                    /*
+                     * 90% reads and 10% writes
+                     */
+                    if (random.nextInt(10) == 0)
+                    {
+                        EntityDetail current = store.getEntity(guid);
+
+                        store.updateEntityInStore(getEntity(guid, current.getVersion() + 1, 1000L + operation));
+                    }
+                    else if (random.nextBoolean())
+                    {
+                        assertTrue(store.getEntitiesOfType(TYPE_GUID, null).size() == ENTITIES);
+                    }
+                    else
+                    {
+                        assertTrue(store.getEntity(guid, new Date(1000L)) != null);
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<Void> result : results)
+        {
+            result.get(60, TimeUnit.SECONDS);
+        }
+
+        executorService.shutdown();
+
+        assertEquals(store.getEntitiesOfType(TYPE_GUID, null).size(), ENTITIES);
+        assertEquals(store.timeWarpEntityStore(new Date(1000L)).size(), ENTITIES);
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   long   time)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefGUID(TYPE_GUID);
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000L));
+        entity.setUpdateTime(new Date(time));
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         String entityOneGUID,
+                                         String entityTwoGUID,
+                                         long   time)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefGUID(TYPE_GUID);
+
+        EntityProxy entityOne = new EntityProxy();
+        entityOne.setGUID(entityOneGUID);
+
+        EntityProxy entityTwo = new EntityProxy();
+        entityTwo.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(type);
+        relationship.setVersion(1L);
+        relationship.setCreateTime(new Date(time));
+        relationship.setUpdateTime(new Date(time));
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+}
@@ -21,6 +21,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The OMRSRESTMetadataCollection represents a remote metadata repository that supports the OMRS REST API.
@@ -1402,6 +1403,36 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current version of a requested relationship without blocking the calling thread while the remote
+     * repository responds.  The future completes exceptionally with one of the exceptions thrown by getRelationship.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid String unique identifier for the relationship.
+     * @return future for the relationship structure.
+     */
+    @Override
+    public CompletableFuture<Relationship> getRelationshipAsync(String    userId,
+                                                                String    guid)
+    {
+        final String methodName  = "getRelationship";
+
+        try
+        {
+            validateClient(methodName);
+        }
+        catch (RepositoryErrorException error)
+        {
+            CompletableFuture<Relationship> future = new CompletableFuture<>();
+
+            future.completeExceptionally(error);
+            return future;
+        }
+
+        return omrsClient.getRelationshipAsync(userId, guid);
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
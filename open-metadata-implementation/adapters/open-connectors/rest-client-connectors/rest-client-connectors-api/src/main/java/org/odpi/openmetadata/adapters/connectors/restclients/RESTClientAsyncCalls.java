@@ -0,0 +1,87 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RESTClientAsyncCalls provides a generic interface for calling REST Clients without blocking the calling thread.
+ * Each call returns as soon as the request is issued.  The returned future completes with the response object,
+ * or completes exceptionally with a RESTServerException if something went wrong with the REST call stack.
+ */
+public interface RESTClientAsyncCalls
+{
+    /**
+     * Issue a GET REST call that returns a response object.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                  Class<T>  returnClass,
+                                                  String    urlTemplate,
+                                                  Object... params);
+
+
+    /**
+     * Issue a POST REST call that returns a response object.  This is typically a create, update, or find with
+     * complex parameters.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                   Class<T>  returnClass,
+                                                   String    urlTemplate,
+                                                   Object    requestBody,
+                                                   Object... params);
+
+
+    /**
+     * Issue a PUT REST call that returns a response object.  This is typically an update.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                  Class<T>  returnClass,
+                                                  String    urlTemplate,
+                                                  Object    requestBody,
+                                                  Object... params);
+
+
+    /**
+     * Issue a DELETE REST call that returns a response object.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                     Class<T>  returnClass,
+                                                     String    urlTemplate,
+                                                     Object    requestBody,
+                                                     Object... params);
+}
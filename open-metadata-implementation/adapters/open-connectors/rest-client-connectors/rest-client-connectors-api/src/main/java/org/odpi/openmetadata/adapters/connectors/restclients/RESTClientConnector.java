@@ -2,10 +2,45 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.restclients;
 
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 
-public abstract class RESTClientConnector extends ConnectorBase implements RESTClientCalls
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RESTClientConnector is the base class for the REST client connectors.  The asynchronous calls default to
+ * running the equivalent synchronous call on the connector's pool of daemon threads.  Connectors that are able
+ * to issue requests without blocking a thread override them.
+ *
+ * The pool is bounded.  When all of the threads are busy and the queue is full, the future for the call completes
+ * with a RESTServerException rather than the call blocking the caller's thread.  The pool is created on the first
+ * asynchronous call and shut down when the connector is disconnected.
+ */
+public abstract class RESTClientConnector extends ConnectorBase implements RESTClientCalls, RESTClientAsyncCalls
 {
+    /**
+     * Number of threads running asynchronous calls.
+     */
+    private static final int ASYNC_CALL_THREADS    = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Number of asynchronous calls that can be waiting for a thread.
+     */
+    private static final int ASYNC_CALL_QUEUE_SIZE = 256;
+
+    private static final AtomicInteger asyncCallThreadNumber = new AtomicInteger(1);
+
+    private ThreadPoolExecutor asyncCallExecutor = null;
+    private boolean            disconnected      = false;
+
+
     /**
      * Default constructor
      */
@@ -13,4 +48,244 @@ public abstract class RESTClientConnector extends ConnectorBase implements RESTC
     {
         super();
     }
+
+
+    /**
+     * Return the bounded pool of daemon threads that run the asynchronous calls, creating it on first use.
+     * Idle threads are released after a minute.
+     *
+     * @return executor or null if the connector is disconnected
+     */
+    private synchronized ThreadPoolExecutor getAsyncCallExecutor()
+    {
+        if ((asyncCallExecutor == null) && (! disconnected))
+        {
+            asyncCallExecutor = new ThreadPoolExecutor(ASYNC_CALL_THREADS,
+                                                       ASYNC_CALL_THREADS,
+                                                       60L,
+                                                       TimeUnit.SECONDS,
+                                                       new ArrayBlockingQueue<>(ASYNC_CALL_QUEUE_SIZE),
+                                                       runnable ->
+                                                       {
+                                                           Thread thread = new Thread(runnable, "RESTClientAsyncCall-" + asyncCallThreadNumber.getAndIncrement());
+
+                                                           thread.setDaemon(true);
+
+                                                           return thread;
+                                                       },
+                                                       new ThreadPoolExecutor.AbortPolicy());
+            asyncCallExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return asyncCallExecutor;
+    }
+
+
+    /**
+     * Shut down the threads running the asynchronous calls.  The futures of the calls that are waiting for a
+     * thread complete with a RESTServerException and later asynchronous calls are rejected.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        synchronized (this)
+        {
+            disconnected = true;
+
+            if (asyncCallExecutor != null)
+            {
+                for (Runnable waitingCall : asyncCallExecutor.shutdownNow())
+                {
+                    if (waitingCall instanceof AsyncCall)
+                    {
+                        ((AsyncCall<?>) waitingCall).reject("the connector is disconnected");
+                    }
+                }
+            }
+        }
+
+        super.disconnect();
+    }
+
+
+    /**
+     * A synchronous REST call that is run asynchronously.
+     *
+     * @param <T> class name
+     */
+    @FunctionalInterface
+    protected interface RESTCall<T>
+    {
+        /**
+         * Issue the call.
+         *
+         * @return response object
+         * @throws RESTServerException something went wrong with the REST call stack.
+         */
+        T call() throws RESTServerException;
+    }
+
+
+    /**
+     * Run a synchronous REST call on the connector's pool of threads.
+     *
+     * @param <T> class name
+     * @param methodName name of the method being called
+     * @param restCall call to run
+     * @return future for the response object - this completes with a RESTServerException if the pool has no
+     * capacity for the call or the connector is disconnected
+     */
+    protected <T> CompletableFuture<T> callAsync(String      methodName,
+                                                 RESTCall<T> restCall)
+    {
+        AsyncCall<T>       asyncCall = new AsyncCall<>(methodName, restCall);
+        ThreadPoolExecutor executor  = getAsyncCallExecutor();
+
+        if (executor == null)
+        {
+            asyncCall.reject("the connector is disconnected");
+        }
+        else
+        {
+            try
+            {
+                executor.execute(asyncCall);
+            }
+            catch (RejectedExecutionException error)
+            {
+                if (executor.isShutdown())
+                {
+                    asyncCall.reject("the connector is disconnected");
+                }
+                else
+                {
+                    asyncCall.reject("all " + ASYNC_CALL_THREADS + " threads are busy and " + ASYNC_CALL_QUEUE_SIZE + " calls are waiting");
+                }
+            }
+        }
+
+        return asyncCall.future;
+    }
+
+
+    /**
+     * AsyncCall runs a synchronous REST call on one of the connector's threads and completes the future for the call.
+     *
+     * @param <T> class name
+     */
+    private class AsyncCall<T> implements Runnable
+    {
+        private final String               methodName;
+        private final RESTCall<T>          restCall;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+
+        /**
+         * Constructor
+         *
+         * @param methodName name of the method being called
+         * @param restCall call to run
+         */
+        AsyncCall(String      methodName,
+                  RESTCall<T> restCall)
+        {
+            this.methodName = methodName;
+            this.restCall   = restCall;
+        }
+
+
+        /**
+         * Issue the call and complete the future with its result.
+         */
+        @Override
+        public void run()
+        {
+            try
+            {
+                future.complete(restCall.call());
+            }
+            catch (Throwable error)
+            {
+                future.completeExceptionally(error);
+            }
+        }
+
+
+        /**
+         * Complete the future with a RESTServerException because the call is not going to be run.
+         *
+         * @param reason why the call was rejected
+         */
+        void reject(String reason)
+        {
+            RESTClientConnectorErrorCode errorCode    = RESTClientConnectorErrorCode.ASYNC_CALL_REJECTED;
+            String                       errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
+                                                                                                                           RESTClientConnector.this.getClass().getName(),
+                                                                                                                           reason);
+
+            future.completeExceptionally(new RESTServerException(errorCode.getHTTPErrorCode(),
+                                                                 RESTClientConnector.this.getClass().getName(),
+                                                                 methodName,
+                                                                 errorMessage,
+                                                                 errorCode.getSystemAction(),
+                                                                 errorCode.getUserAction()));
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                         Class<T>  returnClass,
+                                                         String    urlTemplate,
+                                                         Object... params)
+    {
+        return callAsync(methodName, () -> callGetRESTCall(methodName, returnClass, urlTemplate, params));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        return callAsync(methodName, () -> callPostRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                         Class<T>  returnClass,
+                                                         String    urlTemplate,
+                                                         Object    requestBody,
+                                                         Object... params)
+    {
+        return callAsync(methodName, () -> callPutRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                            Class<T>  returnClass,
+                                                            String    urlTemplate,
+                                                            Object    requestBody,
+                                                            Object... params)
+    {
+        return callAsync(methodName, () -> callDeleteRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
 }
@@ -40,7 +40,11 @@ public enum RESTClientConnectorErrorCode
     EXCEPTION_RESPONSE_FROM_API(503, "CLIENT-SIDE-REST-API-CONNECTOR-503-003 ",
             "A {0} exception was received from REST API call {1} to server {2}: error message was: {3}",
             "The system has issued a call to an open metadata access service REST API in a remote server and has received an exception response.",
-            "The error message should indicate the cause of the error.  Otherwise look for errors in the remote server's audit log and console to understand and correct the source of the error.")
+            "The error message should indicate the cause of the error.  Otherwise look for errors in the remote server's audit log and console to understand and correct the source of the error."),
+    ASYNC_CALL_REJECTED(503, "CLIENT-SIDE-REST-API-CONNECTOR-503-004 ",
+            "The asynchronous REST API call {0} was rejected by the {1} connector because {2}",
+            "The client has issued an asynchronous call to a REST API but the connector has no capacity to run it, or has been disconnected.  The call is not issued.",
+            "If the connector is disconnected, create a new connector.  Otherwise the client is issuing more concurrent calls than the connector can run.  Wait for some of the outstanding calls to complete and then rerun the request.")
     ;
 
 
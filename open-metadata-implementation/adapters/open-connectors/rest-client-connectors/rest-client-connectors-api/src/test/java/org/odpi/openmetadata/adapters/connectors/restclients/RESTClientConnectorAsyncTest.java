@@ -0,0 +1,245 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients;
+
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the default asynchronous calls of the RESTClientConnector run on the connector's threads, that a call
+ * that does not fit in the pool completes with a RESTServerException rather than running on the caller's thread,
+ * and that disconnecting the connector shuts down the pool.
+ */
+public class RESTClientConnectorAsyncTest
+{
+    private static final long   waitSeconds      = 10;
+    private static final int    maxCalls         = 10000;
+    private static final String rejectedCallId   = "CLIENT-SIDE-REST-API-CONNECTOR-503-004";
+    private static final String asyncThreadStart = "RESTClientAsyncCall-";
+
+
+    @Test
+    void testCallsRunOnConnectorThreads() throws Exception
+    {
+        TestConnector connector = new TestConnector();
+
+        connector.release.countDown();
+
+        try
+        {
+            assertEquals(connector.callGetRESTCallAsync("testCall", String.class, "url").get(waitSeconds, TimeUnit.SECONDS), "testCall");
+            assertEquals(connector.callPostRESTCallAsync("testPost", String.class, "url", "body").get(waitSeconds, TimeUnit.SECONDS), "testPost");
+
+            assertEquals(connector.threadNames.size(), 2);
+            for (String threadName : connector.threadNames)
+            {
+                assertTrue(threadName.startsWith(asyncThreadStart), threadName);
+            }
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    @Test
+    void testSaturatedPoolRejectsCall() throws Exception
+    {
+        TestConnector                   connector     = new TestConnector();
+        List<CompletableFuture<String>> acceptedCalls = new ArrayList<>();
+        CompletableFuture<String>       rejectedCall  = null;
+
+        try
+        {
+            /*
+             * The calls block until they are released so the pool fills up.
+             */
+            while ((rejectedCall == null) && (acceptedCalls.size() < maxCalls))
+            {
+                CompletableFuture<String> call = connector.callGetRESTCallAsync("testCall", String.class, "url");
+
+                if (call.isCompletedExceptionally())
+                {
+                    rejectedCall = call;
+                }
+                else
+                {
+                    acceptedCalls.add(call);
+                }
+            }
+
+            assertNotNull(rejectedCall);
+            assertRejected(rejectedCall);
+            assertFalse(connector.threadNames.contains(Thread.currentThread().getName()));
+
+            connector.release.countDown();
+
+            for (CompletableFuture<String> acceptedCall : acceptedCalls)
+            {
+                assertEquals(acceptedCall.get(waitSeconds, TimeUnit.SECONDS), "testCall");
+            }
+
+            assertEquals(connector.threadNames.size(), acceptedCalls.size());
+            assertFalse(connector.threadNames.contains(Thread.currentThread().getName()));
+
+            /*
+             * Once the pool has capacity again, new calls are accepted.
+             */
+            assertEquals(connector.callGetRESTCallAsync("testCall", String.class, "url").get(waitSeconds, TimeUnit.SECONDS), "testCall");
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    @Test
+    void testDisconnectShutsDownPool() throws Exception
+    {
+        TestConnector                   connector = new TestConnector();
+        List<CompletableFuture<String>> calls     = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++)
+        {
+            calls.add(connector.callGetRESTCallAsync("testCall", String.class, "url"));
+        }
+
+        connector.disconnect();
+
+        /*
+         * The running calls are interrupted and the calls waiting for a thread are rejected, so every future completes.
+         */
+        int rejectedCount = 0;
+
+        for (CompletableFuture<String> call : calls)
+        {
+            try
+            {
+                call.get(waitSeconds, TimeUnit.SECONDS);
+            }
+            catch (ExecutionException error)
+            {
+                assertTrue(error.getCause() instanceof RESTServerException);
+
+                if (error.getCause().getMessage().startsWith(rejectedCallId))
+                {
+                    rejectedCount++;
+                }
+            }
+        }
+
+        assertEquals(rejectedCount + connector.startedCalls.get(), calls.size());
+
+        assertRejected(connector.callGetRESTCallAsync("testCall", String.class, "url"));
+    }
+
+
+    private void assertRejected(CompletableFuture<String> call) throws Exception
+    {
+        assertTrue(call.isCompletedExceptionally());
+
+        try
+        {
+            call.get(waitSeconds, TimeUnit.SECONDS);
+            fail("Call was not rejected");
+        }
+        catch (ExecutionException error)
+        {
+            assertTrue(error.getCause() instanceof RESTServerException);
+            assertTrue(error.getCause().getMessage().startsWith(rejectedCallId), error.getCause().getMessage());
+        }
+    }
+
+
+    /**
+     * TestConnector implements the synchronous GET and POST calls.  They block until they are released and
+     * then return the method name.  The names of the threads that ran the calls are saved.
+     */
+    private static class TestConnector extends RESTClientConnector
+    {
+        final CountDownLatch release      = new CountDownLatch(1);
+        final AtomicInteger  startedCalls = new AtomicInteger(0);
+        final List<String>   threadNames  = Collections.synchronizedList(new ArrayList<>());
+
+
+        private <T> T blockingCall(String   methodName,
+                                   Class<T> returnClass) throws RESTServerException
+        {
+            startedCalls.incrementAndGet();
+            threadNames.add(Thread.currentThread().getName());
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException error)
+            {
+                throw new RESTServerException(500, this.getClass().getName(), methodName, "Interrupted", null, null);
+            }
+
+            return returnClass.cast(methodName);
+        }
+
+
+        @Override
+        public <T> T callGetRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate) throws RESTServerException
+        {
+            return blockingCall(methodName, returnClass);
+        }
+
+
+        @Override
+        public <T> T callGetRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object... params) throws RESTServerException
+        {
+            return blockingCall(methodName, returnClass);
+        }
+
+
+        @Override
+        public <T> T callPostRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody) throws RESTServerException
+        {
+            return blockingCall(methodName, returnClass);
+        }
+
+
+        @Override
+        public <T> T callPostRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params) throws RESTServerException
+        {
+            return blockingCall(methodName, returnClass);
+        }
+
+
+        @Override
+        public <T> T callPutRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params)
+        {
+            return null;
+        }
+
+
+        @Override
+        public <T> T callDeleteRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody)
+        {
+            return null;
+        }
+
+
+        @Override
+        public <T> T callDeleteRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params)
+        {
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.slf4j.Logger;
@@ -14,17 +15,37 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 
 /**
@@ -34,11 +55,30 @@ import java.util.List;
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
+    private RestTemplate             restTemplate;
+    private DefaultUriBuilderFactory builderFactory;
+    private ClientHttpRequestFactory requestFactory           = null;
+    private Duration                 asyncRequestTimeout      = null;
+    private boolean                  asyncCompressResponses   = true;
+    private Map<String, Object>      asyncClientProperties    = null;
     private String       serverName               = null;
     private String       serverPlatformURLRoot    = null;
     private HttpHeaders  basicAuthorizationHeader = null;
 
+    /*
+     * Latency metrics for the requests sent to the endpoint of this connector.
+     */
+    private final AtomicLong requestCount          = new AtomicLong(0);
+    private final AtomicLong failedRequestCount    = new AtomicLong(0);
+    private final AtomicLong totalRequestLatency   = new AtomicLong(0);
+    private final AtomicLong maximumRequestLatency = new AtomicLong(0);
+
+    /*
+     * The asynchronous calls convert the request and response bodies in the same way as the RestTemplate's
+     * Jackson message converter.
+     */
+    private static final ObjectMapper asyncObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
 
@@ -61,7 +101,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
          * separated words. For example, the regex "name_0+7" (which would match name_07, name_007,
          * name_0007, etc) would be sent to the server as "name_0 7".
          */
-        DefaultUriBuilderFactory builderFactory = new DefaultUriBuilderFactory();
+        builderFactory = new DefaultUriBuilderFactory();
         builderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.VALUES_ONLY);
 
         restTemplate = new RestTemplate();
@@ -72,6 +112,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
         List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
         converters.removeIf(httpMessageConverter -> httpMessageConverter instanceof StringHttpMessageConverter);
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+
+        restTemplate.getInterceptors().add(this::timeRequest);
     }
 
     /**
@@ -85,6 +127,29 @@ public class SpringRESTClientConnector extends RESTClientConnector
     {
         super.initialize(connectorInstanceId, connectionProperties);
 
+        /*
+         * The transport (and its connection pool) is set up from the connection's configuration properties.
+         */
+        synchronized (this)
+        {
+            SpringRESTClientTransport.releaseRequestFactory(requestFactory);
+
+            requestFactory = SpringRESTClientTransport.getRequestFactory(connectionProperties.getConfigurationProperties());
+        }
+
+        restTemplate.setRequestFactory(requestFactory);
+
+        int readTimeout = SpringRESTClientTransport.getIntProperty(connectionProperties.getConfigurationProperties(),
+                                                                   SpringRESTClientTransport.READ_TIMEOUT_PROPERTY,
+                                                                   0);
+        if (readTimeout > 0)
+        {
+            asyncRequestTimeout = Duration.ofMillis(readTimeout);
+        }
+
+        asyncCompressResponses = SpringRESTClientTransport.isCompressResponses(connectionProperties.getConfigurationProperties());
+        asyncClientProperties = connectionProperties.getConfigurationProperties();
+
         EndpointProperties   endpoint             = connectionProperties.getEndpoint();
 
         if (endpoint != null)
@@ -117,6 +182,121 @@ public class SpringRESTClientConnector extends RESTClientConnector
     }
 
 
+    /**
+     * Release the connector's share of its connection pool.  The pool is closed once no connector is using it.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        synchronized (this)
+        {
+            SpringRESTClientTransport.releaseRequestFactory(requestFactory);
+
+            requestFactory = null;
+        }
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Record the latency of each request sent through the RestTemplate.
+     *
+     * @param request outbound request
+     * @param body request body
+     * @param execution remainder of the request processing chain
+     * @return response from the server
+     * @throws IOException the request failed
+     */
+    private ClientHttpResponse timeRequest(HttpRequest                request,
+                                           byte[]                     body,
+                                           ClientHttpRequestExecution execution) throws IOException
+    {
+        long startTime = System.currentTimeMillis();
+
+        try
+        {
+            return execution.execute(request, body);
+        }
+        catch (IOException error)
+        {
+            failedRequestCount.incrementAndGet();
+
+            throw error;
+        }
+        finally
+        {
+            recordRequestLatency(System.currentTimeMillis() - startTime);
+        }
+    }
+
+
+    /**
+     * Add the latency of a request to the metrics.
+     *
+     * @param latency milliseconds between sending the request and receiving the response headers
+     */
+    private void recordRequestLatency(long latency)
+    {
+        requestCount.incrementAndGet();
+        totalRequestLatency.addAndGet(latency);
+        maximumRequestLatency.accumulateAndGet(latency, Math::max);
+    }
+
+
+    /**
+     * Return the number of requests sent to the endpoint by this connector.
+     *
+     * @return count of requests
+     */
+    public long getRequestCount()
+    {
+        return requestCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that failed to get a response from the endpoint.
+     *
+     * @return count of failed requests
+     */
+    public long getFailedRequestCount()
+    {
+        return failedRequestCount.get();
+    }
+
+
+    /**
+     * Return the average time in milliseconds between sending a request and receiving the response headers.
+     *
+     * @return average latency in milliseconds
+     */
+    public long getAverageRequestLatency()
+    {
+        long count = requestCount.get();
+
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        return totalRequestLatency.get() / count;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds between sending a request and receiving the response headers.
+     *
+     * @return maximum latency in milliseconds
+     */
+    public long getMaximumRequestLatency()
+    {
+        return maximumRequestLatency.get();
+    }
+
+
     /**
      * Create the HTTP header for basic authorization.
      *
@@ -910,4 +1090,329 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     error);
         }
     }
+
+
+    /**
+     * Issue a GET REST call without blocking the calling thread.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    @Override
+    public <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                         Class<T>  returnClass,
+                                                         String    urlTemplate,
+                                                         Object... params)
+    {
+        if (! SpringRESTClientTransport.isDefaultSSLConfiguration())
+        {
+            return super.callGetRESTCallAsync(methodName, returnClass, urlTemplate, params);
+        }
+
+        return sendAsync(methodName, returnClass, HttpMethod.GET, urlTemplate, null, params);
+    }
+
+
+    /**
+     * Issue a POST REST call without blocking the calling thread.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    @Override
+    public <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        if (! SpringRESTClientTransport.isDefaultSSLConfiguration())
+        {
+            return super.callPostRESTCallAsync(methodName, returnClass, urlTemplate, requestBody, params);
+        }
+
+        return sendAsync(methodName, returnClass, HttpMethod.POST, urlTemplate, requestBody, params);
+    }
+
+
+    /**
+     * Issue a PUT REST call without blocking the calling thread.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    @Override
+    public <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                         Class<T>  returnClass,
+                                                         String    urlTemplate,
+                                                         Object    requestBody,
+                                                         Object... params)
+    {
+        if (! SpringRESTClientTransport.isDefaultSSLConfiguration())
+        {
+            return super.callPutRESTCallAsync(methodName, returnClass, urlTemplate, requestBody, params);
+        }
+
+        return sendAsync(methodName, returnClass, HttpMethod.PUT, urlTemplate, requestBody, params);
+    }
+
+
+    /**
+     * Issue a DELETE REST call without blocking the calling thread.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    @Override
+    public <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                            Class<T>  returnClass,
+                                                            String    urlTemplate,
+                                                            Object    requestBody,
+                                                            Object... params)
+    {
+        if (! SpringRESTClientTransport.isDefaultSSLConfiguration())
+        {
+            return super.callDeleteRESTCallAsync(methodName, returnClass, urlTemplate, requestBody, params);
+        }
+
+        return sendAsync(methodName, returnClass, HttpMethod.DELETE, urlTemplate, requestBody, params);
+    }
+
+
+    /**
+     * Send a request through the shared JDK HttpClient.  The URL, headers and bodies are built and converted
+     * in the same way as the RestTemplate does for the synchronous calls.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param httpMethod HTTP method of the request
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request (may be null).
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    private <T> CompletableFuture<T> sendAsync(String     methodName,
+                                               Class<T>   returnClass,
+                                               HttpMethod httpMethod,
+                                               String     urlTemplate,
+                                               Object     requestBody,
+                                               Object...  params)
+    {
+        try
+        {
+            log.debug("Calling " + methodName + " asynchronously with URL template " + urlTemplate + " and parameters " + Arrays.toString(params) + ".");
+
+            URI uri = builderFactory.expand(urlTemplate, (params == null) ? new Object[0] : params);
+
+            java.net.http.HttpRequest.Builder requestBuilder = java.net.http.HttpRequest.newBuilder(uri);
+
+            requestBuilder.header(HttpHeaders.ACCEPT, "application/json, application/*+json");
+
+            if (asyncCompressResponses)
+            {
+                requestBuilder.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+            }
+
+            if (basicAuthorizationHeader != null)
+            {
+                requestBuilder.header(HttpHeaders.AUTHORIZATION, basicAuthorizationHeader.getFirst(HttpHeaders.AUTHORIZATION));
+            }
+
+            if (asyncRequestTimeout != null)
+            {
+                requestBuilder.timeout(asyncRequestTimeout);
+            }
+
+            if (requestBody == null)
+            {
+                requestBuilder.method(httpMethod.name(), java.net.http.HttpRequest.BodyPublishers.noBody());
+            }
+            else if (requestBody instanceof String)
+            {
+                requestBuilder.header(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8");
+                requestBuilder.method(httpMethod.name(),
+                                      java.net.http.HttpRequest.BodyPublishers.ofString((String)requestBody, StandardCharsets.UTF_8));
+            }
+            else
+            {
+                requestBuilder.header(HttpHeaders.CONTENT_TYPE, "application/json");
+                requestBuilder.method(httpMethod.name(),
+                                      java.net.http.HttpRequest.BodyPublishers.ofByteArray(asyncObjectMapper.writeValueAsBytes(requestBody)));
+            }
+
+            long startTime = System.currentTimeMillis();
+
+            return SpringRESTClientTransport.getAsyncHttpClient(asyncClientProperties)
+                                            .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                                            .handle((response, error) ->
+            {
+                recordRequestLatency(System.currentTimeMillis() - startTime);
+
+                if (error != null)
+                {
+                    failedRequestCount.incrementAndGet();
+
+                    throw new CompletionException(getRESTServerException(methodName, urlTemplate, error));
+                }
+
+                try
+                {
+                    return this.getResponseObject(returnClass, response);
+                }
+                catch (Exception conversionError)
+                {
+                    throw new CompletionException(getRESTServerException(methodName, urlTemplate, conversionError));
+                }
+            });
+        }
+        catch (Exception error)
+        {
+            CompletableFuture<T> failedCall = new CompletableFuture<>();
+
+            failedCall.completeExceptionally(getRESTServerException(methodName, urlTemplate, error));
+
+            return failedCall;
+        }
+    }
+
+
+    /**
+     * Convert the body of a response into the response object.
+     *
+     * @param <T> type of the return object
+     * @param returnClass class of the response object.
+     * @param response response from the server
+     * @return response object (null if there is no body)
+     * @throws IOException the body could not be converted
+     * @throws RestClientResponseException the server returned an error status
+     */
+    private <T> T getResponseObject(Class<T>              returnClass,
+                                    HttpResponse<byte[]>  response) throws IOException
+    {
+        byte[] body = this.getDecodedBody(response);
+
+        if ((response.statusCode() < 200) || (response.statusCode() >= 300))
+        {
+            throw new RestClientResponseException("HTTP status " + response.statusCode(),
+                                                  response.statusCode(),
+                                                  "",
+                                                  null,
+                                                  body,
+                                                  StandardCharsets.UTF_8);
+        }
+
+        if ((body == null) || (body.length == 0))
+        {
+            return null;
+        }
+
+        if (returnClass == String.class)
+        {
+            return returnClass.cast(new String(body, StandardCharsets.UTF_8));
+        }
+
+        return asyncObjectMapper.readValue(body, returnClass);
+    }
+
+
+    /**
+     * Return the body of a response, uncompressed if the server compressed it.  The JDK HttpClient leaves the
+     * body as it was received.
+     *
+     * @param response response from the server
+     * @return body bytes (may be null)
+     * @throws IOException the body could not be uncompressed
+     */
+    private byte[] getDecodedBody(HttpResponse<byte[]> response) throws IOException
+    {
+        byte[] body            = response.body();
+        String contentEncoding = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null);
+
+        if ((body == null) || (body.length == 0) || (contentEncoding == null))
+        {
+            return body;
+        }
+
+        InputStream decodingStream;
+
+        if ("gzip".equalsIgnoreCase(contentEncoding.trim()))
+        {
+            decodingStream = new GZIPInputStream(new ByteArrayInputStream(body));
+        }
+        else if ("deflate".equalsIgnoreCase(contentEncoding.trim()))
+        {
+            decodingStream = new InflaterInputStream(new ByteArrayInputStream(body));
+        }
+        else
+        {
+            return body;
+        }
+
+        try (InputStream inputStream = decodingStream)
+        {
+            return inputStream.readAllBytes();
+        }
+    }
+
+
+    /**
+     * Create the exception that reports a failed REST call.
+     *
+     * @param methodName  name of the method being called.
+     * @param urlTemplate template of the URL for the REST API call.
+     * @param error cause of the failure
+     * @return exception to return to the caller
+     */
+    private RESTServerException getRESTServerException(String    methodName,
+                                                       String    urlTemplate,
+                                                       Throwable error)
+    {
+        if (error instanceof CompletionException && error.getCause() != null)
+        {
+            error = error.getCause();
+        }
+
+        log.debug("Exception " + error.getClass().getName() + " with message " + error.getMessage() + " occurred during REST call for " + methodName + ".");
+
+        RESTClientConnectorErrorCode errorCode = RESTClientConnectorErrorCode.CLIENT_SIDE_REST_API_ERROR;
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(error.getClass().getName(),
+                                                                                                 methodName,
+                                                                                                 urlTemplate,
+                                                                                                 serverName,
+                                                                                                 serverPlatformURLRoot,
+                                                                                                 error.getMessage());
+
+        return new RESTServerException(errorCode.getHTTPErrorCode(),
+                                       this.getClass().getName(),
+                                       methodName,
+                                       errorMessage,
+                                       errorCode.getSystemAction(),
+                                       errorCode.getUserAction(),
+                                       error);
+    }
 }
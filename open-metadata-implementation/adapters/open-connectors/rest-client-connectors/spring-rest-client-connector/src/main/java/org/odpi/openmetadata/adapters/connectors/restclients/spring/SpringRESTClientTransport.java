@@ -0,0 +1,474 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * SpringRESTClientTransport creates the request factories that the SpringRESTClientConnector's RestTemplate
+ * uses to send requests.  The transport is chosen through the configuration properties of the connector's
+ * connection:
+ * <ul>
+ *     <li>httpTransport - "pooled" (the default) uses Apache HttpClient with a pool of persistent connections;
+ *     "simple" uses the JDK's HttpURLConnection.</li>
+ *     <li>maxConnectionsPerRoute - maximum pooled connections to a single platform (default 20).</li>
+ *     <li>maxConnectionsTotal - maximum pooled connections across all platforms (default 200).</li>
+ *     <li>keepAliveTime - milliseconds an idle pooled connection is kept open (default 60000).</li>
+ *     <li>compressResponses - request gzip/deflate encoded responses (default true).</li>
+ *     <li>connectTimeout - milliseconds to wait for a connection (default is no timeout).</li>
+ *     <li>readTimeout - milliseconds to wait for a response (default is no timeout).</li>
+ * </ul>
+ * Connectors with the same settings share a request factory, and hence a connection pool.  Each connector
+ * releases its request factory when it disconnects, and the pool is closed once no connector is using it.
+ * The pooled transport uses the JVM's default SSL socket factory and host name verifier so it honours
+ * the strict.ssl setting of the platform in the same way as HttpURLConnection.  These are part of the settings
+ * that decide whether connectors share a pool, so a connector started after the platform changes them gets a
+ * new pool.  It also reads the proxy (http(s).proxyHost, http(s).proxyPort, http.nonProxyHosts) and javax.net.ssl
+ * system properties.
+ * <p>
+ * The asynchronous calls use a JDK HttpClient built from the same connectTimeout, readTimeout and compressResponses
+ * settings.  It uses the JVM's default proxy selector so, like the synchronous transports, it honours the
+ * http(s).proxyHost, http(s).proxyPort and http.nonProxyHosts system properties.  Connectors with the same
+ * connect timeout share a client.  The JDK HttpClient has no close method in Java 11 so these clients are not
+ * released on disconnect; they close their idle connections themselves.
+ */
+class SpringRESTClientTransport
+{
+    static final String HTTP_TRANSPORT_PROPERTY            = "httpTransport";
+    static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "maxConnectionsPerRoute";
+    static final String MAX_CONNECTIONS_TOTAL_PROPERTY     = "maxConnectionsTotal";
+    static final String KEEP_ALIVE_TIME_PROPERTY           = "keepAliveTime";
+    static final String COMPRESS_RESPONSES_PROPERTY        = "compressResponses";
+    static final String CONNECT_TIMEOUT_PROPERTY           = "connectTimeout";
+    static final String READ_TIMEOUT_PROPERTY              = "readTimeout";
+
+    static final String POOLED_TRANSPORT = "pooled";
+    static final String SIMPLE_TRANSPORT = "simple";
+
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL     = 200;
+    private static final int DEFAULT_KEEP_ALIVE_TIME           = 60000;
+    private static final int NO_TIMEOUT                        = -1;
+
+    private static final Logger log = LoggerFactory.getLogger(SpringRESTClientTransport.class);
+
+    private static final Map<PooledTransportKey, SharedRequestFactory> requestFactories = new HashMap<>();
+    private static final Map<Integer, HttpClient>                       asyncHttpClients = new ConcurrentHashMap<>();
+
+
+    /**
+     * Return the request factory for the supplied configuration properties.  A pooled request factory is shared
+     * with the other connectors using the same settings, and must be passed to releaseRequestFactory when the
+     * connector no longer needs it.
+     *
+     * @param configurationProperties configuration properties from the connection (may be null)
+     * @return request factory
+     */
+    static ClientHttpRequestFactory getRequestFactory(Map<String, Object> configurationProperties)
+    {
+        String  transport              = POOLED_TRANSPORT;
+        int     maxConnectionsPerRoute = getIntProperty(configurationProperties, MAX_CONNECTIONS_PER_ROUTE_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        int     maxConnectionsTotal    = getIntProperty(configurationProperties, MAX_CONNECTIONS_TOTAL_PROPERTY, DEFAULT_MAX_CONNECTIONS_TOTAL);
+        int     keepAliveTime          = getIntProperty(configurationProperties, KEEP_ALIVE_TIME_PROPERTY, DEFAULT_KEEP_ALIVE_TIME);
+        int     connectTimeout         = getIntProperty(configurationProperties, CONNECT_TIMEOUT_PROPERTY, NO_TIMEOUT);
+        int     readTimeout            = getIntProperty(configurationProperties, READ_TIMEOUT_PROPERTY, NO_TIMEOUT);
+        boolean compressResponses      = isCompressResponses(configurationProperties);
+
+        if (configurationProperties != null)
+        {
+            Object transportProperty = configurationProperties.get(HTTP_TRANSPORT_PROPERTY);
+
+            if (SIMPLE_TRANSPORT.equals(transportProperty))
+            {
+                transport = SIMPLE_TRANSPORT;
+            }
+        }
+
+        if (SIMPLE_TRANSPORT.equals(transport))
+        {
+            /*
+             * The simple transport holds no connections of its own so it is not shared.
+             */
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+
+            requestFactory.setConnectTimeout(connectTimeout);
+            requestFactory.setReadTimeout(readTimeout);
+
+            return requestFactory;
+        }
+
+        PooledTransportKey key = new PooledTransportKey(maxConnectionsPerRoute,
+                                                        maxConnectionsTotal,
+                                                        keepAliveTime,
+                                                        compressResponses,
+                                                        connectTimeout,
+                                                        readTimeout,
+                                                        HttpsURLConnection.getDefaultSSLSocketFactory(),
+                                                        HttpsURLConnection.getDefaultHostnameVerifier());
+
+        synchronized (requestFactories)
+        {
+            SharedRequestFactory sharedRequestFactory = requestFactories.get(key);
+
+            if (sharedRequestFactory == null)
+            {
+                sharedRequestFactory = new SharedRequestFactory(createPooledRequestFactory(key));
+                requestFactories.put(key, sharedRequestFactory);
+            }
+
+            sharedRequestFactory.userCount++;
+
+            return sharedRequestFactory.requestFactory;
+        }
+    }
+
+
+    /**
+     * Release a request factory returned by getRequestFactory.  The connection pool of a pooled request factory
+     * is closed when the last connector using it releases it.
+     *
+     * @param requestFactory request factory that is no longer needed (may be null)
+     */
+    static void releaseRequestFactory(ClientHttpRequestFactory requestFactory)
+    {
+        if (requestFactory instanceof HttpComponentsClientHttpRequestFactory)
+        {
+            synchronized (requestFactories)
+            {
+                Iterator<SharedRequestFactory> iterator = requestFactories.values().iterator();
+
+                while (iterator.hasNext())
+                {
+                    SharedRequestFactory sharedRequestFactory = iterator.next();
+
+                    if (sharedRequestFactory.requestFactory == requestFactory)
+                    {
+                        sharedRequestFactory.userCount--;
+
+                        if (sharedRequestFactory.userCount <= 0)
+                        {
+                            iterator.remove();
+
+                            try
+                            {
+                                sharedRequestFactory.requestFactory.destroy();
+                            }
+                            catch (Exception error)
+                            {
+                                log.debug("Unable to close HTTP connection pool: {}", error.getMessage());
+                            }
+                        }
+
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of pooled request factories in use.
+     *
+     * @return count of connection pools
+     */
+    static int getPooledRequestFactoryCount()
+    {
+        synchronized (requestFactories)
+        {
+            return requestFactories.size();
+        }
+    }
+
+
+    /**
+     * Create a request factory backed by Apache HttpClient with a pool of persistent connections.
+     *
+     * @param key settings for the connection pool
+     * @return request factory
+     */
+    private static HttpComponentsClientHttpRequestFactory createPooledRequestFactory(PooledTransportKey key)
+    {
+        /*
+         * The JDK's own default host name verifier rejects every host because HttpsURLConnection only calls it
+         * after its built-in check fails.  It is replaced by HttpClient's verifier unless the platform has
+         * installed its own (for example, because strict.ssl is false).
+         */
+        HostnameVerifier hostnameVerifier = key.hostnameVerifier;
+
+        if (isDefaultHostnameVerifier(hostnameVerifier))
+        {
+            hostnameVerifier = SSLConnectionSocketFactory.getDefaultHostnameVerifier();
+        }
+
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(key.sslSocketFactory, hostnameVerifier))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactories,
+                                                                                                     null,
+                                                                                                     null,
+                                                                                                     null,
+                                                                                                     key.keepAliveTime,
+                                                                                                     TimeUnit.MILLISECONDS);
+        connectionManager.setDefaultMaxPerRoute(key.maxConnectionsPerRoute);
+        connectionManager.setMaxTotal(key.maxConnectionsTotal);
+
+        /*
+         * Connections are checked before reuse if they have been idle for longer than a second since the
+         * platform may have closed them.
+         */
+        connectionManager.setValidateAfterInactivity(1000);
+
+        /*
+         * The system properties supply the proxy settings (http(s).proxyHost, http(s).proxyPort and
+         * http.nonProxyHosts) that HttpURLConnection honours.
+         */
+        HttpClientBuilder clientBuilder = HttpClientBuilder.create()
+                                                           .useSystemProperties()
+                                                           .setConnectionManager(connectionManager)
+                                                           .evictIdleConnections(key.keepAliveTime, TimeUnit.MILLISECONDS)
+                                                           .setDefaultRequestConfig(RequestConfig.custom()
+                                                                                                 .setConnectTimeout(key.connectTimeout)
+                                                                                                 .setSocketTimeout(key.readTimeout)
+                                                                                                 .build());
+
+        if (! key.compressResponses)
+        {
+            clientBuilder.disableContentCompression();
+        }
+
+        return new HttpComponentsClientHttpRequestFactory(clientBuilder.build());
+    }
+
+
+    /**
+     * Return the JDK HttpClient used for the asynchronous calls.  It is shared by all of the connectors with the
+     * same connect timeout since it multiplexes the requests over a small number of threads.  The read timeout
+     * is applied to each request since the JDK HttpClient only supports it per request.
+     *
+     * @param configurationProperties configuration properties from the connection (may be null)
+     * @return HTTP client
+     */
+    static HttpClient getAsyncHttpClient(Map<String, Object> configurationProperties)
+    {
+        int connectTimeout = getIntProperty(configurationProperties, CONNECT_TIMEOUT_PROPERTY, NO_TIMEOUT);
+
+        return asyncHttpClients.computeIfAbsent(connectTimeout, newConnectTimeout ->
+        {
+            HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                                                         .proxy(ProxySelector.getDefault())
+                                                         .followRedirects(HttpClient.Redirect.NORMAL);
+
+            if (newConnectTimeout > 0)
+            {
+                clientBuilder.connectTimeout(Duration.ofMillis(newConnectTimeout));
+            }
+
+            return clientBuilder.build();
+        });
+    }
+
+
+    /**
+     * Return whether compressed responses are requested.
+     *
+     * @param configurationProperties configuration properties from the connection (may be null)
+     * @return boolean flag
+     */
+    static boolean isCompressResponses(Map<String, Object> configurationProperties)
+    {
+        if (configurationProperties != null)
+        {
+            Object compressProperty = configurationProperties.get(COMPRESS_RESPONSES_PROPERTY);
+
+            if (compressProperty != null)
+            {
+                return Boolean.parseBoolean(compressProperty.toString());
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return whether the platform is using the JVM's default SSL configuration.  The JDK HttpClient does not
+     * use the defaults set through HttpsURLConnection (for example, when strict.ssl is false) so the
+     * asynchronous calls can only use it when they have not been changed.  The platform always replaces the
+     * host name verifier along with the SSL socket factory, so the verifier is the one that is tested.
+     *
+     * @return boolean flag
+     */
+    static boolean isDefaultSSLConfiguration()
+    {
+        return isDefaultHostnameVerifier(HttpsURLConnection.getDefaultHostnameVerifier());
+    }
+
+
+    /**
+     * Return whether the host name verifier is the JDK's own default.
+     *
+     * @param hostnameVerifier verifier to test
+     * @return boolean flag
+     */
+    private static boolean isDefaultHostnameVerifier(HostnameVerifier hostnameVerifier)
+    {
+        return hostnameVerifier.getClass().getEnclosingClass() == HttpsURLConnection.class;
+    }
+
+
+    /**
+     * Return an integer configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection (may be null)
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a valid integer
+     * @return property value
+     */
+    static int getIntProperty(Map<String, Object> configurationProperties,
+                                      String              propertyName,
+                                      int                 defaultValue)
+    {
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(propertyName);
+
+            if (propertyValue instanceof Integer)
+            {
+                return (Integer)propertyValue;
+            }
+            else if (propertyValue != null)
+            {
+                try
+                {
+                    return Integer.parseInt(propertyValue.toString());
+                }
+                catch (NumberFormatException error)
+                {
+                    return defaultValue;
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * PooledTransportKey holds the settings that decide whether two connectors can share a connection pool.
+     * The platform's SSL socket factory and host name verifier are compared by identity.
+     */
+    private static class PooledTransportKey
+    {
+        final int              maxConnectionsPerRoute;
+        final int              maxConnectionsTotal;
+        final int              keepAliveTime;
+        final boolean          compressResponses;
+        final int              connectTimeout;
+        final int              readTimeout;
+        final SSLSocketFactory sslSocketFactory;
+        final HostnameVerifier hostnameVerifier;
+
+
+        PooledTransportKey(int              maxConnectionsPerRoute,
+                           int              maxConnectionsTotal,
+                           int              keepAliveTime,
+                           boolean          compressResponses,
+                           int              connectTimeout,
+                           int              readTimeout,
+                           SSLSocketFactory sslSocketFactory,
+                           HostnameVerifier hostnameVerifier)
+        {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            this.maxConnectionsTotal    = maxConnectionsTotal;
+            this.keepAliveTime          = keepAliveTime;
+            this.compressResponses      = compressResponses;
+            this.connectTimeout         = connectTimeout;
+            this.readTimeout            = readTimeout;
+            this.sslSocketFactory       = sslSocketFactory;
+            this.hostnameVerifier       = hostnameVerifier;
+        }
+
+
+        @Override
+        public boolean equals(Object objectToCompare)
+        {
+            if (this == objectToCompare)
+            {
+                return true;
+            }
+            if (objectToCompare == null || getClass() != objectToCompare.getClass())
+            {
+                return false;
+            }
+            PooledTransportKey that = (PooledTransportKey) objectToCompare;
+            return maxConnectionsPerRoute == that.maxConnectionsPerRoute &&
+                           maxConnectionsTotal == that.maxConnectionsTotal &&
+                           keepAliveTime == that.keepAliveTime &&
+                           compressResponses == that.compressResponses &&
+                           connectTimeout == that.connectTimeout &&
+                           readTimeout == that.readTimeout &&
+                           sslSocketFactory == that.sslSocketFactory &&
+                           hostnameVerifier == that.hostnameVerifier;
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(maxConnectionsPerRoute,
+                                maxConnectionsTotal,
+                                keepAliveTime,
+                                compressResponses,
+                                connectTimeout,
+                                readTimeout,
+                                System.identityHashCode(sslSocketFactory),
+                                System.identityHashCode(hostnameVerifier));
+        }
+    }
+
+
+    /**
+     * SharedRequestFactory counts the connectors using a pooled request factory.  It is only accessed while
+     * holding the lock on requestFactories.
+     */
+    private static class SharedRequestFactory
+    {
+        final HttpComponentsClientHttpRequestFactory requestFactory;
+        int                                          userCount = 0;
+
+
+        SharedRequestFactory(HttpComponentsClientHttpRequestFactory requestFactory)
+        {
+            this.requestFactory = requestFactory;
+        }
+    }
+}
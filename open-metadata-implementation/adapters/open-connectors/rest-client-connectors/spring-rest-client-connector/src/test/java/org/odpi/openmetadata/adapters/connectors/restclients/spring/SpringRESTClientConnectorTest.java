@@ -0,0 +1,284 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that SpringRESTClientConnectors with the same settings share a pool of persistent connections, that
+ * a change to the platform's SSL configuration gives new connectors a new pool, that the pool is closed when the
+ * last connector using it disconnects, and that the connector reports the latency of its requests.  The requests
+ * are sent to an HTTP server that runs in the test.
+ */
+public class SpringRESTClientConnectorTest
+{
+    private static final long responseDelay = 50;
+
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+    private HttpServer         server;
+    private String             serverURLRoot;
+
+
+    @BeforeMethod
+    void startServer() throws Exception
+    {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/test", exchange ->
+        {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+
+            try
+            {
+                Thread.sleep(responseDelay);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] response = "\"ok\"".getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, response.length);
+
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(response);
+            }
+        });
+        server.start();
+
+        serverURLRoot = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        clientPorts.clear();
+    }
+
+
+    @AfterMethod
+    void stopServer()
+    {
+        server.stop(0);
+    }
+
+
+    @Test
+    void testConnectorsWithSameSettingsSharePool() throws Exception
+    {
+        int poolCount = SpringRESTClientTransport.getPooledRequestFactoryCount();
+
+        SpringRESTClientConnector connector1 = createConnector(serverURLRoot, 31);
+        SpringRESTClientConnector connector2 = createConnector(serverURLRoot, 31);
+
+        assertEquals(SpringRESTClientTransport.getPooledRequestFactoryCount(), poolCount + 1);
+
+        SpringRESTClientConnector connector3 = createConnector(serverURLRoot, 32);
+
+        assertEquals(SpringRESTClientTransport.getPooledRequestFactoryCount(), poolCount + 2);
+
+        /*
+         * The shared pool stays open until both of the connectors using it have disconnected.
+         */
+        connector1.disconnect();
+        assertEquals(SpringRESTClientTransport.getPooledRequestFactoryCount(), poolCount + 2);
+        assertEquals(connector2.callGetRESTCallNoParams("testCall", String.class, serverURLRoot + "/test"), "\"ok\"");
+
+        connector2.disconnect();
+        assertEquals(SpringRESTClientTransport.getPooledRequestFactoryCount(), poolCount + 1);
+
+        connector3.disconnect();
+        assertEquals(SpringRESTClientTransport.getPooledRequestFactoryCount(), poolCount);
+    }
+
+
+    @Test
+    void testConnectionsAreReused() throws Exception
+    {
+        SpringRESTClientConnector connector = createConnector(serverURLRoot, 33);
+
+        try
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                assertEquals(connector.callGetRESTCallNoParams("testCall", String.class, serverURLRoot + "/test"), "\"ok\"");
+            }
+
+            assertEquals(clientPorts.size(), 1);
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    @Test
+    void testChangedSSLConfigurationGetsNewPool()
+    {
+        Map<String, Object>      configurationProperties = getConfigurationProperties(34);
+        HostnameVerifier         hostnameVerifier        = HttpsURLConnection.getDefaultHostnameVerifier();
+        ClientHttpRequestFactory requestFactory1         = SpringRESTClientTransport.getRequestFactory(configurationProperties);
+        ClientHttpRequestFactory requestFactory2         = null;
+
+        try
+        {
+            /*
+             * This is how the platform changes the SSL configuration when strict.ssl is false.
+             */
+            HttpsURLConnection.setDefaultHostnameVerifier((hostName, session) -> true);
+
+            requestFactory2 = SpringRESTClientTransport.getRequestFactory(configurationProperties);
+
+            assertNotSame(requestFactory2, requestFactory1);
+        }
+        finally
+        {
+            HttpsURLConnection.setDefaultHostnameVerifier(hostnameVerifier);
+
+            SpringRESTClientTransport.releaseRequestFactory(requestFactory1);
+            SpringRESTClientTransport.releaseRequestFactory(requestFactory2);
+        }
+    }
+
+
+    @Test
+    void testReleasedPoolIsClosed() throws Exception
+    {
+        ClientHttpRequestFactory requestFactory = SpringRESTClientTransport.getRequestFactory(getConfigurationProperties(35));
+
+        SpringRESTClientTransport.releaseRequestFactory(requestFactory);
+
+        try
+        {
+            requestFactory.createRequest(new URI(serverURLRoot + "/test"), HttpMethod.GET).execute();
+            fail("Request sent through closed pool");
+        }
+        catch (IllegalStateException error)
+        {
+            assertTrue(clientPorts.isEmpty());
+        }
+
+        ClientHttpRequestFactory newRequestFactory = SpringRESTClientTransport.getRequestFactory(getConfigurationProperties(35));
+
+        assertNotSame(newRequestFactory, requestFactory);
+
+        SpringRESTClientTransport.releaseRequestFactory(newRequestFactory);
+    }
+
+
+    @Test
+    void testLatencyIsReported() throws Exception
+    {
+        SpringRESTClientConnector connector = createConnector(serverURLRoot, 36);
+
+        try
+        {
+            assertEquals(connector.getRequestCount(), 0L);
+            assertEquals(connector.getAverageRequestLatency(), 0L);
+
+            connector.callGetRESTCallNoParams("testCall", String.class, serverURLRoot + "/test");
+            connector.callGetRESTCallNoParams("testCall", String.class, serverURLRoot + "/test");
+
+            assertEquals(connector.getRequestCount(), 2L);
+            assertEquals(connector.getFailedRequestCount(), 0L);
+            assertTrue(connector.getAverageRequestLatency() >= responseDelay);
+            assertTrue(connector.getMaximumRequestLatency() >= connector.getAverageRequestLatency());
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    @Test
+    void testFailedRequestIsCounted() throws Exception
+    {
+        String unusedURLRoot;
+
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress()))
+        {
+            unusedURLRoot = "http://" + socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort();
+        }
+
+        SpringRESTClientConnector connector = createConnector(unusedURLRoot, 37);
+
+        try
+        {
+            connector.callGetRESTCallNoParams("testCall", String.class, unusedURLRoot + "/test");
+            fail("Request to closed port succeeded");
+        }
+        catch (RESTServerException error)
+        {
+            assertEquals(connector.getRequestCount(), 1L);
+            assertEquals(connector.getFailedRequestCount(), 1L);
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Create a connector.  Each test uses a different number of connections per route so that the tests do
+     * not share connection pools.
+     *
+     * @param urlRoot platform URL root
+     * @param maxConnectionsPerRoute maximum pooled connections to a single platform
+     * @return initialized connector
+     * @throws Exception problem creating the connector
+     */
+    private SpringRESTClientConnector createConnector(String urlRoot,
+                                                      int    maxConnectionsPerRoute) throws Exception
+    {
+        Endpoint   endpoint   = new Endpoint();
+        Connection connection = new Connection();
+
+        endpoint.setAddress(urlRoot);
+        endpoint.setDisplayName("testServer");
+
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(getConfigurationProperties(maxConnectionsPerRoute));
+
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+
+        connector.initialize("testConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private Map<String, Object> getConfigurationProperties(int maxConnectionsPerRoute)
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(SpringRESTClientTransport.MAX_CONNECTIONS_PER_ROUTE_PROPERTY, maxConnectionsPerRoute);
+        configurationProperties.put(SpringRESTClientTransport.READ_TIMEOUT_PROPERTY, 10000);
+
+        return configurationProperties;
+    }
+}
@@ -20,7 +20,20 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 /**
  * EngineConfig provides the properties to configure a single governance engine in an service (in an engine hosting server).
  * The configuration for each of these engines is extracted from the partner OMAS using
- * the engine name as the qualified name.
+ * the engine name as the qualified name.  The remaining properties control how many governance services the
+ * engine runs at once:
+ * <ul>
+ *     <li>
+ *         maxConcurrentRequests - maximum number of governance services that run concurrently.  Zero means use the default.
+ *     </li>
+ *     <li>
+ *         maxQueuedRequests - maximum number of requests that can wait for a governance service to finish before
+ *                           further requests are rejected.  Zero means use the default.
+ *     </li>
+ *     <li>
+ *         useVirtualThreads - run the governance services on virtual threads if the JVM supports them.
+ *     </li>
+ * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -33,6 +46,10 @@ public class EngineConfig extends AdminServicesConfigHeader
     private String engineQualifiedName = null;
     private String engineUserId        = null;
 
+    private int     maxConcurrentRequests = 0;
+    private int     maxQueuedRequests     = 0;
+    private boolean useVirtualThreads     = false;
+
 
     /**
      * Default constructor
@@ -57,6 +74,10 @@ public class EngineConfig extends AdminServicesConfigHeader
             engineId            = template.getEngineId();
             engineQualifiedName = template.getEngineQualifiedName();
             engineUserId        = template.getEngineUserId();
+
+            maxConcurrentRequests = template.getMaxConcurrentRequests();
+            maxQueuedRequests     = template.getMaxQueuedRequests();
+            useVirtualThreads     = template.getUseVirtualThreads();
         }
     }
 
@@ -130,6 +151,74 @@ public class EngineConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of governance services that the engine runs concurrently.  Zero means use the default.
+     *
+     * @return number of governance services
+     */
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that the engine runs concurrently.  Zero means use the default.
+     *
+     * @param maxConcurrentRequests number of governance services
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+
+    /**
+     * Return the maximum number of requests that can wait for a governance service to finish before further
+     * requests are rejected.  Zero means use the default.
+     *
+     * @return number of requests
+     */
+    public int getMaxQueuedRequests()
+    {
+        return maxQueuedRequests;
+    }
+
+
+    /**
+     * Set up the maximum number of requests that can wait for a governance service to finish before further
+     * requests are rejected.  Zero means use the default.
+     *
+     * @param maxQueuedRequests number of requests
+     */
+    public void setMaxQueuedRequests(int maxQueuedRequests)
+    {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+
+    /**
+     * Return whether the governance services should run on virtual threads (if the JVM supports them).
+     *
+     * @return boolean flag
+     */
+    public boolean getUseVirtualThreads()
+    {
+        return useVirtualThreads;
+    }
+
+
+    /**
+     * Set up whether the governance services should run on virtual threads (if the JVM supports them).
+     *
+     * @param useVirtualThreads boolean flag
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads)
+    {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -142,6 +231,9 @@ public class EngineConfig extends AdminServicesConfigHeader
                        "engineId=" + engineId +
                        ", engineQualifiedName='" + engineQualifiedName + '\'' +
                        ", engineUserId='" + engineUserId + '\'' +
+                       ", maxConcurrentRequests=" + maxConcurrentRequests +
+                       ", maxQueuedRequests=" + maxQueuedRequests +
+                       ", useVirtualThreads=" + useVirtualThreads +
                        '}';
     }
 
@@ -164,7 +256,10 @@ public class EngineConfig extends AdminServicesConfigHeader
             return false;
         }
         EngineConfig that = (EngineConfig) objectToCompare;
-        return Objects.equals(engineId, that.engineId) &&
+        return maxConcurrentRequests == that.maxConcurrentRequests &&
+                       maxQueuedRequests == that.maxQueuedRequests &&
+                       useVirtualThreads == that.useVirtualThreads &&
+                       Objects.equals(engineId, that.engineId) &&
                        Objects.equals(engineQualifiedName, that.engineQualifiedName) &&
                        Objects.equals(engineUserId, that.engineUserId);
     }
@@ -178,6 +273,7 @@ public class EngineConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId());
+        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId(), getMaxConcurrentRequests(),
+                            getMaxQueuedRequests(), getUseVirtualThreads());
     }
 }
@@ -35,6 +35,17 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *     <li>
  *         remoteEnterpriseOMRSTopicConnection - connection for the remote (external) enterprise OMRS Topic connector.
  *     </li>
+ *     <li>
+ *         maxFederationWorkerThreads - maximum number of threads used to issue federated requests to the members
+ *                                    of the cohort(s) in parallel.  Zero means use the default.
+ *     </li>
+ *     <li>
+ *         federationRequestTimeout - time in milliseconds to wait for each member of the cohort(s) to respond to
+ *                                  a federated request.  Zero means wait indefinitely.
+ *     </li>
+ *     <li>
+ *         federationUsesVirtualThreads - use virtual threads for federated requests if the JVM supports them.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -49,6 +60,9 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private Connection                       enterpriseOMRSTopicConnection       = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion  = null;
     private Connection                       remoteEnterpriseOMRSTopicConnection = null;
+    private int                              maxFederationWorkerThreads          = 0;
+    private long                             federationRequestTimeout            = 0L;
+    private boolean                          federationUsesVirtualThreads        = false;
 
 
     /**
@@ -76,6 +90,9 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
             this.enterpriseOMRSTopicConnection = template.getEnterpriseOMRSTopicConnection();
             this.enterpriseOMRSTopicProtocolVersion = template.getEnterpriseOMRSTopicProtocolVersion();
             this.remoteEnterpriseOMRSTopicConnection = template.getRemoteEnterpriseOMRSTopicConnection();
+            this.maxFederationWorkerThreads = template.getMaxFederationWorkerThreads();
+            this.federationRequestTimeout = template.getFederationRequestTimeout();
+            this.federationUsesVirtualThreads = template.getFederationUsesVirtualThreads();
         }
     }
 
@@ -219,6 +236,76 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of threads used to issue federated requests to the members of the cohort(s)
+     * in parallel.  Zero means use the default.
+     *
+     * @return number of threads
+     */
+    public int getMaxFederationWorkerThreads()
+    {
+        return maxFederationWorkerThreads;
+    }
+
+
+    /**
+     * Set up the maximum number of threads used to issue federated requests to the members of the cohort(s)
+     * in parallel.  Zero means use the default.
+     *
+     * @param maxFederationWorkerThreads number of threads
+     */
+    public void setMaxFederationWorkerThreads(int maxFederationWorkerThreads)
+    {
+        this.maxFederationWorkerThreads = maxFederationWorkerThreads;
+    }
+
+
+    /**
+     * Return the time in milliseconds to wait for each member of the cohort(s) to respond to a federated request.
+     * Zero means wait indefinitely.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getFederationRequestTimeout()
+    {
+        return federationRequestTimeout;
+    }
+
+
+    /**
+     * Set up the time in milliseconds to wait for each member of the cohort(s) to respond to a federated request.
+     * Zero means wait indefinitely.
+     *
+     * @param federationRequestTimeout timeout in milliseconds
+     */
+    public void setFederationRequestTimeout(long federationRequestTimeout)
+    {
+        this.federationRequestTimeout = federationRequestTimeout;
+    }
+
+
+    /**
+     * Return whether virtual threads should be used for federated requests (if the JVM supports them).
+     *
+     * @return boolean flag
+     */
+    public boolean getFederationUsesVirtualThreads()
+    {
+        return federationUsesVirtualThreads;
+    }
+
+
+    /**
+     * Set up whether virtual threads should be used for federated requests (if the JVM supports them).
+     *
+     * @param federationUsesVirtualThreads boolean flag
+     */
+    public void setFederationUsesVirtualThreads(boolean federationUsesVirtualThreads)
+    {
+        this.federationUsesVirtualThreads = federationUsesVirtualThreads;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -233,6 +320,9 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
                        ", enterpriseOMRSTopicConnection=" + enterpriseOMRSTopicConnection +
                        ", enterpriseOMRSTopicProtocolVersion=" + enterpriseOMRSTopicProtocolVersion +
                        ", remoteEnterpriseOMRSTopicConnection=" + remoteEnterpriseOMRSTopicConnection +
+                       ", maxFederationWorkerThreads=" + maxFederationWorkerThreads +
+                       ", federationRequestTimeout=" + federationRequestTimeout +
+                       ", federationUsesVirtualThreads=" + federationUsesVirtualThreads +
                        '}';
     }
 
@@ -255,7 +345,10 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
             return false;
         }
         EnterpriseAccessConfig that = (EnterpriseAccessConfig) objectToCompare;
-        return Objects.equals(enterpriseMetadataCollectionName, that.enterpriseMetadataCollectionName) &&
+        return maxFederationWorkerThreads == that.maxFederationWorkerThreads &&
+                       federationRequestTimeout == that.federationRequestTimeout &&
+                       federationUsesVirtualThreads == that.federationUsesVirtualThreads &&
+                       Objects.equals(enterpriseMetadataCollectionName, that.enterpriseMetadataCollectionName) &&
                        Objects.equals(enterpriseMetadataCollectionId, that.enterpriseMetadataCollectionId) &&
                        Objects.equals(enterpriseOMRSTopicConnection, that.enterpriseOMRSTopicConnection) &&
                        enterpriseOMRSTopicProtocolVersion == that.enterpriseOMRSTopicProtocolVersion &&
@@ -273,6 +366,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     public int hashCode()
     {
         return Objects.hash(enterpriseMetadataCollectionName, enterpriseMetadataCollectionId, enterpriseOMRSTopicConnection,
-                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection);
+                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection, maxFederationWorkerThreads,
+                            federationRequestTimeout, federationUsesVirtualThreads);
     }
 }
@@ -14,6 +14,9 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 
 /**
  * RESTClient is responsible for issuing calls to the OMAS REST APIs.
@@ -457,6 +460,85 @@ public class FFDCRESTClientBase
     }
 
 
+    /**
+     * Issue a GET REST call that returns a response object without blocking the calling thread.
+     * The future completes exceptionally with a PropertyServerException if something went wrong with
+     * the REST call stack.
+     *
+     * @param <T> return type
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    protected <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                            Class<T>  returnClass,
+                                                            String    urlTemplate,
+                                                            Object... params)
+    {
+        return this.mapRESTCallException(methodName,
+                                         clientConnector.callGetRESTCallAsync(methodName, returnClass, urlTemplate, params));
+    }
+
+
+    /**
+     * Issue a POST REST call that returns a response object without blocking the calling thread.
+     * The future completes exceptionally with a PropertyServerException if something went wrong with
+     * the REST call stack.
+     *
+     * @param <T> return type
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    protected <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                             Class<T>  returnClass,
+                                                             String    urlTemplate,
+                                                             Object    requestBody,
+                                                             Object... params)
+    {
+        return this.mapRESTCallException(methodName,
+                                         clientConnector.callPostRESTCallAsync(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Replace the exception from a failed asynchronous call with the PropertyServerException that the
+     * synchronous call would have thrown.
+     *
+     * @param <T> return type
+     * @param methodName calling method
+     * @param restCall future from the client connector
+     * @return future for the response object
+     */
+    private <T> CompletableFuture<T> mapRESTCallException(String               methodName,
+                                                          CompletableFuture<T> restCall)
+    {
+        return restCall.handle((response, error) ->
+        {
+            if (error != null)
+            {
+                Throwable cause = error;
+
+                if ((error instanceof CompletionException) && (error.getCause() != null))
+                {
+                    cause = error.getCause();
+                }
+
+                throw new CompletionException(getRESTCallException(methodName, cause));
+            }
+
+            return response;
+        });
+    }
+
+
     /**
      * Provide detailed logging for exceptions.
      *
@@ -466,6 +548,20 @@ public class FFDCRESTClientBase
      */
     private void logRESTCallException(String    methodName,
                                       Exception error) throws PropertyServerException
+    {
+        throw getRESTCallException(methodName, error);
+    }
+
+
+    /**
+     * Log an exception from the REST call stack and return the exception to pass to the caller.
+     *
+     * @param methodName calling method
+     * @param error resulting exception
+     * @return wrapping exception
+     */
+    private PropertyServerException getRESTCallException(String    methodName,
+                                                         Throwable error)
     {
         if (auditLog != null)
         {
@@ -477,12 +573,12 @@ public class FFDCRESTClientBase
                                   error);
         }
 
-        throw new PropertyServerException(OMAGCommonErrorCode.CLIENT_SIDE_REST_API_ERROR.getMessageDefinition(methodName,
-                                                                                                              serverName,
-                                                                                                              serverPlatformURLRoot,
-                                                                                                              error.getMessage()),
-                                          this.getClass().getName(),
-                                          methodName,
-                                          error);
+        return new PropertyServerException(OMAGCommonErrorCode.CLIENT_SIDE_REST_API_ERROR.getMessageDefinition(methodName,
+                                                                                                               serverName,
+                                                                                                               serverPlatformURLRoot,
+                                                                                                               error.getMessage()),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           error);
     }
 }
@@ -63,7 +63,7 @@ public class ArchiveEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -100,8 +100,9 @@ public class ArchiveEngineHandler extends GovernanceEngineHandler
                                                                                         governanceActionGUID,
                                                                                         governanceServiceCache);
 
-            Thread thread = new Thread(archiveServiceHandler, governanceServiceCache.getGovernanceServiceName() + new Date().toString());
-            thread.start();
+            super.startGovernanceService(archiveServiceHandler,
+                                         requestType,
+                                         governanceServiceCache.getGovernanceServiceName() + new Date().toString());
 
             return archiveServiceHandler;
         }
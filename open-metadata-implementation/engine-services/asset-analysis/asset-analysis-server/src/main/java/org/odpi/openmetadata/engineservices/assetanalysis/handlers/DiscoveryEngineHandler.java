@@ -169,7 +169,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -225,8 +225,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-            thread.start();
+            super.startGovernanceService(discoveryServiceHandler,
+                                         requestType,
+                                         governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
 
             return discoveryServiceHandler;
         }
@@ -236,7 +237,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Run an instance of a discovery service on one of the engine's worker threads.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
@@ -265,8 +266,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-        thread.start();
+        super.startGovernanceService(discoveryServiceHandler,
+                                     discoveryRequestType,
+                                     governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
@@ -93,7 +93,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -140,8 +140,9 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceListenerManager,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString());
-            thread.start();
+            super.startGovernanceService(governanceActionServiceHandler,
+                                         requestType,
+                                         governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString());
 
             return governanceActionServiceHandler;
         }
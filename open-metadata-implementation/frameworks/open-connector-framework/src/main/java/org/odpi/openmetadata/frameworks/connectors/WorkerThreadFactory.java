@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WorkerThreadFactory creates the worker threads for the thread pools of the connectors and servers.  The threads
+ * are named with a prefix and a sequence number so that they are recognizable in thread dumps, and they are daemon
+ * threads so that they do not prevent the platform from shutting down.
+ *
+ * When running on a JVM that supports virtual threads, the static methods return a factory or executor that uses
+ * virtual threads with the same names.  They use reflection since virtual threads are only available on newer JVMs,
+ * and return null when virtual threads are not supported so that the caller can fall back to platform threads.
+ */
+public class WorkerThreadFactory implements ThreadFactory
+{
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final String        namePrefix;
+
+
+    /**
+     * Constructor sets up the thread name prefix.
+     *
+     * @param namePrefix prefix for the thread names
+     */
+    public WorkerThreadFactory(String namePrefix)
+    {
+        this.namePrefix = namePrefix;
+    }
+
+
+    /**
+     * Create a new worker thread.
+     *
+     * @param runnable work for the thread
+     * @return new thread
+     */
+    @Override
+    public Thread newThread(Runnable runnable)
+    {
+        Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+
+    /**
+     * Return a thread factory that creates named virtual threads if they are requested and the JVM supports them,
+     * and named daemon platform threads otherwise.
+     *
+     * @param namePrefix prefix for the thread names
+     * @param useVirtualThreads request that virtual threads are used if the JVM supports them
+     * @return thread factory
+     */
+    public static ThreadFactory getThreadFactory(String  namePrefix,
+                                                 boolean useVirtualThreads)
+    {
+        ThreadFactory threadFactory = null;
+
+        if (useVirtualThreads)
+        {
+            threadFactory = getVirtualThreadFactory(namePrefix);
+        }
+
+        if (threadFactory == null)
+        {
+            threadFactory = new WorkerThreadFactory(namePrefix);
+        }
+
+        return threadFactory;
+    }
+
+
+    /**
+     * Use reflection to create a factory for named virtual threads.
+     *
+     * @param namePrefix prefix for the thread names
+     * @return thread factory or null if virtual threads are not supported
+     */
+    public static ThreadFactory getVirtualThreadFactory(String namePrefix)
+    {
+        try
+        {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method   ofVirtual    = Thread.class.getMethod("ofVirtual");
+            Method   name         = builderClass.getMethod("name", String.class, long.class);
+            Method   factory      = builderClass.getMethod("factory");
+
+            Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 1L);
+
+            return (ThreadFactory) factory.invoke(builder);
+        }
+        catch (Exception error)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Use reflection to create an executor that runs each task on a new named virtual thread.  The number of
+     * threads is not limited.
+     *
+     * @param namePrefix prefix for the thread names
+     * @return executor service or null if virtual threads are not supported
+     */
+    public static ExecutorService getVirtualThreadExecutor(String namePrefix)
+    {
+        ThreadFactory virtualThreadFactory = getVirtualThreadFactory(namePrefix);
+
+        if (virtualThreadFactory == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+            return (ExecutorService) method.invoke(null, virtualThreadFactory);
+        }
+        catch (Exception error)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import static org.testng.Assert.*;
+
+/**
+ * TestWorkerThreadFactory validates that the worker threads are named daemon threads, and that virtual threads
+ * are only used when they are requested and the JVM supports them.
+ */
+public class TestWorkerThreadFactory
+{
+    private static final String namePrefix = "TestWorker-";
+
+
+    @Test
+    void testThreadsAreNamedDaemons()
+    {
+        ThreadFactory threadFactory = new WorkerThreadFactory(namePrefix);
+
+        Thread thread1 = threadFactory.newThread(() -> { });
+        Thread thread2 = threadFactory.newThread(() -> { });
+
+        assertEquals(thread1.getName(), namePrefix + "1");
+        assertEquals(thread2.getName(), namePrefix + "2");
+        assertTrue(thread1.isDaemon());
+        assertTrue(thread2.isDaemon());
+    }
+
+
+    @Test
+    void testPlatformThreadsUnlessVirtualThreadsRequested()
+    {
+        assertTrue(WorkerThreadFactory.getThreadFactory(namePrefix, false) instanceof WorkerThreadFactory);
+    }
+
+
+    @Test
+    void testVirtualThreadsWhenSupported() throws Exception
+    {
+        ThreadFactory   virtualThreadFactory  = WorkerThreadFactory.getVirtualThreadFactory(namePrefix);
+        ExecutorService virtualThreadExecutor = WorkerThreadFactory.getVirtualThreadExecutor(namePrefix);
+
+        if (virtualThreadFactory == null)
+        {
+            /*
+             * This JVM does not support virtual threads.
+             */
+            assertNull(virtualThreadExecutor);
+            assertTrue(WorkerThreadFactory.getThreadFactory(namePrefix, true) instanceof WorkerThreadFactory);
+        }
+        else
+        {
+            assertEquals(virtualThreadFactory.newThread(() -> { }).getName(), namePrefix + "1");
+            assertFalse(WorkerThreadFactory.getThreadFactory(namePrefix, true) instanceof WorkerThreadFactory);
+
+            try
+            {
+                assertTrue(virtualThreadExecutor.submit(() -> Thread.currentThread().getName()).get().startsWith(namePrefix));
+            }
+            finally
+            {
+                virtualThreadExecutor.shutdownNow();
+            }
+        }
+    }
+}
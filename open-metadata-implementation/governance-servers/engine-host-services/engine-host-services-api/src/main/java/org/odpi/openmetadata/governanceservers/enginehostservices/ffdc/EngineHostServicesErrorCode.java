@@ -241,6 +241,13 @@ public enum EngineHostServicesErrorCode implements ExceptionMessageSet
                                      "This is a configuration error.  Update the configuration for the engine host service to ensure governance engines are correctly " +
                                              "matched to the engine services.  Once the cause is resolved, restart the server."),
 
+    GOVERNANCE_ENGINE_BUSY(400, "ENGINE-HOST-SERVICES-400-025",
+                           "Governance engine {0} in engine host server {1} is not able to accept a request of type {2} because {3} requests are already waiting to run",
+                           "The request is rejected.  If it is for a governance action, the governance action is marked as FAILED.",
+                           "Wait for the governance engine to work through its queue and then retry the request.  If the queue fills " +
+                                   "regularly, increase the maxConcurrentRequests or maxQueuedRequests properties in the governance " +
+                                   "engine's configuration, or spread the work over more engine host servers."),
+
     NO_OMAS_SERVER_URL(400,"ENGINE-HOST-SERVICES-400-102",
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
                        "The engine service is not able to locate the metadata server to retrieve the configuration for " +
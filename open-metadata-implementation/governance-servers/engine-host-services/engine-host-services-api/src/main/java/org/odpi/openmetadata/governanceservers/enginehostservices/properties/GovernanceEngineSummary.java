@@ -31,6 +31,11 @@ public class GovernanceEngineSummary implements Serializable
     private String                 governanceEngineDescription = null;
     private GovernanceEngineStatus governanceEngineStatus      = null;
     private List<String>           governanceRequestTypes      = null;
+    private int                    activeRequestCount          = 0;
+    private int                    queuedRequestCount          = 0;
+    private long                   completedRequestCount       = 0L;
+    private long                   rejectedRequestCount        = 0L;
+    private long                   averageQueueWaitTime        = 0L;
 
 
     /**
@@ -57,6 +62,11 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            activeRequestCount = template.getActiveRequestCount();
+            queuedRequestCount = template.getQueuedRequestCount();
+            completedRequestCount = template.getCompletedRequestCount();
+            rejectedRequestCount = template.getRejectedRequestCount();
+            averageQueueWaitTime = template.getAverageQueueWaitTime();
         }
     }
 
@@ -224,6 +234,116 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the number of governance services that are currently running in the governance engine.
+     *
+     * @return count
+     */
+    public int getActiveRequestCount()
+    {
+        return activeRequestCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are currently running in the governance engine.
+     *
+     * @param activeRequestCount count
+     */
+    public void setActiveRequestCount(int activeRequestCount)
+    {
+        this.activeRequestCount = activeRequestCount;
+    }
+
+
+    /**
+     * Return the number of requests that are waiting for a governance service to finish.
+     *
+     * @return count
+     */
+    public int getQueuedRequestCount()
+    {
+        return queuedRequestCount;
+    }
+
+
+    /**
+     * Set up the number of requests that are waiting for a governance service to finish.
+     *
+     * @param queuedRequestCount count
+     */
+    public void setQueuedRequestCount(int queuedRequestCount)
+    {
+        this.queuedRequestCount = queuedRequestCount;
+    }
+
+
+    /**
+     * Return the number of governance services that have run to completion since the governance engine started.
+     *
+     * @return count
+     */
+    public long getCompletedRequestCount()
+    {
+        return completedRequestCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that have run to completion since the governance engine started.
+     *
+     * @param completedRequestCount count
+     */
+    public void setCompletedRequestCount(long completedRequestCount)
+    {
+        this.completedRequestCount = completedRequestCount;
+    }
+
+
+    /**
+     * Return the number of requests that were rejected because the governance engine's queue was full.
+     *
+     * @return count
+     */
+    public long getRejectedRequestCount()
+    {
+        return rejectedRequestCount;
+    }
+
+
+    /**
+     * Set up the number of requests that were rejected because the governance engine's queue was full.
+     *
+     * @param rejectedRequestCount count
+     */
+    public void setRejectedRequestCount(long rejectedRequestCount)
+    {
+        this.rejectedRequestCount = rejectedRequestCount;
+    }
+
+
+    /**
+     * Return the average time in milliseconds that the requests started so far waited in the queue.
+     *
+     * @return milliseconds
+     */
+    public long getAverageQueueWaitTime()
+    {
+        return averageQueueWaitTime;
+    }
+
+
+    /**
+     * Set up the average time in milliseconds that the requests started so far waited in the queue.
+     *
+     * @param averageQueueWaitTime milliseconds
+     */
+    public void setAverageQueueWaitTime(long averageQueueWaitTime)
+    {
+        this.averageQueueWaitTime = averageQueueWaitTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +360,11 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", activeRequestCount=" + activeRequestCount +
+                       ", queuedRequestCount=" + queuedRequestCount +
+                       ", completedRequestCount=" + completedRequestCount +
+                       ", rejectedRequestCount=" + rejectedRequestCount +
+                       ", averageQueueWaitTime=" + averageQueueWaitTime +
                        '}';
     }
 
@@ -268,7 +393,12 @@ public class GovernanceEngineSummary implements Serializable
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
                 Objects.equals(governanceEngineDescription, that.governanceEngineDescription) &&
                 governanceEngineStatus == that.governanceEngineStatus &&
-                Objects.equals(governanceRequestTypes, that.governanceRequestTypes);
+                Objects.equals(governanceRequestTypes, that.governanceRequestTypes) &&
+                activeRequestCount == that.activeRequestCount &&
+                queuedRequestCount == that.queuedRequestCount &&
+                completedRequestCount == that.completedRequestCount &&
+                rejectedRequestCount == that.rejectedRequestCount &&
+                averageQueueWaitTime == that.averageQueueWaitTime;
     }
 
 
@@ -281,6 +411,8 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           activeRequestCount, queuedRequestCount, completedRequestCount, rejectedRequestCount,
+                           averageQueueWaitTime);
    }
 }
@@ -25,6 +25,7 @@ import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHos
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
 
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The GovernanceEngineHandler is responsible for running governance services on demand.  It is initialized
@@ -55,6 +56,8 @@ public abstract class GovernanceEngineHandler
 
     private GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
 
+    private GovernanceServiceWorkerPool workerPool;  /* Initialized in constructor */
+
 
     /**
      * Create a client-side object for calling a governance engine.
@@ -90,6 +93,11 @@ public abstract class GovernanceEngineHandler
         this.serverClient = serverClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+
+        this.workerPool = new GovernanceServiceWorkerPool(governanceEngineName,
+                                                          engineConfig.getMaxConcurrentRequests(),
+                                                          engineConfig.getMaxQueuedRequests(),
+                                                          engineConfig.getUseVirtualThreads());
     }
 
 
@@ -138,6 +146,12 @@ public abstract class GovernanceEngineHandler
             mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.RUNNING);
         }
 
+        mySummary.setActiveRequestCount(workerPool.getActiveRequestCount());
+        mySummary.setQueuedRequestCount(workerPool.getQueuedRequestCount());
+        mySummary.setCompletedRequestCount(workerPool.getCompletedRequestCount());
+        mySummary.setRejectedRequestCount(workerPool.getRejectedRequestCount());
+        mySummary.setAverageQueueWaitTime(workerPool.getAverageQueueWaitTime());
+
         return mySummary;
     }
 
@@ -363,6 +377,99 @@ public abstract class GovernanceEngineHandler
     }
 
 
+    /**
+     * Queue a governance service to run on one of the governance engine's worker threads.  The number of governance
+     * services running at once is bounded by the engine's configuration.  If the request is for a governance action,
+     * the governance action is set to IN_PROGRESS when the governance service starts to run, or to FAILED if the
+     * governance engine shuts down before it starts.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param requestType request type that the governance service is running for
+     * @param requestName name for the request - used to name the thread while the governance service runs
+     *
+     * @throws PropertyServerException the governance engine has too many requests queued to accept this one
+     */
+    protected void startGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                          String                   requestType,
+                                          String                   requestName) throws PropertyServerException
+    {
+        final String methodName = "startGovernanceService";
+
+        String governanceActionGUID = governanceServiceHandler.governanceActionGUID;
+
+        try
+        {
+            workerPool.submit(() ->
+                              {
+                                  if (governanceActionGUID != null)
+                                  {
+                                      try
+                                      {
+                                          serverClient.updateGovernanceActionStatus(serverUserId,
+                                                                                    governanceActionGUID,
+                                                                                    GovernanceActionStatus.IN_PROGRESS);
+                                      }
+                                      catch (Exception error)
+                                      {
+                                          auditLog.logException(methodName,
+                                                                EngineHostServicesAuditCode.ACTION_PROCESSING_ERROR.getMessageDefinition(methodName,
+                                                                                                                                         error.getClass().getName(),
+                                                                                                                                         governanceActionGUID,
+                                                                                                                                         error.getMessage()),
+                                                                error);
+                                      }
+                                  }
+
+                                  governanceServiceHandler.run();
+                              },
+                              requestName,
+                              () -> discardGovernanceService(governanceActionGUID));
+        }
+        catch (RejectedExecutionException error)
+        {
+            throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_ENGINE_BUSY.getMessageDefinition(governanceEngineName,
+                                                                                                                     serverName,
+                                                                                                                     requestType,
+                                                                                                                     Integer.toString(workerPool.getQueuedRequestCount())),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              error);
+        }
+    }
+
+
+    /**
+     * A queued governance service is not going to run because the governance engine is shutting down.
+     * If the request is for a governance action, the governance action is claimed by this engine and waiting,
+     * so it is marked as failed rather than being left waiting for ever.
+     *
+     * @param governanceActionGUID unique identifier of the governance action (null if the request is not for a governance action)
+     */
+    private void discardGovernanceService(String governanceActionGUID)
+    {
+        final String methodName = "discardGovernanceService";
+
+        if (governanceActionGUID != null)
+        {
+            try
+            {
+                serverClient.updateGovernanceActionStatus(serverUserId,
+                                                          governanceActionGUID,
+                                                          GovernanceActionStatus.FAILED);
+            }
+            catch (Exception error)
+            {
+                auditLog.logException(methodName,
+                                      EngineHostServicesAuditCode.ACTION_PROCESSING_ERROR.getMessageDefinition(methodName,
+                                                                                                               error.getClass().getName(),
+                                                                                                               governanceActionGUID,
+                                                                                                               error.getMessage()),
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * GovernanceServiceCacheMap maintains the map of governance request types to governance services.
      * It is synchronized because the map is being rebuilt periodically.
@@ -441,13 +548,30 @@ public abstract class GovernanceEngineHandler
 
                 // todo if the start date is in the future then the governance action should be given to the scheduler
 
-                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
+                /*
+                 * The governance action waits until one of the engine's worker threads is free to run the
+                 * governance service.  The status moves to IN_PROGRESS when the governance service starts.
+                 */
+                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.WAITING);
 
-                runGovernanceService(governanceActionGUID,
-                                     properties.getRequestType(),
-                                     properties.getRequestParameters(),
-                                     properties.getRequestSourceElements(),
-                                     properties.getActionTargetElements());
+                try
+                {
+                    runGovernanceService(governanceActionGUID,
+                                         properties.getRequestType(),
+                                         properties.getRequestParameters(),
+                                         properties.getRequestSourceElements(),
+                                         properties.getActionTargetElements());
+                }
+                catch (Exception error)
+                {
+                    /*
+                     * The governance action has been claimed by this engine but can not run (for example, the
+                     * engine is too busy) so it is marked as failed rather than left waiting.
+                     */
+                    serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.FAILED);
+
+                    throw error;
+                }
             }
         }
         catch (Exception error)
@@ -463,7 +587,7 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -519,5 +643,7 @@ public abstract class GovernanceEngineHandler
         governanceEngineGUID = null;
         governanceEngineProperties = null;
         governanceServiceLookupTable.clear();
+
+        workerPool.shutdown();
     }
 }
@@ -0,0 +1,252 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GovernanceServiceWorkerPool runs the governance services for a single governance engine.  The number of
+ * governance services running at once is bounded, as is the number of requests waiting for them to finish.
+ * A request that arrives when the queue is full is rejected rather than starting yet another thread.
+ * When the JVM supports virtual threads, the pool can be configured to run each governance service on a
+ * virtual thread, although the bounds still apply.
+ *
+ * The pool keeps simple counts of its workload so that they can be reported in the governance engine's summary.
+ */
+class GovernanceServiceWorkerPool
+{
+    /**
+     * Default number of governance services that run concurrently if none is configured.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+
+    /**
+     * Default number of requests that can be waiting for a governance service to finish if none is configured.
+     */
+    static final int DEFAULT_MAX_QUEUED_REQUESTS     = 1000;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger activeRequestCount    = new AtomicInteger(0);
+    private final AtomicLong    startedRequestCount   = new AtomicLong(0);
+    private final AtomicLong    completedRequestCount = new AtomicLong(0);
+    private final AtomicLong    rejectedRequestCount  = new AtomicLong(0);
+    private final AtomicLong    totalQueueWaitTime    = new AtomicLong(0);
+
+
+    /**
+     * Constructor sets up the worker threads.
+     *
+     * @param governanceEngineName name of the governance engine - used to name the worker threads
+     * @param maxConcurrentRequests maximum number of governance services that run concurrently - zero or less means use the default
+     * @param maxQueuedRequests maximum number of requests that can wait for a governance service - zero or less means use the default
+     * @param useVirtualThreads request that virtual threads are used if the JVM supports them
+     */
+    GovernanceServiceWorkerPool(String  governanceEngineName,
+                                int     maxConcurrentRequests,
+                                int     maxQueuedRequests,
+                                boolean useVirtualThreads)
+    {
+        String threadNamePrefix = "GovernanceServiceWorker-" + governanceEngineName + "-";
+
+        int poolSize  = (maxConcurrentRequests > 0) ? maxConcurrentRequests : DEFAULT_MAX_CONCURRENT_REQUESTS;
+        int queueSize = (maxQueuedRequests > 0) ? maxQueuedRequests : DEFAULT_MAX_QUEUED_REQUESTS;
+
+        this.executor = new ThreadPoolExecutor(poolSize,
+                                               poolSize,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<>(queueSize),
+                                               WorkerThreadFactory.getThreadFactory(threadNamePrefix, useVirtualThreads),
+                                               new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Queue a governance service to run as soon as a worker thread is free.  While it runs, the worker
+     * thread is given the name of the request so that it is recognizable in thread dumps.
+     *
+     * @param request governance service (and any preparation) to run
+     * @param requestName name for the request
+     * @param discardAction action to run if the pool is shut down before the request starts (may be null)
+     * @throws RejectedExecutionException the queue is full or the pool has been shutdown
+     */
+    void submit(Runnable request,
+                String   requestName,
+                Runnable discardAction) throws RejectedExecutionException
+    {
+        try
+        {
+            executor.execute(new QueuedRequest(request, requestName, discardAction));
+        }
+        catch (RejectedExecutionException error)
+        {
+            rejectedRequestCount.incrementAndGet();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Return the number of governance services that are currently running.
+     *
+     * @return count
+     */
+    int getActiveRequestCount()
+    {
+        return activeRequestCount.get();
+    }
+
+
+    /**
+     * Return the number of requests waiting for a governance service to finish.
+     *
+     * @return count
+     */
+    int getQueuedRequestCount()
+    {
+        return executor.getQueue().size();
+    }
+
+
+    /**
+     * Return the number of governance services that have finished.
+     *
+     * @return count
+     */
+    long getCompletedRequestCount()
+    {
+        return completedRequestCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that were rejected because the queue was full.
+     *
+     * @return count
+     */
+    long getRejectedRequestCount()
+    {
+        return rejectedRequestCount.get();
+    }
+
+
+    /**
+     * Return the average time in milliseconds that the requests started so far waited in the queue.
+     *
+     * @return milliseconds
+     */
+    long getAverageQueueWaitTime()
+    {
+        long startedRequests = startedRequestCount.get();
+
+        if (startedRequests == 0)
+        {
+            return 0L;
+        }
+
+        return totalQueueWaitTime.get() / startedRequests;
+    }
+
+
+    /**
+     * Stop the worker threads.  Running governance services are interrupted.  Queued requests are discarded
+     * and their discard actions run so that the requests are not left waiting for a worker that will never
+     * start them.
+     *
+     * @return number of queued requests that were discarded
+     */
+    int shutdown()
+    {
+        List<Runnable> discardedRequests = executor.shutdownNow();
+
+        for (Runnable discardedRequest : discardedRequests)
+        {
+            if (discardedRequest instanceof QueuedRequest)
+            {
+                ((QueuedRequest) discardedRequest).discard();
+            }
+        }
+
+        return discardedRequests.size();
+    }
+
+
+    /**
+     * QueuedRequest wraps a governance service while it waits for a worker thread and maintains the pool's
+     * counts when it runs.
+     */
+    private class QueuedRequest implements Runnable
+    {
+        private final Runnable request;
+        private final String   requestName;
+        private final Runnable discardAction;
+        private final long     queuedTime = System.currentTimeMillis();
+
+
+        /**
+         * Constructor records the request.
+         *
+         * @param request governance service (and any preparation) to run
+         * @param requestName name for the request
+         * @param discardAction action to run if the request is discarded (may be null)
+         */
+        QueuedRequest(Runnable request,
+                      String   requestName,
+                      Runnable discardAction)
+        {
+            this.request = request;
+            this.requestName = requestName;
+            this.discardAction = discardAction;
+        }
+
+
+        /**
+         * Run the governance service on the worker thread.
+         */
+        @Override
+        public void run()
+        {
+            totalQueueWaitTime.addAndGet(System.currentTimeMillis() - queuedTime);
+            startedRequestCount.incrementAndGet();
+            activeRequestCount.incrementAndGet();
+
+            Thread currentThread  = Thread.currentThread();
+            String workerName     = currentThread.getName();
+
+            currentThread.setName(requestName);
+
+            try
+            {
+                request.run();
+            }
+            finally
+            {
+                currentThread.setName(workerName);
+                activeRequestCount.decrementAndGet();
+                completedRequestCount.incrementAndGet();
+            }
+        }
+
+
+        /**
+         * The request will not run because the pool is shutting down.
+         */
+        void discard()
+        {
+            if (discardAction != null)
+            {
+                discardAction.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify the bounds of the governance service worker pool, the rejection of requests when it is full,
+ * its counters and the handling of queued requests when it shuts down.
+ */
+public class GovernanceServiceWorkerPoolTest
+{
+    private static final long waitSeconds = 10;
+
+
+    @Test
+    void testRequestsAreBoundedAndCounted() throws Exception
+    {
+        GovernanceServiceWorkerPool workerPool   = new GovernanceServiceWorkerPool("testEngine", 1, 1, false);
+        CountDownLatch              started      = new CountDownLatch(1);
+        CountDownLatch              release      = new CountDownLatch(1);
+        CountDownLatch              finished     = new CountDownLatch(2);
+        AtomicInteger               discardCount = new AtomicInteger(0);
+
+        try
+        {
+            workerPool.submit(() -> awaitRelease(started, release, finished), "request1", discardCount::incrementAndGet);
+            assertTrue(started.await(waitSeconds, TimeUnit.SECONDS));
+
+            workerPool.submit(finished::countDown, "request2", discardCount::incrementAndGet);
+
+            assertEquals(workerPool.getActiveRequestCount(), 1);
+            assertEquals(workerPool.getQueuedRequestCount(), 1);
+
+            /*
+             * The single worker is busy and the queue is full.
+             */
+            assertThrows(RejectedExecutionException.class,
+                         () -> workerPool.submit(finished::countDown, "request3", discardCount::incrementAndGet));
+            assertEquals(workerPool.getRejectedRequestCount(), 1L);
+
+            release.countDown();
+            assertTrue(finished.await(waitSeconds, TimeUnit.SECONDS));
+
+            awaitCompletedRequests(workerPool, 2);
+
+            assertEquals(workerPool.getActiveRequestCount(), 0);
+            assertEquals(workerPool.getQueuedRequestCount(), 0);
+            assertEquals(workerPool.getCompletedRequestCount(), 2L);
+            assertTrue(workerPool.getAverageQueueWaitTime() >= 0L);
+            assertEquals(discardCount.get(), 0);
+        }
+        finally
+        {
+            release.countDown();
+            workerPool.shutdown();
+        }
+    }
+
+
+    @Test
+    void testThreadIsNamedAfterRequest() throws Exception
+    {
+        GovernanceServiceWorkerPool workerPool = new GovernanceServiceWorkerPool("testEngine", 0, 0, false);
+        CountDownLatch              finished   = new CountDownLatch(1);
+        String[]                    threadName = new String[1];
+
+        try
+        {
+            workerPool.submit(() ->
+                              {
+                                  threadName[0] = Thread.currentThread().getName();
+                                  finished.countDown();
+                              },
+                              "namedRequest",
+                              null);
+
+            assertTrue(finished.await(waitSeconds, TimeUnit.SECONDS));
+            assertEquals(threadName[0], "namedRequest");
+        }
+        finally
+        {
+            workerPool.shutdown();
+        }
+    }
+
+
+    @Test
+    void testQueuedRequestsAreDiscardedOnShutdown() throws Exception
+    {
+        GovernanceServiceWorkerPool workerPool   = new GovernanceServiceWorkerPool("testEngine", 1, 5, false);
+        CountDownLatch              started      = new CountDownLatch(1);
+        CountDownLatch              release      = new CountDownLatch(1);
+        AtomicInteger               runCount     = new AtomicInteger(0);
+        AtomicInteger               discardCount = new AtomicInteger(0);
+
+        workerPool.submit(() -> awaitRelease(started, release, new CountDownLatch(1)), "running", discardCount::incrementAndGet);
+        assertTrue(started.await(waitSeconds, TimeUnit.SECONDS));
+
+        workerPool.submit(runCount::incrementAndGet, "queued1", discardCount::incrementAndGet);
+        workerPool.submit(runCount::incrementAndGet, "queued2", discardCount::incrementAndGet);
+        workerPool.submit(runCount::incrementAndGet, "queued3", null);
+
+        /*
+         * The running request is interrupted rather than discarded.
+         */
+        assertEquals(workerPool.shutdown(), 3);
+        assertEquals(discardCount.get(), 2);
+        assertEquals(runCount.get(), 0);
+
+        assertThrows(RejectedExecutionException.class,
+                     () -> workerPool.submit(runCount::incrementAndGet, "afterShutdown", discardCount::incrementAndGet));
+    }
+
+
+    /**
+     * Body of a request that holds its worker thread until it is released (or interrupted).
+     *
+     * @param started counted down when the request starts
+     * @param release latch that releases the request
+     * @param finished counted down when the request finishes
+     */
+    private void awaitRelease(CountDownLatch started,
+                              CountDownLatch release,
+                              CountDownLatch finished)
+    {
+        started.countDown();
+
+        try
+        {
+            release.await(waitSeconds, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        finished.countDown();
+    }
+
+
+    /**
+     * The completed count is updated after the request's own code finishes so wait for it to catch up.
+     *
+     * @param workerPool pool to test
+     * @param expectedCount number of requests expected to complete
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void awaitCompletedRequests(GovernanceServiceWorkerPool workerPool,
+                                        long                        expectedCount) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        while ((workerPool.getCompletedRequestCount() < expectedCount) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -31,6 +31,8 @@ public class IntegrationConnectorReport implements Serializable
     private Date                       lastStatusChange         = null;
     private Date                       lastRefreshTime          = null;
     private long                       minMinutesBetweenRefresh = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       refreshOverrunCount      = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
 
@@ -57,6 +59,8 @@ public class IntegrationConnectorReport implements Serializable
             lastStatusChange         = template.getLastStatusChange();
             lastRefreshTime          = template.getLastRefreshTime();
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            refreshOverrunCount      = template.getRefreshOverrunCount();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
         }
@@ -177,6 +181,52 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the time in milliseconds that the last call to refresh took to complete.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up the time in milliseconds that the last call to refresh took to complete.
+     *
+     * @param lastRefreshDuration milliseconds
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of calls to refresh that took longer than the minimum time between refreshes.
+     * Each of these delays the next refresh of the connector.
+     *
+     * @return count
+     */
+    public long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
+    /**
+     * Set up the number of calls to refresh that took longer than the minimum time between refreshes.
+     * Each of these delays the next refresh of the connector.
+     *
+     * @param refreshOverrunCount count
+     */
+    public void setRefreshOverrunCount(long refreshOverrunCount)
+    {
+        this.refreshOverrunCount = refreshOverrunCount;
+    }
+
+
     /**
      * Return the message extracted from an exception returned by the connector.  This is only set if the connectorStatus
      * is FAILED.  The full exception is logged in the server's audit log.
@@ -237,6 +287,8 @@ public class IntegrationConnectorReport implements Serializable
                 ", lastStatusChange=" + lastStatusChange +
                 ", lastRefreshTime=" + lastRefreshTime +
                 ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
+                ", lastRefreshDuration=" + lastRefreshDuration +
+                ", refreshOverrunCount=" + refreshOverrunCount +
                 ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                 ", statistics=" + statistics +
                 '}';
@@ -262,6 +314,8 @@ public class IntegrationConnectorReport implements Serializable
         }
         IntegrationConnectorReport that = (IntegrationConnectorReport) objectToCompare;
         return minMinutesBetweenRefresh == that.minMinutesBetweenRefresh &&
+                lastRefreshDuration == that.lastRefreshDuration &&
+                refreshOverrunCount == that.refreshOverrunCount &&
                 Objects.equals(connectorName, that.connectorName) &&
                 connectorStatus == that.connectorStatus &&
                 Objects.equals(lastStatusChange, that.lastStatusChange) &&
@@ -279,6 +333,7 @@ public class IntegrationConnectorReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, lastRefreshDuration,
+                            refreshOverrunCount, failingExceptionMessage, statistics);
     }
 }
@@ -57,7 +57,9 @@ public class IntegrationConnectorHandler implements Serializable
     private Date                                lastStatusChange                    = null;
     private String                              failingExceptionMessage             = null;
     private Map<String, Object>                 statistics                          = null;
-    private Date                                lastRefreshTime                     = null;
+    private volatile Date                       lastRefreshTime                     = null;
+    private volatile long                       lastRefreshDuration                 = 0L;
+    private volatile long                       refreshOverrunCount                 = 0L;
 
 
     /**
@@ -164,6 +166,28 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the time in milliseconds that the last call to refresh took to complete.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of calls to refresh that took longer than the minimum time between refreshes.
+     *
+     * @return count
+     */
+    long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
     /**
      * Return the configured minimum time between calls to refresh.  This gives an indication of when the
      * next refresh is due.  Null means refresh is only called at server start up and in response to an API request.
@@ -439,7 +463,16 @@ public class IntegrationConnectorHandler implements Serializable
                     }
                 }
 
+                long refreshStartTime = System.currentTimeMillis();
+
                 integrationConnector.refresh();
+
+                this.lastRefreshDuration = System.currentTimeMillis() - refreshStartTime;
+
+                if ((minMinutesBetweenRefresh > 0) && (lastRefreshDuration > minMinutesBetweenRefresh * 60000))
+                {
+                    this.refreshOverrunCount++;
+                }
             }
 
             this.lastRefreshTime = new Date();
@@ -533,6 +566,7 @@ public class IntegrationConnectorHandler implements Serializable
         this.failingExceptionMessage             = null;
         this.statistics                          = null;
         this.lastRefreshTime                     = null;
+        this.lastRefreshDuration                 = 0L;
     }
 
 
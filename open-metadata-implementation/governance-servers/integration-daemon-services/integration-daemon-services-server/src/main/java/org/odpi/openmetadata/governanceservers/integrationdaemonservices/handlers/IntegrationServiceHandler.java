@@ -146,6 +146,8 @@ public class IntegrationServiceHandler
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setRefreshOverrunCount(connectorHandler.getRefreshOverrunCount());
 
                     connectorReports.add(connectorReport);
                 }
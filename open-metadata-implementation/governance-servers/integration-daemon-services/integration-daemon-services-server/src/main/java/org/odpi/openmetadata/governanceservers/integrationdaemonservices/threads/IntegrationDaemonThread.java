@@ -4,6 +4,7 @@
 package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.ffdc.IntegrationDaemonServicesAuditCode;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
 import org.slf4j.Logger;
@@ -11,17 +12,27 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ *
+ * The daemon thread works out when each connector's refresh is due and hands it to a pool of refresh workers,
+ * so a connector with a long-running refresh does not delay the refresh of the other connectors.
+ * A connector is not scheduled again until its previous refresh has completed.
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    private static final int MAX_REFRESH_WORKERS = 10;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
     private AuditLog                          auditLog;
@@ -29,6 +40,9 @@ public class IntegrationDaemonThread implements Runnable
 
     private final AtomicBoolean running = new AtomicBoolean(false);
 
+    private final Set<IntegrationConnectorHandler> refreshingConnectors = ConcurrentHashMap.newKeySet();
+    private ExecutorService                        refreshWorkers       = null;
+
 
     /**
      * Constructor provides access to the variables needed to run the connector.
@@ -78,6 +92,9 @@ public class IntegrationDaemonThread implements Runnable
 
         running.set(true);
 
+        int workerCount = Math.max(1, Math.min(connectorHandlers.size(), MAX_REFRESH_WORKERS));
+        refreshWorkers = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory(integrationDaemonName + "::IntegrationDaemonRefreshWorker-"));
+
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
@@ -87,32 +104,22 @@ public class IntegrationDaemonThread implements Runnable
 
             for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
             {
-                if (connectorHandler != null)
+                if ((connectorHandler != null) && (! refreshingConnectors.contains(connectorHandler)))
                 {
-                    try
+                    if (connectorHandler.getLastRefreshTime() == null)
                     {
-                        if (connectorHandler.getLastRefreshTime() == null)
-                        {
-                            connectorHandler.refreshConnector(actionDescription, true);
-                        }
-                        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
-                        {
-                            long nextRefreshTime =
-                                    connectorHandler.getLastRefreshTime().getTime() +
-                                            (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
-
-                            if (nextRefreshTime < now.getTime())
-                            {
-                                connectorHandler.refreshConnector(actionDescription, false);
-                            }
-                        }
+                        scheduleRefresh(connectorHandler, actionDescription, true);
                     }
-                    catch (Exception error)
+                    else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
                     {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                  error.getClass().getName(),
-                                                                                                                                  error.getMessage()));
+                        long nextRefreshTime =
+                                connectorHandler.getLastRefreshTime().getTime() +
+                                        (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
+
+                        if (nextRefreshTime < now.getTime())
+                        {
+                            scheduleRefresh(connectorHandler, actionDescription, false);
+                        }
                     }
                 }
             }
@@ -120,12 +127,61 @@ public class IntegrationDaemonThread implements Runnable
             waitToRetry();
         }
 
+        refreshWorkers.shutdown();
+
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
 
     }
 
 
+    /**
+     * Pass the refresh of a connector to the refresh workers.  The connector is recorded as refreshing until
+     * the refresh completes so that it is not scheduled again in the meantime.
+     *
+     * @param connectorHandler connector to refresh
+     * @param actionDescription calling activity
+     * @param firstCall is this the first call to refresh?
+     */
+    private void scheduleRefresh(IntegrationConnectorHandler connectorHandler,
+                                 String                      actionDescription,
+                                 boolean                     firstCall)
+    {
+        refreshingConnectors.add(connectorHandler);
+
+        try
+        {
+            refreshWorkers.execute(() ->
+                                   {
+                                       try
+                                       {
+                                           connectorHandler.refreshConnector(actionDescription, firstCall);
+                                       }
+                                       catch (Exception error)
+                                       {
+                                           auditLog.logMessage(actionDescription,
+                                                               IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                                                     error.getClass().getName(),
+                                                                                                                                                     error.getMessage()));
+                                       }
+                                       finally
+                                       {
+                                           refreshingConnectors.remove(connectorHandler);
+                                       }
+                                   });
+        }
+        catch (Exception error)
+        {
+            refreshingConnectors.remove(connectorHandler);
+
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+    }
+
+
     /**
      * Wait before retrying ...
      */
@@ -0,0 +1,138 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationConnectorConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.PermittedSynchronization;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestIntegrationConnectorHandler stands in for an integration connector in the tests of the integration daemon.
+ * It has no connector.  Once it has been refreshed, it is due for refresh every time the integration daemon checks.
+ * A handler created with a release latch does not complete a refresh until the latch is released.  The handler
+ * records the number of refreshes, the largest number of refreshes that ran at the same time and the threads
+ * that ran them.
+ */
+public class TestIntegrationConnectorHandler extends IntegrationConnectorHandler
+{
+    private static final long waitSeconds = 10;
+
+    private final CountDownLatch refreshRelease;
+    private final AtomicInteger  refreshCount           = new AtomicInteger(0);
+    private final AtomicInteger  activeRefreshCount     = new AtomicInteger(0);
+    private final AtomicInteger  maxConcurrentRefreshes = new AtomicInteger(0);
+    private final List<String>   refreshThreadNames     = new CopyOnWriteArrayList<>();
+    private volatile Date        lastTestRefreshTime    = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param connectorName name of the connector
+     * @param integrationDaemonName name of the integration daemon
+     * @param refreshRelease latch that holds up each refresh until it is released - null means do not wait
+     * @param auditLog logging destination
+     */
+    public TestIntegrationConnectorHandler(String         connectorName,
+                                           String         integrationDaemonName,
+                                           CountDownLatch refreshRelease,
+                                           AuditLog       auditLog)
+    {
+        super(getConfig(connectorName), "Test Integration Service", null, integrationDaemonName, null, auditLog);
+
+        this.refreshRelease = refreshRelease;
+    }
+
+
+    private static IntegrationConnectorConfig getConfig(String connectorName)
+    {
+        IntegrationConnectorConfig config = new IntegrationConnectorConfig();
+
+        config.setConnectorName(connectorName);
+        config.setPermittedSynchronization(PermittedSynchronization.BOTH_DIRECTIONS);
+
+        return config;
+    }
+
+
+    /**
+     * Record the refresh and wait for the release latch.
+     *
+     * @param actionDescription external caller's activity
+     * @param firstCall is this the first call to refresh?
+     */
+    @Override
+    public void refreshConnector(String   actionDescription,
+                                 boolean  firstCall)
+    {
+        refreshThreadNames.add(Thread.currentThread().getName());
+        refreshCount.incrementAndGet();
+        maxConcurrentRefreshes.accumulateAndGet(activeRefreshCount.incrementAndGet(), Math::max);
+
+        try
+        {
+            if (refreshRelease != null)
+            {
+                refreshRelease.await(waitSeconds, TimeUnit.SECONDS);
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            activeRefreshCount.decrementAndGet();
+            lastTestRefreshTime = new Date(0);
+        }
+    }
+
+
+    /**
+     * Return the time of the last refresh.  A refreshed handler reports a time long ago so it is always due.
+     *
+     * @return date or null if not refreshed yet
+     */
+    @Override
+    public Date getLastRefreshTime()
+    {
+        return lastTestRefreshTime;
+    }
+
+
+    /**
+     * Return the minimum minutes between refreshes.
+     *
+     * @return 1 minute
+     */
+    @Override
+    public long getMinMinutesBetweenRefresh()
+    {
+        return 1;
+    }
+
+
+    public int getRefreshCount()
+    {
+        return refreshCount.get();
+    }
+
+
+    public int getMaxConcurrentRefreshes()
+    {
+        return maxConcurrentRefreshes.get();
+    }
+
+
+    public List<String> getRefreshThreadNames()
+    {
+        return refreshThreadNames;
+    }
+}
@@ -0,0 +1,110 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.TestIntegrationConnectorHandler;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the IntegrationDaemonThread refreshes its connectors on the refresh workers, so a connector with a
+ * long-running refresh does not stop the other connectors from refreshing, and that a connector is never
+ * refreshed again while its previous refresh is still running.
+ */
+public class IntegrationDaemonThreadTest
+{
+    private static final long   waitSeconds       = 10;
+    private static final String daemonName        = "testDaemon";
+    private static final String workerThreadStart = "testDaemon::IntegrationDaemonRefreshWorker-";
+
+
+    @Test
+    void testSlowConnectorDoesNotDelayOthers() throws Exception
+    {
+        AuditLog                        auditLog      = new AuditLog(new TestAuditLogDestination(), 0, "IntegrationDaemonThreadTest", "Test audit log", null);
+        CountDownLatch                  slowRelease   = new CountDownLatch(1);
+        TestIntegrationConnectorHandler slowConnector = new TestIntegrationConnectorHandler("slowConnector", daemonName, slowRelease, auditLog);
+        TestIntegrationConnectorHandler fastConnector = new TestIntegrationConnectorHandler("fastConnector", daemonName, null, auditLog);
+
+        List<IntegrationConnectorHandler> connectorHandlers = Arrays.asList(slowConnector, fastConnector);
+        IntegrationDaemonThread           daemonThread      = new IntegrationDaemonThread(daemonName, connectorHandlers, auditLog);
+
+        daemonThread.start();
+
+        try
+        {
+            /*
+             * The fast connector is due each time the daemon checks, which is once a second.
+             */
+            assertTrue(waitFor(() -> fastConnector.getRefreshCount() >= 3));
+
+            assertEquals(slowConnector.getRefreshCount(), 1);
+
+            slowRelease.countDown();
+
+            assertTrue(waitFor(() -> slowConnector.getRefreshCount() >= 2));
+
+            assertEquals(slowConnector.getMaxConcurrentRefreshes(), 1);
+            assertEquals(fastConnector.getMaxConcurrentRefreshes(), 1);
+
+            for (String threadName : fastConnector.getRefreshThreadNames())
+            {
+                assertTrue(threadName.startsWith(workerThreadStart), threadName);
+            }
+        }
+        finally
+        {
+            slowRelease.countDown();
+            daemonThread.stop();
+        }
+    }
+
+
+    /**
+     * Wait for a condition to become true.
+     *
+     * @param condition condition to test
+     * @return whether the condition became true before the wait ended
+     * @throws InterruptedException interrupted while waiting
+     */
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        while ((! condition.getAsBoolean()) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        return condition.getAsBoolean();
+    }
+
+
+    /**
+     * TestAuditLogDestination discards the audit log records.
+     */
+    private static class TestAuditLogDestination extends AuditLogDestination
+    {
+        TestAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }
+}
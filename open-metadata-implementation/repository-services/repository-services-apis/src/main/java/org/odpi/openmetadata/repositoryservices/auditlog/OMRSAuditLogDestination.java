@@ -15,17 +15,49 @@ import org.slf4j.LoggerFactory;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * OMRSAuditLogDestination provides information needed to log records to the configured audit log destinations
  * for a specific server instance.
+ * <p>
+ * Log records are passed to the audit log stores by a writer thread so that the components logging them are not
+ * held up by the stores' I/O.  The records are queued in a bounded buffer and the writer thread passes them to the
+ * stores in batches, in the order they were logged.  If the buffer is full, records of the high volume severities
+ * (Information, Event, Trace and PerfMon) are dropped and all other records wait for space in the buffer.
+ * Once the destination is disconnected, records are passed to the stores on the caller's thread.
  */
 public class OMRSAuditLogDestination extends AuditLogDestination
 {
-    private final OMRSAuditLogRecordOriginator omrsOriginator = new OMRSAuditLogRecordOriginator();
-    private       List<OMRSAuditLogStore>      auditLogStores = null;
+    private static final int  bufferSize          = 10000;
+    private static final int  maxBatchSize        = 500;
+    private static final long writerPollInterval  = 1000;
+    private static final long dropWarningInterval = 1000;
+
+    private static final Set<String> droppableSeverities = new HashSet<>();
+
+    static
+    {
+        droppableSeverities.add(OMRSAuditLogRecordSeverity.INFO.getName());
+        droppableSeverities.add(OMRSAuditLogRecordSeverity.EVENT.getName());
+        droppableSeverities.add(OMRSAuditLogRecordSeverity.TRACE.getName());
+        droppableSeverities.add(OMRSAuditLogRecordSeverity.PERFMON.getName());
+    }
+
+    private final OMRSAuditLogRecordOriginator      omrsOriginator         = new OMRSAuditLogRecordOriginator();
+    private       List<OMRSAuditLogStore>           auditLogStores         = null;
+    private final BlockingQueue<OMRSAuditLogRecord> pendingLogRecords      = new ArrayBlockingQueue<>(bufferSize);
+    private final AtomicLong                        droppedLogRecordCount  = new AtomicLong(0);
+    private       Thread                            writerThread           = null;
+    private volatile boolean                        isRunning              = false;
 
     private static final Logger log = LoggerFactory.getLogger(OMRSAuditLogDestination.class);
 
@@ -67,6 +99,12 @@ public class OMRSAuditLogDestination extends AuditLogDestination
         if (auditLogStores != null)
         {
             this.auditLogStores = new ArrayList<>(auditLogStores);
+
+            isRunning = true;
+
+            writerThread = new Thread(this::writeLogRecords, "OMRSAuditLogWriter:" + localServerName);
+            writerThread.setDaemon(true);
+            writerThread.start();
         }
     }
 
@@ -116,20 +154,178 @@ public class OMRSAuditLogDestination extends AuditLogDestination
     {
         if (auditLogStores != null)
         {
-            for (OMRSAuditLogStore auditLogStore : auditLogStores)
+            if ((! isRunning) || (Thread.currentThread() == writerThread))
             {
-                if (auditLogStore != null)
+                /*
+                 * Either there is no writer thread, or this record is logged by an audit log store while the
+                 * writer thread is passing it a batch.  In the second case, waiting for space in the buffer
+                 * would block the writer thread on its own queue.
+                 */
+                this.storeLogRecordAfterPending(logRecord);
+            }
+            else if (! pendingLogRecords.offer(logRecord))
+            {
+                if (droppableSeverities.contains(logRecord.getSeverity()))
+                {
+                    long droppedCount = droppedLogRecordCount.incrementAndGet();
+
+                    if (droppedCount % dropWarningInterval == 1)
+                    {
+                        log.warn("The audit log buffer is full; " + droppedCount + " audit log records have been dropped so far.  Latest: " + logRecord);
+                    }
+                }
+                else
                 {
                     try
                     {
-                        auditLogStore.storeLogRecord(new OMRSAuditLogRecord(logRecord));
+                        pendingLogRecords.put(logRecord);
                     }
-                    catch (Exception error)
+                    catch (InterruptedException error)
                     {
-                        log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
+                        Thread.currentThread().interrupt();
+
+                        this.storeLogRecordAfterPending(logRecord);
                     }
                 }
             }
+
+            /*
+             * The writer thread may have stopped while the record was being queued.
+             */
+            if (! isRunning)
+            {
+                this.writePendingLogRecords();
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of log records that have been dropped because the buffer was full.
+     *
+     * @return count of log records
+     */
+    public long getDroppedLogRecordCount()
+    {
+        return droppedLogRecordCount.get();
+    }
+
+
+    /**
+     * Stop the writer thread once it has passed the queued log records to the audit log stores.  Any log records
+     * added after this call are passed to the stores on the caller's thread.
+     */
+    public void disconnect()
+    {
+        isRunning = false;
+
+        if ((writerThread != null) && (writerThread != Thread.currentThread()))
+        {
+            try
+            {
+                writerThread.join(writerPollInterval * 2);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        this.writePendingLogRecords();
+    }
+
+
+    /**
+     * Main loop of the writer thread.  It waits for log records and passes them to the audit log stores
+     * in batches until the destination is disconnected.
+     */
+    private void writeLogRecords()
+    {
+        while (isRunning)
+        {
+            try
+            {
+                OMRSAuditLogRecord logRecord = pendingLogRecords.poll(writerPollInterval, TimeUnit.MILLISECONDS);
+
+                if (logRecord != null)
+                {
+                    List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+
+                    logRecords.add(logRecord);
+                    pendingLogRecords.drainTo(logRecords, maxBatchSize - 1);
+
+                    this.storeLogRecords(logRecords);
+                }
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Audit log writer interrupted");
+            }
+            catch (Exception error)
+            {
+                log.error("Error: " + error + " in audit log writer thread");
+            }
+        }
+    }
+
+
+    /**
+     * Pass any queued log records to the audit log stores.
+     */
+    private synchronized void writePendingLogRecords()
+    {
+        List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+
+        pendingLogRecords.drainTo(logRecords);
+
+        if (! logRecords.isEmpty())
+        {
+            this.storeLogRecords(logRecords);
+        }
+    }
+
+
+    /**
+     * Pass a log record to the audit log stores on the caller's thread.  Any queued log records were logged
+     * before this one so they are passed to the stores first.
+     *
+     * @param logRecord log record to store
+     */
+    private synchronized void storeLogRecordAfterPending(OMRSAuditLogRecord logRecord)
+    {
+        this.writePendingLogRecords();
+        this.storeLogRecords(Collections.singletonList(logRecord));
+    }
+
+
+    /**
+     * Pass a batch of log records to each of the audit log stores.  Each store receives its own copy of the
+     * records.  Calls are serialized so the stores see the records in the order they were logged.
+     *
+     * @param logRecords log records to store
+     */
+    private synchronized void storeLogRecords(List<OMRSAuditLogRecord> logRecords)
+    {
+        for (OMRSAuditLogStore auditLogStore : auditLogStores)
+        {
+            if (auditLogStore != null)
+            {
+                List<OMRSAuditLogRecord> storeLogRecords = new ArrayList<>(logRecords.size());
+
+                for (OMRSAuditLogRecord logRecord : logRecords)
+                {
+                    storeLogRecords.add(new OMRSAuditLogRecord(logRecord));
+                }
+
+                try
+                {
+                    auditLogStore.storeLogRecords(storeLogRecords);
+                }
+                catch (Exception error)
+                {
+                    log.error("Error: " + error + " writing " + logRecords.size() + " audit log records to destination " + auditLogStore.getClass().getName());
+                }
+            }
         }
     }
 
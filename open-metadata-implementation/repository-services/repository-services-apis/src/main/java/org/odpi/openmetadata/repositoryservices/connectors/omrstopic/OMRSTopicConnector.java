@@ -2,7 +2,11 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.auditlog.ComponentDescription;
@@ -25,6 +29,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorExc
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -62,6 +67,16 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 {
     private static final Logger       log      = LoggerFactory.getLogger(OMRSTopicConnector.class);
 
+    /*
+     * ObjectReader and ObjectWriter are immutable and thread-safe so they are shared by all topic connectors.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader eventReader  = objectMapper.readerFor(OMRSEventBean.class);
+    private static final ObjectWriter eventWriter  = objectMapper.writer();
+
+    private static final String ORIGINATOR_PROPERTY             = "originator";
+    private static final String METADATA_COLLECTION_ID_PROPERTY = "metadataCollectionId";
+
     private List<Connector> embeddedConnectors = null;
 
     private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
@@ -70,6 +85,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
     private String                    topicName = "<Unknown>";
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
+    private volatile String           ignoredMetadataCollectionId = null;
 
     protected AuditLog auditLog = null;
 
@@ -222,6 +238,20 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Set up the metadata collection id of the events that are not to be passed to the listeners.  This is typically
+     * the local metadata collection id of a cohort member since it receives the events it sent on the cohort topics
+     * and its listeners ignore them.  These events are discarded as soon as the originator has been read from
+     * the event.
+     *
+     * @param metadataCollectionId unique identifier of the metadata collection; null means pass all events on
+     */
+    public void setIgnoredMetadataCollectionId(String metadataCollectionId)
+    {
+        this.ignoredMetadataCollectionId = metadataCollectionId;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * OMRSTopicConnector needs to pass on the start() to its embedded connectors.
@@ -415,9 +445,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                String eventString = objectMapper.writeValueAsString(event);
+                String eventString = eventWriter.writeValueAsString(event);
 
                 if ((auditLog != null) && (logEvent))
                 {
@@ -485,9 +513,19 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                /*
+                 * Events sent by the ignored metadata collection are discarded after reading just
+                 * the originator rather than building the full event.
+                 */
+                if ((ignoredMetadataCollectionId != null) &&
+                    (ignoredMetadataCollectionId.equals(this.getOriginatorMetadataCollectionId(event))))
+                {
+                    log.debug("Ignoring event from metadata collection " + ignoredMetadataCollectionId);
+
+                    return;
+                }
 
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = eventReader.readValue(event);
             }
             catch (Exception   exception)
             {
@@ -541,6 +579,55 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Scan the top level of the JSON event for the originator's metadata collection id.  The other sections
+     * of the event are skipped without being parsed into objects.
+     *
+     * @param event inbound event
+     * @return metadata collection id or null if the event does not have an originator
+     * @throws IOException the event is not valid JSON
+     */
+    private String getOriginatorMetadataCollectionId(String event) throws IOException
+    {
+        try (JsonParser parser = objectMapper.getFactory().createParser(event))
+        {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String    fieldName  = parser.getCurrentName();
+                JsonToken fieldValue = parser.nextToken();
+
+                if ((ORIGINATOR_PROPERTY.equals(fieldName)) && (fieldValue == JsonToken.START_OBJECT))
+                {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME)
+                    {
+                        String originatorFieldName = parser.getCurrentName();
+
+                        parser.nextToken();
+
+                        if (METADATA_COLLECTION_ID_PROPERTY.equals(originatorFieldName))
+                        {
+                            return parser.getValueAsString();
+                        }
+
+                        parser.skipChildren();
+                    }
+
+                    return null;
+                }
+
+                parser.skipChildren();
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
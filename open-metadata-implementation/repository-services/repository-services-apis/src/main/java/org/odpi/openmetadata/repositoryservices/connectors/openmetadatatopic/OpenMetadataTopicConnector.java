@@ -6,6 +6,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
@@ -26,7 +30,10 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should call the protected addIncomingEvent() method as each event arrives.
+ *         The listener thread blocks on the queue of incoming events, so events are passed to the listeners
+ *         as soon as they are added, in batches of all of the events that are waiting.  (Connectors that
+ *         override checkForIncomingEvents() instead are polled every sleepTime milliseconds.)
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -51,6 +58,12 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                          listenerThreadName = defaultThreadName;
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
+    private int                             maxBatchSize       = 1000;
+
+    private final BlockingQueue<IncomingEvent> incomingEventQueue     = new LinkedBlockingQueue<>();
+    private final AtomicLong                   dispatchedEventCount   = new AtomicLong(0);
+    private final AtomicLong                   totalDispatchLatency   = new AtomicLong(0);
+    private final AtomicLong                   maximumDispatchLatency = new AtomicLong(0);
 
     protected AuditLog auditLog = null;
 
@@ -110,25 +123,35 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
             {
                 try
                 {
-                    List<IncomingEvent> receivedEvents = checkForIncomingEvents();
-
-                    if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
-                    {
-                        for (IncomingEvent event : receivedEvents)
-                        {
-                            if (event != null)
-                            {
-                                this.distributeEvent(event);
-                            }
-                        }
-                    }
+                    this.distributeEvents(checkForIncomingEvents());
                 }
                 catch (Throwable   error)
                 {
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * Rather than sleeping, wait for the connector to add events to the queue.  This wakes up as
+                 * soon as an event arrives, and then takes all of the waiting events as a batch.
+                 */
+                IncomingEvent firstEvent = incomingEventQueue.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                if (firstEvent != null)
+                {
+                    List<IncomingEvent> receivedEvents = new ArrayList<>();
+
+                    receivedEvents.add(firstEvent);
+                    incomingEventQueue.drainTo(receivedEvents, maxBatchSize - 1);
+
+                    try
+                    {
+                        this.distributeEvents(receivedEvents);
+                    }
+                    catch (Throwable   error)
+                    {
+                        log.error("Bad exception from distributeEvents", error);
+                    }
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -145,6 +168,26 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Pass a batch of events that have been received on the topic to the registered listeners.
+     *
+     * @param receivedEvents list of events (may be null)
+     */
+    private void distributeEvents(List<IncomingEvent> receivedEvents)
+    {
+        if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
+        {
+            for (IncomingEvent event : receivedEvents)
+            {
+                if (event != null)
+                {
+                    this.distributeEvent(event);
+                }
+            }
+        }
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
@@ -185,6 +228,80 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         //record any asynchronous processing being done by consumers
         InternalOMRSEventProcessingContext context = InternalOMRSEventProcessingContext.getInstance();
         event.addAsyncProcessingResult(context.getOverallAsyncProcessingResult());
+
+        long dispatchLatency = System.currentTimeMillis() - event.getCreationTime();
+
+        dispatchedEventCount.incrementAndGet();
+        totalDispatchLatency.addAndGet(dispatchLatency);
+        maximumDispatchLatency.accumulateAndGet(dispatchLatency, Math::max);
+    }
+
+
+    /**
+     * Add an event received from the eventing/messaging layer to the queue of events waiting to be passed to
+     * the registered listeners.  The listener thread is woken up if it is waiting for events.
+     *
+     * @param event received event
+     */
+    protected void addIncomingEvent(IncomingEvent event)
+    {
+        if (event != null)
+        {
+            incomingEventQueue.add(event);
+        }
+    }
+
+
+    /**
+     * Return the number of received events that are waiting to be passed to the registered listeners.
+     *
+     * @return count of queued events
+     */
+    public int getIncomingEventQueueDepth()
+    {
+        return incomingEventQueue.size();
+    }
+
+
+    /**
+     * Return the number of events that have been passed to the registered listeners.
+     *
+     * @return count of dispatched events
+     */
+    public long getDispatchedEventCount()
+    {
+        return dispatchedEventCount.get();
+    }
+
+
+    /**
+     * Return the average time in milliseconds between an event being received and the registered listeners
+     * having been passed the event.
+     *
+     * @return average latency in milliseconds (zero if no events have been dispatched)
+     */
+    public long getAverageDispatchLatency()
+    {
+        long eventCount = dispatchedEventCount.get();
+
+        if (eventCount == 0)
+        {
+            return 0;
+        }
+
+        return totalDispatchLatency.get() / eventCount;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds between an event being received and the registered listeners
+     * having been passed the event.
+     *
+     * @return maximum latency in milliseconds
+     */
+    public long getMaximumDispatchLatency()
+    {
+        return maximumDispatchLatency.get();
     }
 
 
@@ -283,6 +400,13 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                 {
                     this.sleepTime = (Integer)sleepTime;
                 }
+
+                Object   maxBatchSize = configurationProperties.get("maxBatchSize");
+
+                if ((maxBatchSize instanceof Integer) && ((Integer)maxBatchSize > 0))
+                {
+                    this.maxBatchSize = (Integer)maxBatchSize;
+                }
             }
         }
 
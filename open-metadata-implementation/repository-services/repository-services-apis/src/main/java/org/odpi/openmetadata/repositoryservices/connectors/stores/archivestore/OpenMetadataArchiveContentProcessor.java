@@ -0,0 +1,78 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+/**
+ * OpenMetadataArchiveContentProcessor receives the content of an open metadata archive one element at a time.
+ * It is passed to OpenMetadataArchiveStoreConnector.processArchiveContents() so that the elements of a large
+ * archive can be processed as they are read rather than after the whole archive is in memory.
+ * <p>
+ * The elements are passed in the order that they are processed from an OpenMetadataArchive object:
+ * the archive properties first, then the attribute type definitions, the new type definitions, the type definition
+ * patches, the entities, the relationships and finally the classifications.
+ */
+public interface OpenMetadataArchiveContentProcessor
+{
+    /**
+     * Process the header properties of the archive.  This is called before any of the other elements.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Process an attribute type definition from the archive's type store.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    void processAttributeTypeDef(AttributeTypeDef attributeTypeDef);
+
+
+    /**
+     * Process a new type definition from the archive's type store.
+     *
+     * @param typeDef type definition
+     */
+    void processNewTypeDef(TypeDef typeDef);
+
+
+    /**
+     * Process a patch to an existing type definition from the archive's type store.
+     *
+     * @param typeDefPatch type definition patch
+     */
+    void processTypeDefPatch(TypeDefPatch typeDefPatch);
+
+
+    /**
+     * Process an entity from the archive's instance store.
+     *
+     * @param entity entity
+     */
+    void processEntity(EntityDetail entity);
+
+
+    /**
+     * Process a relationship from the archive's instance store.
+     *
+     * @param relationship relationship
+     */
+    void processRelationship(Relationship relationship);
+
+
+    /**
+     * Process a classification from the archive's instance store.
+     *
+     * @param classification classification and the entity it belongs to
+     */
+    void processClassification(ClassificationEntityExtension classification);
+}
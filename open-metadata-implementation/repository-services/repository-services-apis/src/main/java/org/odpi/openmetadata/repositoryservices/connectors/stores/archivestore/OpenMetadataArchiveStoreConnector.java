@@ -6,6 +6,15 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.auditlog.ComponentDescription;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 
 
 /**
@@ -45,4 +54,99 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
 
         return null;
     }
+
+
+    /**
+     * Pass the contents of the archive to the processor one element at a time.  This implementation retrieves the
+     * whole archive with getArchiveContents().  Connectors that are able to read the archive incrementally override
+     * this method so that the processing of a large archive starts straight away and does not need to hold the
+     * whole archive in memory.
+     *
+     * @param processor receiver of the archive's elements
+     * @return boolean flag - false if the archive is empty
+     */
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor processor)
+    {
+        OpenMetadataArchive archiveContents = this.getArchiveContents();
+
+        if (archiveContents == null)
+        {
+            return false;
+        }
+
+        passArchiveContents(archiveContents, processor);
+
+        return true;
+    }
+
+
+    /**
+     * Pass the elements of an archive to the processor in the order described by OpenMetadataArchiveContentProcessor.
+     * This is also used for archives that are built in memory rather than retrieved through a connector.
+     *
+     * @param archiveContents archive to process
+     * @param processor receiver of the archive's elements
+     */
+    public static void passArchiveContents(OpenMetadataArchive                 archiveContents,
+                                           OpenMetadataArchiveContentProcessor processor)
+    {
+        OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContents.getArchiveTypeStore();
+        OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContents.getArchiveInstanceStore();
+
+        processor.processArchiveProperties(archiveContents.getArchiveProperties());
+
+        if (archiveTypeStore != null)
+        {
+            if (archiveTypeStore.getAttributeTypeDefs() != null)
+            {
+                for (AttributeTypeDef attributeTypeDef : archiveTypeStore.getAttributeTypeDefs())
+                {
+                    processor.processAttributeTypeDef(attributeTypeDef);
+                }
+            }
+
+            if (archiveTypeStore.getNewTypeDefs() != null)
+            {
+                for (TypeDef typeDef : archiveTypeStore.getNewTypeDefs())
+                {
+                    processor.processNewTypeDef(typeDef);
+                }
+            }
+
+            if (archiveTypeStore.getTypeDefPatches() != null)
+            {
+                for (TypeDefPatch typeDefPatch : archiveTypeStore.getTypeDefPatches())
+                {
+                    processor.processTypeDefPatch(typeDefPatch);
+                }
+            }
+        }
+
+        if (archiveInstanceStore != null)
+        {
+            if (archiveInstanceStore.getEntities() != null)
+            {
+                for (EntityDetail entity : archiveInstanceStore.getEntities())
+                {
+                    processor.processEntity(entity);
+                }
+            }
+
+            if (archiveInstanceStore.getRelationships() != null)
+            {
+                for (Relationship relationship : archiveInstanceStore.getRelationships())
+                {
+                    processor.processRelationship(relationship);
+                }
+            }
+
+            if (archiveInstanceStore.getClassifications() != null)
+            {
+                for (ClassificationEntityExtension classification : archiveInstanceStore.getClassifications())
+                {
+                    processor.processClassification(classification);
+                }
+            }
+        }
+    }
 }
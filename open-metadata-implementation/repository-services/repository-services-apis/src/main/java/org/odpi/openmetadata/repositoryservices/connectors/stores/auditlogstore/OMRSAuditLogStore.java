@@ -44,6 +44,59 @@ public interface OMRSAuditLogStore
                                                                RepositoryErrorException;
 
 
+    /**
+     * Store a batch of audit log records in the audit log store.  The records are in the order they were logged.
+     * Stores that write to a file or a remote service can override this to write the batch in a single operation.
+     * By default, each record is stored in turn.
+     * Every record is attempted, even if an earlier one fails, and the first exception is then rethrown.
+     *
+     * @param logRecords log records to store
+     * @throws InvalidParameterException indicates that one of the log records is invalid.
+     * @throws RepositoryErrorException  indicates that the audit log store is not available or has an error.
+     */
+    default void storeLogRecords(List<OMRSAuditLogRecord> logRecords) throws InvalidParameterException,
+                                                                              RepositoryErrorException
+    {
+        InvalidParameterException invalidParameterException = null;
+        RepositoryErrorException  repositoryErrorException  = null;
+
+        if (logRecords != null)
+        {
+            for (OMRSAuditLogRecord logRecord : logRecords)
+            {
+                try
+                {
+                    this.storeLogRecord(logRecord);
+                }
+                catch (InvalidParameterException error)
+                {
+                    if ((invalidParameterException == null) && (repositoryErrorException == null))
+                    {
+                        invalidParameterException = error;
+                    }
+                }
+                catch (RepositoryErrorException error)
+                {
+                    if ((invalidParameterException == null) && (repositoryErrorException == null))
+                    {
+                        repositoryErrorException = error;
+                    }
+                }
+            }
+        }
+
+        if (invalidParameterException != null)
+        {
+            throw invalidParameterException;
+        }
+
+        if (repositoryErrorException != null)
+        {
+            throw repositoryErrorException;
+        }
+    }
+
+
     /**
      * Retrieve a specific audit log record.
      *
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacolle
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -1203,6 +1204,34 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                         RelationshipNotKnownException,
                                                                         UserNotAuthorizedException;
 
+
+    /**
+     * Return the current version of a requested relationship without waiting for the metadata repository to respond.
+     * The future completes exceptionally with one of the exceptions thrown by getRelationship.  By default, the request
+     * is issued synchronously and a completed future is returned.  Metadata collections for remote repositories
+     * override this method to issue the request without blocking the calling thread.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid String unique identifier for the relationship.
+     * @return future for the relationship structure.
+     */
+    public CompletableFuture<Relationship> getRelationshipAsync(String    userId,
+                                                                String    guid)
+    {
+        CompletableFuture<Relationship> future = new CompletableFuture<>();
+
+        try
+        {
+            future.complete(this.getRelationship(userId, guid));
+        }
+        catch (Exception error)
+        {
+            future.completeExceptionally(error);
+        }
+
+        return future;
+    }
+
     /**
      * Return a historical version of a relationship.
      *
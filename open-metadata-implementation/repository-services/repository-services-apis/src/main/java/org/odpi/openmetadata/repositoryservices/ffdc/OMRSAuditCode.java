@@ -386,6 +386,13 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                               "or a Repository Proxy that connects to a third party repository that supports this type of metadata.  " +
                               "Detail of the different types of servers are found in the admin guide."),
 
+    ARCHIVE_LOAD_PROGRESS("OMRS-AUDIT-0056",
+                          OMRSAuditLogRecordSeverity.INFO,
+                          "The Open Metadata Repository Services (OMRS) has saved {0} instances from open metadata archive {1} in {2} seconds ({3} instances per second)",
+                          "The local server is saving the instances from the open metadata archive in its local repository.  This message is " +
+                                  "logged periodically while a large archive is loaded.",
+                          "No action is required.  The server will log message OMRS-AUDIT-0053 when the archive is completely processed."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -920,6 +927,15 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                        "The local server is processing a federated query to all members of the connected cohorts.  However one of the members is not responding correctly and so it has been skipped from the call. The remote server is probably not running, or has been incorrectly configured.",
                                        "Validate the availability and configuration of the remote server.  It may be a temporary failure due to an outage in the network or the server itself.  However, if the remote server is not configured correctly, or has changed its metadata collection id, then this wil lbe a permanent error and this server will not be included in the federated query until it is fixed."),
 
+    FEDERATED_REQUEST_TIMEOUT("OMRS-AUDIT-0402",
+                              OMRSAuditLogRecordSeverity.ACTION,
+                              "Repository {0} did not respond to federated request {1} within {2} milliseconds and has been skipped",
+                              "The local server is processing a federated query to all members of the connected cohorts in parallel.  " +
+                                      "One of the members did not respond within the configured request timeout so its request has been " +
+                                      "cancelled and the results from the other members are returned.",
+                              "Validate the availability and performance of the remote server.  If the remote server is expected to take " +
+                                      "longer to respond, increase the federation request timeout in the enterprise access configuration."),
+
     PROCESS_UNKNOWN_EVENT("OMRS-AUDIT-8001",
                           OMRSAuditLogRecordSeverity.ERROR,
                           "Received unknown event: {0}",
@@ -581,6 +581,18 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    NULL_AUDIT_LOG_QUERY_PARAMETER(400, "OMRS-AUDIT-LOG-400-009",
+            "A null value has been passed as the {0} parameter of the {1} query to audit log destination {2}",
+            "The system is unable to process the query because it needs the parameter value.",
+            "Correct the caller's code and retry the query."),
+    NEGATIVE_AUDIT_LOG_QUERY_OFFSET(400, "OMRS-AUDIT-LOG-400-010",
+            "A negative offset of {0} has been passed as the {1} parameter of the {2} query to audit log destination {3}",
+            "The system is unable to process the query with this invalid value.  It should be zero for the start of the log records, or a number greater than 0 to start partway down the list.",
+            "Correct the caller's code to provide a non-negative value for the offset and retry the query."),
+    NEGATIVE_AUDIT_LOG_QUERY_PAGE_SIZE(400, "OMRS-AUDIT-LOG-400-011",
+            "A negative maximum number of records of {0} has been passed as the {1} parameter of the {2} query to audit log destination {3}",
+            "The system is unable to process the query with this invalid value.  It should be zero for no limit on the number of log records returned, or a number greater than 0 to return at most that many records.",
+            "Correct the caller's code to provide a non-negative value for the maximum number of records and retry the query."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -0,0 +1,147 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.MockOMRSAuditLogStoreConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the OMRSAuditLogDestination passes the log records to the audit log stores in the order they were
+ * logged and that an audit log store can log through the destination from the writer thread without blocking it.
+ */
+public class TestOMRSAuditLogDestination
+{
+    private static final long waitSeconds = 10;
+
+
+    /**
+     * An audit log store that logs back through the destination while the writer thread is passing it a record
+     * must not block, even when it logs more records than the buffer holds.
+     */
+    @Test(timeOut = 60000)
+    public void testStoreCanLogFromWriterThread() throws Exception
+    {
+        RecordingAuditLogStore  auditLogStore = new RecordingAuditLogStore(10001);
+        OMRSAuditLogDestination destination   = new OMRSAuditLogDestination("testServer",
+                                                                            "testServerType",
+                                                                            "testOrganization",
+                                                                            Collections.singletonList(auditLogStore));
+        auditLogStore.destination = destination;
+
+        try
+        {
+            destination.addLogRecord(createLogRecord("trigger"));
+
+            awaitStoredRecords(auditLogStore, 10002);
+
+            assertEquals(auditLogStore.messageIds.size(), 10002);
+            assertEquals(auditLogStore.messageIds.get(0), "trigger");
+            assertEquals(auditLogStore.messageIds.get(10001), "nested10001");
+            assertEquals(destination.getDroppedLogRecordCount(), 0L);
+        }
+        finally
+        {
+            destination.disconnect();
+        }
+    }
+
+
+    @Test
+    public void testRecordsAreStoredInOrder() throws Exception
+    {
+        RecordingAuditLogStore  auditLogStore = new RecordingAuditLogStore(0);
+        OMRSAuditLogDestination destination   = new OMRSAuditLogDestination("testServer",
+                                                                            "testServerType",
+                                                                            "testOrganization",
+                                                                            Collections.singletonList(auditLogStore));
+        List<String>            expectedIds   = new ArrayList<>();
+
+        for (int i = 1; i <= 100; i++)
+        {
+            destination.addLogRecord(createLogRecord("record" + i));
+            expectedIds.add("record" + i);
+        }
+
+        destination.disconnect();
+
+        /*
+         * Once the destination is disconnected, the records are stored on the caller's thread.
+         */
+        destination.addLogRecord(createLogRecord("afterDisconnect"));
+        expectedIds.add("afterDisconnect");
+
+        assertEquals(auditLogStore.messageIds, expectedIds);
+    }
+
+
+    private AuditLogRecord createLogRecord(String messageId)
+    {
+        AuditLogRecord logRecord = new AuditLogRecord();
+
+        logRecord.setMessageId(messageId);
+        logRecord.setSeverity(OMRSAuditLogRecordSeverity.ERROR.getName());
+
+        return logRecord;
+    }
+
+
+    private void awaitStoredRecords(RecordingAuditLogStore auditLogStore,
+                                    int                    expectedCount) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        while ((auditLogStore.messageIds.size() < expectedCount) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * RecordingAuditLogStore saves the message ids of the records it is passed.  When it is passed the
+     * "trigger" record, it logs the requested number of records back through the destination.
+     */
+    private static class RecordingAuditLogStore extends MockOMRSAuditLogStoreConnectorBase
+    {
+        final List<String>      messageIds = Collections.synchronizedList(new ArrayList<>());
+        final int               nestedRecordCount;
+        OMRSAuditLogDestination destination = null;
+
+
+        RecordingAuditLogStore(int nestedRecordCount)
+        {
+            this.nestedRecordCount = nestedRecordCount;
+        }
+
+
+        @Override
+        public String storeLogRecord(OMRSAuditLogRecord logRecord)
+        {
+            messageIds.add(logRecord.getMessageId());
+
+            if ("trigger".equals(logRecord.getMessageId()))
+            {
+                for (int i = 1; i <= nestedRecordCount; i++)
+                {
+                    OMRSAuditLogRecord nestedRecord = new OMRSAuditLogRecord();
+
+                    nestedRecord.setMessageId("nested" + i);
+                    nestedRecord.setSeverity(OMRSAuditLogRecordSeverity.ERROR.getName());
+                    destination.addLogRecord(nestedRecord);
+                }
+            }
+
+            return logRecord.getMessageId();
+        }
+    }
+}
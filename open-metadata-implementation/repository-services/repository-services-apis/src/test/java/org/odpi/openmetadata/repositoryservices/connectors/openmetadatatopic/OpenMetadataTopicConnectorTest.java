@@ -0,0 +1,233 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the listener thread of the OpenMetadataTopicConnector wakes up as soon as an event is added to
+ * its queue, rather than waiting for the end of its sleep time, and that the queue depth, dispatched event count
+ * and dispatch latency are reported.
+ */
+public class OpenMetadataTopicConnectorTest
+{
+    private static final long waitSeconds = 10;
+
+    /*
+     * Much longer than the test waits for an event, so an event is only seen in time if the listener wakes up.
+     */
+    private static final int  sleepTime   = 60000;
+
+
+    @Test
+    void testListenerWakesWhenEventArrives() throws Exception
+    {
+        TestTopicConnector connector = createConnector();
+        RecordingListener  listener  = new RecordingListener(1);
+
+        connector.registerListener(listener);
+        connector.start();
+
+        try
+        {
+            /*
+             * Give the listener thread time to start waiting on the empty queue.
+             */
+            Thread.sleep(200);
+
+            long start = System.currentTimeMillis();
+
+            connector.addIncomingEvent(new IncomingEvent("event1", "message1"));
+
+            assertTrue(listener.received.await(waitSeconds, TimeUnit.SECONDS));
+            assertTrue(System.currentTimeMillis() - start < sleepTime);
+            assertEquals(listener.events, Collections.singletonList("event1"));
+
+            awaitDispatchedEvents(connector, 1);
+
+            assertEquals(connector.getDispatchedEventCount(), 1L);
+            assertEquals(connector.getIncomingEventQueueDepth(), 0);
+        }
+        finally
+        {
+            stop(connector);
+        }
+    }
+
+
+    @Test
+    void testQueuedEventsAreDispatchedInOrderAndCounted() throws Exception
+    {
+        TestTopicConnector connector = createConnector();
+        RecordingListener  listener  = new RecordingListener(5);
+
+        assertEquals(connector.getDispatchedEventCount(), 0L);
+        assertEquals(connector.getAverageDispatchLatency(), 0L);
+        assertEquals(connector.getMaximumDispatchLatency(), 0L);
+
+        connector.registerListener(listener);
+
+        /*
+         * The events wait in the queue until the listener thread starts.  The batch size is smaller than the
+         * number of events so they are passed to the listener in several batches.
+         */
+        for (int i = 1; i <= 5; i++)
+        {
+            connector.addIncomingEvent(new IncomingEvent("event" + i, "message" + i));
+        }
+
+        assertEquals(connector.getIncomingEventQueueDepth(), 5);
+
+        Thread.sleep(50);
+        connector.start();
+
+        try
+        {
+            assertTrue(listener.received.await(waitSeconds, TimeUnit.SECONDS));
+            assertEquals(listener.events, Arrays.asList("event1", "event2", "event3", "event4", "event5"));
+
+            awaitDispatchedEvents(connector, 5);
+
+            assertEquals(connector.getDispatchedEventCount(), 5L);
+            assertEquals(connector.getIncomingEventQueueDepth(), 0);
+            assertTrue(connector.getAverageDispatchLatency() >= 50L);
+            assertTrue(connector.getMaximumDispatchLatency() >= connector.getAverageDispatchLatency());
+        }
+        finally
+        {
+            stop(connector);
+        }
+    }
+
+
+    @Test
+    void testFailingListenerDoesNotStopDispatch() throws Exception
+    {
+        TestTopicConnector connector = createConnector();
+        RecordingListener  listener  = new RecordingListener(2);
+
+        connector.registerListener(event -> { throw new IllegalStateException("Test failure"); });
+        connector.registerListener(listener);
+        connector.start();
+
+        try
+        {
+            connector.addIncomingEvent(new IncomingEvent("event1", "message1"));
+            connector.addIncomingEvent(new IncomingEvent("event2", "message2"));
+
+            assertTrue(listener.received.await(waitSeconds, TimeUnit.SECONDS));
+            assertEquals(listener.events, Arrays.asList("event1", "event2"));
+
+            awaitDispatchedEvents(connector, 2);
+
+            assertEquals(connector.getDispatchedEventCount(), 2L);
+        }
+        finally
+        {
+            stop(connector);
+        }
+    }
+
+
+    private TestTopicConnector createConnector()
+    {
+        Endpoint            endpoint                = new Endpoint();
+        Connection          connection              = new Connection();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        endpoint.setAddress("testTopic");
+        configurationProperties.put("sleepTime", sleepTime);
+        configurationProperties.put("maxBatchSize", 2);
+
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        TestTopicConnector connector = new TestTopicConnector();
+
+        connector.initialize("testConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    /**
+     * Disconnect the connector and wake up its listener thread so that the thread ends.
+     *
+     * @param connector connector to stop
+     * @throws Exception problem disconnecting
+     */
+    private void stop(TestTopicConnector connector) throws Exception
+    {
+        connector.disconnect();
+        connector.addIncomingEvent(new IncomingEvent("stop", "stop"));
+    }
+
+
+    /**
+     * The dispatched count is updated after the listeners are called so wait for it to catch up.
+     *
+     * @param connector connector to test
+     * @param expectedCount number of events expected to be dispatched
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void awaitDispatchedEvents(TestTopicConnector connector,
+                                       long               expectedCount) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        while ((connector.getDispatchedEventCount() < expectedCount) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * TestTopicConnector has no eventing layer.  The test adds the incoming events directly.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        @Override
+        public void sendEvent(String event)
+        {
+        }
+    }
+
+
+    /**
+     * RecordingListener saves the events it receives.
+     */
+    private static class RecordingListener implements OpenMetadataTopicListener
+    {
+        final List<String>   events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received;
+
+
+        RecordingListener(int expectedEvents)
+        {
+            this.received = new CountDownLatch(expectedEvents);
+        }
+
+
+        @Override
+        public void processEvent(String event)
+        {
+            events.add(event);
+            received.countDown();
+        }
+    }
+}
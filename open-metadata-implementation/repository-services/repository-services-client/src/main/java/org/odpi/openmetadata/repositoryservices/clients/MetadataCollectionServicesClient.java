@@ -22,6 +22,8 @@ import org.odpi.openmetadata.repositoryservices.rest.properties.*;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The MetadataCollectionServicesClient represents a remote metadata repository that supports the OMRS Repository REST API.
@@ -1207,6 +1209,44 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the header, classifications and properties of a specific entity without blocking the calling thread.
+     * The future completes exceptionally with one of the exceptions thrown by getEntityDetail.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid   String unique identifier for the entity.
+     * @return future for the EntityDetail structure.
+     */
+    public CompletableFuture<EntityDetail> getEntityDetailAsync(String userId,
+                                                                String guid)
+    {
+        final String methodName  = "getEntityDetail";
+        final String operationSpecificURL = "instances/entity/{1}";
+
+        return this.callGetRESTCallAsync(methodName,
+                                         EntityDetailResponse.class,
+                                         restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                         userId,
+                                         guid).thenApply(restResult ->
+        {
+            try
+            {
+                this.detectAndThrowInvalidParameterException(methodName, restResult);
+                this.detectAndThrowEntityNotKnownException(methodName, restResult);
+                this.detectAndThrowEntityProxyOnlyException(methodName, restResult);
+                this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+                this.detectAndThrowRepositoryErrorException(methodName, restResult);
+            }
+            catch (OMRSCheckedExceptionBase error)
+            {
+                throw new CompletionException(error);
+            }
+
+            return restResult.getEntity();
+        });
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -1929,6 +1969,43 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return a requested relationship without blocking the calling thread.
+     * The future completes exceptionally with one of the exceptions thrown by getRelationship.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid String unique identifier for the relationship.
+     * @return future for the relationship structure.
+     */
+    public CompletableFuture<Relationship> getRelationshipAsync(String    userId,
+                                                                String    guid)
+    {
+        final String methodName  = "getRelationship";
+        final String operationSpecificURL = "instances/relationship/{1}";
+
+        return this.callGetRESTCallAsync(methodName,
+                                         RelationshipResponse.class,
+                                         restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                         userId,
+                                         guid).thenApply(restResult ->
+        {
+            try
+            {
+                this.detectAndThrowInvalidParameterException(methodName, restResult);
+                this.detectAndThrowRelationshipNotKnownException(methodName, restResult);
+                this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+                this.detectAndThrowRepositoryErrorException(methodName, restResult);
+            }
+            catch (OMRSCheckedExceptionBase error)
+            {
+                throw new CompletionException(error);
+            }
+
+            return restResult.getRelationship();
+        });
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
@@ -5505,6 +5582,50 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
         }
     }
 
+    /**
+     * Issue a GET REST call that returns the requested object without blocking the calling thread.
+     * The future completes exceptionally with a RepositoryErrorException if something went wrong with
+     * the REST call stack.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called
+     * @param returnClass class name of response object
+     * @param operationSpecificURL  template of the URL for the REST API call with place-holders for the parameters
+     * @param params  a list of parameters that are slotted into the url template
+     * @return future for the response object
+     */
+    private <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    operationSpecificURL,
+                                                          Object... params)
+    {
+        return restClient.callGetRESTCallAsync(methodName,
+                                               returnClass,
+                                               operationSpecificURL,
+                                               params).handle((response, error) ->
+        {
+            if (error != null)
+            {
+                Throwable cause = error;
+
+                if ((error instanceof CompletionException) && (error.getCause() != null))
+                {
+                    cause = error.getCause();
+                }
+
+                throw new CompletionException(new RepositoryErrorException(OMRSErrorCode.CLIENT_SIDE_REST_API_ERROR.getMessageDefinition(methodName,
+                                                                                                                                         repositoryName,
+                                                                                                                                         cause.getMessage()),
+                                                                           this.getClass().getName(),
+                                                                           methodName,
+                                                                           cause));
+            }
+
+            return response;
+        });
+    }
+
+
     /**
      * Issue a POST REST call that returns the requested type of object.
      *
@@ -33,6 +33,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSConnectorProvider;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationWorkerPool;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSConnectorProvider;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
@@ -84,6 +85,7 @@ public class OMRSOperationalServices
     private OMRSRepositoryEventManager     localRepositoryEventManager         = null;
     private OMRSMetadataHighwayManager     metadataHighwayManager              = null;
     private OMRSEnterpriseConnectorManager enterpriseConnectorManager          = null;
+    private FederationWorkerPool           federationWorkerPool                = null;
     private String                         enterpriseMetadataCollectionId      = null;
     private String                         enterpriseMetadataCollectionName    = null;
     private OMRSTopicConnector             enterpriseOMRSTopicConnector        = null;
@@ -170,6 +172,7 @@ public class OMRSOperationalServices
 
                 omrsRepositoryConnector.setCallingServiceName(callingServiceName);
                 omrsRepositoryConnector.setMaxPageSize(maxPageSize);
+                omrsRepositoryConnector.setFederationWorkerPool(federationWorkerPool);
 
                 auditLog.logMessage(actionDescription, OMRSAuditCode.NEW_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
 
@@ -742,6 +745,15 @@ public class OMRSOperationalServices
              */
             enterpriseMetadataCollectionId = enterpriseAccessConfig.getEnterpriseMetadataCollectionId();
             enterpriseMetadataCollectionName = enterpriseAccessConfig.getEnterpriseMetadataCollectionName();
+
+            /*
+             * The worker pool is shared by all of the enterprise connectors in this server so that the number of threads
+             * issuing federated requests is bounded.
+             */
+            federationWorkerPool = new FederationWorkerPool(localServerName,
+                                                            enterpriseAccessConfig.getMaxFederationWorkerThreads(),
+                                                            enterpriseAccessConfig.getFederationRequestTimeout(),
+                                                            enterpriseAccessConfig.getFederationUsesVirtualThreads());
         }
 
         return enterpriseConnectorManager;
@@ -1004,6 +1016,12 @@ public class OMRSOperationalServices
             }
         }
 
+        if (federationWorkerPool != null)
+        {
+            federationWorkerPool.shutdown();
+            federationWorkerPool = null;
+        }
+
         if (archiveManager != null)
         {
             archiveManager.close();
@@ -1011,6 +1029,14 @@ public class OMRSOperationalServices
 
         auditLog.logMessage(actionDescription, OMRSAuditCode.OMRS_DISCONNECTED.getMessageDefinition());
 
+        /*
+         * Wait for the queued audit log records to reach the audit log stores.
+         */
+        if (auditLogDestination != null)
+        {
+            auditLogDestination.disconnect();
+        }
+
         return true;
     }
 
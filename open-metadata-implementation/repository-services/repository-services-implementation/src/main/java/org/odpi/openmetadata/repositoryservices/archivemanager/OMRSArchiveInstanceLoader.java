@@ -0,0 +1,387 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * OMRSArchiveInstanceLoader passes the instances from an open metadata archive to the local repository using
+ * a number of worker threads.  Each instance is assigned to a partition using its unique identifier so that
+ * the different versions of an instance are saved in the order that they appear in the archive.  The instances
+ * for a partition are collected into batches and each partition has its own worker thread.  The entities and
+ * relationships in a batch are passed to the local repository together so that it can save them in bulk.
+ * <p>
+ * A relationship to an entity that is not in the archive causes the repository to create a proxy for the entity.
+ * These relationships are all assigned to the same partition so that two worker threads never create a proxy for
+ * the same entity at the same time.
+ * <p>
+ * The number of batches waiting for a worker thread is limited so that the reading of the archive is slowed down
+ * if the local repository can not keep up.  The caller uses waitForInstances() between the entities, relationships
+ * and classifications so that the entities are stored before the relationships that link them.
+ */
+class OMRSArchiveInstanceLoader
+{
+    /**
+     * Default number of worker threads (partitions).  Saving reference copies is mostly waiting on the repository
+     * so there are at least four threads even on a small machine.
+     */
+    static final int  DEFAULT_WORKER_THREADS   = Math.min(8, Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Default number of instances passed to a worker thread together.
+     */
+    static final int  DEFAULT_BATCH_SIZE       = 200;
+
+    /**
+     * Default number of batches for each worker thread that can be waiting to run.
+     */
+    static final int  DEFAULT_QUEUED_BATCHES   = 4;
+
+    /**
+     * Number of instances between progress messages in the audit log.
+     */
+    static final long PROGRESS_INTERVAL        = 100000L;
+
+    /**
+     * Partition for the relationships that need a proxy for one of their entities.
+     */
+    private static final int PROXY_PARTITION = 0;
+
+    private static final Logger log = LoggerFactory.getLogger(OMRSArchiveInstanceLoader.class);
+
+    private final String                  archiveName;
+    private final AuditLog                auditLog;
+    private final Consumer<InstanceGraph> batchSaver;
+    private final int                     batchSize;
+    private final int                     maxQueuedBatches;
+    private final Semaphore               queuedBatches;
+    private final List<InstanceBatch>     partitionBatches   = new ArrayList<>();
+    private final List<ExecutorService>   partitionWorkers   = new ArrayList<>();
+    private final Set<String>             archiveEntityGUIDs = new HashSet<>();
+    private final AtomicLong              loadedCount        = new AtomicLong(0);
+    private final long                    startTime          = System.currentTimeMillis();
+
+
+    /**
+     * Constructor sets up the worker threads.
+     *
+     * @param archiveName name of the archive - used in the progress messages and to name the worker threads
+     * @param auditLog audit log for the archive manager
+     * @param batchSaver saves a batch of entities and relationships in the local repository
+     * @param workerThreads number of worker threads (partitions)
+     * @param batchSize number of instances passed to a worker thread together
+     * @param queuedBatchesPerWorker number of batches for each worker thread that can be waiting to run
+     */
+    OMRSArchiveInstanceLoader(String                  archiveName,
+                              AuditLog                auditLog,
+                              Consumer<InstanceGraph> batchSaver,
+                              int                     workerThreads,
+                              int                     batchSize,
+                              int                     queuedBatchesPerWorker)
+    {
+        this.archiveName      = archiveName;
+        this.auditLog         = auditLog;
+        this.batchSaver       = batchSaver;
+        this.batchSize        = batchSize;
+        this.maxQueuedBatches = workerThreads * queuedBatchesPerWorker;
+        this.queuedBatches    = new Semaphore(maxQueuedBatches);
+
+        WorkerThreadFactory threadFactory = new WorkerThreadFactory("OMRSArchiveLoader-" + archiveName + "-");
+
+        for (int partition = 0; partition < workerThreads; partition++)
+        {
+            ThreadPoolExecutor partitionWorker = new ThreadPoolExecutor(1,
+                                                                        1,
+                                                                        60L,
+                                                                        TimeUnit.SECONDS,
+                                                                        new LinkedBlockingQueue<>(),
+                                                                        threadFactory);
+            partitionWorker.allowCoreThreadTimeOut(true);
+
+            partitionWorkers.add(partitionWorker);
+            partitionBatches.add(new InstanceBatch(batchSize));
+        }
+    }
+
+
+    /**
+     * Add an entity to the batch for its partition.  The entity is remembered so that the relationships
+     * to it do not need a proxy.
+     *
+     * @param entity entity to save
+     */
+    void addEntity(EntityDetail entity)
+    {
+        int partition = this.getPartition(entity.getGUID());
+
+        archiveEntityGUIDs.add(entity.getGUID());
+        partitionBatches.get(partition).entities.add(entity);
+
+        this.checkBatchSize(partition);
+    }
+
+
+    /**
+     * Add a relationship to the batch for its partition.  A relationship to an entity that is not in the
+     * archive is assigned to the proxy partition.  All of the entities must have been added, and waitForInstances()
+     * called, before the first relationship is added.
+     *
+     * @param relationship relationship to save
+     */
+    void addRelationship(Relationship relationship)
+    {
+        int partition = PROXY_PARTITION;
+
+        if ((this.isArchiveEntity(relationship.getEntityOneProxy())) && (this.isArchiveEntity(relationship.getEntityTwoProxy())))
+        {
+            partition = this.getPartition(relationship.getGUID());
+        }
+
+        partitionBatches.get(partition).relationships.add(relationship);
+
+        this.checkBatchSize(partition);
+    }
+
+
+    /**
+     * Add the request to save an instance that can not be saved in bulk to the batch for its partition.
+     *
+     * @param guid unique identifier used to select the partition
+     * @param saveRequest request to save the instance in the local repository
+     */
+    void addInstance(String   guid,
+                     Runnable saveRequest)
+    {
+        int partition = this.getPartition(guid);
+
+        partitionBatches.get(partition).saveRequests.add(saveRequest);
+
+        this.checkBatchSize(partition);
+    }
+
+
+    /**
+     * Pass the partly filled batches to the worker threads and wait until all of the instances
+     * that have been added are saved.
+     */
+    void waitForInstances()
+    {
+        for (int partition = 0; partition < partitionBatches.size(); partition++)
+        {
+            if (partitionBatches.get(partition).size() > 0)
+            {
+                this.submitBatch(partition);
+            }
+        }
+
+        queuedBatches.acquireUninterruptibly(maxQueuedBatches);
+        queuedBatches.release(maxQueuedBatches);
+    }
+
+
+    /**
+     * Wait for all of the instances to be saved and then stop the worker threads.
+     *
+     * @return number of instances passed to the local repository
+     */
+    long complete()
+    {
+        this.waitForInstances();
+
+        for (ExecutorService partitionWorker : partitionWorkers)
+        {
+            partitionWorker.shutdown();
+        }
+
+        return loadedCount.get();
+    }
+
+
+    /**
+     * Return the partition for an instance.
+     *
+     * @param guid unique identifier of the instance
+     * @return index of the partition
+     */
+    private int getPartition(String guid)
+    {
+        return (guid == null) ? 0 : Math.floorMod(guid.hashCode(), partitionWorkers.size());
+    }
+
+
+    /**
+     * Return whether the entity at the end of a relationship is in the archive.
+     *
+     * @param entityProxy proxy from the relationship
+     * @return boolean flag
+     */
+    private boolean isArchiveEntity(EntityProxy entityProxy)
+    {
+        return (entityProxy != null) && (archiveEntityGUIDs.contains(entityProxy.getGUID()));
+    }
+
+
+    /**
+     * Pass the batch for a partition to its worker thread once it is full.
+     *
+     * @param partition index of the partition
+     */
+    private void checkBatchSize(int partition)
+    {
+        if (partitionBatches.get(partition).size() >= batchSize)
+        {
+            this.submitBatch(partition);
+        }
+    }
+
+
+    /**
+     * Pass the current batch for a partition to its worker thread, waiting if too many batches are already queued.
+     *
+     * @param partition index of the partition
+     */
+    private void submitBatch(int partition)
+    {
+        final InstanceBatch batch = partitionBatches.get(partition);
+
+        partitionBatches.set(partition, new InstanceBatch(batchSize));
+
+        queuedBatches.acquireUninterruptibly();
+
+        try
+        {
+            partitionWorkers.get(partition).execute(() -> this.runBatch(batch));
+        }
+        catch (RuntimeException error)
+        {
+            queuedBatches.release();
+
+            throw error;
+        }
+    }
+
+
+    /**
+     * Save the instances in a batch.  The entities and relationships are passed to the local repository together
+     * and the other requests are run in order.  The local repository handles its own errors.
+     * Any unexpected exception is logged so that the rest of the archive is still loaded.
+     *
+     * @param batch instances to save
+     */
+    private void runBatch(InstanceBatch batch)
+    {
+        try
+        {
+            if ((! batch.entities.isEmpty()) || (! batch.relationships.isEmpty()))
+            {
+                try
+                {
+                    batchSaver.accept(new InstanceGraph(batch.entities, batch.relationships));
+                }
+                catch (Exception error)
+                {
+                    log.error("Unable to save batch of instances from open metadata archive " + archiveName, error);
+                }
+            }
+
+            for (Runnable saveRequest : batch.saveRequests)
+            {
+                try
+                {
+                    saveRequest.run();
+                }
+                catch (Exception error)
+                {
+                    log.error("Unable to save instance from open metadata archive " + archiveName, error);
+                }
+            }
+
+            this.reportProgress(batch.size());
+        }
+        finally
+        {
+            queuedBatches.release();
+        }
+    }
+
+
+    /**
+     * Log the progress of the load each time another PROGRESS_INTERVAL instances are saved.
+     *
+     * @param batchCount number of instances in the batch that has just completed
+     */
+    private void reportProgress(int batchCount)
+    {
+        long newCount = loadedCount.addAndGet(batchCount);
+
+        if ((newCount / PROGRESS_INTERVAL) != ((newCount - batchCount) / PROGRESS_INTERVAL))
+        {
+            final String actionDescription = "Process Open Metadata Archive";
+
+            long elapsedTime = Math.max(1L, System.currentTimeMillis() - startTime);
+
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.ARCHIVE_LOAD_PROGRESS.getMessageDefinition(Long.toString(newCount),
+                                                                                         archiveName,
+                                                                                         Long.toString(elapsedTime / 1000),
+                                                                                         Long.toString((newCount * 1000) / elapsedTime)));
+        }
+    }
+
+
+    /**
+     * InstanceBatch holds the instances for a partition that are passed to its worker thread together.
+     * A batch only holds one kind of instance because the loader waits between the entities, relationships
+     * and classifications.
+     */
+    private static class InstanceBatch
+    {
+        final List<EntityDetail> entities;
+        final List<Relationship> relationships;
+        final List<Runnable>     saveRequests;
+
+
+        /**
+         * Constructor sets up an empty batch.
+         *
+         * @param batchSize expected number of instances
+         */
+        InstanceBatch(int batchSize)
+        {
+            this.entities      = new ArrayList<>(batchSize);
+            this.relationships = new ArrayList<>(batchSize);
+            this.saveRequests  = new ArrayList<>(batchSize);
+        }
+
+
+        /**
+         * Return the number of instances in the batch.
+         *
+         * @return count
+         */
+        int size()
+        {
+            return entities.size() + relationships.size() + saveRequests.size();
+        }
+    }
+}
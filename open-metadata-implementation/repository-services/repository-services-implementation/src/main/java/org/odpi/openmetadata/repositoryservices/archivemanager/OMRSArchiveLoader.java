@@ -0,0 +1,506 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorClassificationExtension;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+
+import java.util.Date;
+
+/**
+ * OMRSArchiveLoader passes the elements of a single open metadata archive to the local repository as they are
+ * received from the archive store.  Type definitions are passed to the TypeDef processor and instances to the
+ * instance processor.  It is possible that the archive has been processed before and so any duplicates detected
+ * are ignored.  However, conflicting TypeDefs and instances are detected.  Any problems found in applying the archive
+ * contents are recorded on the audit log.
+ * <p>
+ * The type definitions are processed on the caller's thread.  The instances are passed to an OMRSArchiveInstanceLoader
+ * that saves them in parallel batches.  The entities and relationships in a batch are passed to the instance processor
+ * as a single instance batch event.  All of the entities are saved before the relationships and all of the
+ * relationships are saved before the classifications.
+ */
+class OMRSArchiveLoader implements OpenMetadataArchiveContentProcessor
+{
+    private static final String actionDescription = "Process Open Metadata Archive";
+
+    /*
+     * The instances are saved in three phases.
+     */
+    private static final int entityPhase         = 0;
+    private static final int relationshipPhase   = 1;
+    private static final int classificationPhase = 2;
+
+    private final String                              localMetadataCollectionId;
+    private final String                              archiveSource;
+    private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+    private final OMRSInstanceEventProcessorInterface instanceProcessor;
+    private final AuditLog                            auditLog;
+
+    private OpenMetadataArchiveProperties archiveProperties                = null;
+    private boolean                       archivePropertiesProcessed       = false;
+    private int                           typeCount                        = 0;
+    private int                           instanceCount                    = 0;
+    private boolean                       missingTypeDefProcessorReported  = false;
+    private boolean                       missingInstanceProcessorReported = false;
+    private OMRSArchiveInstanceLoader     instanceLoader                   = null;
+    private int                           instancePhase                    = entityPhase;
+
+    /*
+     * Values from the archive properties used in the TypeDef events.
+     */
+    private String typeDefArchiveId            = null;
+    private String typeDefOriginatorServerType = null;
+
+    /*
+     * Values from the archive properties used in the instance events.
+     */
+    private String                 instanceArchiveId            = null;
+    private String                 instanceOriginatorServerType = null;
+    private InstanceProvenanceType provenanceType               = null;
+
+
+    /**
+     * Constructor takes the destinations for the archive's elements.
+     *
+     * @param localMetadataCollectionId metadata collection Id of the local repository
+     * @param archiveSource source of the archive - such as file name
+     * @param typeDefProcessor processor of type definitions found in the archive
+     * @param instanceProcessor processor of instances found in the archive.  It may be null
+     *                          if there is no local repository configured for this server.
+     * @param auditLog audit log for the archive manager
+     */
+    OMRSArchiveLoader(String                              localMetadataCollectionId,
+                      String                              archiveSource,
+                      OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                      OMRSInstanceEventProcessorInterface instanceProcessor,
+                      AuditLog                            auditLog)
+    {
+        this.localMetadataCollectionId = localMetadataCollectionId;
+        this.archiveSource             = archiveSource;
+        this.typeDefProcessor          = typeDefProcessor;
+        this.instanceProcessor         = instanceProcessor;
+        this.auditLog                  = auditLog;
+    }
+
+
+    /**
+     * Save the header properties of the archive and extract the values used in the events passed to the processors.
+     * The elements of an archive without properties are ignored.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    @Override
+    public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+    {
+        this.archivePropertiesProcessed = true;
+        this.archiveProperties          = archiveProperties;
+
+        if (archiveProperties == null)
+        {
+            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            return;
+        }
+
+        auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+
+        String originatorName = archiveProperties.getOriginatorName();
+        String archiveVersion = archiveProperties.getArchiveVersion();
+
+        /*
+         * Originator name can not be null for TypeDefs since it is used as the userId for calls to the repository
+         */
+        if (originatorName == null)
+        {
+            typeDefArchiveId = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName() + " (" + archiveVersion + ")";
+        }
+        else
+        {
+            typeDefArchiveId = originatorName + " (" + archiveVersion + ")";
+        }
+
+        if (archiveProperties.getArchiveType() != null)
+        {
+            typeDefOriginatorServerType = archiveProperties.getArchiveType().getName();
+        }
+
+        instanceArchiveId            = originatorName + " (" + archiveVersion + ")";
+        instanceOriginatorServerType = OpenMetadataArchiveType.CONTENT_PACK.getName();
+        provenanceType               = InstanceProvenanceType.CONTENT_PACK;
+
+        if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+        {
+            provenanceType               = InstanceProvenanceType.EXPORT_ARCHIVE;
+            instanceOriginatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+        }
+        else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
+        {
+            provenanceType               = InstanceProvenanceType.LOCAL_COHORT;
+            instanceOriginatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
+        }
+    }
+
+
+    /**
+     * Pass a new attribute type definition to the TypeDef processor.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    @Override
+    public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+    {
+        if ((attributeTypeDef != null) && (this.isTypeDefProcessorAvailable()))
+        {
+            typeDefProcessor.processNewAttributeTypeDefEvent(typeDefArchiveId,
+                                                             archiveProperties.getArchiveGUID(),
+                                                             archiveProperties.getArchiveName(),
+                                                             typeDefOriginatorServerType,
+                                                             archiveProperties.getOriginatorOrganization(),
+                                                             attributeTypeDef);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a new type definition to the TypeDef processor.
+     *
+     * @param typeDef type definition
+     */
+    @Override
+    public void processNewTypeDef(TypeDef typeDef)
+    {
+        if ((typeDef != null) && (this.isTypeDefProcessorAvailable()))
+        {
+            typeDefProcessor.processNewTypeDefEvent(typeDefArchiveId,
+                                                    archiveProperties.getArchiveGUID(),
+                                                    archiveProperties.getArchiveName(),
+                                                    typeDefOriginatorServerType,
+                                                    archiveProperties.getOriginatorOrganization(),
+                                                    typeDef);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a patch for an existing type definition to the TypeDef processor.
+     *
+     * @param typeDefPatch type definition patch
+     */
+    @Override
+    public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+    {
+        if ((typeDefPatch != null) && (this.isTypeDefProcessorAvailable()))
+        {
+            typeDefProcessor.processUpdatedTypeDefEvent(typeDefArchiveId,
+                                                        archiveProperties.getArchiveGUID(),
+                                                        archiveProperties.getArchiveName(),
+                                                        typeDefOriginatorServerType,
+                                                        archiveProperties.getOriginatorOrganization(),
+                                                        typeDefPatch);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Pass an entity to the instance loader.  The entities are passed to the instance processor in batches.
+     * There is no need to support delete in archive because the elements are reference copies and can be deleted
+     * from the receiving repositories.
+     *
+     * @param entity entity
+     */
+    @Override
+    public void processEntity(EntityDetail entity)
+    {
+        if ((entity != null) && (this.isInstanceProcessorAvailable()))
+        {
+            this.setInstanceAuditHeader(entity);
+            this.getInstanceLoader(entityPhase).addEntity(entity);
+
+            instanceCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a relationship to the instance loader.  The relationships are passed to the instance processor in batches.
+     *
+     * @param relationship relationship
+     */
+    @Override
+    public void processRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && (this.isInstanceProcessorAvailable()))
+        {
+            this.setInstanceAuditHeader(relationship);
+            this.getInstanceLoader(relationshipPhase).addRelationship(relationship);
+
+            instanceCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a classification to the instance processor if it supports classification events.
+     *
+     * @param classificationEntityExtension classification and the entity it belongs to
+     */
+    @Override
+    public void processClassification(ClassificationEntityExtension classificationEntityExtension)
+    {
+        if ((classificationEntityExtension != null) &&
+            (classificationEntityExtension.getClassification() != null) &&
+            (this.isInstanceProcessorAvailable()) &&
+            (instanceProcessor instanceof OMRSInstanceEventProcessorClassificationExtension))
+        {
+            OMRSInstanceEventProcessorClassificationExtension classificationInstanceProcessor = (OMRSInstanceEventProcessorClassificationExtension)instanceProcessor;
+
+            Classification classification = classificationEntityExtension.getClassification();
+            EntityProxy    entity         = classificationEntityExtension.getEntityToClassify();
+            String         entityGUID     = (entity == null) ? null : entity.getGUID();
+
+            this.setInstanceAuditHeader(classification);
+
+            OMRSArchiveInstanceLoader loader = this.getInstanceLoader(classificationPhase);
+
+            /*
+             * The classifications are partitioned by entity so that the classifications for an entity are
+             * applied in order.
+             */
+            if (classification.getVersion() == 1L)
+            {
+                loader.addInstance(entityGUID,
+                                   () -> classificationInstanceProcessor.processClassifiedEntityEvent(instanceArchiveId,
+                                                                                                      archiveProperties.getArchiveGUID(),
+                                                                                                      archiveProperties.getArchiveName(),
+                                                                                                      instanceOriginatorServerType,
+                                                                                                      archiveProperties.getOriginatorOrganization(),
+                                                                                                      entity,
+                                                                                                      classification));
+            }
+            else
+            {
+                loader.addInstance(entityGUID,
+                                   () -> classificationInstanceProcessor.processReclassifiedEntityEvent(instanceArchiveId,
+                                                                                                        archiveProperties.getArchiveGUID(),
+                                                                                                        archiveProperties.getArchiveName(),
+                                                                                                        instanceOriginatorServerType,
+                                                                                                        archiveProperties.getOriginatorOrganization(),
+                                                                                                        entity,
+                                                                                                        null,
+                                                                                                        classification));
+            }
+
+            instanceCount ++;
+        }
+    }
+
+
+    /**
+     * Wait for the instances to be saved and record the completion of the archive on the audit log.
+     */
+    void completeArchive()
+    {
+        if (instanceLoader != null)
+        {
+            instanceLoader.complete();
+            instanceLoader = null;
+        }
+
+        if (archiveProperties != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                     Integer.toString(instanceCount),
+                                                                                     archiveProperties.getArchiveName()));
+        }
+        else if (! archivePropertiesProcessed)
+        {
+            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+        }
+    }
+
+
+    /**
+     * Return the instance loader for an instance.  When the first instance of a later phase arrives,
+     * the loader waits for the instances of the earlier phases to be saved.
+     *
+     * @param phase phase of the instance - entity, relationship or classification
+     * @return instance loader
+     */
+    private OMRSArchiveInstanceLoader getInstanceLoader(int phase)
+    {
+        if (instanceLoader == null)
+        {
+            instanceLoader = new OMRSArchiveInstanceLoader(archiveProperties.getArchiveName(),
+                                                           auditLog,
+                                                           instances -> instanceProcessor.processInstanceBatchEvent(instanceArchiveId,
+                                                                                                                    archiveProperties.getArchiveGUID(),
+                                                                                                                    archiveProperties.getArchiveName(),
+                                                                                                                    instanceOriginatorServerType,
+                                                                                                                    archiveProperties.getOriginatorOrganization(),
+                                                                                                                    instances),
+                                                           OMRSArchiveInstanceLoader.DEFAULT_WORKER_THREADS,
+                                                           OMRSArchiveInstanceLoader.DEFAULT_BATCH_SIZE,
+                                                           OMRSArchiveInstanceLoader.DEFAULT_QUEUED_BATCHES);
+        }
+        else if (phase > instancePhase)
+        {
+            instanceLoader.waitForInstances();
+        }
+
+        instancePhase = Math.max(instancePhase, phase);
+
+        return instanceLoader;
+    }
+
+
+    /**
+     * Return whether type definitions can be processed.  The lack of a TypeDef processor is reported once.
+     *
+     * @return boolean flag
+     */
+    private boolean isTypeDefProcessorAvailable()
+    {
+        if (archiveProperties == null)
+        {
+            return false;
+        }
+
+        if (typeDefProcessor == null)
+        {
+            if (! missingTypeDefProcessorReported)
+            {
+                final String actionDescription = "Processing type definitions from archive";
+
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NO_TYPE_DEF_PROCESSOR.getMessageDefinition());
+                missingTypeDefProcessorReported = true;
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return whether instances can be processed.  The lack of an instance processor is reported once.
+     *
+     * @return boolean flag
+     */
+    private boolean isInstanceProcessorAvailable()
+    {
+        if (archiveProperties == null)
+        {
+            return false;
+        }
+
+        if (instanceProcessor == null)
+        {
+            if (! missingInstanceProcessorReported)
+            {
+                final String actionDescription = "Processing instances from archive";
+
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
+                missingInstanceProcessorReported = true;
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Set up the header of an archive instance.  The header information from the archive
+     * is used in the instance header unless it is set up explicitly in an export archive.
+     * The local metadata collection Id is set in the replicatedBy attribute to enable this
+     * repository to send out refresh events about this archive.
+     *
+     * @param instance instance to fill in
+     */
+    private void setInstanceAuditHeader(InstanceAuditHeader    instance)
+    {
+        String metadataCollectionId   = archiveProperties.getArchiveGUID();
+        String metadataConnectionName = archiveProperties.getArchiveName();
+        String originatorName         = archiveProperties.getOriginatorName();
+        Date   creationTime           = archiveProperties.getCreationDate();
+        String originatorLicense      = archiveProperties.getOriginatorLicense();
+
+        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+        {
+            if (instance.getMetadataCollectionId() == null)
+            {
+                instance.setMetadataCollectionId(metadataCollectionId);
+            }
+
+            if (instance.getMetadataCollectionName() == null)
+            {
+                instance.setMetadataCollectionName(metadataConnectionName);
+            }
+
+            if (instance.getCreatedBy() == null)
+            {
+                instance.setCreatedBy(originatorName);
+            }
+
+            if (instance.getCreateTime() == null)
+            {
+                instance.setCreateTime(creationTime);
+            }
+
+            if (instance.getInstanceProvenanceType() == null)
+            {
+                instance.setInstanceProvenanceType(provenanceType);
+            }
+
+            if (instance.getInstanceLicense() == null)
+            {
+                instance.setInstanceLicense(originatorLicense);
+            }
+
+            if (instance.getReplicatedBy() == null)
+            {
+                instance.setReplicatedBy(localMetadataCollectionId);
+            }
+        }
+        else if (provenanceType == InstanceProvenanceType.CONTENT_PACK)
+        {
+            instance.setMetadataCollectionId(metadataCollectionId);
+            instance.setMetadataCollectionName(metadataConnectionName);
+            instance.setCreatedBy(originatorName);
+            instance.setCreateTime(creationTime);
+            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
+            instance.setInstanceLicense(originatorLicense);
+            instance.setReplicatedBy(localMetadataCollectionId);
+        }
+
+        /*
+         * The first version is 1 not 0.
+         */
+        if (instance.getVersion() == 0L)
+        {
+            instance.setVersion(1L);
+        }
+    }
+}
@@ -62,6 +62,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     private String                            localMetadataCollectionId;
     private AuditLog                          auditLog;
 
+    /*
+     * Continuation tokens for the federated paging of the find requests.
+     */
+    private final FederatedPagingCursorCache  pagingCursorCache = new FederatedPagingCursorCache();
+
 
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection Id.
@@ -98,6 +103,67 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * PagingQueryKey builds the key that identifies a paged query in the cursor cache.  It is made up of the
+     * method name and each of the parameters of the query except the starting element and page size.  Each value
+     * is preceded by its name and length so that different parameter values can not produce the same key.
+     */
+    private static class PagingQueryKey
+    {
+        private final StringBuilder key = new StringBuilder();
+
+
+        /**
+         * Start the key for a query.
+         *
+         * @param methodName name of the query method
+         * @param userId calling user
+         */
+        PagingQueryKey(String methodName,
+                       String userId)
+        {
+            this.add("methodName", methodName);
+            this.add("userId", userId);
+        }
+
+
+        /**
+         * Add a parameter to the key.
+         *
+         * @param parameterName name of the parameter
+         * @param parameterValue value of the parameter (may be null)
+         */
+        void add(String parameterName,
+                 Object parameterValue)
+        {
+            key.append(parameterName);
+
+            if (parameterValue == null)
+            {
+                key.append("=null;");
+            }
+            else
+            {
+                String value = (parameterValue instanceof Date) ? Long.toString(((Date) parameterValue).getTime()) : parameterValue.toString();
+
+                key.append('=').append(value.length()).append(':').append(value).append(';');
+            }
+        }
+
+
+        /**
+         * Return the key.
+         *
+         * @return key for the query
+         */
+        @Override
+        public String toString()
+        {
+            return key.toString();
+        }
+    }
+
+
     /* ==============================
      * Group 2: Working with typedefs
      */
@@ -134,7 +200,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -1154,7 +1220,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1174,6 +1240,17 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("entityGUID", entityGUID);
+        queryKey.add("relationshipTypeGUID", relationshipTypeGUID);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         List<Relationship> results = executor.getResults(enterpriseParentConnector);
@@ -1273,7 +1350,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindEntitiesByPropertyExecutor executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                               entityTypeGUID,
                                                                                               matchProperties,
@@ -1295,6 +1372,19 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("entityTypeGUID", entityTypeGUID);
+        queryKey.add("matchProperties", matchProperties);
+        queryKey.add("matchCriteria", matchCriteria);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("limitResultsByClassification", limitResultsByClassification);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector, this);
@@ -1379,7 +1469,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindEntitiesExecutor executor       = new FindEntitiesExecutor(userId,
                                                                        entityTypeGUID,
                                                                        entitySubtypeGUIDs,
@@ -1401,6 +1491,19 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("entityTypeGUID", entityTypeGUID);
+        queryKey.add("entitySubtypeGUIDs", entitySubtypeGUIDs);
+        queryKey.add("matchProperties", matchProperties);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("matchClassifications", matchClassifications);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector, this);
@@ -1491,7 +1594,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindEntitiesByClassificationExecutor executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                           entityTypeGUID,
                                                                                                           classificationName,
@@ -1513,6 +1616,19 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("entityTypeGUID", entityTypeGUID);
+        queryKey.add("classificationName", classificationName);
+        queryKey.add("matchClassificationProperties", matchClassificationProperties);
+        queryKey.add("matchCriteria", matchCriteria);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector, this);
@@ -1599,7 +1715,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1620,6 +1736,18 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("entityTypeGUID", entityTypeGUID);
+        queryKey.add("searchCriteria", searchCriteria);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("limitResultsByClassification", limitResultsByClassification);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector, this);
@@ -1707,12 +1835,13 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         GetRelationshipExecutor executor          = new GetRelationshipExecutor(userId, guid, true, auditLog, methodName);
 
         /*
-         * Ready to process the request.  Create requests occur in the first repository that accepts the call.
-         * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+         * Ready to process the request.  The request is issued to all of the repositories at once and the latest
+         * version of the relationship is returned.  Remote repositories are called without blocking a thread while
+         * they respond.  Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
         federationControl.executeCommand(executor);
@@ -1852,7 +1981,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1873,6 +2002,18 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("relationshipTypeGUID", relationshipTypeGUID);
+        queryKey.add("relationshipSubtypeGUIDs", relationshipSubtypeGUIDs);
+        queryKey.add("matchProperties", matchProperties);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1957,7 +2098,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -1978,6 +2119,18 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("relationshipTypeGUID", relationshipTypeGUID);
+        queryKey.add("matchProperties", matchProperties);
+        queryKey.add("matchCriteria", matchCriteria);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -2061,7 +2214,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, enterpriseParentConnector.getFederationWorkerPool(), methodName);
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -2081,6 +2234,17 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        PagingQueryKey queryKey = new PagingQueryKey(methodName, userId);
+
+        queryKey.add("relationshipTypeGUID", relationshipTypeGUID);
+        queryKey.add("searchCriteria", searchCriteria);
+        queryKey.add("limitResultsByStatus", limitResultsByStatus);
+        queryKey.add("asOfTime", asOfTime);
+        queryKey.add("sequencingProperty", sequencingProperty);
+        queryKey.add("sequencingOrder", sequencingOrder);
+
+        executor.enableFederatedPaging(pagingCursorCache, queryKey.toString());
+
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
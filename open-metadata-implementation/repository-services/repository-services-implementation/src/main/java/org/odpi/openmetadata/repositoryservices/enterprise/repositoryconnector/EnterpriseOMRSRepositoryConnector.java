@@ -13,6 +13,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationWorkerPool;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
@@ -45,7 +46,8 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private String                              localMetadataCollectionId = null;
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
-    private String callingServiceName = null;
+    private String               callingServiceName   = null;
+    private FederationWorkerPool federationWorkerPool = null;
 
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
@@ -106,6 +108,28 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Set up the server's worker threads used to issue federated requests in parallel.
+     *
+     * @param federationWorkerPool worker pool - null means requests are issued sequentially
+     */
+    public void setFederationWorkerPool(FederationWorkerPool federationWorkerPool)
+    {
+        this.federationWorkerPool = federationWorkerPool;
+    }
+
+
+    /**
+     * Return the server's worker threads used to issue federated requests in parallel.
+     *
+     * @return worker pool or null
+     */
+    FederationWorkerPool getFederationWorkerPool()
+    {
+        return federationWorkerPool;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
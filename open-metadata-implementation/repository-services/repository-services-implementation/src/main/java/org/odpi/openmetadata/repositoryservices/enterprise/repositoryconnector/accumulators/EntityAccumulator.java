@@ -180,8 +180,26 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
      * @param metadataCollection enterprise metadata collection
      * @return list of entities
      */
+    public List<EntityDetail> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                         OMRSMetadataCollection            metadataCollection)
+    {
+        return this.getResults(repositoryConnector, metadataCollection, null);
+    }
+
+
+    /**
+     * Extract the results in the order of the supplied list of unique identifiers.  This is used when
+     * the executor has merged the ordered pages from each repository into a single page.
+     *
+     * @param repositoryConnector enterprise connector
+     * @param metadataCollection enterprise metadata collection
+     * @param orderedGUIDs unique identifiers of the entities to return in the order to return them;
+     *                     null means return all of the accumulated entities
+     * @return list of entities
+     */
     public synchronized List<EntityDetail> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
-                                                      OMRSMetadataCollection            metadataCollection)
+                                                      OMRSMetadataCollection            metadataCollection,
+                                                      List<String>                      orderedGUIDs)
     {
         if (accumulatedEntities.isEmpty())
         {
@@ -195,7 +213,23 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
 
             if (metadataCollection != null)
             {
-                for (EntityDetail accumulatedEntity : accumulatedEntities.values())
+                List<EntityDetail> selectedEntities;
+
+                if (orderedGUIDs == null)
+                {
+                    selectedEntities = new ArrayList<>(accumulatedEntities.values());
+                }
+                else
+                {
+                    selectedEntities = new ArrayList<>();
+
+                    for (String guid : orderedGUIDs)
+                    {
+                        selectedEntities.add(accumulatedEntities.get(guid));
+                    }
+                }
+
+                for (EntityDetail accumulatedEntity : selectedEntities)
                 {
                     if (accumulatedEntity != null)
                     {
@@ -62,7 +62,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
      *
      * @return true if a request succeeded.
      */
-    public boolean resultsReturned()
+    public synchronized boolean resultsReturned()
     {
         return (resultsReturned);
     }
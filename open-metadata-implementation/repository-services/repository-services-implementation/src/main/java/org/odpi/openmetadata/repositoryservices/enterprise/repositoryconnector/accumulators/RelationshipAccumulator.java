@@ -115,7 +115,23 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
      * @param repositoryConnector enterprise connector
      * @return list of relationships
      */
-    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    public List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    {
+        return this.getResults(repositoryConnector, null);
+    }
+
+
+    /**
+     * Extract the results in the order of the supplied list of unique identifiers.  This is used when
+     * the executor has merged the ordered pages from each repository into a single page.
+     *
+     * @param repositoryConnector enterprise connector
+     * @param orderedGUIDs unique identifiers of the relationships to return in the order to return them;
+     *                     null means return all of the accumulated relationships
+     * @return list of relationships
+     */
+    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       List<String>                      orderedGUIDs)
     {
         if (accumulatedRelationships.isEmpty())
         {
@@ -124,7 +140,30 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         else
         {
             this.makeRefreshRecommendations(repositoryConnector);
-            return new ArrayList<>(accumulatedRelationships.values());
+
+            if (orderedGUIDs == null)
+            {
+                return new ArrayList<>(accumulatedRelationships.values());
+            }
+
+            List<Relationship> results = new ArrayList<>();
+
+            for (String guid : orderedGUIDs)
+            {
+                Relationship relationship = accumulatedRelationships.get(guid);
+
+                if (relationship != null)
+                {
+                    results.add(relationship);
+                }
+            }
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
         }
     }
 
@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.connectors.WorkerThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FederationWorkerPool manages the worker threads used by the ParallelFederationControl to issue
+ * a federated request to each member of the cohort(s) concurrently.  There is one pool for each server
+ * and it is shared by all of the enterprise repository connectors created for the server's access services.
+ *
+ * The pool is bounded.  When all of the worker threads are busy and the queue is full, the request to
+ * the next repository runs on the caller's thread.  This slows down the caller rather than rejecting the request.
+ * When running on a JVM that supports virtual threads, the pool can be configured to use a virtual thread for each
+ * request, in which case the number of threads is not limited.
+ */
+public class FederationWorkerPool
+{
+    /**
+     * Default number of worker threads if none is configured.
+     */
+    public static final int  DEFAULT_MAX_WORKER_THREADS = 16;
+
+    /**
+     * Default number of requests that can be waiting for a worker thread.
+     */
+    public static final int  DEFAULT_QUEUE_SIZE         = 256;
+
+    /**
+     * Default time (milliseconds) to wait for an individual repository to respond.  Zero means wait indefinitely.
+     */
+    public static final long DEFAULT_REQUEST_TIMEOUT    = 0L;
+
+    private static final Logger log = LoggerFactory.getLogger(FederationWorkerPool.class);
+
+    private final ExecutorService executorService;
+    private final long            requestTimeout;
+    private final String          serverName;
+
+
+    /**
+     * Constructor sets up the worker threads.
+     *
+     * @param serverName name of the server - used to name the worker threads
+     * @param maxWorkerThreads maximum number of platform threads to use - zero or less means use the default
+     * @param requestTimeout time in milliseconds to wait for each repository to respond - zero or less means wait indefinitely
+     * @param useVirtualThreads request that virtual threads are used if the JVM supports them
+     */
+    public FederationWorkerPool(String  serverName,
+                                int     maxWorkerThreads,
+                                long    requestTimeout,
+                                boolean useVirtualThreads)
+    {
+        this.serverName     = serverName;
+        this.requestTimeout = (requestTimeout > 0) ? requestTimeout : DEFAULT_REQUEST_TIMEOUT;
+
+        String          threadNamePrefix      = "FederationWorker-" + serverName + "-";
+        ExecutorService virtualThreadExecutor = null;
+
+        if (useVirtualThreads)
+        {
+            virtualThreadExecutor = WorkerThreadFactory.getVirtualThreadExecutor(threadNamePrefix);
+
+            if (virtualThreadExecutor == null)
+            {
+                log.debug("Virtual threads are not supported by this JVM; using platform threads for server " + serverName);
+            }
+        }
+
+        if (virtualThreadExecutor != null)
+        {
+            this.executorService = virtualThreadExecutor;
+        }
+        else
+        {
+            int poolSize = (maxWorkerThreads > 0) ? maxWorkerThreads : DEFAULT_MAX_WORKER_THREADS;
+
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize,
+                                                                           poolSize,
+                                                                           60L,
+                                                                           TimeUnit.SECONDS,
+                                                                           new ArrayBlockingQueue<>(DEFAULT_QUEUE_SIZE),
+                                                                           new WorkerThreadFactory(threadNamePrefix),
+                                                                           new ThreadPoolExecutor.CallerRunsPolicy());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+            this.executorService = threadPoolExecutor;
+        }
+    }
+
+
+    /**
+     * Return the time in milliseconds to wait for each repository to respond.  Zero means wait indefinitely.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getRequestTimeout()
+    {
+        return requestTimeout;
+    }
+
+
+    /**
+     * Queue a request to a single repository.
+     *
+     * @param request request to run
+     * @param <T> type of result
+     * @return future used to retrieve the result or cancel the request
+     */
+    <T> Future<T> submit(Callable<T> request)
+    {
+        return executorService.submit(request);
+    }
+
+
+    /**
+     * Stop the worker threads.  Requests in progress are interrupted.
+     */
+    public void shutdown()
+    {
+        log.debug("Shutting down federation worker pool for server " + serverName);
+
+        executorService.shutdownNow();
+    }
+}
@@ -5,18 +5,51 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.AsyncRepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The worker threads come from the server's FederationWorkerPool.  Each repository is called through its own
+ * clone of the executor.  The clones share the executor's accumulator which gathers the results.
+ *
+ * Executors that are able to issue a request without waiting for the repository to respond issue the requests to
+ * all of the repositories from the caller's thread, so no worker threads are used.
+ *
+ * If there is no worker pool, the executor can not be cloned, or there is only one repository to call,
+ * the requests are issued sequentially on the caller's thread.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private FederationWorkerPool workerPool;
+
+
+    /**
+     * Constructor for a federated query that runs sequentially.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param auditLog logging destination
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     AuditLog                      auditLog,
+                                     String                        methodName)
+    {
+        this(userId, cohortConnectors, auditLog, null, methodName);
+    }
 
 
     /**
@@ -25,15 +58,18 @@ public class ParallelFederationControl extends FederationControlBase
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
      * @param auditLog logging destination
+     * @param workerPool worker threads for issuing the requests - null means issue them sequentially
      * @param methodName calling method
      */
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      AuditLog                      auditLog,
+                                     FederationWorkerPool          workerPool,
                                      String                        methodName)
     {
         super(userId, cohortConnectors, auditLog, methodName);
 
+        this.workerPool = workerPool;
     }
 
 
@@ -48,6 +84,14 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
+            /*
+             * Validation of the metadata collections is done up front so that any logic error is
+             * returned to the caller before any requests are issued.
+             */
+            List<OMRSRepositoryConnector> validConnectors       = new ArrayList<>();
+            List<OMRSMetadataCollection>  metadataCollections   = new ArrayList<>();
+            List<String>                  metadataCollectionIds = new ArrayList<>();
+
             for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
             {
                 if (cohortConnector != null)
@@ -58,10 +102,156 @@ public class ParallelFederationControl extends FederationControlBase
 
                     if (metadataCollectionId != null)
                     {
-                        executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                        validConnectors.add(cohortConnector);
+                        metadataCollections.add(metadataCollection);
+                        metadataCollectionIds.add(metadataCollectionId);
                     }
                 }
             }
+
+            if ((validConnectors.size() > 1) && (executor instanceof AsyncRepositoryExecutor))
+            {
+                this.executeAsync((AsyncRepositoryExecutor) executor, validConnectors, metadataCollections, metadataCollectionIds);
+            }
+            else if ((workerPool == null) || (validConnectors.size() < 2) || (! (executor instanceof CloneableRepositoryExecutor)))
+            {
+                for (int i = 0; i < validConnectors.size(); i++)
+                {
+                    executor.issueRequestToRepository(metadataCollectionIds.get(i), metadataCollections.get(i));
+                }
+            }
+            else
+            {
+                this.executeInParallel(executor, validConnectors, metadataCollections, metadataCollectionIds);
+            }
+        }
+    }
+
+
+    /**
+     * Issue the request to each repository without waiting for it to respond and then wait for all of the
+     * repositories to respond.
+     *
+     * @param executor command to execute
+     * @param validConnectors connectors with a valid metadata collection
+     * @param metadataCollections metadata collections for the connectors
+     * @param metadataCollectionIds metadata collection ids for the connectors
+     */
+    private void executeAsync(AsyncRepositoryExecutor       executor,
+                              List<OMRSRepositoryConnector> validConnectors,
+                              List<OMRSMetadataCollection>  metadataCollections,
+                              List<String>                  metadataCollectionIds)
+    {
+        List<Future<?>> requests = new ArrayList<>();
+
+        for (int i = 0; i < validConnectors.size(); i++)
+        {
+            requests.add(executor.issueRequestToRepositoryAsync(metadataCollectionIds.get(i), metadataCollections.get(i)));
+        }
+
+        this.awaitRequests(requests, validConnectors);
+    }
+
+
+    /**
+     * Issue the request to each repository on a worker thread and wait for them to complete.  The supplied
+     * executor is used for the first repository and clones of it for the rest.  Since the clones register
+     * with the accumulator, the number of executors matches the number of repositories called.
+     *
+     * @param executor command to execute
+     * @param validConnectors connectors with a valid metadata collection
+     * @param metadataCollections metadata collections for the connectors
+     * @param metadataCollectionIds metadata collection ids for the connectors
+     */
+    private void executeInParallel(RepositoryExecutor            executor,
+                                   List<OMRSRepositoryConnector> validConnectors,
+                                   List<OMRSMetadataCollection>  metadataCollections,
+                                   List<String>                  metadataCollectionIds)
+    {
+        List<Future<?>> requests = new ArrayList<>();
+
+        for (int i = 0; i < validConnectors.size(); i++)
+        {
+            RepositoryExecutor     requestExecutor      = executor;
+            String                 metadataCollectionId = metadataCollectionIds.get(i);
+            OMRSMetadataCollection metadataCollection   = metadataCollections.get(i);
+
+            if (i > 0)
+            {
+                requestExecutor = (RepositoryExecutor) ((CloneableRepositoryExecutor) executor).getClone();
+            }
+
+            final RepositoryExecutor workerExecutor = requestExecutor;
+
+            requests.add(workerPool.submit(() -> workerExecutor.issueRequestToRepository(metadataCollectionId, metadataCollection)));
+        }
+
+        this.awaitRequests(requests, validConnectors);
+    }
+
+
+    /**
+     * Wait for the request to each repository to complete.  If there is a worker pool, its request timeout limits
+     * the wait for each repository.  A repository that does not respond in time is skipped.
+     *
+     * @param requests outstanding requests in the same order as the connectors
+     * @param validConnectors connectors the requests were issued to
+     */
+    private void awaitRequests(List<Future<?>>               requests,
+                               List<OMRSRepositoryConnector> validConnectors)
+    {
+        long requestTimeout = (workerPool == null) ? 0L : workerPool.getRequestTimeout();
+        long deadline       = System.currentTimeMillis() + requestTimeout;
+
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Future<?> request = requests.get(i);
+
+            try
+            {
+                if (requestTimeout > 0)
+                {
+                    request.get(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+                }
+                else
+                {
+                    request.get();
+                }
+            }
+            catch (TimeoutException error)
+            {
+                request.cancel(true);
+
+                auditLog.logMessage(methodName,
+                                    OMRSAuditCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition(validConnectors.get(i).getRepositoryName(),
+                                                                                                 methodName,
+                                                                                                 Long.toString(requestTimeout)));
+            }
+            catch (InterruptedException error)
+            {
+                /*
+                 * The caller has been interrupted so the outstanding requests are no longer needed.
+                 */
+                for (Future<?> outstandingRequest : requests)
+                {
+                    outstandingRequest.cancel(true);
+                }
+
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (CancellationException | ExecutionException error)
+            {
+                /*
+                 * The executors capture exceptions from the repositories in the accumulator so these are
+                 * only seen if the worker pool has been shut down or an asynchronous request failed unexpectedly.
+                 */
+                auditLog.logException(methodName,
+                                      OMRSAuditCode.SKIPPING_METADATA_COLLECTION.getMessageDefinition(validConnectors.get(i).getRepositoryName(),
+                                                                                                      error.getClass().getName(),
+                                                                                                      error.getMessage()),
+                                      error);
+            }
         }
     }
 }
@@ -0,0 +1,25 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncRepositoryExecutor describes the interface for a repository executor that can issue its request to a repository
+ * without waiting for the repository to respond.  The requests to all of the repositories are issued together from the
+ * caller's thread and the results are saved by the executor as each repository responds.
+ */
+public interface AsyncRepositoryExecutor
+{
+    /**
+     * Issue the required action to the supplied repository.
+     *
+     * @param metadataCollectionId identifier for the metadata collection
+     * @param metadataCollection metadata collection object for the repository
+     * @return future that completes once the result, or exception, from the repository is saved
+     */
+    CompletableFuture<Void> issueRequestToRepositoryAsync(String                 metadataCollectionId,
+                                                          OMRSMetadataCollection metadataCollection);
+}
@@ -0,0 +1,131 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FederatedPagingCursor is the continuation token for a federated query.  It records how many of the
+ * ordered results from each repository have been consumed by the pages returned so far.  When the
+ * next page is requested, each repository is asked for a page starting from its own offset rather than
+ * from the start of its results.  The cursor also links to the cursor of the previous page and lists the instances
+ * returned on its page, so that an instance returned by more than one repository is only returned once even when
+ * its copies are on different pages.
+ */
+public class FederatedPagingCursor
+{
+    private final Map<String, Integer>  repositoryOffsets;
+    private final FederatedPagingCursor previousCursor;
+    private final Set<String>           pageGUIDs;
+
+
+    /**
+     * Constructor for a cursor that does not record the instances already returned.
+     *
+     * @param repositoryOffsets map of metadata collection id to the number of elements consumed from that repository
+     */
+    public FederatedPagingCursor(Map<String, Integer> repositoryOffsets)
+    {
+        this(repositoryOffsets, null, null);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param repositoryOffsets map of metadata collection id to the number of elements consumed from that repository
+     * @param previousCursor cursor that the page started from (may be null)
+     * @param pageGUIDs unique identifiers of the instances returned on the page (may be null)
+     */
+    public FederatedPagingCursor(Map<String, Integer>  repositoryOffsets,
+                                 FederatedPagingCursor previousCursor,
+                                 Collection<String>    pageGUIDs)
+    {
+        this.previousCursor = previousCursor;
+
+        if (pageGUIDs == null)
+        {
+            this.pageGUIDs = Collections.emptySet();
+        }
+        else
+        {
+            this.pageGUIDs = Collections.unmodifiableSet(new HashSet<>(pageGUIDs));
+        }
+
+        if (repositoryOffsets == null)
+        {
+            this.repositoryOffsets = Collections.emptyMap();
+        }
+        else
+        {
+            this.repositoryOffsets = Collections.unmodifiableMap(new HashMap<>(repositoryOffsets));
+        }
+    }
+
+
+    /**
+     * Return the offset into the results of the requested repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return offset or null if the repository was not part of the previous pages
+     */
+    public Integer getRepositoryOffset(String metadataCollectionId)
+    {
+        return repositoryOffsets.get(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the identifiers of the metadata collections that contributed to the previous pages.
+     *
+     * @return set of metadata collection ids
+     */
+    public Set<String> getMetadataCollectionIds()
+    {
+        return repositoryOffsets.keySet();
+    }
+
+
+    /**
+     * Return whether an instance was returned on one of the pages before this cursor.
+     *
+     * @param guid unique identifier of the instance
+     * @return boolean flag
+     */
+    public boolean isAlreadyReturned(String guid)
+    {
+        FederatedPagingCursor cursor = this;
+
+        while (cursor != null)
+        {
+            if (cursor.pageGUIDs.contains(guid))
+            {
+                return true;
+            }
+
+            cursor = cursor.previousCursor;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FederatedPagingCursor{" +
+                       "repositoryOffsets=" + repositoryOffsets +
+                       ", pageGUIDs=" + pageGUIDs +
+                       '}';
+    }
+}
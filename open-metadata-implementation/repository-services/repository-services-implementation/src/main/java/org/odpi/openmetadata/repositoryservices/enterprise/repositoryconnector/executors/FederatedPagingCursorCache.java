@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FederatedPagingCursorCache keeps the continuation tokens for the federated queries issued through
+ * an enterprise repository connector.  A cursor is saved under the query and the element number that the
+ * next page starts from, so that a caller paging through the results picks up the cursor on its next request.
+ * The cache is bounded and discards the least recently used cursors.  A query that does not find its cursor
+ * still returns the correct page - it just needs to retrieve all of the preceding elements from each repository.
+ */
+public class FederatedPagingCursorCache
+{
+    /**
+     * Default number of cursors that are retained.
+     */
+    public static final int DEFAULT_MAX_CURSORS = 1000;
+
+    private final Map<String, FederatedPagingCursor> cursors;
+
+
+    /**
+     * Constructor using the default size.
+     */
+    public FederatedPagingCursorCache()
+    {
+        this(DEFAULT_MAX_CURSORS);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param maxCursors maximum number of cursors to retain
+     */
+    public FederatedPagingCursorCache(int maxCursors)
+    {
+        this.cursors = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FederatedPagingCursor> eldest)
+            {
+                return size() > maxCursors;
+            }
+        };
+    }
+
+
+    /**
+     * Return the cursor for the page of the query starting at the requested element.
+     *
+     * @param queryKey string that identifies the query (excluding its paging parameters)
+     * @param fromElement starting element of the page
+     * @return cursor or null if not known
+     */
+    public synchronized FederatedPagingCursor getCursor(String queryKey,
+                                                        int    fromElement)
+    {
+        return cursors.get(this.getCursorKey(queryKey, fromElement));
+    }
+
+
+    /**
+     * Save the cursor for the page of the query starting at the requested element.
+     *
+     * @param queryKey string that identifies the query (excluding its paging parameters)
+     * @param fromElement starting element of the page
+     * @param cursor cursor to save
+     */
+    public synchronized void saveCursor(String                queryKey,
+                                        int                   fromElement,
+                                        FederatedPagingCursor cursor)
+    {
+        cursors.put(this.getCursorKey(queryKey, fromElement), cursor);
+    }
+
+
+    /**
+     * Combine the query key with the starting element.
+     *
+     * @param queryKey string that identifies the query (excluding its paging parameters)
+     * @param fromElement starting element of the page
+     * @return key for the map
+     */
+    private String getCursorKey(String queryKey,
+                                int    fromElement)
+    {
+        return fromElement + ":" + queryKey;
+    }
+}
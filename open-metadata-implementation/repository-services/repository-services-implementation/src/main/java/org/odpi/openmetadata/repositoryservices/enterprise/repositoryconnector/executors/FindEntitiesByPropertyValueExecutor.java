@@ -10,8 +10,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
@@ -19,7 +21,7 @@ import java.util.List;
  * FindEntitiesByPropertyValueExecutor is the executor for the findEntitiesByPropertyValue request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecutorBase
+public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecutorBase<EntityDetail>
 {
     private String             searchCriteria;
     private List<String>       limitResultsByClassification;
@@ -148,18 +150,87 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindEntitiesByPropertyValueExecutor(userId,
-                                                       instanceTypeGUID,
-                                                       searchCriteria,
-                                                       startingElement,
-                                                       limitResultsByStatus,
-                                                       limitResultsByClassification,
-                                                       asOfTime,
-                                                       sequencingProperty,
-                                                       sequencingOrder,
-                                                       pageSize,
-                                                       accumulator,
-                                                       methodName);
+        FindEntitiesByPropertyValueExecutor clone = new FindEntitiesByPropertyValueExecutor(userId,
+                                                                                            instanceTypeGUID,
+                                                                                            searchCriteria,
+                                                                                            startingElement,
+                                                                                            limitResultsByStatus,
+                                                                                            limitResultsByClassification,
+                                                                                            asOfTime,
+                                                                                            sequencingProperty,
+                                                                                            sequencingOrder,
+                                                                                            pageSize,
+                                                                                            accumulator,
+                                                                                            methodName);
+
+        clone.sharePagingState(this);
+
+        return clone;
+    }
+
+
+    /**
+     * Retrieve a page of results from a single repository.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element
+     * @param repositoryPageSize maximum number of elements to return
+     * @return list of results
+     * @throws InvalidParameterException problem retrieving results
+     * @throws FunctionNotSupportedException problem retrieving results
+     * @throws TypeErrorException problem retrieving results
+     * @throws PagingErrorException problem retrieving results
+     * @throws PropertyErrorException problem retrieving results
+     * @throws RepositoryErrorException problem retrieving results
+     * @throws UserNotAuthorizedException problem retrieving results
+     */
+    @Override
+    List<EntityDetail> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                         int                    fromElement,
+                                         int                    repositoryPageSize) throws InvalidParameterException,
+                                                                                           FunctionNotSupportedException,
+                                                                                           TypeErrorException,
+                                                                                           PagingErrorException,
+                                                                                           PropertyErrorException,
+                                                                                           RepositoryErrorException,
+                                                                                           UserNotAuthorizedException
+    {
+        return metadataCollection.findEntitiesByPropertyValue(userId,
+                                                              instanceTypeGUID,
+                                                              searchCriteria,
+                                                              fromElement,
+                                                              limitResultsByStatus,
+                                                              limitResultsByClassification,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              repositoryPageSize);
+    }
+
+
+    /**
+     * Pass results retrieved from a repository to the accumulator.
+     *
+     * @param results list of results
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     */
+    @Override
+    void addResultsToAccumulator(List<EntityDetail> results,
+                                 String             metadataCollectionId)
+    {
+        accumulator.addEntities(results, metadataCollectionId);
+    }
+
+
+    /**
+     * Return the comparator that matches the order that the repositories return their results.
+     *
+     * @return comparator
+     */
+    @Override
+    Comparator<EntityDetail> getSequencingComparator()
+    {
+        return OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty, sequencingOrder);
     }
 
 
@@ -178,18 +249,12 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
             /*
              * Issue the request
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
-                                                                                        instanceTypeGUID,
-                                                                                        searchCriteria,
-                                                                                        startingElement,
-                                                                                        limitResultsByStatus,
-                                                                                        limitResultsByClassification,
-                                                                                        asOfTime,
-                                                                                        sequencingProperty,
-                                                                                        sequencingOrder,
-                                                                                        pageSize);
+            List<EntityDetail> results = this.getRepositoryPage(metadataCollection,
+                                                                this.getRepositoryStartingElement(metadataCollectionId),
+                                                                this.getRepositoryPageSize());
 
             accumulator.addEntities(results, metadataCollectionId);
+            super.saveRepositoryPage(metadataCollectionId, metadataCollection, results);
         }
         catch (InvalidParameterException error)
         {
@@ -258,7 +323,7 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector, metadataCollection);
+            return accumulator.getResults(repositoryConnector, metadataCollection, super.getMergedPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -12,8 +12,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
@@ -21,7 +23,7 @@ import java.util.List;
  * FindEntitiesExecutor is the executor for the findEntities request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
+public class FindEntitiesExecutor extends PageableRepositoryExecutorBase<EntityDetail>
 {
 
     private SearchProperties      matchProperties;
@@ -156,19 +158,89 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindEntitiesExecutor(userId,
-                                        instanceTypeGUID,
-                                        instanceSubtypeGUIDs,
-                                        matchProperties,
-                                        startingElement,
-                                        limitResultsByStatus,
-                                        matchClassifications,
-                                        asOfTime,
-                                        sequencingProperty,
-                                        sequencingOrder,
-                                        pageSize,
-                                        accumulator,
-                                        methodName);
+        FindEntitiesExecutor clone = new FindEntitiesExecutor(userId,
+                                                              instanceTypeGUID,
+                                                              instanceSubtypeGUIDs,
+                                                              matchProperties,
+                                                              startingElement,
+                                                              limitResultsByStatus,
+                                                              matchClassifications,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              pageSize,
+                                                              accumulator,
+                                                              methodName);
+
+        clone.sharePagingState(this);
+
+        return clone;
+    }
+
+
+    /**
+     * Retrieve a page of results from a single repository.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element
+     * @param repositoryPageSize maximum number of elements to return
+     * @return list of results
+     * @throws InvalidParameterException problem retrieving results
+     * @throws FunctionNotSupportedException problem retrieving results
+     * @throws TypeErrorException problem retrieving results
+     * @throws PropertyErrorException problem retrieving results
+     * @throws PagingErrorException problem retrieving results
+     * @throws RepositoryErrorException problem retrieving results
+     * @throws UserNotAuthorizedException problem retrieving results
+     */
+    @Override
+    List<EntityDetail> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                         int                    fromElement,
+                                         int                    repositoryPageSize) throws InvalidParameterException,
+                                                                                           FunctionNotSupportedException,
+                                                                                           TypeErrorException,
+                                                                                           PropertyErrorException,
+                                                                                           PagingErrorException,
+                                                                                           RepositoryErrorException,
+                                                                                           UserNotAuthorizedException
+    {
+        return metadataCollection.findEntities(userId,
+                                               instanceTypeGUID,
+                                               instanceSubtypeGUIDs,
+                                               matchProperties,
+                                               fromElement,
+                                               limitResultsByStatus,
+                                               matchClassifications,
+                                               asOfTime,
+                                               sequencingProperty,
+                                               sequencingOrder,
+                                               repositoryPageSize);
+    }
+
+
+    /**
+     * Pass results retrieved from a repository to the accumulator.
+     *
+     * @param results list of results
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     */
+    @Override
+    void addResultsToAccumulator(List<EntityDetail> results,
+                                 String             metadataCollectionId)
+    {
+        accumulator.addEntities(results, metadataCollectionId);
+    }
+
+
+    /**
+     * Return the comparator that matches the order that the repositories return their results.
+     *
+     * @return comparator
+     */
+    @Override
+    Comparator<EntityDetail> getSequencingComparator()
+    {
+        return OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty, sequencingOrder);
     }
 
 
@@ -187,19 +259,12 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
             /*
              * Issue the request
              */
-            List<EntityDetail> results = metadataCollection.findEntities(userId,
-                                                                         instanceTypeGUID,
-                                                                         instanceSubtypeGUIDs,
-                                                                         matchProperties,
-                                                                         startingElement,
-                                                                         limitResultsByStatus,
-                                                                         matchClassifications,
-                                                                         asOfTime,
-                                                                         sequencingProperty,
-                                                                         sequencingOrder,
-                                                                         pageSize);
+            List<EntityDetail> results = this.getRepositoryPage(metadataCollection,
+                                                                this.getRepositoryStartingElement(metadataCollectionId),
+                                                                this.getRepositoryPageSize());
 
             accumulator.addEntities(results, metadataCollectionId);
+            super.saveRepositoryPage(metadataCollectionId, metadataCollection, results);
         }
         catch (InvalidParameterException error)
         {
@@ -268,7 +333,7 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector, metadataCollection);
+            return accumulator.getResults(repositoryConnector, metadataCollection, super.getMergedPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
@@ -12,8 +12,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
@@ -22,7 +24,7 @@ import java.util.List;
  * FindRelationshipsByPropertyExecutor is the executor for the findRelationshipsByProperty request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecutorBase
+public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecutorBase<Relationship>
 {
     private InstanceProperties matchProperties;
     private MatchCriteria      matchCriteria;
@@ -154,18 +156,87 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindRelationshipsByPropertyExecutor(userId,
-                                                       instanceTypeGUID,
-                                                       matchProperties,
-                                                       matchCriteria,
-                                                       startingElement,
-                                                       limitResultsByStatus,
-                                                       asOfTime,
-                                                       sequencingProperty,
-                                                       sequencingOrder,
-                                                       pageSize,
-                                                       accumulator,
-                                                       methodName);
+        FindRelationshipsByPropertyExecutor clone = new FindRelationshipsByPropertyExecutor(userId,
+                                                                                            instanceTypeGUID,
+                                                                                            matchProperties,
+                                                                                            matchCriteria,
+                                                                                            startingElement,
+                                                                                            limitResultsByStatus,
+                                                                                            asOfTime,
+                                                                                            sequencingProperty,
+                                                                                            sequencingOrder,
+                                                                                            pageSize,
+                                                                                            accumulator,
+                                                                                            methodName);
+
+        clone.sharePagingState(this);
+
+        return clone;
+    }
+
+
+    /**
+     * Retrieve a page of results from a single repository.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element
+     * @param repositoryPageSize maximum number of elements to return
+     * @return list of results
+     * @throws InvalidParameterException problem retrieving results
+     * @throws FunctionNotSupportedException problem retrieving results
+     * @throws PropertyErrorException problem retrieving results
+     * @throws RepositoryErrorException problem retrieving results
+     * @throws UserNotAuthorizedException problem retrieving results
+     * @throws TypeErrorException problem retrieving results
+     * @throws PagingErrorException problem retrieving results
+     */
+    @Override
+    List<Relationship> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                         int                    fromElement,
+                                         int                    repositoryPageSize) throws InvalidParameterException,
+                                                                                           FunctionNotSupportedException,
+                                                                                           PropertyErrorException,
+                                                                                           RepositoryErrorException,
+                                                                                           UserNotAuthorizedException,
+                                                                                           TypeErrorException,
+                                                                                           PagingErrorException
+    {
+        return metadataCollection.findRelationshipsByProperty(userId,
+                                                              instanceTypeGUID,
+                                                              matchProperties,
+                                                              matchCriteria,
+                                                              fromElement,
+                                                              limitResultsByStatus,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              repositoryPageSize);
+    }
+
+
+    /**
+     * Pass results retrieved from a repository to the accumulator.
+     *
+     * @param results list of results
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     */
+    @Override
+    void addResultsToAccumulator(List<Relationship> results,
+                                 String             metadataCollectionId)
+    {
+        accumulator.addRelationships(results, metadataCollectionId);
+    }
+
+
+    /**
+     * Return the comparator that matches the order that the repositories return their results.
+     *
+     * @return comparator
+     */
+    @Override
+    Comparator<Relationship> getSequencingComparator()
+    {
+        return OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty, sequencingOrder);
     }
 
 
@@ -184,18 +255,12 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
             /*
              * Issue the request
              */
-            List<Relationship> results = metadataCollection.findRelationshipsByProperty(userId,
-                                                                                        instanceTypeGUID,
-                                                                                        matchProperties,
-                                                                                        matchCriteria,
-                                                                                        startingElement,
-                                                                                        limitResultsByStatus,
-                                                                                        asOfTime,
-                                                                                        sequencingProperty,
-                                                                                        sequencingOrder,
-                                                                                        pageSize);
+            List<Relationship> results = this.getRepositoryPage(metadataCollection,
+                                                                this.getRepositoryStartingElement(metadataCollectionId),
+                                                                this.getRepositoryPageSize());
 
             accumulator.addRelationships(results, metadataCollectionId);
+            super.saveRepositoryPage(metadataCollectionId, metadataCollection, results);
         }
         catch (InvalidParameterException error)
         {
@@ -260,7 +325,7 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, super.getMergedPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
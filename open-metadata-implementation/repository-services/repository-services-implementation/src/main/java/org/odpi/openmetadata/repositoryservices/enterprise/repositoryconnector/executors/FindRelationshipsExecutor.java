@@ -11,8 +11,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
@@ -21,7 +23,7 @@ import java.util.List;
  * FindRelationshipsExecutor is the executor for the findRelationships request.
  * This request can be issued in parallel - the call to each request potentially running in a different thread.
  */
-public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
+public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase<Relationship>
 {
     private SearchProperties matchProperties;
     private List<String>     instanceSubtypeGUIDs;
@@ -152,18 +154,87 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindRelationshipsExecutor(userId,
-                                             instanceTypeGUID,
-                                             instanceSubtypeGUIDs,
-                                             matchProperties,
-                                             startingElement,
-                                             limitResultsByStatus,
-                                             asOfTime,
-                                             sequencingProperty,
-                                             sequencingOrder,
-                                             pageSize,
-                                             accumulator,
-                                             methodName);
+        FindRelationshipsExecutor clone = new FindRelationshipsExecutor(userId,
+                                                                        instanceTypeGUID,
+                                                                        instanceSubtypeGUIDs,
+                                                                        matchProperties,
+                                                                        startingElement,
+                                                                        limitResultsByStatus,
+                                                                        asOfTime,
+                                                                        sequencingProperty,
+                                                                        sequencingOrder,
+                                                                        pageSize,
+                                                                        accumulator,
+                                                                        methodName);
+
+        clone.sharePagingState(this);
+
+        return clone;
+    }
+
+
+    /**
+     * Retrieve a page of results from a single repository.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element
+     * @param repositoryPageSize maximum number of elements to return
+     * @return list of results
+     * @throws InvalidParameterException problem retrieving results
+     * @throws FunctionNotSupportedException problem retrieving results
+     * @throws PropertyErrorException problem retrieving results
+     * @throws RepositoryErrorException problem retrieving results
+     * @throws UserNotAuthorizedException problem retrieving results
+     * @throws TypeErrorException problem retrieving results
+     * @throws PagingErrorException problem retrieving results
+     */
+    @Override
+    List<Relationship> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                         int                    fromElement,
+                                         int                    repositoryPageSize) throws InvalidParameterException,
+                                                                                           FunctionNotSupportedException,
+                                                                                           PropertyErrorException,
+                                                                                           RepositoryErrorException,
+                                                                                           UserNotAuthorizedException,
+                                                                                           TypeErrorException,
+                                                                                           PagingErrorException
+    {
+        return metadataCollection.findRelationships(userId,
+                                                    instanceTypeGUID,
+                                                    instanceSubtypeGUIDs,
+                                                    matchProperties,
+                                                    fromElement,
+                                                    limitResultsByStatus,
+                                                    asOfTime,
+                                                    sequencingProperty,
+                                                    sequencingOrder,
+                                                    repositoryPageSize);
+    }
+
+
+    /**
+     * Pass results retrieved from a repository to the accumulator.
+     *
+     * @param results list of results
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     */
+    @Override
+    void addResultsToAccumulator(List<Relationship> results,
+                                 String             metadataCollectionId)
+    {
+        accumulator.addRelationships(results, metadataCollectionId);
+    }
+
+
+    /**
+     * Return the comparator that matches the order that the repositories return their results.
+     *
+     * @return comparator
+     */
+    @Override
+    Comparator<Relationship> getSequencingComparator()
+    {
+        return OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty, sequencingOrder);
     }
 
 
@@ -182,18 +253,12 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
             /*
              * Issue the request
              */
-            List<Relationship> results = metadataCollection.findRelationships(userId,
-                                                                              instanceTypeGUID,
-                                                                              instanceSubtypeGUIDs,
-                                                                              matchProperties,
-                                                                              startingElement,
-                                                                              limitResultsByStatus,
-                                                                              asOfTime,
-                                                                              sequencingProperty,
-                                                                              sequencingOrder,
-                                                                              pageSize);
+            List<Relationship> results = this.getRepositoryPage(metadataCollection,
+                                                                this.getRepositoryStartingElement(metadataCollectionId),
+                                                                this.getRepositoryPageSize());
 
             accumulator.addRelationships(results, metadataCollectionId);
+            super.saveRepositoryPage(metadataCollectionId, metadataCollection, results);
         }
         catch (InvalidParameterException error)
         {
@@ -258,7 +323,7 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            return accumulator.getResults(repositoryConnector, super.getMergedPageGUIDs());
         }
 
         handleCommonPagingRequestExceptions();
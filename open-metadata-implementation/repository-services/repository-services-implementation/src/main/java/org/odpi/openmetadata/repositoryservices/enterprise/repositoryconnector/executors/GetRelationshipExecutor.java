@@ -10,11 +10,15 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * GetRelationshipExecutor provides the executor for the isRelationshipKnown and getRelationship methods.
+ * The current version of a relationship can also be requested from all of the repositories at once, in which case
+ * the latest version that is returned is kept.
  */
-public class GetRelationshipExecutor extends RepositoryExecutorBase
+public class GetRelationshipExecutor extends RepositoryExecutorBase implements AsyncRepositoryExecutor
 {
     private MaintenanceAccumulator accumulator;
     private String                 relationshipGUID;
@@ -90,6 +94,8 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
 
         try
         {
+            Relationship relationship;
+
             /*
              * Issue the request and return if it succeeds
              */
@@ -97,23 +103,24 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
             {
                 if (allExceptions)
                 {
-                    retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                               relationshipGUID);
+                    relationship = metadataCollection.getRelationship(userId,
+                                                                      relationshipGUID);
                 }
                 else
                 {
-                    retrievedRelationship = metadataCollection.isRelationshipKnown(userId,
-                                                                                   relationshipGUID);
+                    relationship = metadataCollection.isRelationshipKnown(userId,
+                                                                          relationshipGUID);
                 }
             }
             else
             {
-                retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                           relationshipGUID,
-                                                                           asOfTime);
+                relationship = metadataCollection.getRelationship(userId,
+                                                                  relationshipGUID,
+                                                                  asOfTime);
             }
-            if (retrievedRelationship != null)
+            if (relationship != null)
             {
+                saveRelationship(relationship);
                 result = true;
             }
         }
@@ -144,6 +151,83 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
     }
 
 
+    /**
+     * Issue the request for the current version of the relationship to the supplied repository without waiting for
+     * it to respond.  Historical and isRelationshipKnown requests are issued synchronously.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return future that completes once the relationship, or exception, from the repository is saved
+     */
+    @Override
+    public CompletableFuture<Void> issueRequestToRepositoryAsync(String                 metadataCollectionId,
+                                                                 OMRSMetadataCollection metadataCollection)
+    {
+        if ((asOfTime != null) || (! allExceptions))
+        {
+            this.issueRequestToRepository(metadataCollectionId, metadataCollection);
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return metadataCollection.getRelationshipAsync(userId, relationshipGUID).handle((relationship, error) ->
+        {
+            if (error == null)
+            {
+                saveRelationship(relationship);
+            }
+            else
+            {
+                Throwable cause = error;
+
+                if ((error instanceof CompletionException) && (error.getCause() != null))
+                {
+                    cause = error.getCause();
+                }
+
+                if (cause instanceof InvalidParameterException)
+                {
+                    accumulator.captureException((InvalidParameterException) cause);
+                }
+                else if (cause instanceof RelationshipNotKnownException)
+                {
+                    accumulator.captureException((RelationshipNotKnownException) cause);
+                }
+                else if (cause instanceof RepositoryErrorException)
+                {
+                    accumulator.captureException((RepositoryErrorException) cause);
+                }
+                else if (cause instanceof UserNotAuthorizedException)
+                {
+                    accumulator.captureException((UserNotAuthorizedException) cause);
+                }
+                else
+                {
+                    accumulator.captureGenericException(methodName,
+                                                        metadataCollectionId,
+                                                        (Exception) ((cause instanceof Exception) ? cause : new Exception(cause)));
+                }
+            }
+
+            return null;
+        });
+    }
+
+
+    /**
+     * Save a relationship returned by one of the repositories if it is later than any already returned.
+     *
+     * @param relationship relationship returned by a repository or null
+     */
+    private synchronized void saveRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && ((retrievedRelationship == null) || (relationship.getVersion() > retrievedRelationship.getVersion())))
+        {
+            retrievedRelationship = relationship;
+        }
+    }
+
+
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
      *
@@ -153,7 +237,7 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
      *                                  the metadata collection is stored.
      * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
      */
-    public Relationship isRelationshipKnown() throws InvalidParameterException,
+    public synchronized Relationship isRelationshipKnown() throws InvalidParameterException,
                                                      RepositoryErrorException,
                                                      UserNotAuthorizedException
     {
@@ -3,19 +3,38 @@
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryInstanceAccumulatorBase;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 /**
- * CloneableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
- * parallel so the call to each repository runs in a different thread.
+ * PageableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
+ * parallel so the call to each repository runs in a different thread.  The results from each repository
+ * are paged.
+ * <p>
+ * When federated paging is enabled, the ordered pages returned by each repository are merged so that
+ * only the requested page of the combined results is returned.  A cursor that records how far through each
+ * repository's results the merge has consumed is saved so that the request for the next page can ask each
+ * repository for the next elements from its own offset.  This means the cost of retrieving a page is
+ * proportional to the page size and number of repositories rather than the starting element.
+ * </p>
+ *
+ * @param <T> type of instance returned
  */
-abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecutorBase
+abstract class PageableRepositoryExecutorBase<T extends InstanceHeader> extends CloneableRepositoryExecutorBase
 {
     int  startingElement;
     int  pageSize;
@@ -27,6 +46,7 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     Date                 asOfTime;
 
     private QueryInstanceAccumulatorBase queryInstanceAccumulator;
+    private FederatedPagingState<T>      pagingState = null;
 
     /**
      * Create the executor.  The parameters provide the parameters for issuing the requests and
@@ -68,6 +88,340 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     }
 
 
+    /**
+     * Turn on the merging of the ordered results from each repository.  This is only possible when a page size
+     * is supplied.
+     *
+     * @param cursorCache cache of continuation cursors for the enterprise connector
+     * @param queryKey string that identifies the query (excluding its paging parameters)
+     */
+    public void enableFederatedPaging(FederatedPagingCursorCache cursorCache,
+                                      String                     queryKey)
+    {
+        if ((pageSize > 0) && (cursorCache != null) && (queryKey != null))
+        {
+            FederatedPagingCursor cursor = null;
+
+            if (startingElement > 0)
+            {
+                cursor = cursorCache.getCursor(queryKey, startingElement);
+            }
+
+            pagingState = new FederatedPagingState<>(cursorCache, queryKey, cursor);
+        }
+    }
+
+
+    /**
+     * Share the paging state of the executor that this executor is cloned from.
+     *
+     * @param template executor being cloned
+     */
+    void sharePagingState(PageableRepositoryExecutorBase<T> template)
+    {
+        this.pagingState = template.pagingState;
+    }
+
+
+    /**
+     * Return the element number to start from for the requested repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return starting element
+     */
+    int getRepositoryStartingElement(String metadataCollectionId)
+    {
+        if (pagingState == null)
+        {
+            return startingElement;
+        }
+
+        if (pagingState.cursor != null)
+        {
+            Integer offset = pagingState.cursor.getRepositoryOffset(metadataCollectionId);
+
+            if (offset != null)
+            {
+                return offset;
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Return the page size to request from each repository.  If the offset of each repository is not known,
+     * all of the elements up to the end of the requested page are needed from each repository.
+     *
+     * @return page size
+     */
+    int getRepositoryPageSize()
+    {
+        if ((pagingState == null) || (startingElement == 0) || (pagingState.cursor != null))
+        {
+            return pageSize;
+        }
+
+        return startingElement + pageSize;
+    }
+
+
+    /**
+     * Retrieve a page of results from a single repository.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element
+     * @param repositoryPageSize maximum number of elements to return
+     * @return list of instances
+     * @throws Exception problem retrieving results
+     */
+    abstract List<T> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                       int                    fromElement,
+                                       int                    repositoryPageSize) throws Exception;
+
+
+    /**
+     * Pass results retrieved from a repository to the accumulator.
+     *
+     * @param results list of instances
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     */
+    abstract void addResultsToAccumulator(List<T> results,
+                                          String  metadataCollectionId);
+
+
+    /**
+     * Return the comparator that matches the order that the repositories return their results.
+     *
+     * @return comparator
+     */
+    abstract Comparator<T> getSequencingComparator();
+
+
+    /**
+     * Save the results returned by a repository so they can be merged with the results of the other repositories.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param metadataCollection metadata collection object for the repository
+     * @param results results returned
+     */
+    void saveRepositoryPage(String                 metadataCollectionId,
+                            OMRSMetadataCollection metadataCollection,
+                            List<T>                results)
+    {
+        if (pagingState != null)
+        {
+            pagingState.saveRepositoryPage(metadataCollectionId,
+                                           metadataCollection,
+                                           this.getRepositoryStartingElement(metadataCollectionId),
+                                           results);
+        }
+    }
+
+
+    /**
+     * Merge the ordered results from each repository to determine which instances make up the requested page.
+     * This is called once all of the repositories have responded.
+     *
+     * @return list of instance GUIDs in the order they should be returned, or null if federated paging is not enabled
+     */
+    List<String> getMergedPageGUIDs()
+    {
+        if (pagingState == null)
+        {
+            return null;
+        }
+
+        int                        skip              = 0;
+        FederatedPagingCursor      previousCursor    = pagingState.cursor;
+        List<RepositoryResults<T>> repositoryResults = pagingState.getRepositoryResults();
+
+        if ((pagingState.cursor != null) && (! pagingState.cursor.getMetadataCollectionIds().equals(pagingState.getMetadataCollectionIds())))
+        {
+            /*
+             * The members of the cohort have changed since the previous page so the offsets are not valid.
+             * The results are retrieved again from the start of each repository.
+             */
+            int requestedPageSize = startingElement + pageSize;
+
+            for (RepositoryResults<T> results : repositoryResults)
+            {
+                results.pageStart = 0;
+                results.page = this.fetchRepositoryPage(results, requestedPageSize);
+            }
+
+            skip = startingElement;
+            previousCursor = null;
+        }
+        else if ((pagingState.cursor == null) && (startingElement > 0))
+        {
+            skip = startingElement;
+        }
+
+        /*
+         * Ties are resolved using the metadata collection id so that the order is repeatable from one page to the next.
+         */
+        Comparator<T>                        comparator = this.getSequencingComparator();
+        PriorityQueue<RepositoryResults<T>>  queue      = new PriorityQueue<>((one, two) ->
+        {
+            int result = comparator.compare(one.getCurrentInstance(), two.getCurrentInstance());
+
+            if (result == 0)
+            {
+                result = one.metadataCollectionId.compareTo(two.metadataCollectionId);
+            }
+
+            return result;
+        });
+
+        /*
+         * A repository may return fewer elements than requested because it caps the page at its own maximum page
+         * size, so it is only treated as having no more results when it returns an empty page.
+         */
+        for (RepositoryResults<T> results : repositoryResults)
+        {
+            results.exhausted = results.page.isEmpty();
+
+            if (! results.page.isEmpty())
+            {
+                queue.add(results);
+            }
+        }
+
+        int          wanted    = skip + pageSize;
+        int          counted   = 0;
+        Set<String>  seenGUIDs = new HashSet<>();
+        List<String> pageGUIDs = new ArrayList<>();
+
+        /*
+         * Once the page is full, any copies of instances already on the page that are next in line are also
+         * consumed so they are not returned again at the start of the next page.
+         */
+        while ((! queue.isEmpty()) && ((counted < wanted) || (queue.peek().isCurrentInstanceIn(seenGUIDs))))
+        {
+            RepositoryResults<T> results  = queue.poll();
+            T                    instance = results.getCurrentInstance();
+
+            results.index++;
+
+            /*
+             * The same instance may be returned by more than one repository (for example, reference copies).
+             * It is only counted once and the accumulator has already selected the latest version.  A copy
+             * that sorts later than the first copy may turn up on a later page, so the instances returned on
+             * the previous pages are skipped too.
+             */
+            if ((instance != null) && (instance.getGUID() != null) && (seenGUIDs.add(instance.getGUID())) &&
+                ((previousCursor == null) || (! previousCursor.isAlreadyReturned(instance.getGUID()))))
+            {
+                if (counted >= skip)
+                {
+                    pageGUIDs.add(instance.getGUID());
+                }
+
+                counted ++;
+            }
+
+            if (results.index < results.page.size())
+            {
+                queue.add(results);
+            }
+            else if ((counted < wanted) && (! results.exhausted))
+            {
+                /*
+                 * This repository may have more results that sort ahead of the results from the other repositories.
+                 */
+                results.pageStart = results.pageStart + results.page.size();
+                results.index = 0;
+                results.page = this.fetchRepositoryPage(results, pageSize);
+                results.exhausted = results.page.isEmpty();
+
+                if (! results.page.isEmpty())
+                {
+                    queue.add(results);
+                }
+            }
+        }
+
+        /*
+         * Save the offsets so that the next page can carry on from where this page finished, along with the
+         * instances that have been returned so far.
+         */
+        Map<String, Integer> repositoryOffsets = new HashMap<>();
+
+        for (RepositoryResults<T> results : repositoryResults)
+        {
+            repositoryOffsets.put(results.metadataCollectionId, results.pageStart + results.index);
+        }
+
+        pagingState.cursorCache.saveCursor(pagingState.queryKey,
+                                           startingElement + pageGUIDs.size(),
+                                           new FederatedPagingCursor(repositoryOffsets, previousCursor, seenGUIDs));
+
+        return pageGUIDs;
+    }
+
+
+    /**
+     * Retrieve more results from a repository during the merge.  Any problem with the repository means that no more
+     * results are taken from it.  The exception is captured in the accumulator in the same way as an exception from
+     * the initial request.
+     *
+     * @param results results from the repository so far
+     * @param repositoryPageSize number of elements to request
+     * @return list of instances (may be empty)
+     */
+    private List<T> fetchRepositoryPage(RepositoryResults<T> results,
+                                        int                  repositoryPageSize)
+    {
+        try
+        {
+            List<T> page = this.getRepositoryPage(results.metadataCollection, results.pageStart, repositoryPageSize);
+
+            if (page != null)
+            {
+                this.addResultsToAccumulator(page, results.metadataCollectionId);
+
+                return page;
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (TypeErrorException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (PagingErrorException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            queryInstanceAccumulator.captureException(results.metadataCollectionId, error);
+        }
+        catch (Exception error)
+        {
+            queryInstanceAccumulator.captureGenericException(methodName, results.metadataCollectionId, error);
+        }
+
+        return new ArrayList<>();
+    }
+
+
     /**
      * Return any of the exceptions that are common to paging requests.
      *
@@ -100,4 +454,124 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
         queryInstanceAccumulator.throwCapturedTypeErrorException();
         queryInstanceAccumulator.throwCapturedPagingErrorException();
     }
+
+
+    /**
+     * RepositoryResults is the merge cursor for the ordered results from a single repository.
+     *
+     * @param <T> type of instance
+     */
+    private static class RepositoryResults<T extends InstanceHeader>
+    {
+        String                 metadataCollectionId;
+        OMRSMetadataCollection metadataCollection;
+        int                    pageStart;
+        List<T>                page;
+        int                    index     = 0;
+        boolean                exhausted = false;
+
+
+        /**
+         * Return the instance at the current position.
+         *
+         * @return instance
+         */
+        T getCurrentInstance()
+        {
+            return page.get(index);
+        }
+
+
+        /**
+         * Return whether the instance at the current position is one of the supplied instances.
+         *
+         * @param guids unique identifiers of instances
+         * @return boolean flag
+         */
+        boolean isCurrentInstanceIn(Set<String> guids)
+        {
+            T instance = page.get(index);
+
+            return (instance != null) && (guids.contains(instance.getGUID()));
+        }
+    }
+
+
+    /**
+     * FederatedPagingState is shared by an executor and its clones.  It collects the pages returned by each
+     * repository.
+     *
+     * @param <T> type of instance
+     */
+    private static class FederatedPagingState<T extends InstanceHeader>
+    {
+        final FederatedPagingCursorCache cursorCache;
+        final String                     queryKey;
+        final FederatedPagingCursor      cursor;
+
+        private final Map<String, RepositoryResults<T>> repositoryResults = new HashMap<>();
+
+
+        /**
+         * Constructor
+         *
+         * @param cursorCache cache of cursors
+         * @param queryKey identifier of the query
+         * @param cursor cursor from the previous page (may be null)
+         */
+        FederatedPagingState(FederatedPagingCursorCache cursorCache,
+                             String                     queryKey,
+                             FederatedPagingCursor      cursor)
+        {
+            this.cursorCache = cursorCache;
+            this.queryKey = queryKey;
+            this.cursor = cursor;
+        }
+
+
+        /**
+         * Save the results from a repository.
+         *
+         * @param metadataCollectionId unique identifier of the repository's metadata collection
+         * @param metadataCollection metadata collection object for the repository
+         * @param pageStart starting element of the results
+         * @param results results returned
+         */
+        synchronized void saveRepositoryPage(String                 metadataCollectionId,
+                                             OMRSMetadataCollection metadataCollection,
+                                             int                    pageStart,
+                                             List<T>                results)
+        {
+            RepositoryResults<T> repositoryPage = new RepositoryResults<>();
+
+            repositoryPage.metadataCollectionId = metadataCollectionId;
+            repositoryPage.metadataCollection = metadataCollection;
+            repositoryPage.pageStart = pageStart;
+            repositoryPage.page = (results == null) ? new ArrayList<>() : results;
+
+            repositoryResults.put(metadataCollectionId, repositoryPage);
+        }
+
+
+        /**
+         * Return the identifiers of the repositories that returned results.
+         *
+         * @return set of metadata collection ids
+         */
+        synchronized Set<String> getMetadataCollectionIds()
+        {
+            return new HashSet<>(repositoryResults.keySet());
+        }
+
+
+        /**
+         * Return the results from each repository.
+         *
+         * @return list
+         */
+        synchronized List<RepositoryResults<T>> getRepositoryResults()
+        {
+            return new ArrayList<>(repositoryResults.values());
+        }
+    }
 }
@@ -24,6 +24,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -1963,7 +1965,10 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
 
     /**
      * An open metadata repository is passing information about a collection of entities and relationships
-     * with the other repositories in the cohort.
+     * with the other repositories in the cohort.  Each instance is validated in the same way as the instance
+     * in a new or updated instance event.  The valid instances that the rules allow to be saved are passed to the
+     * local repository together so that it can save them in bulk.  The valid instances replicated by the
+     * local repository (from an open metadata archive for example) are passed on to the cohort in a single batch.
      *
      * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
      *                   local repository, or event mapper name.
@@ -1984,19 +1989,145 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         final String methodName = "processInstanceBatchEvent";
 
-        try
+        if (instances == null)
         {
-            verifyEventProcessor(methodName);
+            return;
+        }
+
+        List<EntityDetail> entitiesToSave          = new ArrayList<>();
+        List<EntityDetail> replicatedEntities      = new ArrayList<>();
+        List<Relationship> relationshipsToSave     = new ArrayList<>();
+        List<Relationship> replicatedRelationships = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (validateReferenceEntity(sourceName,
+                                                                 methodName,
+                                                                 originatorMetadataCollectionId,
+                                                                 originatorServerName,
+                                                                 entity,
+                                                                 OMRSInstanceEventType.BATCH_INSTANCES_EVENT)))
+                {
+                    if ((verifyEventToSave(sourceName, entity)) || (verifyEventToLearn(sourceName, entity)))
+                    {
+                        entitiesToSave.add(entity);
+                    }
+
+                    if (localMetadataCollectionId.equals(entity.getReplicatedBy()))
+                    {
+                        replicatedEntities.add(entity);
+                    }
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (validateReferenceRelationship(sourceName,
+                                                                             methodName,
+                                                                             originatorMetadataCollectionId,
+                                                                             originatorServerName,
+                                                                             relationship,
+                                                                             OMRSInstanceEventType.BATCH_INSTANCES_EVENT)))
+                {
+                    if ((verifyEventToSave(sourceName, relationship)) || (verifyEventToLearn(sourceName, relationship)))
+                    {
+                        relationshipsToSave.add(relationship);
+                    }
 
+                    if (localMetadataCollectionId.equals(relationship.getReplicatedBy()))
+                    {
+                        replicatedRelationships.add(relationship);
+                    }
+                }
+            }
+        }
+
+        saveReferenceCopies(methodName,
+                            originatorMetadataCollectionId,
+                            originatorServerName,
+                            entitiesToSave,
+                            relationshipsToSave);
+
+        if ((! replicatedEntities.isEmpty()) || (! replicatedRelationships.isEmpty()))
+        {
+            outboundRepositoryEventProcessor.processInstanceBatchEvent(sourceName,
+                                                                       originatorMetadataCollectionId,
+                                                                       originatorServerName,
+                                                                       originatorServerType,
+                                                                       originatorOrganizationName,
+                                                                       new InstanceGraph(replicatedEntities, replicatedRelationships));
+        }
+    }
+
+
+    /**
+     * Save reference copies of a batch of instances in the local repository with a single request.  If the
+     * request fails, the instances are saved one at a time so that a single bad instance does not prevent
+     * the rest of the batch from being saved.
+     *
+     * @param methodName name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName name of the server that the event came from.
+     * @param entities entities to save
+     * @param relationships relationships to save
+     */
+    private void saveReferenceCopies(String             methodName,
+                                     String             originatorMetadataCollectionId,
+                                     String             originatorServerName,
+                                     List<EntityDetail> entities,
+                                     List<Relationship> relationships)
+    {
+        if ((entities.isEmpty()) && (relationships.isEmpty()))
+        {
+            return;
+        }
+
+        try
+        {
             localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
-                                                                instances);
+                                                                new InstanceGraph(entities, relationships));
+            return;
         }
         catch (Exception error)
         {
-            handleUnexpectedErrorFromEvent(error,
-                                           methodName,
-                                           originatorServerName,
-                                           originatorMetadataCollectionId);
+            log.debug("Unable to save batch of " + (entities.size() + relationships.size()) +
+                              " reference copies in one request, saving them one at a time", error);
+        }
+
+        for (EntityDetail entity : entities)
+        {
+            try
+            {
+                localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+            }
+            catch (Exception error)
+            {
+                handleUnexpectedErrorFromEvent(error,
+                                               methodName,
+                                               originatorServerName,
+                                               originatorMetadataCollectionId);
+            }
+        }
+
+        for (Relationship relationship : relationships)
+        {
+            try
+            {
+                localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(), relationship);
+            }
+            catch (Exception error)
+            {
+                handleUnexpectedErrorFromEvent(error,
+                                               methodName,
+                                               originatorServerName,
+                                               originatorMetadataCollectionId);
+            }
         }
     }
 
@@ -2449,8 +2580,59 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                           EntityDetail          entity,
                                           OMRSInstanceEventType eventType)
     {
-        boolean validEntity = false;
+        boolean validEntity = validateReferenceEntity(sourceName,
+                                                      methodName,
+                                                      originatorMetadataCollectionId,
+                                                      originatorServerName,
+                                                      entity,
+                                                      eventType);
 
+        try
+        {
+            if (validEntity)
+            {
+                /*
+                 * Verify that the rules allow the entity to be saved
+                 */
+                if ((verifyEventToSave(sourceName, entity)) || (verifyEventToLearn(sourceName, entity)))
+                {
+                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+                }
+            }
+        }
+        catch (Exception error)
+        {
+            handleUnexpectedErrorFromEvent(error,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+
+        return validEntity;
+    }
+
+
+    /**
+     * Validate a reference entity and check that it is compatible with (and a later version than) the entity
+     * stored in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the new entity
+     * @param eventType                      the type of event that the entity was received in
+     * @return boolean flag to say whether the entity is valid
+     */
+    private boolean validateReferenceEntity(String                sourceName,
+                                            String                methodName,
+                                            String                originatorMetadataCollectionId,
+                                            String                originatorServerName,
+                                            EntityDetail          entity,
+                                            OMRSInstanceEventType eventType)
+    {
         try
         {
             final String entityParameterName = "entity";
@@ -2468,22 +2650,11 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
             /*
              * Verify that the incoming instance is compatible with the stored instance.
              */
-            validEntity = compareAndValidateReferenceInstance(originatorServerName,
-                                                              entity,
-                                                              storedEntity,
-                                                              eventType,
-                                                              methodName);
-
-            if (validEntity)
-            {
-                /*
-                 * Verify that the rules allow the entity to be saved
-                 */
-                if ((verifyEventToSave(sourceName, entity)) || (verifyEventToLearn(sourceName, entity)))
-                {
-                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
-                }
-            }
+            return compareAndValidateReferenceInstance(originatorServerName,
+                                                       entity,
+                                                       storedEntity,
+                                                       eventType,
+                                                       methodName);
         }
         catch (Exception error)
         {
@@ -2493,7 +2664,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                            originatorMetadataCollectionId);
         }
 
-        return validEntity;
+        return false;
     }
 
 
@@ -2754,8 +2925,60 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                 Relationship          relationship,
                                                 OMRSInstanceEventType eventType)
     {
-        boolean validRelationship = false;
+        boolean validRelationship = validateReferenceRelationship(sourceName,
+                                                                  methodName,
+                                                                  originatorMetadataCollectionId,
+                                                                  originatorServerName,
+                                                                  relationship,
+                                                                  eventType);
+
+        try
+        {
+            if (validRelationship)
+            {
+                /*
+                 * Verify that the rules allow the relationship to be saved
+                 */
+                if ((verifyEventToSave(sourceName, relationship)) || (verifyEventToLearn(sourceName, relationship)))
+                {
+                    localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                          relationship);
+                }
+            }
+        }
+        catch (Exception error)
+        {
+            handleUnexpectedErrorFromEvent(error,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+
+        return validRelationship;
+    }
 
+
+    /**
+     * Validate a reference relationship and check that it is compatible with (and a later version than) the
+     * relationship stored in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param relationship                   details of the relationship
+     * @param eventType                      the type of event that the relationship was received in
+     * @return boolean flag to say whether the relationship is valid
+     */
+    private boolean validateReferenceRelationship(String                sourceName,
+                                                  String                methodName,
+                                                  String                originatorMetadataCollectionId,
+                                                  String                originatorServerName,
+                                                  Relationship          relationship,
+                                                  OMRSInstanceEventType eventType)
+    {
         try
         {
             final String relationshipParameterName = "relationship";
@@ -2773,22 +2996,11 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
             /*
              * Verify that the incoming instance is compatible with the stored instance.
              */
-            validRelationship = compareAndValidateReferenceInstance(originatorServerName,
-                                                                    relationship,
-                                                                    storedRelationship,
-                                                                    eventType,
-                                                                    methodName);
-            if (validRelationship)
-            {
-                /*
-                 * Verify that the rules allow the relationship to be saved
-                 */
-                if ((verifyEventToSave(sourceName, relationship)) || (verifyEventToLearn(sourceName, relationship)))
-                {
-                    localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
-                                                                          relationship);
-                }
-            }
+            return compareAndValidateReferenceInstance(originatorServerName,
+                                                       relationship,
+                                                       storedRelationship,
+                                                       eventType,
+                                                       methodName);
         }
         catch (Exception error)
         {
@@ -2798,7 +3010,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                            originatorMetadataCollectionId);
         }
 
-        return validRelationship;
+        return false;
     }
 
 
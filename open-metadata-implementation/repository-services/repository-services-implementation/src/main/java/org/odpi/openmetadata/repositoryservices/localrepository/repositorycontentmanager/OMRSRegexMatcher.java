@@ -0,0 +1,187 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+
+/**
+ * OMRSRegexMatcher tests property values against the regular expressions used as search criteria.  It gives the
+ * same result as String.matches() but avoids compiling the regular expression for every value tested:
+ * <ul>
+ *     <li>
+ *         The case-sensitive exact match, starts with, ends with and contains regular expressions built by the
+ *         repository helper (a literal string quoted with \Q and \E, optionally preceded and/or followed by .*)
+ *         are tested with String comparisons.
+ *     </li>
+ *     <li>
+ *         Other regular expressions are compiled once and kept in a bounded, least recently used cache.
+ *     </li>
+ * </ul>
+ */
+final class OMRSRegexMatcher
+{
+    private static final String QUOTE_START = "\\Q";
+    private static final String QUOTE_END   = "\\E";
+    private static final String ANY_CHARS   = ".*";
+
+    private static final int    MAX_CACHED_CRITERIA = 512;
+
+    private static final Map<String, OMRSRegexMatcher> criteriaCache
+            = Collections.synchronizedMap(new LinkedHashMap<String, OMRSRegexMatcher>(MAX_CACHED_CRITERIA, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OMRSRegexMatcher> eldest)
+        {
+            return size() > MAX_CACHED_CRITERIA;
+        }
+    });
+
+    private final Pattern pattern;
+    private final String  literal;
+    private final boolean anyCharsBefore;
+    private final boolean anyCharsAfter;
+
+
+    /**
+     * Constructor for a matcher of one regular expression.
+     *
+     * @param regex regular expression
+     */
+    private OMRSRegexMatcher(String regex)
+    {
+        this.pattern = Pattern.compile(regex);
+
+        String  quoted = regex;
+        boolean before = false;
+        boolean after  = false;
+
+        if (quoted.startsWith(ANY_CHARS))
+        {
+            quoted = quoted.substring(ANY_CHARS.length());
+            before = true;
+        }
+
+        if (quoted.endsWith(ANY_CHARS))
+        {
+            quoted = quoted.substring(0, quoted.length() - ANY_CHARS.length());
+            after = true;
+        }
+
+        if ((quoted.startsWith(QUOTE_START)) &&
+            (quoted.endsWith(QUOTE_END)) &&
+            (quoted.indexOf(QUOTE_END) == quoted.length() - QUOTE_END.length()))
+        {
+            this.literal = quoted.substring(QUOTE_START.length(), quoted.length() - QUOTE_END.length());
+        }
+        else
+        {
+            this.literal = null;
+        }
+
+        this.anyCharsBefore = before;
+        this.anyCharsAfter = after;
+    }
+
+
+    /**
+     * Return whether the value matches the whole of the regular expression.
+     *
+     * @param value value to test
+     * @param regex regular expression
+     * @return boolean result
+     * @throws java.util.regex.PatternSyntaxException the regular expression is not valid
+     */
+    static boolean matches(String value,
+                           String regex)
+    {
+        OMRSRegexMatcher matcher = criteriaCache.get(regex);
+
+        if (matcher == null)
+        {
+            matcher = new OMRSRegexMatcher(regex);
+            criteriaCache.put(regex, matcher);
+        }
+
+        return matcher.matches(value);
+    }
+
+
+    /**
+     * Test a value against this matcher's regular expression.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    private boolean matches(String value)
+    {
+        if (literal == null)
+        {
+            return pattern.matcher(value).matches();
+        }
+
+        if ((! anyCharsBefore) && (! anyCharsAfter))
+        {
+            return value.equals(literal);
+        }
+
+        if (! anyCharsBefore)
+        {
+            return (value.startsWith(literal)) && (hasNoLineTerminator(value, literal.length(), value.length()));
+        }
+
+        if (! anyCharsAfter)
+        {
+            return (value.endsWith(literal)) && (hasNoLineTerminator(value, 0, value.length() - literal.length()));
+        }
+
+        /*
+         * The . in .* does not match line terminators so values containing them are left to the pattern.
+         */
+        if (hasNoLineTerminator(value, 0, value.length()))
+        {
+            return value.contains(literal);
+        }
+
+        return pattern.matcher(value).matches();
+    }
+
+
+    /**
+     * Return whether a section of the value is free of the line terminators that the regular expression
+     * . does not match.
+     *
+     * @param value value to test
+     * @param start index of the first character in the section
+     * @param end index after the last character in the section
+     * @return boolean result
+     */
+    private static boolean hasNoLineTerminator(String value,
+                                               int    start,
+                                               int    end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            switch (value.charAt(i))
+            {
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return false;
+
+                default:
+                    break;
+            }
+        }
+
+        return true;
+    }
+}
@@ -2313,21 +2313,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
         // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
         if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(getEntityComparator(sequencingProperty, sequencingOrder));
         }
 
         if ((fromElement == 0) && (pageSize > fullResultsSize))
@@ -2385,21 +2371,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
         // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
         if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(getRelationshipComparator(sequencingProperty, sequencingOrder));
         }
 
         if ((fromElement == 0) && (pageSize == 0 || pageSize > fullResultsSize))
@@ -2416,6 +2388,74 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
     }
 
 
+    /**
+     * Return the comparator that orders entities according to the sequencing parameters.  This is the order
+     * used by formatEntityResults.  It is also used to merge the ordered results from multiple repositories.
+     *
+     * @param sequencingProperty - String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder - Enum defining how the results should be ordered.
+     * @return comparator (treats all entities as equal if there is no sequencing order)
+     */
+    public static Comparator<EntityDetail> getEntityComparator(String          sequencingProperty,
+                                                               SequencingOrder sequencingOrder)
+    {
+        if (sequencingOrder == null || sequencingOrder.equals(SequencingOrder.ANY))
+        {
+            return (one, two) -> 0;
+        }
+        else if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            // If the sequencing is property-based, handover to the property comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(
+                    one.getProperties(),
+                    two.getProperties(),
+                    sequencingProperty,
+                    sequencingOrder
+            );
+        }
+        else
+        {
+            // Otherwise handover to the instance comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+        }
+    }
+
+
+    /**
+     * Return the comparator that orders relationships according to the sequencing parameters.  This is the order
+     * used by formatRelationshipResults.  It is also used to merge the ordered results from multiple repositories.
+     *
+     * @param sequencingProperty - String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder - Enum defining how the results should be ordered.
+     * @return comparator (treats all relationships as equal if there is no sequencing order)
+     */
+    public static Comparator<Relationship> getRelationshipComparator(String          sequencingProperty,
+                                                                     SequencingOrder sequencingOrder)
+    {
+        if (sequencingOrder == null || sequencingOrder.equals(SequencingOrder.ANY))
+        {
+            return (one, two) -> 0;
+        }
+        else if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            // If the sequencing is property-based, handover to the property comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(
+                    one.getProperties(),
+                    two.getProperties(),
+                    sequencingProperty,
+                    sequencingOrder
+            );
+        }
+        else
+        {
+            // Otherwise handover to the instance comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+        }
+    }
+
+
     /**
      * Compare the two instances and determine the sort order based on the nominated non-property sort order.
      *
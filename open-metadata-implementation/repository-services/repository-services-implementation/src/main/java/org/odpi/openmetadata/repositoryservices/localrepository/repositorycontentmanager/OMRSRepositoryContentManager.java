@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMRSRepositoryContentManager supports an in-memory cache of TypeDefs for the local server.  It is used by the OMRS
@@ -58,11 +59,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
-    private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
+    private Map<String, InstanceType>       knownInstanceTypes             = new ConcurrentHashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
     private Map<String, Set<String>>        knownPropertyToTypeDefNames    = new HashMap<>();
 
+    /*
+     * The super type closure of the known types.  New types are added to it; it is replaced whenever a change
+     * to the known types may alter the closure of the types already in it.
+     */
+    private volatile OMRSTypeDefHierarchy   typeDefHierarchy               = new OMRSTypeDefHierarchy(new HashMap<>());
+
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -151,7 +157,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private void cacheTypeDef(String  sourceName, TypeDef      newTypeDef, boolean isLocallySupported)
     {
         knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-        knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+        putKnownTypeDefName(newTypeDef);
 
         if (isLocallySupported)
         {
@@ -235,7 +241,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                 boolean isLocallySupported)
     {
         knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-        knownTypeDefNames.remove(obsoleteTypeDefName);
+        removeKnownTypeDefName(obsoleteTypeDefName);
 
         if (isLocallySupported)
         {
@@ -248,6 +254,61 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Add a TypeDef to the known types by name and maintain the super type closure.  All changes to
+     * knownTypeDefNames go through this method or removeKnownTypeDefName so the closure stays in step.
+     * A new type is added to the closure on its own.  A type that replaces one with a different GUID or
+     * super type may change the closure of its subtypes, so the closure is rebuilt.
+     *
+     * @param typeDef TypeDef to add or replace
+     */
+    private synchronized void putKnownTypeDefName(TypeDef typeDef)
+    {
+        TypeDef previousTypeDef = knownTypeDefNames.put(typeDef.getName(), typeDef);
+
+        if (previousTypeDef == null)
+        {
+            typeDefHierarchy.addTypeDef(typeDef, knownTypeDefNames);
+        }
+        else if ((Objects.equals(previousTypeDef.getGUID(), typeDef.getGUID())) &&
+                 (Objects.equals(previousTypeDef.getSuperType(), typeDef.getSuperType())))
+        {
+            typeDefHierarchy.addTypeDef(typeDef, knownTypeDefNames);
+            knownInstanceTypes.clear();
+        }
+        else
+        {
+            refreshTypeDefHierarchy();
+        }
+    }
+
+
+    /**
+     * Remove a TypeDef from the known types by name and rebuild the super type closure since the
+     * closure of its subtypes is no longer valid.
+     *
+     * @param typeDefName name of the obsolete type
+     */
+    private synchronized void removeKnownTypeDefName(String typeDefName)
+    {
+        if (knownTypeDefNames.remove(typeDefName) != null)
+        {
+            refreshTypeDefHierarchy();
+        }
+    }
+
+
+    /**
+     * Rebuild the super type closure of the known types and discard the instance types built from the old one.
+     * The new closure replaces the old one in a single assignment so the methods testing types do not need a lock.
+     */
+    private synchronized void refreshTypeDefHierarchy()
+    {
+        typeDefHierarchy = new OMRSTypeDefHierarchy(knownTypeDefNames);
+        knownInstanceTypes.clear();
+    }
+
+
     /**
      * Remove a TypeDef from the reverse property lookup.
      *
@@ -342,7 +403,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
             knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            knownTypeDefNames.remove(obsoleteTypeDefName);
+            removeKnownTypeDefName(obsoleteTypeDefName);
 
             if (localRepositoryConnector != null)
             {
@@ -499,7 +560,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the superTypes for a type from the precomputed type hierarchy.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
@@ -512,82 +573,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String  thisMethodName = "getSuperTypes";
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        OMRSTypeDefHierarchy currentTypeDefHierarchy = typeDefHierarchy;
 
-        if (typeHierarchy == null)
+        if (! currentTypeDefHierarchy.isKnown(typeName))
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
-            {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
-
-                while (superTypeLink != null)
-                {
-                    String superTypeName = superTypeLink.getName();
-
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
-
-                        typeHierarchy.add(superTypeLink);
-
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
-
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
-
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName + "(" + typeName + ")");
-            }
+            log.error(typeName + " type or one of its super types is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName + "(" + typeName + ")");
         }
 
-        if (typeHierarchy.isEmpty())
-        {
-            /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
-             */
-            return null;
-        }
-        else
-        {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
-            return typeHierarchy;
-        }
+        return currentTypeDefHierarchy.getSuperTypes(typeName);
     }
 
 
@@ -637,23 +631,18 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         /*
          * Looking for a match in the superTypes.
          */
-        List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        OMRSTypeDefHierarchy currentTypeDefHierarchy = typeDefHierarchy;
 
-        if (typeHierarchy != null)
+        if (! currentTypeDefHierarchy.isKnown(actualTypeName))
         {
-            for (TypeDefLink superType : typeHierarchy)
-            {
-                if (superType != null)
-                {
-                    if (expectedTypeName.equals(superType.getName()))
-                    {
-                        log.debug("SuperType match success");
-                        return true;
-                    }
+            log.error(actualTypeName + " type or one of its super types is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, methodName + "(" + actualTypeName + ")");
+        }
 
-                    log.debug("No match with " + superType.getName());
-                }
-            }
+        if (currentTypeDefHierarchy.hasSuperTypeName(actualTypeName, expectedTypeName))
+        {
+            log.debug("SuperType match success");
+            return true;
         }
 
         /*
@@ -713,22 +702,18 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         /*
          * Looking for a match in the superTypes.
          */
-       List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        OMRSTypeDefHierarchy currentTypeDefHierarchy = typeDefHierarchy;
 
-        if (typeHierarchy != null)
+        if (! currentTypeDefHierarchy.isKnown(actualTypeName))
         {
-            for (TypeDefLink superType : typeHierarchy)
-            {
-                if (superType != null)
-                {
-                    if (expectedTypeGUID.equals(superType.getGUID()))
-                    {
-                        log.debug("SuperType match success");
-                        return true;
-                    }
-                    log.debug("No match with " + superType.getGUID());
-                }
-            }
+            log.error(actualTypeName + " type or one of its super types is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, methodName + "(" + actualTypeName + ")");
+        }
+
+        if (currentTypeDefHierarchy.hasSuperTypeGUID(actualTypeName, expectedTypeGUID))
+        {
+            log.debug("SuperType match success");
+            return true;
         }
 
         return false;
@@ -1593,7 +1578,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    putKnownTypeDefName(typeDef);
                 }
             }
             else
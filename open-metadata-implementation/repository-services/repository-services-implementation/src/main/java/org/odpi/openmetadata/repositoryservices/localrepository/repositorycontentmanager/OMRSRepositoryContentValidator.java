@@ -3803,7 +3803,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (OMRSRegexMatcher.matches(instancePropertyValueString, matchPropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3862,7 +3862,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (expectedValue.matches(matchValue))
+                        if (OMRSRegexMatcher.matches(expectedValue, matchValue))
                         {
                             result = true;
                         }
@@ -4220,7 +4220,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                             else
                             {
                                 String actual = actualValue.valueAsString();
-                                matchesProperties = actual.matches(test);
+                                matchesProperties = OMRSRegexMatcher.matches(actual, test);
                             }
                         }
                         else
@@ -4462,7 +4462,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (OMRSRegexMatcher.matches(stringProperty, searchCriteria))
                                 {
                                     return true;
                                 }
@@ -4476,7 +4476,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (OMRSRegexMatcher.matches(enumValue, searchCriteria))
                             {
                                 return true;
                             }
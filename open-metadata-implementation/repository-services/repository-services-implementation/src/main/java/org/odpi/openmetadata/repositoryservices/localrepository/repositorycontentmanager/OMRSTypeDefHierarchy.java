@@ -0,0 +1,233 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * OMRSTypeDefHierarchy holds the super type closure of each of the TypeDefs known to the repository content
+ * manager.  For each type name it holds the chain of super type links (closest first) along with the names and
+ * GUIDs in that chain so that the type of an instance can be tested against an expected type with a single set
+ * lookup.
+ * <p>
+ * New types are added one at a time by building on the closure of their super type.  The closure of each type
+ * is published as a single immutable entry so readers never need a lock.  Changes that may affect the closure
+ * of types already known (an update that changes the super type or GUID, or a removal) are handled by the
+ * content manager building a new hierarchy and replacing the old one in a single assignment.
+ * <p>
+ * A type is left out of the closure while its TypeDef, or one of its super types' TypeDefs, is not known; the
+ * content manager treats this as a logic error, just as it did when walking the hierarchy.  Such a type is held
+ * as pending and added as soon as its missing super type arrives.
+ */
+class OMRSTypeDefHierarchy
+{
+    /**
+     * The super type closure of a single type.
+     */
+    private static class TypeDefClosure
+    {
+        private final List<TypeDefLink> superTypes;
+        private final Set<String>       superTypeNames;
+        private final Set<String>       superTypeGUIDs;
+
+        TypeDefClosure(List<TypeDefLink> superTypes,
+                       Set<String>       superTypeNames,
+                       Set<String>       superTypeGUIDs)
+        {
+            this.superTypes     = Collections.unmodifiableList(superTypes);
+            this.superTypeNames = Collections.unmodifiableSet(superTypeNames);
+            this.superTypeGUIDs = Collections.unmodifiableSet(superTypeGUIDs);
+        }
+    }
+
+
+    private static final TypeDefClosure topLevelClosure = new TypeDefClosure(new ArrayList<>(),
+                                                                             new HashSet<>(),
+                                                                             new HashSet<>());
+
+    private final Map<String, TypeDefClosure> closures         = new ConcurrentHashMap<>();
+    private final Set<String>                  pendingTypeNames = new HashSet<>();
+
+
+    /**
+     * Build the super type closure for the supplied TypeDefs.
+     *
+     * @param knownTypeDefNames map of type name to TypeDef
+     */
+    OMRSTypeDefHierarchy(Map<String, TypeDef> knownTypeDefNames)
+    {
+        for (TypeDef typeDef : knownTypeDefNames.values())
+        {
+            if ((typeDef != null) && (typeDef.getName() != null))
+            {
+                resolveClosure(typeDef.getName(), knownTypeDefNames, new HashSet<>());
+            }
+        }
+    }
+
+
+    /**
+     * Add the closure of a newly known type.  Only the new type, and any pending types waiting for it, are
+     * evaluated.  The caller must serialize calls to this method and must have already added the TypeDef
+     * to the supplied map.
+     *
+     * @param typeDef newly known type
+     * @param knownTypeDefNames map of type name to TypeDef
+     */
+    void addTypeDef(TypeDef              typeDef,
+                    Map<String, TypeDef> knownTypeDefNames)
+    {
+        if ((typeDef == null) || (typeDef.getName() == null))
+        {
+            return;
+        }
+
+        if (resolveClosure(typeDef.getName(), knownTypeDefNames, new HashSet<>()) != null)
+        {
+            if (! pendingTypeNames.isEmpty())
+            {
+                for (String pendingTypeName : new ArrayList<>(pendingTypeNames))
+                {
+                    resolveClosure(pendingTypeName, knownTypeDefNames, new HashSet<>());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Work out the closure for the named type, reusing the closure of its super type if that is already known.
+     *
+     * @param typeName name of the type
+     * @param knownTypeDefNames map of type name to TypeDef
+     * @param visitedTypeNames types already on the path being evaluated (detects loops in the cached types)
+     * @return closure or null if the closure cannot be worked out
+     */
+    private TypeDefClosure resolveClosure(String               typeName,
+                                          Map<String, TypeDef> knownTypeDefNames,
+                                          Set<String>          visitedTypeNames)
+    {
+        TypeDef typeDef = knownTypeDefNames.get(typeName);
+
+        if ((typeDef == null) || (! visitedTypeNames.add(typeName)))
+        {
+            return null;
+        }
+
+        TypeDefLink    superTypeLink = typeDef.getSuperType();
+        TypeDefClosure closure       = null;
+
+        if (superTypeLink == null)
+        {
+            closure = topLevelClosure;
+        }
+        else if (superTypeLink.getName() != null)
+        {
+            TypeDefClosure superTypeClosure = closures.get(superTypeLink.getName());
+
+            if (superTypeClosure == null)
+            {
+                superTypeClosure = resolveClosure(superTypeLink.getName(), knownTypeDefNames, visitedTypeNames);
+            }
+
+            if ((superTypeClosure != null) && (! superTypeClosure.superTypeNames.contains(typeName)))
+            {
+                List<TypeDefLink> superTypes = new ArrayList<>(superTypeClosure.superTypes.size() + 1);
+                Set<String>       names      = new HashSet<>(superTypeClosure.superTypeNames);
+                Set<String>       guids      = new HashSet<>(superTypeClosure.superTypeGUIDs);
+
+                superTypes.add(superTypeLink);
+                superTypes.addAll(superTypeClosure.superTypes);
+                names.add(superTypeLink.getName());
+
+                if (superTypeLink.getGUID() != null)
+                {
+                    guids.add(superTypeLink.getGUID());
+                }
+
+                closure = new TypeDefClosure(superTypes, names, guids);
+            }
+        }
+
+        if (closure == null)
+        {
+            pendingTypeNames.add(typeName);
+        }
+        else
+        {
+            pendingTypeNames.remove(typeName);
+            closures.put(typeName, closure);
+        }
+
+        return closure;
+    }
+
+
+    /**
+     * Return whether the super types of the named type are known.
+     *
+     * @param typeName name of the type
+     * @return boolean flag
+     */
+    boolean isKnown(String typeName)
+    {
+        return closures.containsKey(typeName);
+    }
+
+
+    /**
+     * Return the super type links of the named type, closest first.
+     *
+     * @param typeName name of the type
+     * @return unmodifiable list of super type links or null if the type is top level or not known
+     */
+    List<TypeDefLink> getSuperTypes(String typeName)
+    {
+        TypeDefClosure closure = closures.get(typeName);
+
+        if ((closure == null) || (closure.superTypes.isEmpty()))
+        {
+            return null;
+        }
+
+        return closure.superTypes;
+    }
+
+
+    /**
+     * Return whether the named type has a super type with the expected name.
+     *
+     * @param typeName name of the type
+     * @param superTypeName name of the possible super type
+     * @return boolean flag
+     */
+    boolean hasSuperTypeName(String typeName,
+                             String superTypeName)
+    {
+        TypeDefClosure closure = closures.get(typeName);
+
+        return (closure != null) && (closure.superTypeNames.contains(superTypeName));
+    }
+
+
+    /**
+     * Return whether the named type has a super type with the expected GUID.
+     *
+     * @param typeName name of the type
+     * @param superTypeGUID unique identifier of the possible super type
+     * @return boolean flag
+     */
+    boolean hasSuperTypeGUID(String typeName,
+                             String superTypeGUID)
+    {
+        TypeDefClosure closure = closures.get(typeName);
+
+        return (closure != null) && (closure.superTypeGUIDs.contains(superTypeGUID));
+    }
+}
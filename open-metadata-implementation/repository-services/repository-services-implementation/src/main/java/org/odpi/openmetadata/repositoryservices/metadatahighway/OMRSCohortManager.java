@@ -337,24 +337,28 @@ public class OMRSCohortManager
 
             if (cohortSingleTopicConnector != null)
             {
+                cohortSingleTopicConnector.setIgnoredMetadataCollectionId(localMetadataCollectionId);
                 cohortSingleTopicConnector.registerListener(cohortEventListener, cohortName + " (single)");
                 cohortSingleTopicConnector.start();
             }
 
             if (cohortRegistrationTopicConnector != null)
             {
+                cohortRegistrationTopicConnector.setIgnoredMetadataCollectionId(localMetadataCollectionId);
                 cohortRegistrationTopicConnector.registerListener(cohortEventListener, cohortName + " (registration)");
                 cohortRegistrationTopicConnector.start();
             }
 
             if (cohortTypesTopicConnector != null)
             {
+                cohortTypesTopicConnector.setIgnoredMetadataCollectionId(localMetadataCollectionId);
                 cohortTypesTopicConnector.registerListener(cohortEventListener, cohortName + " (types)");
                 cohortTypesTopicConnector.start();
             }
 
             if (cohortInstancesTopicConnector != null)
             {
+                cohortInstancesTopicConnector.setIgnoredMetadataCollectionId(localMetadataCollectionId);
                 cohortInstancesTopicConnector.registerListener(cohortEventListener, cohortName + " (instances)");
                 cohortInstancesTopicConnector.start();
             }
@@ -0,0 +1,272 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the OMRSArchiveInstanceLoader passes the entities and relationships to the local repository in
+ * bulk batches, keeps the versions of an instance in order, and saves all of the relationships that need a proxy
+ * for an entity on the same worker thread.
+ */
+public class OMRSArchiveInstanceLoaderTest
+{
+    private static final int workerThreads = 4;
+
+
+    @Test
+    void testEntitiesAreSavedInBulkBatches()
+    {
+        RecordingBatchSaver       batchSaver = new RecordingBatchSaver();
+        OMRSArchiveInstanceLoader loader     = createLoader(batchSaver, 5);
+
+        for (int i = 1; i <= 100; i++)
+        {
+            loader.addEntity(createEntity("entity" + i, 1L));
+        }
+
+        assertEquals(loader.complete(), 100L);
+
+        Set<String> savedGUIDs = new HashSet<>();
+        for (InstanceGraph batch : batchSaver.batches)
+        {
+            assertTrue(batch.getEntities().size() <= 5);
+            assertNull(batch.getRelationships());
+
+            for (EntityDetail entity : batch.getEntities())
+            {
+                savedGUIDs.add(entity.getGUID());
+            }
+        }
+
+        assertEquals(savedGUIDs.size(), 100);
+
+        /*
+         * Each partition has at most one partly filled batch.
+         */
+        assertTrue(batchSaver.batches.size() <= (100 / 5) + workerThreads);
+    }
+
+
+    @Test
+    void testVersionsOfAnEntityAreSavedInOrder()
+    {
+        RecordingBatchSaver       batchSaver = new RecordingBatchSaver();
+        OMRSArchiveInstanceLoader loader     = createLoader(batchSaver, 3);
+
+        for (long version = 1; version <= 20; version++)
+        {
+            loader.addEntity(createEntity("versionedEntity", version));
+            loader.addEntity(createEntity("otherEntity" + version, 1L));
+        }
+
+        loader.complete();
+
+        List<Long> savedVersions = new ArrayList<>();
+        for (InstanceGraph batch : batchSaver.batches)
+        {
+            for (EntityDetail entity : batch.getEntities())
+            {
+                if ("versionedEntity".equals(entity.getGUID()))
+                {
+                    savedVersions.add(entity.getVersion());
+                }
+            }
+        }
+
+        List<Long> expectedVersions = new ArrayList<>();
+        for (long version = 1; version <= 20; version++)
+        {
+            expectedVersions.add(version);
+        }
+
+        assertEquals(savedVersions, expectedVersions);
+    }
+
+
+    @Test
+    void testRelationshipsNeedingProxiesShareAWorkerThread()
+    {
+        RecordingBatchSaver       batchSaver = new RecordingBatchSaver();
+        OMRSArchiveInstanceLoader loader     = createLoader(batchSaver, 2);
+
+        for (int i = 1; i <= 10; i++)
+        {
+            loader.addEntity(createEntity("entity" + i, 1L));
+        }
+
+        loader.waitForInstances();
+
+        /*
+         * Half of the relationships link an archive entity to an entity that is not in the archive.
+         */
+        for (int i = 1; i <= 10; i++)
+        {
+            loader.addRelationship(createRelationship("relationship" + i, "entity" + i, "entity" + ((i % 10) + 1)));
+            loader.addRelationship(createRelationship("proxyRelationship" + i, "entity" + i, "proxy" + (i % 2)));
+        }
+
+        assertEquals(loader.complete(), 30L);
+
+        Set<String> proxyThreads       = new HashSet<>();
+        Set<String> savedRelationships = new HashSet<>();
+        for (int i = 0; i < batchSaver.batches.size(); i++)
+        {
+            InstanceGraph batch = batchSaver.batches.get(i);
+
+            if (batch.getRelationships() != null)
+            {
+                for (Relationship relationship : batch.getRelationships())
+                {
+                    savedRelationships.add(relationship.getGUID());
+
+                    if (relationship.getGUID().startsWith("proxyRelationship"))
+                    {
+                        proxyThreads.add(batchSaver.threadNames.get(i));
+                    }
+                }
+            }
+        }
+
+        assertEquals(savedRelationships.size(), 20);
+        assertEquals(proxyThreads.size(), 1);
+    }
+
+
+    @Test
+    void testFailedBatchDoesNotStopTheLoad()
+    {
+        RecordingBatchSaver       batchSaver = new RecordingBatchSaver();
+        OMRSArchiveInstanceLoader loader     = createLoader(batchSaver, 1);
+        AtomicInteger             runCount   = new AtomicInteger(0);
+
+        batchSaver.failingGUID = "badEntity";
+
+        loader.addEntity(createEntity("badEntity", 1L));
+        loader.addEntity(createEntity("goodEntity", 1L));
+        loader.waitForInstances();
+
+        /*
+         * Instances that can not be saved in bulk are run individually.
+         */
+        loader.addInstance("goodEntity", runCount::incrementAndGet);
+        loader.addInstance("badEntity", () -> { throw new IllegalStateException("Test failure"); });
+        loader.addInstance("goodEntity", runCount::incrementAndGet);
+
+        assertEquals(loader.complete(), 5L);
+        assertEquals(runCount.get(), 2);
+        assertEquals(batchSaver.batches.size(), 1);
+        assertEquals(batchSaver.batches.get(0).getEntities().get(0).getGUID(), "goodEntity");
+    }
+
+
+    private OMRSArchiveInstanceLoader createLoader(Consumer<InstanceGraph> batchSaver,
+                                                   int                     batchSize)
+    {
+        AuditLog auditLog = new AuditLog(new RecordingAuditLogDestination(), 0, "OMRSArchiveInstanceLoaderTest", "Test audit log", null);
+
+        return new OMRSArchiveInstanceLoader("testArchive", auditLog, batchSaver, workerThreads, batchSize, 2);
+    }
+
+
+    private EntityDetail createEntity(String guid,
+                                      long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    private Relationship createRelationship(String guid,
+                                            String entityOneGUID,
+                                            String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOne    = new EntityProxy();
+        EntityProxy  entityTwo    = new EntityProxy();
+
+        entityOne.setGUID(entityOneGUID);
+        entityTwo.setGUID(entityTwoGUID);
+
+        relationship.setGUID(guid);
+        relationship.setVersion(1L);
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * RecordingBatchSaver saves the batches it is passed and the thread that passed each one.  A batch
+     * containing the failing entity is rejected.
+     */
+    private static class RecordingBatchSaver implements Consumer<InstanceGraph>
+    {
+        final List<InstanceGraph> batches     = Collections.synchronizedList(new ArrayList<>());
+        final List<String>        threadNames = Collections.synchronizedList(new ArrayList<>());
+        volatile String           failingGUID = null;
+
+
+        @Override
+        public synchronized void accept(InstanceGraph instances)
+        {
+            if ((failingGUID != null) && (instances.getEntities() != null))
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    if (failingGUID.equals(entity.getGUID()))
+                    {
+                        throw new IllegalStateException("Test failure");
+                    }
+                }
+            }
+
+            batches.add(instances);
+            threadNames.add(Thread.currentThread().getName());
+        }
+    }
+
+
+    /**
+     * RecordingAuditLogDestination saves the message ids of the audit log records.
+     */
+    private static class RecordingAuditLogDestination extends AuditLogDestination
+    {
+        final List<String> messageIds = Collections.synchronizedList(new ArrayList<>());
+
+
+        RecordingAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+            messageIds.add(logRecord.getMessageId());
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.GetRelationshipExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the ParallelFederationControl issues the requests to the repositories concurrently through the
+ * FederationWorkerPool and that a repository that does not respond within the request timeout is skipped
+ * and reported with OMRS-AUDIT-0402.  Executors that do not wait for the repositories to respond issue all of
+ * the requests from the caller's thread.
+ */
+public class FederationWorkerPoolTest
+{
+    private static final long   waitSeconds       = 10;
+    private static final String methodName        = "testRequest";
+    private static final String timeoutMessageId  = "OMRS-AUDIT-0402";
+    private static final String workerThreadStart = "FederationWorker-testServer-";
+
+
+    @Test
+    void testRequestsAreIssuedInParallel() throws Exception
+    {
+        FederationWorkerPool         workerPool  = new FederationWorkerPool("testServer", 3, 0, false);
+        RecordingAuditLogDestination destination = new RecordingAuditLogDestination();
+        CountDownLatch               allStarted  = new CountDownLatch(3);
+        TestExecutor                 executor    = new TestExecutor(allStarted, Collections.emptyList());
+
+        try
+        {
+            /*
+             * Each request waits for all of the requests to start so they only complete if they run concurrently.
+             */
+            ParallelFederationControl control = new ParallelFederationControl("testUser",
+                                                                              createConnectors("repository1",
+                                                                                               "repository2",
+                                                                                               "repository3"),
+                                                                              createAuditLog(destination),
+                                                                              workerPool,
+                                                                              methodName);
+            control.executeCommand(executor);
+
+            assertEquals(executor.completedRequests.keySet(), new HashSet<>(Arrays.asList("repository1", "repository2", "repository3")));
+            for (String threadName : executor.completedRequests.values())
+            {
+                assertTrue(threadName.startsWith(workerThreadStart), threadName);
+            }
+
+            assertTrue(destination.messageIds.isEmpty());
+        }
+        finally
+        {
+            workerPool.shutdown();
+        }
+    }
+
+
+    @Test
+    void testSlowRepositoryIsSkippedAfterTimeout() throws Exception
+    {
+        FederationWorkerPool         workerPool  = new FederationWorkerPool("testServer", 3, 200, false);
+        RecordingAuditLogDestination destination = new RecordingAuditLogDestination();
+        TestExecutor                 executor    = new TestExecutor(null, Collections.singletonList("repository2"));
+
+        try
+        {
+            ParallelFederationControl control = new ParallelFederationControl("testUser",
+                                                                              createConnectors("repository1",
+                                                                                               "repository2",
+                                                                                               "repository3"),
+                                                                              createAuditLog(destination),
+                                                                              workerPool,
+                                                                              methodName);
+            long start = System.currentTimeMillis();
+
+            control.executeCommand(executor);
+
+            assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(waitSeconds));
+            assertEquals(executor.completedRequests.keySet(), new HashSet<>(Arrays.asList("repository1", "repository3")));
+            assertEquals(destination.messageIds, Collections.singletonList(timeoutMessageId));
+
+            /*
+             * The slow request is cancelled rather than left running on the worker thread.
+             */
+            assertTrue(executor.interruptedRequests.await(waitSeconds, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            workerPool.shutdown();
+        }
+    }
+
+
+    @Test
+    void testRequestsAreSequentialWithoutPool() throws Exception
+    {
+        RecordingAuditLogDestination destination = new RecordingAuditLogDestination();
+        TestExecutor                 executor    = new TestExecutor(null, Collections.emptyList());
+
+        ParallelFederationControl control = new ParallelFederationControl("testUser",
+                                                                          createConnectors("repository1",
+                                                                                           "repository2"),
+                                                                          createAuditLog(destination),
+                                                                          methodName);
+        control.executeCommand(executor);
+
+        assertEquals(executor.completedRequests.size(), 2);
+        for (String threadName : executor.completedRequests.values())
+        {
+            assertEquals(threadName, Thread.currentThread().getName());
+        }
+    }
+
+
+    @Test
+    void testAsyncRequestsAreIssuedTogether() throws Exception
+    {
+        FederationWorkerPool          workerPool  = new FederationWorkerPool("testServer", 3, 0, false);
+        RecordingAuditLogDestination  destination = new RecordingAuditLogDestination();
+        List<OMRSRepositoryConnector> connectors  = new ArrayList<>();
+        CountDownLatch                allIssued   = new CountDownLatch(3);
+
+        for (String repositoryName : Arrays.asList("repository1", "repository2", "repository3"))
+        {
+            connectors.add(new TestConnector(repositoryName, allIssued));
+        }
+
+        /*
+         * The repositories only respond once all of the requests are issued.  The second repository fails.
+         */
+        Thread responder = new Thread(() ->
+        {
+            try
+            {
+                if (allIssued.await(waitSeconds, TimeUnit.SECONDS))
+                {
+                    ((TestMetadataCollection) connectors.get(0).getMetadataCollection()).respond(1L);
+                    ((TestMetadataCollection) connectors.get(1).getMetadataCollection()).respond(null);
+                    ((TestMetadataCollection) connectors.get(2).getMetadataCollection()).respond(3L);
+                }
+            }
+            catch (Exception error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try
+        {
+            GetRelationshipExecutor   executor = new GetRelationshipExecutor("testUser", "testGUID", true, createAuditLog(destination), methodName);
+            ParallelFederationControl control  = new ParallelFederationControl("testUser", connectors, createAuditLog(destination), workerPool, methodName);
+
+            responder.start();
+            control.executeCommand(executor);
+
+            assertEquals(executor.getRelationship().getVersion(), 3L);
+
+            for (OMRSRepositoryConnector connector : connectors)
+            {
+                assertEquals(((TestMetadataCollection) connector.getMetadataCollection()).requestThreadName, Thread.currentThread().getName());
+            }
+
+            assertEquals(destination.messageIds.size(), 1);
+        }
+        finally
+        {
+            responder.join();
+            workerPool.shutdown();
+        }
+    }
+
+
+    private List<OMRSRepositoryConnector> createConnectors(String... repositoryNames)
+    {
+        List<OMRSRepositoryConnector> connectors = new ArrayList<>();
+
+        for (String repositoryName : repositoryNames)
+        {
+            connectors.add(new TestConnector(repositoryName));
+        }
+
+        return connectors;
+    }
+
+
+    private AuditLog createAuditLog(AuditLogDestination destination)
+    {
+        return new AuditLog(destination, 0, "FederationWorkerPoolTest", "Test audit log", null);
+    }
+
+
+    /**
+     * RecordingAuditLogDestination saves the message ids of the audit log records.
+     */
+    private static class RecordingAuditLogDestination extends AuditLogDestination
+    {
+        final List<String> messageIds = Collections.synchronizedList(new ArrayList<>());
+
+
+        RecordingAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+            messageIds.add(logRecord.getMessageId());
+        }
+    }
+
+
+    /**
+     * TestConnector provides a metadata collection whose id is the repository name.
+     */
+    private static class TestConnector extends OMRSRepositoryConnector
+    {
+        TestConnector(String repositoryName)
+        {
+            this(repositoryName, null);
+        }
+
+
+        TestConnector(String         repositoryName,
+                      CountDownLatch requestIssued)
+        {
+            super.setRepositoryName(repositoryName);
+            super.metadataCollection = new TestMetadataCollection(this, repositoryName, requestIssued);
+        }
+    }
+
+
+    /**
+     * TestMetadataCollection returns its id.  Requests for a relationship are answered when the test responds.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        final CountDownLatch                  requestIssued;
+        final CompletableFuture<Relationship> response          = new CompletableFuture<>();
+        volatile String                       requestThreadName = null;
+
+
+        TestMetadataCollection(OMRSRepositoryConnector parentConnector,
+                               String                  metadataCollectionId,
+                               CountDownLatch          requestIssued)
+        {
+            super(parentConnector, metadataCollectionId, null, null, metadataCollectionId);
+
+            this.requestIssued = requestIssued;
+        }
+
+
+        @Override
+        public String getMetadataCollectionId(String userId)
+        {
+            return super.metadataCollectionId;
+        }
+
+
+        @Override
+        public CompletableFuture<Relationship> getRelationshipAsync(String userId,
+                                                                    String guid)
+        {
+            requestThreadName = Thread.currentThread().getName();
+            requestIssued.countDown();
+
+            return response;
+        }
+
+
+        /**
+         * Complete the outstanding request.
+         *
+         * @param version version of the relationship to return - null means fail the request
+         */
+        void respond(Long version)
+        {
+            if (version == null)
+            {
+                response.completeExceptionally(new IllegalStateException("Test failure"));
+            }
+            else
+            {
+                Relationship relationship = new Relationship();
+
+                relationship.setGUID("testGUID");
+                relationship.setVersion(version);
+                response.complete(relationship);
+            }
+        }
+    }
+
+
+    /**
+     * TestExecutor records the thread that issued each request.  The clones share the results.
+     */
+    private static class TestExecutor implements RepositoryExecutor, CloneableRepositoryExecutor
+    {
+        final Map<String, String> completedRequests;
+        final CountDownLatch      interruptedRequests;
+        final CountDownLatch      allStarted;
+        final List<String>        slowRepositories;
+
+
+        TestExecutor(CountDownLatch allStarted,
+                     List<String>   slowRepositories)
+        {
+            this(allStarted, slowRepositories, new ConcurrentHashMap<>(), new CountDownLatch(1));
+        }
+
+
+        private TestExecutor(CountDownLatch      allStarted,
+                             List<String>        slowRepositories,
+                             Map<String, String> completedRequests,
+                             CountDownLatch      interruptedRequests)
+        {
+            this.allStarted          = allStarted;
+            this.slowRepositories    = slowRepositories;
+            this.completedRequests   = completedRequests;
+            this.interruptedRequests = interruptedRequests;
+        }
+
+
+        @Override
+        public CloneableRepositoryExecutor getClone()
+        {
+            return new TestExecutor(allStarted, slowRepositories, completedRequests, interruptedRequests);
+        }
+
+
+        @Override
+        public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                                OMRSMetadataCollection metadataCollection)
+        {
+            try
+            {
+                if (allStarted != null)
+                {
+                    allStarted.countDown();
+
+                    if (! allStarted.await(waitSeconds, TimeUnit.SECONDS))
+                    {
+                        return false;
+                    }
+                }
+
+                if (slowRepositories.contains(metadataCollectionId))
+                {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(waitSeconds * 2));
+                    return false;
+                }
+            }
+            catch (InterruptedException error)
+            {
+                interruptedRequests.countDown();
+                return false;
+            }
+
+            completedRequests.put(metadataCollectionId, Thread.currentThread().getName());
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the cursors are saved under both the query and the starting element and that the least recently
+ * used cursors are discarded.
+ */
+public class FederatedPagingCursorCacheTest
+{
+    @Test
+    void testCursorIsKeyedByQueryAndElement()
+    {
+        FederatedPagingCursorCache cursorCache = new FederatedPagingCursorCache();
+        FederatedPagingCursor      cursor      = createCursor(3, 4);
+
+        cursorCache.saveCursor("query1", 7, cursor);
+
+        assertSame(cursorCache.getCursor("query1", 7), cursor);
+        assertNull(cursorCache.getCursor("query1", 8));
+        assertNull(cursorCache.getCursor("query2", 7));
+        assertEquals(cursorCache.getCursor("query1", 7).getRepositoryOffset("repository1"), Integer.valueOf(3));
+        assertNull(cursorCache.getCursor("query1", 7).getRepositoryOffset("repository3"));
+    }
+
+
+    @Test
+    void testLeastRecentlyUsedCursorIsDiscarded()
+    {
+        FederatedPagingCursorCache cursorCache = new FederatedPagingCursorCache(2);
+
+        cursorCache.saveCursor("query", 10, createCursor(5, 5));
+        cursorCache.saveCursor("query", 20, createCursor(10, 10));
+
+        /*
+         * Using the first cursor means the second cursor is the least recently used.
+         */
+        assertNotNull(cursorCache.getCursor("query", 10));
+
+        cursorCache.saveCursor("query", 30, createCursor(15, 15));
+
+        assertNotNull(cursorCache.getCursor("query", 10));
+        assertNull(cursorCache.getCursor("query", 20));
+        assertNotNull(cursorCache.getCursor("query", 30));
+    }
+
+
+    private FederatedPagingCursor createCursor(int repository1Offset,
+                                               int repository2Offset)
+    {
+        Map<String, Integer> repositoryOffsets = new HashMap<>();
+
+        repositoryOffsets.put("repository1", repository1Offset);
+        repositoryOffsets.put("repository2", repository2Offset);
+
+        return new FederatedPagingCursor(repositoryOffsets);
+    }
+}
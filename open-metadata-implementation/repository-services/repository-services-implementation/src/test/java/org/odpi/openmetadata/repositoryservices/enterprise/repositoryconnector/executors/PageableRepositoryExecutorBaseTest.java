@@ -0,0 +1,320 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify the merge of the ordered pages from each repository and the use of the cursor saved for the next page.
+ */
+public class PageableRepositoryExecutorBaseTest
+{
+    private static final String queryKey = "testQuery";
+
+
+    @Test
+    void testPagesAreMergedUsingTheSavedCursors()
+    {
+        FederatedPagingCursorCache cursorCache  = new FederatedPagingCursorCache();
+        TestRepository             repository1  = new TestRepository("repository1", "a01", "a03", "a05", "a07", "a09");
+        TestRepository             repository2  = new TestRepository("repository2", "a02", "a03", "a04", "a06", "a08", "a10");
+        List<TestRepository>       repositories = Arrays.asList(repository1, repository2);
+
+        /*
+         * The copy of a03 in the second repository is consumed along with the first copy rather than
+         * reappearing at the start of the next page.
+         */
+        assertEquals(runQuery(cursorCache, repositories, 0, 3), Arrays.asList("a01", "a02", "a03"));
+        assertEquals(cursorCache.getCursor(queryKey, 3).getRepositoryOffset("repository1"), Integer.valueOf(2));
+        assertEquals(cursorCache.getCursor(queryKey, 3).getRepositoryOffset("repository2"), Integer.valueOf(2));
+
+        assertEquals(runQuery(cursorCache, repositories, 3, 3), Arrays.asList("a04", "a05", "a06"));
+        assertEquals(runQuery(cursorCache, repositories, 6, 3), Arrays.asList("a07", "a08", "a09"));
+
+        /*
+         * The last page is only partly filled.
+         */
+        assertEquals(runQuery(cursorCache, repositories, 9, 3), Arrays.asList("a10"));
+        assertEquals(runQuery(cursorCache, repositories, 10, 3), new ArrayList<>());
+
+        /*
+         * Once the cursor is known, each repository is only asked for a page from its own offset.  A repository
+         * is only known to have no more results when it returns an empty page, so the second repository is asked
+         * for more while the last page is being filled.
+         */
+        assertEquals(repository1.requestedPages, Arrays.asList("0:3", "2:3", "3:3", "5:3", "5:3"));
+        assertEquals(repository2.requestedPages, Arrays.asList("0:3", "2:3", "4:3", "5:3", "6:3", "6:3"));
+    }
+
+
+    @Test
+    void testPageWithoutCursor()
+    {
+        FederatedPagingCursorCache cursorCache  = new FederatedPagingCursorCache();
+        TestRepository             repository1  = new TestRepository("repository1", "a01", "a03", "a05", "a07");
+        TestRepository             repository2  = new TestRepository("repository2", "a02", "a04", "a06", "a08");
+        List<TestRepository>       repositories = Arrays.asList(repository1, repository2);
+
+        assertEquals(runQuery(cursorCache, repositories, 3, 3), Arrays.asList("a04", "a05", "a06"));
+        assertEquals(repository1.requestedPages, Arrays.asList("0:6"));
+        assertEquals(repository2.requestedPages, Arrays.asList("0:6"));
+
+        assertEquals(runQuery(cursorCache, repositories, 6, 3), Arrays.asList("a07", "a08"));
+        assertEquals(repository1.requestedPages, Arrays.asList("0:6", "3:3", "4:3"));
+        assertEquals(repository2.requestedPages, Arrays.asList("0:6", "3:3", "4:3"));
+    }
+
+
+    @Test
+    void testFailedFetchIsCaptured()
+    {
+        FederatedPagingCursorCache cursorCache  = new FederatedPagingCursorCache();
+        TestRepository             repository1  = new TestRepository("repository1", "a01", "a03", "a05", "a07");
+        TestRepository             repository2  = new TestRepository("repository2", "a02", "a04", "a06", "a08");
+        List<TestRepository>       repositories = Arrays.asList(repository1, repository2);
+        Map<String, Integer>       offsets      = new HashMap<>();
+
+        /*
+         * The cursor does not include the second repository so the pages are retrieved again from the start
+         * during the merge.  This request fails.
+         */
+        offsets.put("repository1", 1);
+        cursorCache.saveCursor(queryKey, 2, new FederatedPagingCursor(offsets));
+        repository2.failAfterRequests = 1;
+
+        EntityAccumulator  accumulator = new EntityAccumulator(null, null, null);
+        TestExecutor       executor    = new TestExecutor(accumulator, cursorCache, 2, 2);
+
+        assertEquals(runQuery(executor, repositories), Arrays.asList("a05", "a07"));
+        assertThrows(RepositoryErrorException.class, executor::handleCommonPagingRequestExceptions);
+    }
+
+
+    @Test
+    void testRepositoryWithSmallerMaximumPageSize()
+    {
+        FederatedPagingCursorCache cursorCache  = new FederatedPagingCursorCache();
+        TestRepository             repository1  = new TestRepository("repository1", "a01", "a03", "a05", "a07");
+        TestRepository             repository2  = new TestRepository("repository2", "a02", "a04", "a06", "a08");
+        List<TestRepository>       repositories = Arrays.asList(repository1, repository2);
+
+        /*
+         * The first repository never returns more than two elements.  A short page does not mean that it has
+         * no more results, so it is asked for more during the merge.
+         */
+        repository1.maxPageSize = 2;
+
+        assertEquals(runQuery(cursorCache, repositories, 0, 6), Arrays.asList("a01", "a02", "a03", "a04", "a05", "a06"));
+        assertEquals(runQuery(cursorCache, repositories, 6, 6), Arrays.asList("a07", "a08"));
+        assertEquals(repository1.requestedPages, Arrays.asList("0:6", "2:6", "3:6", "4:6"));
+        assertEquals(repository2.requestedPages, Arrays.asList("0:6", "3:6", "4:6"));
+    }
+
+
+    @Test
+    void testCopiesOnDifferentPagesAreReturnedOnce()
+    {
+        FederatedPagingCursorCache cursorCache  = new FederatedPagingCursorCache();
+        TestRepository             repository1  = new TestRepository("repository1", "b:1", "c:2", "d:3", "e:4");
+        TestRepository             repository2  = new TestRepository("repository2", "a:1", "f:2", "b:5");
+        List<TestRepository>       repositories = Arrays.asList(repository1, repository2);
+
+        /*
+         * The copy of b in the second repository has a later version so it sorts after the other instances
+         * and is reached on the third page.
+         */
+        assertEquals(runQuery(cursorCache, repositories, 0, 3), Arrays.asList("a", "b", "c"));
+        assertEquals(runQuery(cursorCache, repositories, 3, 3), Arrays.asList("f", "d", "e"));
+        assertEquals(runQuery(cursorCache, repositories, 6, 3), new ArrayList<>());
+
+        /*
+         * Without the cursors, the earlier copy is found while skipping to the requested page.
+         */
+        assertEquals(runQuery(new FederatedPagingCursorCache(), repositories, 3, 3), Arrays.asList("f", "d", "e"));
+        assertEquals(runQuery(new FederatedPagingCursorCache(), repositories, 6, 3), new ArrayList<>());
+    }
+
+
+    private List<String> runQuery(FederatedPagingCursorCache cursorCache,
+                                  List<TestRepository>       repositories,
+                                  int                        startingElement,
+                                  int                        pageSize)
+    {
+        TestExecutor executor = new TestExecutor(new EntityAccumulator(null, null, null),
+                                                 cursorCache,
+                                                 startingElement,
+                                                 pageSize);
+
+        return runQuery(executor, repositories);
+    }
+
+
+    /**
+     * Issue the request to each repository in the same way as the enterprise connector and then merge the results.
+     *
+     * @param executor executor for the request
+     * @param repositories repositories in the cohort
+     * @return guids on the requested page
+     */
+    private List<String> runQuery(TestExecutor         executor,
+                                  List<TestRepository> repositories)
+    {
+        for (TestRepository repository : repositories)
+        {
+            executor.issueRequestToRepository(repository.repositoryId, repository);
+        }
+
+        return executor.getMergedPageGUIDs();
+    }
+
+
+    /**
+     * TestRepository returns pages from a fixed list of entities that is already in version and GUID order.
+     * Each entity is described as its GUID optionally followed by a colon and its version.
+     */
+    private static class TestRepository extends OMRSMetadataCollectionBase
+    {
+        final String       repositoryId;
+        final List<String> guids;
+        final List<String> requestedPages    = new ArrayList<>();
+        int                failAfterRequests = -1;
+        int                maxPageSize       = 0;
+
+
+        TestRepository(String    repositoryId,
+                       String... guids)
+        {
+            super(null, repositoryId, null, null, repositoryId);
+
+            this.repositoryId = repositoryId;
+            this.guids = Arrays.asList(guids);
+        }
+
+
+        List<EntityDetail> getPage(int fromElement,
+                                   int pageSize) throws RepositoryErrorException
+        {
+            if (requestedPages.size() == failAfterRequests)
+            {
+                throw new RepositoryErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION_FROM_COHORT.getMessageDefinition("TestException",
+                                                                                                                       "getPage",
+                                                                                                                       repositoryId),
+                                                   this.getClass().getName(),
+                                                   "getPage");
+            }
+
+            requestedPages.add(fromElement + ":" + pageSize);
+
+            List<EntityDetail> page = new ArrayList<>();
+
+            int          limit = ((maxPageSize > 0) && (maxPageSize < pageSize)) ? maxPageSize : pageSize;
+
+            for (int index = fromElement; (index < guids.size()) && (page.size() < limit); index++)
+            {
+                EntityDetail entity = new EntityDetail();
+                String[]     parts  = guids.get(index).split(":");
+
+                entity.setGUID(parts[0]);
+                if (parts.length > 1)
+                {
+                    entity.setVersion(Long.parseLong(parts[1]));
+                }
+                page.add(entity);
+            }
+
+            return page;
+        }
+    }
+
+
+    /**
+     * TestExecutor retrieves the entities from the test repositories and orders them by version and GUID.
+     */
+    private static class TestExecutor extends PageableRepositoryExecutorBase<EntityDetail>
+    {
+        TestExecutor(EntityAccumulator          accumulator,
+                     FederatedPagingCursorCache cursorCache,
+                     int                        startingElement,
+                     int                        pageSize)
+        {
+            super("testUser",
+                  null,
+                  startingElement,
+                  null,
+                  null,
+                  null,
+                  pageSize,
+                  null,
+                  accumulator,
+                  "testQuery");
+
+            this.enableFederatedPaging(cursorCache, queryKey);
+        }
+
+
+        @Override
+        public CloneableRepositoryExecutor getClone()
+        {
+            return this;
+        }
+
+
+        @Override
+        public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                                OMRSMetadataCollection metadataCollection)
+        {
+            try
+            {
+                List<EntityDetail> results = this.getRepositoryPage(metadataCollection,
+                                                                    this.getRepositoryStartingElement(metadataCollectionId),
+                                                                    this.getRepositoryPageSize());
+
+                this.saveRepositoryPage(metadataCollectionId, metadataCollection, results);
+            }
+            catch (RepositoryErrorException error)
+            {
+                fail("Unexpected exception from initial request", error);
+            }
+
+            return false;
+        }
+
+
+        @Override
+        List<EntityDetail> getRepositoryPage(OMRSMetadataCollection metadataCollection,
+                                             int                    fromElement,
+                                             int                    repositoryPageSize) throws RepositoryErrorException
+        {
+            return ((TestRepository)metadataCollection).getPage(fromElement, repositoryPageSize);
+        }
+
+
+        @Override
+        void addResultsToAccumulator(List<EntityDetail> results,
+                                     String             metadataCollectionId)
+        {
+        }
+
+
+        @Override
+        Comparator<EntityDetail> getSequencingComparator()
+        {
+            return Comparator.comparingLong(EntityDetail::getVersion).thenComparing(EntityDetail::getGUID);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class OMRSRegexMatcherTest
+{
+    private static final List<String> VALUES = Arrays.asList("",
+                                                             "abc",
+                                                             "ABC",
+                                                             "xabc",
+                                                             "abcx",
+                                                             "xabcx",
+                                                             "x\nabc",
+                                                             "abc\nx",
+                                                             "x\nabc\nx",
+                                                             "a.c",
+                                                             "a\\Eb",
+                                                             "Customer.Name");
+
+
+    @Test
+    void testHelperGeneratedRegexes()
+    {
+        OMRSRepositoryContentHelper helper = new OMRSRepositoryContentHelper(null);
+        List<String>                regexes = new ArrayList<>();
+
+        for (String literal : Arrays.asList("", "abc", "a.c", "a\\Eb", "Name"))
+        {
+            for (boolean insensitive : new boolean[]{ false, true })
+            {
+                regexes.add(helper.getExactMatchRegex(literal, insensitive));
+                regexes.add(helper.getStartsWithRegex(literal, insensitive));
+                regexes.add(helper.getEndsWithRegex(literal, insensitive));
+                regexes.add(helper.getContainsRegex(literal, insensitive));
+            }
+        }
+
+        regexes.add("a.c");
+        regexes.add(".*b.*");
+        regexes.add("\\Qa.c");
+
+        for (String regex : regexes)
+        {
+            for (String value : VALUES)
+            {
+                assertEquals(OMRSRegexMatcher.matches(value, regex), value.matches(regex), regex + " against " + value);
+            }
+        }
+    }
+
+
+    @Test
+    void testInvalidRegex()
+    {
+        for (int attempt = 0; attempt < 2; attempt++)
+        {
+            boolean thrown = false;
+
+            try
+            {
+                OMRSRegexMatcher.matches("abc", "[abc");
+            }
+            catch (PatternSyntaxException error)
+            {
+                thrown = true;
+            }
+
+            assertTrue(thrown);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the super type closure used by isTypeOf and isTypeOfByGUID follows every way a type can be
+ * added to the content manager.
+ */
+public class OMRSRepositoryContentManagerTest
+{
+    private static final String sourceName = "OMRSRepositoryContentManagerTest";
+
+    @Test
+    void testLocalTypesAreTypeOf()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testUser", null);
+
+        EntityDef referenceable = createEntityDef("Referenceable", null);
+        EntityDef asset         = createEntityDef("Asset", referenceable);
+        EntityDef dataSet       = createEntityDef("DataSet", asset);
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+        contentManager.addTypeDef(sourceName, dataSet);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Asset"));
+        assertFalse(contentManager.isTypeOf(sourceName, "Asset", "DataSet"));
+        assertTrue(contentManager.isTypeOfByGUID(sourceName, "DataSet-guid", "DataSet", referenceable.getGUID()));
+        assertFalse(contentManager.isTypeOfByGUID(sourceName, "Referenceable-guid", "Referenceable", asset.getGUID()));
+    }
+
+
+    @Test
+    void testSubTypeAddedBeforeSuperType()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testUser", null);
+
+        EntityDef referenceable = createEntityDef("Referenceable", null);
+        EntityDef asset         = createEntityDef("Asset", referenceable);
+        EntityDef dataSet       = createEntityDef("DataSet", asset);
+
+        contentManager.addTypeDef(sourceName, dataSet);
+        contentManager.addTypeDef(sourceName, asset);
+        contentManager.addTypeDef(sourceName, referenceable);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertTrue(contentManager.isTypeOf(sourceName, "Asset", "Referenceable"));
+    }
+
+
+    @Test
+    void testEnterpriseTypesAreTypeOf() throws Exception
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testUser", null);
+
+        EntityDef referenceable = createEntityDef("Referenceable", null);
+        EntityDef asset         = createEntityDef("Asset", referenceable);
+        EntityDef dataSet       = createEntityDef("DataSet", asset);
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+        contentManager.addTypeDef(sourceName, dataSet);
+
+        List<TypeDef> enterpriseTypeDefs = new ArrayList<>();
+
+        enterpriseTypeDefs.add(asset);
+        enterpriseTypeDefs.add(dataSet);
+
+        contentManager.validateEnterpriseTypeDefs(sourceName, enterpriseTypeDefs, "testEnterpriseTypesAreTypeOf");
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Asset"));
+        assertTrue(contentManager.isTypeOfByGUID(sourceName, "Asset-guid", "Asset", referenceable.getGUID()));
+        assertFalse(contentManager.isTypeOfByGUID(sourceName, "Referenceable-guid", "Referenceable", dataSet.getGUID()));
+
+        /*
+         * An enterprise type that is not known locally is reported as a conflict and is not added.
+         */
+        enterpriseTypeDefs.add(createEntityDef("Process", asset));
+
+        assertThrows(RepositoryErrorException.class,
+                     () -> contentManager.validateEnterpriseTypeDefs(sourceName, enterpriseTypeDefs, "testEnterpriseTypesAreTypeOf"));
+        assertThrows(OMRSLogicErrorException.class, () -> contentManager.isTypeOf(sourceName, "Process", "Asset"));
+    }
+
+
+    @Test
+    void testDeletedSuperTypeIsNoLongerKnown()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testUser", null);
+
+        EntityDef referenceable = createEntityDef("Referenceable", null);
+        EntityDef asset         = createEntityDef("Asset", referenceable);
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+        assertTrue(contentManager.isTypeOf(sourceName, "Asset", "Referenceable"));
+
+        contentManager.deleteTypeDef(sourceName, referenceable.getGUID(), referenceable.getName());
+
+        assertThrows(() -> contentManager.isTypeOf(sourceName, "Asset", "Referenceable"));
+    }
+
+
+    private EntityDef createEntityDef(String    name,
+                                      EntityDef superType)
+    {
+        EntityDef entityDef = new EntityDef(TypeDefCategory.ENTITY_DEF, name + "-guid", name, 1L, "1.0");
+
+        if (superType != null)
+        {
+            TypeDefLink superTypeLink = new TypeDefLink();
+
+            superTypeLink.setGUID(superType.getGUID());
+            superTypeLink.setName(superType.getName());
+            entityDef.setSuperType(superTypeLink);
+        }
+
+        return entityDef;
+    }
+}
@@ -58,6 +58,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 /**
@@ -398,21 +400,26 @@ public class RexViewHandler
                 repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
             }
 
+            /*
+             * The entity is requested first so that the repository retrieves it while the metadataCollectionId
+             * and the types are retrieved.
+             */
+            CompletableFuture<EntityDetail> entityRequest = repositoryServicesClient.getEntityDetailAsync(userId, entityGUID);
+
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
             String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
 
-
-            EntityDetail entityDetail = repositoryServicesClient.getEntityDetail(userId, entityGUID);
-
             TypeExplorer typeExplorer = getTypeExplorer(userId,
                                                         repositoryServerName,
                                                         platformName,
                                                         enterpriseOption,
                                                         methodName);
 
+            EntityDetail entityDetail = this.awaitEntityDetail(entityRequest);
+
             String label = this.chooseLabelForEntity(entityDetail, typeExplorer);
 
             String provenance = determineInstanceProvenance(entityDetail, metadataCollectionId, enterpriseOption);
@@ -506,23 +513,28 @@ public class RexViewHandler
                 repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
             }
 
+            /*
+             * The relationship is requested first so that the repository retrieves it while the metadataCollectionId
+             * and the types are retrieved.
+             */
+            CompletableFuture<Relationship> relationshipRequest = repositoryServicesClient.getRelationshipAsync(userId, relationshipGUID);
+
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
             String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
 
-
-            Relationship relationship = repositoryServicesClient.getRelationship(userId, relationshipGUID);
-
-            // Create digests for both ends
-
             TypeExplorer typeExplorer = getTypeExplorer(userId,
                                                         repositoryServerName,
                                                         platformName,
                                                         enterpriseOption,
                                                         methodName);
 
+            Relationship relationship = this.awaitRelationship(relationshipRequest);
+
+            // Create digests for both ends
+
             EntityProxy entity1 = relationship.getEntityOneProxy();
             EntityProxy entity2 = relationship.getEntityTwoProxy();
             String label1 = this.chooseLabelForEntityProxy(entity1, typeExplorer);
@@ -1530,6 +1542,105 @@ public class RexViewHandler
         return client;
     }
 
+    /**
+     * Wait for an entity requested from the repository server.
+     *
+     * @param entityRequest outstanding request
+     * @return the entity
+     * @throws InvalidParameterException the guid is null
+     * @throws RepositoryErrorException there is a problem communicating with the repository server
+     * @throws EntityNotKnownException the entity is not known
+     * @throws EntityProxyOnlyException only a proxy of the entity is known
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    private EntityDetail awaitEntityDetail(CompletableFuture<EntityDetail> entityRequest) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                EntityNotKnownException,
+                                                                                                EntityProxyOnlyException,
+                                                                                                UserNotAuthorizedException
+    {
+        try
+        {
+            return entityRequest.join();
+        }
+        catch (CompletionException error)
+        {
+            if (error.getCause() instanceof EntityNotKnownException)
+            {
+                throw (EntityNotKnownException) error.getCause();
+            }
+            if (error.getCause() instanceof EntityProxyOnlyException)
+            {
+                throw (EntityProxyOnlyException) error.getCause();
+            }
+
+            throw this.getRequestException(error);
+        }
+    }
+
+
+    /**
+     * Wait for a relationship requested from the repository server.
+     *
+     * @param relationshipRequest outstanding request
+     * @return the relationship
+     * @throws InvalidParameterException the guid is null
+     * @throws RepositoryErrorException there is a problem communicating with the repository server
+     * @throws RelationshipNotKnownException the relationship is not known
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    private Relationship awaitRelationship(CompletableFuture<Relationship> relationshipRequest) throws InvalidParameterException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      RelationshipNotKnownException,
+                                                                                                      UserNotAuthorizedException
+    {
+        try
+        {
+            return relationshipRequest.join();
+        }
+        catch (CompletionException error)
+        {
+            if (error.getCause() instanceof RelationshipNotKnownException)
+            {
+                throw (RelationshipNotKnownException) error.getCause();
+            }
+
+            throw this.getRequestException(error);
+        }
+    }
+
+
+    /**
+     * Rethrow the exceptions that are common to the instance requests.  Any other failure of the request is returned
+     * so that the caller can throw it.
+     *
+     * @param error failure of the request
+     * @return the failure
+     * @throws InvalidParameterException the guid is null
+     * @throws RepositoryErrorException there is a problem communicating with the repository server
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    private CompletionException getRequestException(CompletionException error) throws InvalidParameterException,
+                                                                                      RepositoryErrorException,
+                                                                                      UserNotAuthorizedException
+    {
+        if (error.getCause() instanceof InvalidParameterException)
+        {
+            throw (InvalidParameterException) error.getCause();
+        }
+        if (error.getCause() instanceof RepositoryErrorException)
+        {
+            throw (RepositoryErrorException) error.getCause();
+        }
+        if (error.getCause() instanceof UserNotAuthorizedException)
+        {
+            throw (UserNotAuthorizedException) error.getCause();
+        }
+
+        return error;
+    }
+
+
     /**
      * getEnterpriseRepositoryServicesClient
      *